@@ -0,0 +1,105 @@
+package nowsci.com.temperateweather.background.polling;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import nowsci.com.temperateweather.BuildConfig;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.utils.helpers.AsyncHelper;
+import nowsci.com.temperateweather.db.DatabaseHelper;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Connection prewarmer.
+ *
+ * Opens a connection to the host of every weather source that has a location due for a refresh,
+ * before a scheduled polling starts. The requests of the polling then share the connections of
+ * the pool from the start, instead of each opening its own while none is ready yet.
+ * */
+@Singleton
+public class ConnectionPrewarmer {
+
+    private static final long TIMEOUT_MILLIS = 3 * 1000;
+
+    private final OkHttpClient mClient;
+
+    @Inject
+    public ConnectionPrewarmer(OkHttpClient client) {
+        mClient = client;
+    }
+
+    /**
+     * @param onReady called on the main thread once the connections are open or have failed.
+     * */
+    public void prewarm(Context context, @NonNull Runnable onReady) {
+        AsyncHelper.runOnIO(emitter -> {
+            List<Location> locationList = DatabaseHelper.getInstance(context).readLocationList();
+            List<Weather> weatherList
+                    = DatabaseHelper.getInstance(context).readWeatherList(locationList);
+            Set<WeatherSource> sourceSet = EnumSet.noneOf(WeatherSource.class);
+            for (int i = 0; i < locationList.size(); i ++) {
+                Location location = Location.copy(locationList.get(i), weatherList.get(i));
+                if (RefreshScheduleHelper.isDue(context, location)) {
+                    sourceSet.add(location.getWeatherSource());
+                }
+            }
+
+            CountDownLatch latch = new CountDownLatch(sourceSet.size());
+            for (WeatherSource source : sourceSet) {
+                mClient.newCall(
+                        new Request.Builder().url(getBaseUrl(source)).head().build()
+                ).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(@NonNull Call call, @NonNull Response response) {
+                        response.close();
+                        latch.countDown();
+                    }
+                });
+            }
+            try {
+                latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {
+                // do nothing.
+            }
+            emitter.send(null, true);
+        }, (Object o, boolean done) -> onReady.run());
+    }
+
+    private static String getBaseUrl(WeatherSource source) {
+        switch (source) {
+            case OWM:
+                return BuildConfig.OWM_BASE_URL;
+
+            case MF:
+                return BuildConfig.MF_WSFT_BASE_URL;
+
+            case CAIYUN:
+                return BuildConfig.CAIYUN_WEATHER_BASE_URL;
+
+            default:
+                return BuildConfig.ACCU_WEATHER_BASE_URL;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import nowsci.com.temperateweather.background.polling.services.permanent.PermanentServiceHelper;
 import nowsci.com.temperateweather.background.polling.work.WorkerHelper;
 import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.utils.helpers.AsyncHelper;
 import nowsci.com.temperateweather.common.utils.helpers.IntentHelper;
 import nowsci.com.temperateweather.db.DatabaseHelper;
@@ -131,13 +132,9 @@ public class PollingManager {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
             AsyncHelper.runOnIO(() -> {
                 List<Location> locationList = DatabaseHelper.getInstance(context).readLocationList();
+                List<Weather> weatherList = DatabaseHelper.getInstance(context).readWeatherList(locationList);
                 for (int i = 0; i < locationList.size(); i ++) {
-                    locationList.set(
-                            i, Location.copy(
-                                    locationList.get(i),
-                                    DatabaseHelper.getInstance(context).readWeather(locationList.get(i))
-                            )
-                    );
+                    locationList.set(i, Location.copy(locationList.get(i), weatherList.get(i)));
                 }
 
                 WidgetHelper.updateWidgetIfNecessary(context, locationList.get(0));
@@ -1,9 +1,11 @@
 package nowsci.com.temperateweather.background.polling
 
 import android.content.Context
+import android.os.Looper
 import android.widget.Toast
 import nowsci.com.temperateweather.R
 import nowsci.com.temperateweather.common.basic.models.Location
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource
 import nowsci.com.temperateweather.common.basic.models.weather.Weather
 import nowsci.com.temperateweather.common.bus.EventBus
 import nowsci.com.temperateweather.common.utils.helpers.AsyncHelper
@@ -12,17 +14,60 @@ import nowsci.com.temperateweather.location.LocationHelper
 import nowsci.com.temperateweather.weather.WeatherHelper
 import nowsci.com.temperateweather.weather.WeatherHelper.OnRequestWeatherListener
 
-class PollingUpdateHelper(
+/**
+ * Polling update helper.
+ *
+ * Refreshes up to [maxParallelism] locations at once, and no more than [maxRequestsPerSource] of
+ * them from the same weather source. Requests may complete in any order, but the results are
+ * reported in the order of the location list, and [OnPollingUpdateListener.onPollingCompleted]
+ * comes after the last of them, just like a refresh of one location after another.
+ *
+ * A polling update which respects the schedule, like the periodic one, reports the locations that
+ * are not due according to their [RefreshSchedule] as succeed without a request. Otherwise, like
+ * for a refresh asked by the user, only the locations refreshed in the last 15 minutes are
+ * skipped.
+ *
+ * The state of a polling update is not synchronized: the helper must be used on the main thread,
+ * where the weather and location helpers deliver their callbacks. It throws an
+ * [IllegalStateException] otherwise.
+ * */
+class PollingUpdateHelper @JvmOverloads constructor(
     private val context: Context,
     private val locationHelper: LocationHelper,
-    private val weatherHelper: WeatherHelper
+    private val weatherHelper: WeatherHelper,
+    private val maxParallelism: Int = DEFAULT_MAX_PARALLELISM,
+    private val maxRequestsPerSource: Int = DEFAULT_MAX_REQUESTS_PER_SOURCE
 ) {
+    companion object {
+        const val DEFAULT_MAX_PARALLELISM = 4
+
+        // the free api keys of the weather sources do not allow many requests at once.
+        const val DEFAULT_MAX_REQUESTS_PER_SOURCE = 2
+    }
+
     private var isUpdating = false
+    private var respectSchedule = false
 
     private var ioController: AsyncHelper.Controller? = null
     private var locationList = emptyList<Location>().toMutableList()
     private var listener: OnPollingUpdateListener? = null
 
+    // indices of the locations waiting for a request, in the order of the location list.
+    private val pendingIndices = ArrayDeque<Int>()
+    // weather source of every running request, by location index.
+    private val runningSources = HashMap<Int, WeatherSource>()
+    private var isStartingRequests = false
+
+    // finished results that cannot be reported before the ones of the previous locations.
+    private var results = emptyArray<UpdateResult?>()
+    private var nextResultIndex = 0
+
+    private class UpdateResult(
+        val location: Location,
+        val old: Weather?,
+        val succeed: Boolean
+    )
+
     interface OnPollingUpdateListener {
 
         fun onUpdateCompleted(
@@ -37,36 +82,120 @@ class PollingUpdateHelper(
 
     // control.
 
-    fun pollingUpdate() {
+    @JvmOverloads
+    fun pollingUpdate(respectSchedule: Boolean = false) {
+        checkMainThread()
         if (isUpdating) {
             return
         }
         isUpdating = true
+        this.respectSchedule = respectSchedule
 
         ioController = AsyncHelper.runOnIO({ emitter ->
-            val list = DatabaseHelper.getInstance(context).readLocationList().map {
-                it.copy(weather = DatabaseHelper.getInstance(context).readWeather(it))
+            val locations = DatabaseHelper.getInstance(context).readLocationList()
+            val weathers = DatabaseHelper.getInstance(context).readWeatherList(locations)
+            val list = locations.mapIndexed { index, location ->
+                location.copy(weather = weathers[index])
             }
             emitter.send(list, true)
         }, { locations: List<Location>?, _: Boolean ->
             locations?.let {
                 locationList = it.toMutableList()
-                requestData(0, false)
+                startPolling()
             }
         })
     }
 
     fun cancel() {
+        checkMainThread()
         isUpdating = false
+        pendingIndices.clear()
+        runningSources.clear()
 
         ioController?.cancel()
         locationHelper.cancel()
         weatherHelper.cancel()
     }
 
+    private fun startPolling() {
+        pendingIndices.clear()
+        runningSources.clear()
+        results = arrayOfNulls(locationList.size)
+        nextResultIndex = 0
+
+        if (locationList.isEmpty()) {
+            listener?.onPollingCompleted(locationList)
+            isUpdating = false
+            return
+        }
+
+        locationList.indices.forEach { pendingIndices.addLast(it) }
+        startRequests()
+    }
+
+    private fun startRequests() {
+        // a request can complete synchronously, the running loop will go on from there.
+        if (isStartingRequests) {
+            return
+        }
+        isStartingRequests = true
+
+        val iterator = pendingIndices.iterator()
+        while (isUpdating && runningSources.size < maxParallelism && iterator.hasNext()) {
+            val index = iterator.next()
+            val source = locationList[index].weatherSource
+            if (runningSources.values.count { it == source } >= maxRequestsPerSource) {
+                continue
+            }
+
+            iterator.remove()
+            runningSources[index] = source
+            requestData(index, false)
+        }
+
+        isStartingRequests = false
+    }
+
+    private fun onRequestCompleted(index: Int, result: UpdateResult) {
+        checkMainThread()
+        if (!isUpdating) {
+            return
+        }
+        runningSources.remove(index)
+        results[index] = result
+
+        while (nextResultIndex < results.size) {
+            val next = results[nextResultIndex] ?: break
+            results[nextResultIndex] = null
+
+            listener?.onUpdateCompleted(
+                next.location,
+                next.old,
+                next.succeed,
+                nextResultIndex,
+                results.size
+            )
+            nextResultIndex ++
+        }
+
+        if (nextResultIndex == results.size) {
+            listener?.onPollingCompleted(locationList)
+            isUpdating = false
+            return
+        }
+
+        startRequests()
+    }
+
     private fun requestData(position: Int, located: Boolean) {
-        if (locationList[position].weather?.isValid(0.25f) == true) {
-            RequestWeatherCallback(position, locationList.size).requestWeatherSuccess(locationList[position])
+        val location = locationList[position]
+        if (respectSchedule) {
+            if (!RefreshScheduleHelper.isDue(context, location)) {
+                onRequestCompleted(position, UpdateResult(location, location.weather, true))
+                return
+            }
+        } else if (location.weather?.isValid(0.25f) == true) {
+            RequestWeatherCallback(position).requestWeatherSuccess(location)
             return
         }
 
@@ -75,7 +204,7 @@ class PollingUpdateHelper(
                 context,
                 locationList[position],
                 true,
-                RequestLocationCallback(position, locationList.size)
+                RequestLocationCallback(position)
             )
             return
         }
@@ -83,10 +212,16 @@ class PollingUpdateHelper(
         weatherHelper.requestWeather(
             context,
             locationList[position],
-            RequestWeatherCallback(position, locationList.size)
+            RequestWeatherCallback(position)
         )
     }
 
+    private fun checkMainThread() {
+        check(Looper.myLooper() == Looper.getMainLooper()) {
+            "PollingUpdateHelper must be used on the main thread."
+        }
+    }
+
     // interface.
 
     fun setOnPollingUpdateListener(l: OnPollingUpdateListener?) {
@@ -96,11 +231,11 @@ class PollingUpdateHelper(
     // on request location listener.
 
     private inner class RequestLocationCallback(
-        private val index: Int,
-        private val total: Int
+        private val index: Int
     ) : LocationHelper.OnRequestLocationListener {
 
         override fun requestLocationSuccess(requestLocation: Location) {
+            checkMainThread()
             locationList[index] = requestLocation
 
             if (requestLocation.isUsable) {
@@ -116,10 +251,11 @@ class PollingUpdateHelper(
         }
 
         override fun requestLocationFailed(requestLocation: Location) {
+            checkMainThread()
             if (locationList[index].isUsable) {
                 requestData(index, true)
             } else {
-                RequestWeatherCallback(index, total).requestWeatherFailed(locationList[index])
+                RequestWeatherCallback(index).requestWeatherFailed(locationList[index])
             }
         }
     }
@@ -127,51 +263,34 @@ class PollingUpdateHelper(
     // on request weather listener.
 
     private inner class RequestWeatherCallback(
-        private val index: Int,
-        private val total: Int
+        private val index: Int
     ) : OnRequestWeatherListener {
 
         override fun requestWeatherSuccess(requestLocation: Location) {
+            checkMainThread()
             val oldWeather = locationList[index].weather
 
             if (requestLocation.weather != null
                 && (oldWeather == null || requestLocation.weather.base.timeStamp != oldWeather.base.timeStamp)) {
                 locationList[index] = requestLocation
+                RefreshScheduleHelper.onWeatherRefreshed(context, requestLocation)
 
                 EventBus.instance
                     .with(Location::class.java)
                     .postValue(requestLocation)
 
-                listener?.onUpdateCompleted(requestLocation, oldWeather, true, index, total)
-
-                checkToRequestNextOrCompleted()
+                onRequestCompleted(index, UpdateResult(requestLocation, oldWeather, true))
             } else {
                 requestWeatherFailed(requestLocation)
             }
         }
 
         override fun requestWeatherFailed(requestLocation: Location) {
+            checkMainThread()
             val old = locationList[index].weather
             locationList[index] = requestLocation
 
-            listener?.onUpdateCompleted(requestLocation, old, false, index, total)
-
-            checkToRequestNextOrCompleted()
-        }
-
-        private fun checkToRequestNextOrCompleted() {
-            if (!isUpdating) {
-                return
-            }
-
-            val next = index + 1
-            if (next < total) {
-                requestData(next, false)
-                return
-            }
-
-            listener?.onPollingCompleted(locationList)
-            isUpdating = false
+            onRequestCompleted(index, UpdateResult(requestLocation, old, false))
         }
     }
 }
\ No newline at end of file
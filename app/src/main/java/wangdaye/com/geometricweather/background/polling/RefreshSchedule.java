@@ -0,0 +1,230 @@
+package nowsci.com.temperateweather.background.polling;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import nowsci.com.temperateweather.common.basic.models.weather.Base;
+import nowsci.com.temperateweather.common.basic.models.weather.Current;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+
+/**
+ * Refresh schedule.
+ *
+ * Learns how often the weather source publishes new data for a location from the publish times
+ * of the last refreshes, and times the next refresh shortly after the next publication is
+ * expected. Refreshes that bring nothing new make the schedule back off, while an alert or
+ * precipitation in the next hours brings the refresh closer. For sources which give no publish
+ * time, a refresh brings nothing new when the content of the weather did not change.
+ * */
+public class RefreshSchedule {
+
+    public static final long MIN_INTERVAL_MILLIS = 15 * 60 * 1000;
+    // interval while there is an alert or precipitation is coming.
+    public static final long ACTIVE_INTERVAL_MILLIS = 30 * 60 * 1000;
+    // time the source needs to serve the data it has just published.
+    public static final long PUBLISH_MARGIN_MILLIS = 5 * 60 * 1000;
+    // after 2 refreshes without new data, the interval is 4 times as long.
+    public static final int MAX_BACKOFF_SHIFT = 2;
+
+    private static final int MAX_PUBLISH_SAMPLES = 8;
+    private static final long ACTIVE_WINDOW_MILLIS = 2 * 60 * 60 * 1000;
+    // some sources give no publish time and the device time of the update is used instead.
+    private static final long DEVICE_TIME_TOLERANCE_MILLIS = 60 * 1000;
+    // a periodic job does not run at the exact minute.
+    private static final long DUE_TOLERANCE_MILLIS = 5 * 60 * 1000;
+
+    private final List<Long> mPublishTimes;
+    private int mUnchangedCount;
+    private int mContentKey;
+
+    public RefreshSchedule() {
+        this(new ArrayList<>(), 0, 0);
+    }
+
+    private RefreshSchedule(List<Long> publishTimes, int unchangedCount, int contentKey) {
+        mPublishTimes = publishTimes;
+        mUnchangedCount = unchangedCount;
+        mContentKey = contentKey;
+    }
+
+    /**
+     * Record the weather of a refresh.
+     * */
+    public void onRefreshed(@NonNull Weather weather) {
+        Base base = weather.getBase();
+        long publishTime = base.getPublishTime();
+
+        // a weather which was not modified keeps its content, whether the source gives a publish
+        // time or not.
+        int contentKey = getContentKey(weather);
+        boolean unchanged = contentKey == mContentKey;
+        mContentKey = contentKey;
+        if (unchanged) {
+            mUnchangedCount ++;
+            return;
+        }
+        // the device time is not a publication, it is not sampled.
+        if (Math.abs(base.getUpdateTime() - publishTime) < DEVICE_TIME_TOLERANCE_MILLIS) {
+            mUnchangedCount = 0;
+            return;
+        }
+
+        if (mPublishTimes.isEmpty() || publishTime > mPublishTimes.get(mPublishTimes.size() - 1)) {
+            mPublishTimes.add(publishTime);
+            while (mPublishTimes.size() > MAX_PUBLISH_SAMPLES) {
+                mPublishTimes.remove(0);
+            }
+            mUnchangedCount = 0;
+        } else {
+            mUnchangedCount ++;
+        }
+    }
+
+    private static int getContentKey(@NonNull Weather weather) {
+        Current current = weather.getCurrent();
+        int key = Objects.hash(
+                current.getWeatherText(),
+                current.getTemperature().getTemperature(),
+                current.getRelativeHumidity(),
+                current.getPressure()
+        );
+        for (Hourly hourly : weather.getHourlyForecast()) {
+            key = 31 * key + Objects.hash(
+                    hourly.getTime(),
+                    hourly.getWeatherText(),
+                    hourly.getTemperature().getTemperature()
+            );
+        }
+        // 0 stands for a content which is not known yet.
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * @return median time between 2 publications, or -1 if there are not enough of them yet.
+     * */
+    public long getPublishPeriod() {
+        List<Long> gapList = new ArrayList<>();
+        for (int i = 1; i < mPublishTimes.size(); i ++) {
+            gapList.add(mPublishTimes.get(i) - mPublishTimes.get(i - 1));
+        }
+        if (gapList.size() < 2) {
+            return -1;
+        }
+        Collections.sort(gapList);
+        return gapList.get(gapList.size() / 2);
+    }
+
+    public int getUnchangedCount() {
+        return mUnchangedCount;
+    }
+
+    public long getNextRefreshTime(@NonNull Weather weather, long intervalMillis, long now) {
+        long updateTime = weather.getBase().getUpdateTime();
+        if (updateTime > now) {
+            // the clock of the device went back.
+            return now;
+        }
+
+        long next = updateTime + (intervalMillis << Math.min(mUnchangedCount, MAX_BACKOFF_SHIFT));
+
+        long period = getPublishPeriod();
+        if (period > 0) {
+            long expected = mPublishTimes.get(mPublishTimes.size() - 1) + period;
+            // the source was late, wait for the publication after.
+            while (expected + PUBLISH_MARGIN_MILLIS <= updateTime) {
+                expected += period;
+            }
+            next = Math.min(next, expected + PUBLISH_MARGIN_MILLIS);
+        }
+
+        if (isActive(weather, now)) {
+            next = Math.min(next, updateTime + ACTIVE_INTERVAL_MILLIS);
+        }
+        return Math.max(next, updateTime + MIN_INTERVAL_MILLIS);
+    }
+
+    public boolean isDue(@Nullable Weather weather, long intervalMillis, long now) {
+        if (weather == null) {
+            return true;
+        }
+        return now >= Math.max(
+                getNextRefreshTime(weather, intervalMillis, now) - DUE_TOLERANCE_MILLIS,
+                weather.getBase().getUpdateTime() + MIN_INTERVAL_MILLIS
+        );
+    }
+
+    /**
+     * @return true if the weather has an alert, or precipitation in the next hours.
+     * */
+    public static boolean isActive(@NonNull Weather weather, long now) {
+        if (!weather.getAlertList().isEmpty()) {
+            return true;
+        }
+
+        for (Minutely minutely : weather.getMinutelyForecast()) {
+            if (minutely.getTime() > now + ACTIVE_WINDOW_MILLIS) {
+                break;
+            }
+            Double intensity = minutely.getPrecipitationIntensity();
+            if (minutely.getTime() >= now && intensity != null && intensity > 0) {
+                return true;
+            }
+        }
+
+        // the hours which have ended are skipped.
+        List<Hourly> hourlyForecast = weather.getHourlyForecast();
+        for (int i = Math.max(0, weather.getIndex().getHourlyIndex(now)); i < hourlyForecast.size(); i ++) {
+            Hourly hourly = hourlyForecast.get(i);
+            if (hourly.getTime() > now + ACTIVE_WINDOW_MILLIS) {
+                break;
+            }
+            if (hourly.getTime() + 60 * 60 * 1000 > now
+                    && hourly.getWeatherCode() != null
+                    && hourly.getWeatherCode().isPrecipitation()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // persistence.
+
+    @NonNull
+    public String encode() {
+        StringBuilder builder = new StringBuilder().append(mUnchangedCount);
+        for (long publishTime : mPublishTimes) {
+            builder.append(",").append(publishTime);
+        }
+        return builder.append(";").append(mContentKey).toString();
+    }
+
+    @NonNull
+    public static RefreshSchedule decode(@Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return new RefreshSchedule();
+        }
+        try {
+            // the content key was added later, the values stored before have none.
+            String[] parts = value.split(";");
+            String[] values = parts[0].split(",");
+            List<Long> publishTimes = new ArrayList<>(values.length - 1);
+            for (int i = 1; i < values.length; i ++) {
+                publishTimes.add(Long.parseLong(values[i]));
+            }
+            return new RefreshSchedule(
+                    publishTimes,
+                    Integer.parseInt(values[0]),
+                    parts.length > 1 ? Integer.parseInt(parts[1]) : 0
+            );
+        } catch (NumberFormatException e) {
+            return new RefreshSchedule();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package nowsci.com.temperateweather.background.polling;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.settings.ConfigStore;
+import nowsci.com.temperateweather.settings.SettingsManager;
+import nowsci.com.temperateweather.weather.WeatherRequestCoalescer;
+
+/**
+ * Refresh schedule helper.
+ *
+ * Stores the {@link RefreshSchedule} of every location, with the update interval of the settings
+ * as the base interval.
+ * */
+public class RefreshScheduleHelper {
+
+    private static final String PREFERENCE_REFRESH_SCHEDULE = "REFRESH_SCHEDULE_PREFERENCE";
+
+    public static long getIntervalMillis(Context context) {
+        return (long) (SettingsManager.getInstance(context).getUpdateInterval().getIntervalInHour()
+                * 60 * 60 * 1000);
+    }
+
+    public static void onWeatherRefreshed(Context context, @NonNull Location location) {
+        if (location.getWeather() == null) {
+            return;
+        }
+        String key = WeatherRequestCoalescer.getKey(location);
+        ConfigStore config = ConfigStore.getInstance(context, PREFERENCE_REFRESH_SCHEDULE);
+
+        RefreshSchedule schedule = RefreshSchedule.decode(config.getString(key, null));
+        schedule.onRefreshed(location.getWeather());
+        config.edit().putString(key, schedule.encode()).apply();
+    }
+
+    public static void clear(Context context, @NonNull Location location) {
+        ConfigStore.getInstance(context, PREFERENCE_REFRESH_SCHEDULE)
+                .edit()
+                .remove(WeatherRequestCoalescer.getKey(location))
+                .apply();
+    }
+
+    public static boolean isDue(Context context, @NonNull Location location) {
+        return read(context, location).isDue(
+                location.getWeather(),
+                getIntervalMillis(context),
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * @return minutes until the first of the locations should be refreshed.
+     * */
+    public static long getNextRefreshDelayInMinutes(Context context,
+                                                    @NonNull List<Location> locationList) {
+        long interval = getIntervalMillis(context);
+        long now = System.currentTimeMillis();
+
+        long next = now + interval;
+        for (Location location : locationList) {
+            if (location.getWeather() == null) {
+                continue;
+            }
+            next = Math.min(
+                    next,
+                    read(context, location).getNextRefreshTime(location.getWeather(), interval, now)
+            );
+        }
+        return Math.max(next - now, RefreshSchedule.MIN_INTERVAL_MILLIS) / 60 / 1000;
+    }
+
+    private static RefreshSchedule read(Context context, @NonNull Location location) {
+        return RefreshSchedule.decode(
+                ConfigStore.getInstance(context, PREFERENCE_REFRESH_SCHEDULE).getString(
+                        WeatherRequestCoalescer.getKey(location), null
+                )
+        );
+    }
+}
@@ -4,6 +4,7 @@ import android.content.Context;
 
 import androidx.work.BackoffPolicy;
 import androidx.work.Constraints;
+import androidx.work.Data;
 import androidx.work.ExistingPeriodicWorkPolicy;
 import androidx.work.ExistingWorkPolicy;
 import androidx.work.NetworkType;
@@ -25,9 +26,14 @@ public class WorkerHelper {
     private static final long BACKOFF_DELAY_MINUTES = 15;
 
     private static final String WORK_NAME_NORMAL_VIEW = "NORMAL_VIEW";
+    private static final String WORK_NAME_SCHEDULED_VIEW = "SCHEDULED_VIEW";
     private static final String WORK_NAME_TODAY_FORECAST = "TODAY_FORECAST";
     private static final String WORK_NAME_TOMORROW_FORECAST = "TOMORROW_FORECAST";
 
+    // the periodic and scheduled polling follow the refresh schedule, the expedited one is asked
+    // for by the user.
+    public static final String KEY_RESPECT_REFRESH_SCHEDULE = "RESPECT_REFRESH_SCHEDULE";
+
     public static void setExpeditedPollingWork(Context context) {
         OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(NormalUpdateWorker.class)
                 .setConstraints(
@@ -54,17 +60,45 @@ public class WorkerHelper {
                 new Constraints.Builder()
                         .setRequiredNetworkType(NetworkType.CONNECTED)
                         .build()
+        ).setInputData(
+                getRefreshScheduleData()
         ).build();
 
+        // update the work enqueued before, so it gets the input data, without starting it over.
         WorkManager.getInstance(context).enqueueUniquePeriodicWork(
                 WORK_NAME_NORMAL_VIEW,
-                ExistingPeriodicWorkPolicy.KEEP,
+                ExistingPeriodicWorkPolicy.UPDATE,
                 request
         );
     }
 
     public static void cancelNormalPollingWork(Context context) {
         WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME_NORMAL_VIEW);
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME_SCHEDULED_VIEW);
+    }
+
+    /**
+     * Run the normal polling once after the delay, in addition to the periodic work, when the
+     * refresh schedule of a location expects new data before the next period.
+     * */
+    public static void setScheduledPollingWork(Context context, long delayInMinutes) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(NormalUpdateWorker.class)
+                .setInitialDelay(
+                        delayInMinutes,
+                        TimeUnit.MINUTES
+                ).setConstraints(
+                        new Constraints.Builder()
+                                .setRequiredNetworkType(NetworkType.CONNECTED)
+                                .build()
+                ).setInputData(
+                        getRefreshScheduleData()
+                ).build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                WORK_NAME_SCHEDULED_VIEW,
+                ExistingWorkPolicy.REPLACE,
+                request
+        );
     }
 
     public static void setTodayForecastUpdateWork(Context context,
@@ -113,6 +147,10 @@ public class WorkerHelper {
         WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME_TOMORROW_FORECAST);
     }
 
+    private static Data getRefreshScheduleData() {
+        return new Data.Builder().putBoolean(KEY_RESPECT_REFRESH_SCHEDULE, true).build();
+    }
+
     private static long getForecastAlarmDelayInMinutes(String time, boolean nextDay) {
         int[] realTimes = new int[]{
                 Calendar.getInstance().get(Calendar.HOUR_OF_DAY),
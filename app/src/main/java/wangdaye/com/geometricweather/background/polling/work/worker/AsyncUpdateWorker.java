@@ -42,7 +42,15 @@ public abstract class AsyncUpdateWorker extends AsyncWorker
         mFuture = f;
         mFailed = false;
 
-        mPollingUpdateHelper.pollingUpdate();
+        mPollingUpdateHelper.pollingUpdate(respectsRefreshSchedule());
+    }
+
+    /**
+     * @return true to skip the locations which are not due according to their refresh schedule,
+     * false to only skip the ones refreshed in the last 15 minutes.
+     * */
+    protected boolean respectsRefreshSchedule() {
+        return false;
     }
 
     // control.
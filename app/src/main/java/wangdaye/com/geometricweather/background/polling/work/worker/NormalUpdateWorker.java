@@ -9,24 +9,57 @@ import androidx.work.WorkerParameters;
 import androidx.work.impl.utils.futures.SettableFuture;
 
 import java.util.List;
+import java.util.Map;
 
 import dagger.assisted.Assisted;
 import dagger.assisted.AssistedInject;
+import nowsci.com.temperateweather.TemperateWeather;
+import nowsci.com.temperateweather.background.polling.ConnectionPrewarmer;
+import nowsci.com.temperateweather.background.polling.RefreshScheduleHelper;
+import nowsci.com.temperateweather.background.polling.work.WorkerHelper;
 import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.retrofit.NetworkMetrics;
+import nowsci.com.temperateweather.common.retrofit.interceptors.OfflineCacheInterceptor;
+import nowsci.com.temperateweather.common.utils.helpers.LogHelper;
 import nowsci.com.temperateweather.location.LocationHelper;
 import nowsci.com.temperateweather.remoteviews.NotificationHelper;
 import nowsci.com.temperateweather.remoteviews.WidgetHelper;
+import nowsci.com.temperateweather.settings.SettingsManager;
 import nowsci.com.temperateweather.weather.WeatherHelper;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
 
 @HiltWorker
 public class NormalUpdateWorker extends AsyncUpdateWorker {
 
+    private final ConnectionPrewarmer mConnectionPrewarmer;
+    private final NetworkMetrics mNetworkMetrics;
+    private final OfflineCacheInterceptor mOfflineCacheInterceptor;
+    private final ConversionMetrics mConversionMetrics;
+
     @AssistedInject
     public NormalUpdateWorker(@Assisted @NonNull Context context,
                               @Assisted @NonNull WorkerParameters workerParams,
                               LocationHelper locationHelper,
-                              WeatherHelper weatherHelper) {
+                              WeatherHelper weatherHelper,
+                              ConnectionPrewarmer connectionPrewarmer,
+                              NetworkMetrics networkMetrics,
+                              OfflineCacheInterceptor offlineCacheInterceptor,
+                              ConversionMetrics conversionMetrics) {
         super(context, workerParams, locationHelper, weatherHelper);
+        mConnectionPrewarmer = connectionPrewarmer;
+        mNetworkMetrics = networkMetrics;
+        mOfflineCacheInterceptor = offlineCacheInterceptor;
+        mConversionMetrics = conversionMetrics;
+    }
+
+    @Override
+    public void doAsyncWork(SettableFuture<Result> f) {
+        mConnectionPrewarmer.prewarm(getApplicationContext(), () -> super.doAsyncWork(f));
+    }
+
+    @Override
+    protected boolean respectsRefreshSchedule() {
+        return getInputData().getBoolean(WorkerHelper.KEY_RESPECT_REFRESH_SCHEDULE, false);
     }
 
     @Override
@@ -40,6 +73,35 @@ public class NormalUpdateWorker extends AsyncUpdateWorker {
         NotificationHelper.updateNotificationIfNecessary(context, locationList);
     }
 
+    @Override
+    public void onPollingCompleted(List<Location> locationList) {
+        super.onPollingCompleted(locationList);
+
+        if (TemperateWeather.getInstance().getDebugMode()) {
+            for (Map.Entry<String, NetworkMetrics.HostMetrics> entry
+                    : mNetworkMetrics.getSnapshot().entrySet()) {
+                LogHelper.log("NetworkMetrics", entry.getKey() + ": " + entry.getValue());
+            }
+            LogHelper.log("HttpCache", "cacheable=" + mOfflineCacheInterceptor.getRequestCount()
+                    + ", hits=" + mOfflineCacheInterceptor.getHitCount()
+                    + ", conditional hits=" + mOfflineCacheInterceptor.getConditionalHitCount()
+                    + ", stale hits=" + mOfflineCacheInterceptor.getStaleHitCount());
+            for (Map.Entry<String, ConversionMetrics.SectionMetrics> entry
+                    : mConversionMetrics.getSnapshot().entrySet()) {
+                LogHelper.log("ConversionMetrics", entry.getKey() + ": " + entry.getValue());
+            }
+        }
+
+        // the result has been set, replacing this worker if it is the scheduled one is fine.
+        Context context = getApplicationContext();
+        if (locationList != null && SettingsManager.getInstance(context).isBackgroundFree()) {
+            long delay = RefreshScheduleHelper.getNextRefreshDelayInMinutes(context, locationList);
+            if (delay * 60 * 1000 < RefreshScheduleHelper.getIntervalMillis(context)) {
+                WorkerHelper.setScheduledPollingWork(context, delay);
+            }
+        }
+    }
+
     @SuppressLint("RestrictedApi")
     @Override
     public void handleUpdateResult(SettableFuture<Result> future, boolean failed) {
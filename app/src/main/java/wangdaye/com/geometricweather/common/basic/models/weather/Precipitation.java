@@ -18,11 +18,12 @@ import nowsci.com.temperateweather.common.basic.models.options.unit.Precipitatio
  * */
 public class Precipitation implements Serializable {
 
-    @Nullable private final Float total;
-    @Nullable private final Float thunderstorm;
-    @Nullable private final Float rain;
-    @Nullable private final Float snow;
-    @Nullable private final Float ice;
+    // missing values are NaN.
+    private final float total;
+    private final float thunderstorm;
+    private final float rain;
+    private final float snow;
+    private final float ice;
 
     public static final float PRECIPITATION_LIGHT = 10;
     public static final float PRECIPITATION_MIDDLE = 25;
@@ -34,6 +35,23 @@ public class Precipitation implements Serializable {
                          @Nullable Float rain,
                          @Nullable Float snow,
                          @Nullable Float ice) {
+        this(
+                PrimitiveValues.toFloat(total),
+                PrimitiveValues.toFloat(thunderstorm),
+                PrimitiveValues.toFloat(rain),
+                PrimitiveValues.toFloat(snow),
+                PrimitiveValues.toFloat(ice)
+        );
+    }
+
+    /**
+     * Values equal to NaN are missing.
+     * */
+    public Precipitation(float total,
+                         float thunderstorm,
+                         float rain,
+                         float snow,
+                         float ice) {
         this.total = total;
         this.thunderstorm = thunderstorm;
         this.rain = rain;
@@ -43,38 +61,41 @@ public class Precipitation implements Serializable {
 
     @Nullable
     public Float getTotal() {
-        return total;
+        return PrimitiveValues.toNullableFloat(total);
     }
 
     @Nullable
     public Float getThunderstorm() {
-        return thunderstorm;
+        return PrimitiveValues.toNullableFloat(thunderstorm);
     }
 
     @Nullable
     public Float getRain() {
-        return rain;
+        return PrimitiveValues.toNullableFloat(rain);
     }
 
     @Nullable
     public Float getSnow() {
-        return snow;
+        return PrimitiveValues.toNullableFloat(snow);
     }
 
     @Nullable
     public Float getIce() {
-        return ice;
+        return PrimitiveValues.toNullableFloat(ice);
+    }
+
+    // NaN if missing, for the index of a weather.
+    float getTotalValue() {
+        return total;
     }
 
     public boolean isValid() {
-        return total != null && total > 0;
+        return total > 0;
     }
 
     @ColorInt
     public int getPrecipitationColor(Context context) {
-        if (total == null) {
-            return ContextCompat.getColor(context, R.color.colorLevel_1);
-        } else if (total <= PRECIPITATION_LIGHT) {
+        if (Float.isNaN(total) || total <= PRECIPITATION_LIGHT) {
             return ContextCompat.getColor(context, R.color.colorLevel_1);
         } else if (total <= PRECIPITATION_MIDDLE) {
             return ContextCompat.getColor(context, R.color.colorLevel_2);
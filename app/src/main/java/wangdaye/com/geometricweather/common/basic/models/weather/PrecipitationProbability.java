@@ -13,17 +13,35 @@ import nowsci.com.temperateweather.common.basic.models.options.unit.ProbabilityU
  * */
 public class PrecipitationProbability implements Serializable {
 
-    @Nullable private final Float total;
-    @Nullable private final Float thunderstorm;
-    @Nullable private final Float rain;
-    @Nullable private final Float snow;
-    @Nullable private final Float ice;
+    // missing values are NaN.
+    private final float total;
+    private final float thunderstorm;
+    private final float rain;
+    private final float snow;
+    private final float ice;
 
     public PrecipitationProbability(@Nullable Float total,
                                     @Nullable Float thunderstorm,
                                     @Nullable Float rain,
                                     @Nullable Float snow,
                                     @Nullable Float ice) {
+        this(
+                PrimitiveValues.toFloat(total),
+                PrimitiveValues.toFloat(thunderstorm),
+                PrimitiveValues.toFloat(rain),
+                PrimitiveValues.toFloat(snow),
+                PrimitiveValues.toFloat(ice)
+        );
+    }
+
+    /**
+     * Values equal to NaN are missing.
+     * */
+    public PrecipitationProbability(float total,
+                                    float thunderstorm,
+                                    float rain,
+                                    float snow,
+                                    float ice) {
         this.total = total;
         this.thunderstorm = thunderstorm;
         this.rain = rain;
@@ -33,30 +51,35 @@ public class PrecipitationProbability implements Serializable {
 
     @Nullable
     public Float getTotal() {
-        return total;
+        return PrimitiveValues.toNullableFloat(total);
     }
 
     @Nullable
     public Float getThunderstorm() {
-        return thunderstorm;
+        return PrimitiveValues.toNullableFloat(thunderstorm);
     }
 
     @Nullable
     public Float getRain() {
-        return rain;
+        return PrimitiveValues.toNullableFloat(rain);
     }
 
     @Nullable
     public Float getSnow() {
-        return snow;
+        return PrimitiveValues.toNullableFloat(snow);
     }
 
     @Nullable
     public Float getIce() {
-        return ice;
+        return PrimitiveValues.toNullableFloat(ice);
+    }
+
+    // NaN if missing, for the index of a weather.
+    float getTotalValue() {
+        return total;
     }
 
     public boolean isValid() {
-        return total != null && total > 0;
+        return total > 0;
     }
 }
@@ -0,0 +1,33 @@
+package nowsci.com.temperateweather.common.basic.models.weather;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Primitive values.
+ *
+ * The value types keep their nullable numbers in primitive fields, a missing int being
+ * {@link #NULL_INT} and a missing float being NaN. These are the values of the forecast series of
+ * the database, so both can be passed to each other without boxing.
+ * */
+class PrimitiveValues {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    static int toInt(@Nullable Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    @Nullable
+    static Integer toNullableInt(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    static float toFloat(@Nullable Float value) {
+        return value == null ? Float.NaN : value;
+    }
+
+    @Nullable
+    static Float toNullableFloat(float value) {
+        return Float.isNaN(value) ? null : value;
+    }
+}
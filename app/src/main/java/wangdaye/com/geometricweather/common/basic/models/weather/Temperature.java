@@ -15,13 +15,14 @@ import nowsci.com.temperateweather.settings.SettingsManager;
  * */
 public class Temperature implements Serializable {
 
+    // the optional temperatures are PrimitiveValues.NULL_INT when missing.
     private final int temperature;
-    @Nullable private final Integer realFeelTemperature;
-    @Nullable private final Integer realFeelShaderTemperature;
-    @Nullable private final Integer apparentTemperature;
-    @Nullable private final Integer windChillTemperature;
-    @Nullable private final Integer wetBulbTemperature;
-    @Nullable private final Integer degreeDayTemperature;
+    private final int realFeelTemperature;
+    private final int realFeelShaderTemperature;
+    private final int apparentTemperature;
+    private final int windChillTemperature;
+    private final int wetBulbTemperature;
+    private final int degreeDayTemperature;
 
     public Temperature(int temperature,
                        @Nullable Integer realFeelTemperature,
@@ -30,6 +31,27 @@ public class Temperature implements Serializable {
                        @Nullable Integer windChillTemperature,
                        @Nullable Integer wetBulbTemperature,
                        @Nullable Integer degreeDayTemperature) {
+        this(
+                temperature,
+                PrimitiveValues.toInt(realFeelTemperature),
+                PrimitiveValues.toInt(realFeelShaderTemperature),
+                PrimitiveValues.toInt(apparentTemperature),
+                PrimitiveValues.toInt(windChillTemperature),
+                PrimitiveValues.toInt(wetBulbTemperature),
+                PrimitiveValues.toInt(degreeDayTemperature)
+        );
+    }
+
+    /**
+     * Optional temperatures equal to {@link Integer#MIN_VALUE} are missing.
+     * */
+    public Temperature(int temperature,
+                       int realFeelTemperature,
+                       int realFeelShaderTemperature,
+                       int apparentTemperature,
+                       int windChillTemperature,
+                       int wetBulbTemperature,
+                       int degreeDayTemperature) {
         this.temperature = temperature;
         this.realFeelTemperature = realFeelTemperature;
         this.realFeelShaderTemperature = realFeelShaderTemperature;
@@ -45,32 +67,32 @@ public class Temperature implements Serializable {
 
     @Nullable
     public Integer getRealFeelTemperature() {
-        return realFeelTemperature;
+        return PrimitiveValues.toNullableInt(realFeelTemperature);
     }
 
     @Nullable
     public Integer getRealFeelShaderTemperature() {
-        return realFeelShaderTemperature;
+        return PrimitiveValues.toNullableInt(realFeelShaderTemperature);
     }
 
     @Nullable
     public Integer getApparentTemperature() {
-        return apparentTemperature;
+        return PrimitiveValues.toNullableInt(apparentTemperature);
     }
 
     @Nullable
     public Integer getWindChillTemperature() {
-        return windChillTemperature;
+        return PrimitiveValues.toNullableInt(windChillTemperature);
     }
 
     @Nullable
     public Integer getWetBulbTemperature() {
-        return wetBulbTemperature;
+        return PrimitiveValues.toNullableInt(wetBulbTemperature);
     }
 
     @Nullable
     public Integer getDegreeDayTemperature() {
-        return degreeDayTemperature;
+        return PrimitiveValues.toNullableInt(degreeDayTemperature);
     }
 
     @Nullable
@@ -85,12 +107,12 @@ public class Temperature implements Serializable {
 
     @Nullable
     public String getRealFeelTemperature(Context context, TemperatureUnit unit) {
-        return getTemperature(context, realFeelTemperature, unit);
+        return getTemperature(context, getRealFeelTemperature(), unit);
     }
 
     @Nullable
     public String getShortRealFeeTemperature(Context context, TemperatureUnit unit) {
-        return getShortTemperature(context, realFeelTemperature, unit);
+        return getShortTemperature(context, getRealFeelTemperature(), unit);
     }
 
     @Nullable
@@ -134,11 +156,11 @@ public class Temperature implements Serializable {
     }
 
     public boolean isValid() {
-        return realFeelTemperature != null
-                || realFeelShaderTemperature != null
-                || apparentTemperature != null
-                || windChillTemperature != null
-                || wetBulbTemperature != null
-                || degreeDayTemperature != null;
+        return realFeelTemperature != PrimitiveValues.NULL_INT
+                || realFeelShaderTemperature != PrimitiveValues.NULL_INT
+                || apparentTemperature != PrimitiveValues.NULL_INT
+                || windChillTemperature != PrimitiveValues.NULL_INT
+                || wetBulbTemperature != PrimitiveValues.NULL_INT
+                || degreeDayTemperature != PrimitiveValues.NULL_INT;
     }
 }
@@ -17,7 +17,7 @@ import nowsci.com.temperateweather.R;
  * */
 public class UV implements Serializable {
 
-    @Nullable private final Integer index;
+    private final int index; // PrimitiveValues.NULL_INT if missing.
     @Nullable private final String level;
     @Nullable private final String description;
 
@@ -27,6 +27,13 @@ public class UV implements Serializable {
     public static final int UV_INDEX_EXCESSIVE = 10;
 
     public UV(@Nullable Integer index, @Nullable String level, @Nullable String description) {
+        this(PrimitiveValues.toInt(index), level, description);
+    }
+
+    /**
+     * An index equal to {@link Integer#MIN_VALUE} is missing.
+     * */
+    public UV(int index, @Nullable String level, @Nullable String description) {
         this.index = index;
         this.level = level;
         this.description = description;
@@ -34,7 +41,7 @@ public class UV implements Serializable {
 
     @Nullable
     public Integer getIndex() {
-        return index;
+        return PrimitiveValues.toNullableInt(index);
     }
 
     @Nullable
@@ -48,17 +55,17 @@ public class UV implements Serializable {
     }
 
     public boolean isValid() {
-        return index != null || level != null || description != null;
+        return index != PrimitiveValues.NULL_INT || level != null || description != null;
     }
 
     public boolean isValidIndex() {
-        return index != null;
+        return index != PrimitiveValues.NULL_INT;
     }
 
     @SuppressLint("DefaultLocale")
     public String getUVDescription() {
         StringBuilder builder = new StringBuilder();
-        if (index != null) {
+        if (index != PrimitiveValues.NULL_INT) {
             builder.append(String.format("%d", index));
         }
         if (level != null) {
@@ -76,7 +83,7 @@ public class UV implements Serializable {
 
     public String getShortUVDescription() {
         StringBuilder builder = new StringBuilder();
-        if (index != null) {
+        if (index != PrimitiveValues.NULL_INT) {
             builder.append(index);
         }
         if (level != null) {
@@ -89,9 +96,7 @@ public class UV implements Serializable {
 
     @ColorInt
     public int getUVColor(Context context) {
-        if (index == null) {
-            return ContextCompat.getColor(context, R.color.colorLevel_1);
-        } else if (index <= UV_INDEX_LOW) {
+        if (index == PrimitiveValues.NULL_INT || index <= UV_INDEX_LOW) {
             return ContextCompat.getColor(context, R.color.colorLevel_1);
         } else if (index <= UV_INDEX_MIDDLE) {
             return ContextCompat.getColor(context, R.color.colorLevel_2);
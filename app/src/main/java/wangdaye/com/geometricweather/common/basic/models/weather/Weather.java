@@ -22,6 +22,9 @@ public class Weather
     @NonNull private final List<Minutely> minutelyForecast;
     @NonNull private final List<Alert> alertList;
 
+    // built from the forecasts when it is first needed, and again after a deserialization.
+    @Nullable private transient volatile WeatherIndex index;
+
     public Weather(@NonNull Base base, @NonNull Current current, @Nullable History yesterday,
                    @NonNull List<Daily> dailyForecast,
                    @NonNull List<Hourly> hourlyForecast,
@@ -75,6 +78,19 @@ public class Weather
         return alertList;
     }
 
+    /**
+     * @return the lookup tables and the primitive series of the forecasts.
+     * */
+    @NonNull
+    public WeatherIndex getIndex() {
+        WeatherIndex index = this.index;
+        if (index == null) {
+            index = new WeatherIndex(dailyForecast, hourlyForecast);
+            this.index = index;
+        }
+        return index;
+    }
+
     public boolean isValid(float pollingIntervalHours) {
         long updateTime = base.getUpdateTime();
         long currentTime = System.currentTimeMillis();
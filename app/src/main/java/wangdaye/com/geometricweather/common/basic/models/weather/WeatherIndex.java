@@ -0,0 +1,283 @@
+package nowsci.com.temperateweather.common.basic.models.weather;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+
+import nowsci.com.temperateweather.common.utils.TimeUtils;
+
+/**
+ * Weather index.
+ *
+ * Lookup tables and primitive series of the forecasts of a {@link Weather}, built once when they
+ * are first needed. The hour and the day of a time are found in constant time, and charts read
+ * the series without walking the models.
+ *
+ * The series are shared by all the readers of the weather and must not be modified. A missing
+ * float value is {@link Float#NaN}.
+ * */
+public class WeatherIndex {
+
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+
+    private final List<Daily> mDailyForecast;
+    private final List<Hourly> mHourlyForecast;
+
+    // epoch hour - mHourBase -> the last hourly forecast starting in or before that epoch hour.
+    private final long mHourBase;
+    private final int[] mHourTable;
+
+    private final int[] mHourlyTemperatures;
+    private final float[] mHourlyPrecipitations;
+    private final float[] mHourlyPrecipitationProbabilities;
+    private final float[] mHourlyWindSpeeds;
+
+    private final int[] mDaytimeTemperatures;
+    private final int[] mNighttimeTemperatures;
+    private final float[] mDaytimePrecipitations;
+    private final float[] mNighttimePrecipitations;
+    private final float[] mDaytimePrecipitationProbabilities;
+    private final float[] mNighttimePrecipitationProbabilities;
+    private final float[] mDaytimeWindSpeeds;
+    private final float[] mNighttimeWindSpeeds;
+
+    // the days depend on a time zone, the table of the last one asked is kept.
+    @Nullable private volatile DayTable mDayTable;
+
+    WeatherIndex(@NonNull List<Daily> dailyForecast, @NonNull List<Hourly> hourlyForecast) {
+        mDailyForecast = dailyForecast;
+        mHourlyForecast = hourlyForecast;
+
+        int hourlyCount = hourlyForecast.size();
+        mHourlyTemperatures = new int[hourlyCount];
+        mHourlyPrecipitations = new float[hourlyCount];
+        mHourlyPrecipitationProbabilities = new float[hourlyCount];
+        mHourlyWindSpeeds = new float[hourlyCount];
+        for (int i = 0; i < hourlyCount; i ++) {
+            Hourly hourly = hourlyForecast.get(i);
+            mHourlyTemperatures[i] = hourly.getTemperature().getTemperature();
+            mHourlyPrecipitations[i] = hourly.getPrecipitation().getTotalValue();
+            mHourlyPrecipitationProbabilities[i] = hourly.getPrecipitationProbability().getTotalValue();
+            mHourlyWindSpeeds[i] = hourly.getWind().getSpeedValue();
+        }
+
+        if (hourlyCount == 0) {
+            mHourBase = 0;
+            mHourTable = new int[0];
+        } else {
+            mHourBase = floorDiv(hourlyForecast.get(0).getTime(), MILLIS_PER_HOUR);
+            long last = floorDiv(hourlyForecast.get(hourlyCount - 1).getTime(), MILLIS_PER_HOUR);
+            mHourTable = new int[(int) Math.max(0, last - mHourBase + 1)];
+            Arrays.fill(mHourTable, -1);
+            for (int i = 0; i < hourlyCount; i ++) {
+                long slot = floorDiv(hourlyForecast.get(i).getTime(), MILLIS_PER_HOUR) - mHourBase;
+                if (0 <= slot && slot < mHourTable.length) {
+                    mHourTable[(int) slot] = i;
+                }
+            }
+            // an hour without a forecast starting in it still belongs to the previous one.
+            for (int i = 1; i < mHourTable.length; i ++) {
+                if (mHourTable[i] < 0) {
+                    mHourTable[i] = mHourTable[i - 1];
+                }
+            }
+        }
+
+        int dailyCount = dailyForecast.size();
+        mDaytimeTemperatures = new int[dailyCount];
+        mNighttimeTemperatures = new int[dailyCount];
+        mDaytimePrecipitations = new float[dailyCount];
+        mNighttimePrecipitations = new float[dailyCount];
+        mDaytimePrecipitationProbabilities = new float[dailyCount];
+        mNighttimePrecipitationProbabilities = new float[dailyCount];
+        mDaytimeWindSpeeds = new float[dailyCount];
+        mNighttimeWindSpeeds = new float[dailyCount];
+        for (int i = 0; i < dailyCount; i ++) {
+            HalfDay day = dailyForecast.get(i).day();
+            HalfDay night = dailyForecast.get(i).night();
+            mDaytimeTemperatures[i] = day.getTemperature().getTemperature();
+            mNighttimeTemperatures[i] = night.getTemperature().getTemperature();
+            mDaytimePrecipitations[i] = day.getPrecipitation().getTotalValue();
+            mNighttimePrecipitations[i] = night.getPrecipitation().getTotalValue();
+            mDaytimePrecipitationProbabilities[i] = day.getPrecipitationProbability().getTotalValue();
+            mNighttimePrecipitationProbabilities[i] = night.getPrecipitationProbability().getTotalValue();
+            mDaytimeWindSpeeds[i] = day.getWind().getSpeedValue();
+            mNighttimeWindSpeeds[i] = night.getWind().getSpeedValue();
+        }
+
+        mDayTable = null;
+    }
+
+    // hourly.
+
+    /**
+     * @return the index of the hourly forecast of the hour containing the time, or -1 if the
+     * forecast does not cover it.
+     * */
+    public int getHourlyIndex(long timeMillis) {
+        long slot = floorDiv(timeMillis, MILLIS_PER_HOUR) - mHourBase;
+        if (slot < 0 || slot >= mHourTable.length) {
+            return -1;
+        }
+        int index = mHourTable[(int) slot];
+        // the forecast of this epoch hour may start later in it, like in zones of half hours.
+        if (index >= 0 && timeMillis < mHourlyForecast.get(index).getTime()) {
+            index --;
+        }
+        if (index < 0 || timeMillis >= mHourlyForecast.get(index).getTime() + MILLIS_PER_HOUR) {
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index of the hourly forecast of the current hour, or -1.
+     * */
+    public int getCurrentHourlyIndex() {
+        return getHourlyIndex(System.currentTimeMillis());
+    }
+
+    public int[] getHourlyTemperatures() {
+        return mHourlyTemperatures;
+    }
+
+    public float[] getHourlyPrecipitations() {
+        return mHourlyPrecipitations;
+    }
+
+    public float[] getHourlyPrecipitationProbabilities() {
+        return mHourlyPrecipitationProbabilities;
+    }
+
+    public float[] getHourlyWindSpeeds() {
+        return mHourlyWindSpeeds;
+    }
+
+    // daily.
+
+    /**
+     * @return the index of the daily forecast of the local day of the time in the zone, or -1 if
+     * the forecast does not cover it.
+     * */
+    public int getDailyIndex(long timeMillis, TimeZone timeZone) {
+        return getDayTable(timeZone).get(TimeUtils.getDayKey(timeMillis / 1000, timeZone));
+    }
+
+    /**
+     * @return the index of the daily forecast of today in the zone, or -1.
+     * */
+    public int getTodayIndex(TimeZone timeZone) {
+        return getDailyIndex(System.currentTimeMillis(), timeZone);
+    }
+
+    public int[] getDaytimeTemperatures() {
+        return mDaytimeTemperatures;
+    }
+
+    public int[] getNighttimeTemperatures() {
+        return mNighttimeTemperatures;
+    }
+
+    public float[] getDaytimePrecipitations() {
+        return mDaytimePrecipitations;
+    }
+
+    public float[] getNighttimePrecipitations() {
+        return mNighttimePrecipitations;
+    }
+
+    public float[] getDaytimePrecipitationProbabilities() {
+        return mDaytimePrecipitationProbabilities;
+    }
+
+    public float[] getNighttimePrecipitationProbabilities() {
+        return mNighttimePrecipitationProbabilities;
+    }
+
+    public float[] getDaytimeWindSpeeds() {
+        return mDaytimeWindSpeeds;
+    }
+
+    public float[] getNighttimeWindSpeeds() {
+        return mNighttimeWindSpeeds;
+    }
+
+    // series.
+
+    /**
+     * @return the highest value of the series, NaN values aside, or the floor if it is higher.
+     * */
+    public static float getMax(float[] series, float floor) {
+        float max = floor;
+        for (float value : series) {
+            if (value > max) {
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    private DayTable getDayTable(TimeZone timeZone) {
+        DayTable table = mDayTable;
+        if (table == null || !table.timeZone.getID().equals(timeZone.getID())) {
+            table = new DayTable(mDailyForecast, timeZone);
+            mDayTable = table;
+        }
+        return table;
+    }
+
+    private static class DayTable {
+
+        final TimeZone timeZone;
+
+        // day key - base -> the first daily forecast of that day.
+        final long base;
+        final int[] table;
+
+        DayTable(List<Daily> dailyForecast, TimeZone timeZone) {
+            this.timeZone = timeZone;
+
+            int count = dailyForecast.size();
+            long[] keys = new long[count];
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < count; i ++) {
+                keys[i] = TimeUtils.getDayKey(dailyForecast.get(i).getTime() / 1000, timeZone);
+                min = Math.min(min, keys[i]);
+                max = Math.max(max, keys[i]);
+            }
+
+            if (count == 0) {
+                base = 0;
+                table = new int[0];
+            } else {
+                base = min;
+                // the forecasts are a few days long, a broken one is not worth a huge table.
+                table = new int[(int) Math.min(max - min + 1, 4 * count)];
+                Arrays.fill(table, -1);
+                for (int i = count - 1; i >= 0; i --) {
+                    long slot = keys[i] - base;
+                    if (slot < table.length) {
+                        table[(int) slot] = i;
+                    }
+                }
+            }
+        }
+
+        int get(long dayKey) {
+            long slot = dayKey - base;
+            return slot < 0 || slot >= table.length ? -1 : table[(int) slot];
+        }
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q --;
+        }
+        return q;
+    }
+}
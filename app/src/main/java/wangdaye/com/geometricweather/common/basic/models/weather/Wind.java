@@ -22,7 +22,7 @@ public class Wind implements Serializable {
 
     @NonNull private final String direction;
     @NonNull private final WindDegree degree;
-    @Nullable private final Float speed;
+    private final float speed; // NaN if missing.
     @NonNull private final String level;
 
     public static final float WIND_SPEED_0 = 2;
@@ -42,6 +42,16 @@ public class Wind implements Serializable {
                 @NonNull WindDegree degree,
                 @Nullable Float speed,
                 @NonNull String level) {
+        this(direction, degree, PrimitiveValues.toFloat(speed), level);
+    }
+
+    /**
+     * A speed equal to NaN is missing.
+     * */
+    public Wind(@NonNull String direction,
+                @NonNull WindDegree degree,
+                float speed,
+                @NonNull String level) {
         this.direction = direction;
         this.degree = degree;
         this.speed = speed;
@@ -60,7 +70,7 @@ public class Wind implements Serializable {
 
     @Nullable
     public Float getSpeed() {
-        return speed;
+        return PrimitiveValues.toNullableFloat(speed);
     }
 
     @NonNull
@@ -68,11 +78,14 @@ public class Wind implements Serializable {
         return level;
     }
 
+    // NaN if missing, for the index of a weather.
+    float getSpeedValue() {
+        return speed;
+    }
+
     @ColorInt
     public int getWindColor(Context context) {
-        if (speed == null) {
-            return ContextCompat.getColor(context, R.color.colorLevel_1);
-        } else if (speed <= WIND_SPEED_3) {
+        if (Float.isNaN(speed) || speed <= WIND_SPEED_3) {
             return ContextCompat.getColor(context, R.color.colorLevel_1);
         } else if (speed <= WIND_SPEED_5) {
             return ContextCompat.getColor(context, R.color.colorLevel_2);
@@ -94,7 +107,7 @@ public class Wind implements Serializable {
     public String getWindDescription(Context context, SpeedUnit unit) {
         StringBuilder builder = new StringBuilder();
         builder.append(direction);
-        if (speed != null) {
+        if (!Float.isNaN(speed)) {
             builder.append(" ").append(unit.getValueText(context, speed));
         }
         builder.append(" ").append("(").append(level).append(")");
@@ -105,6 +118,6 @@ public class Wind implements Serializable {
     }
 
     public boolean isValidSpeed() {
-        return speed != null && speed > 0;
+        return speed > 0;
     }
 }
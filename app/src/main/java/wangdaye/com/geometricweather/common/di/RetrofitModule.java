@@ -1,47 +1,120 @@
 package nowsci.com.temperateweather.common.di;
 
+import android.content.Context;
+
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 import retrofit2.converter.gson.GsonConverterFactory;
 import nowsci.com.temperateweather.TemperateWeather;
+import nowsci.com.temperateweather.background.polling.PollingUpdateHelper;
+import nowsci.com.temperateweather.common.retrofit.CachingDns;
+import nowsci.com.temperateweather.common.retrofit.NetworkMetrics;
 import nowsci.com.temperateweather.common.retrofit.TLSCompactHelper;
+import nowsci.com.temperateweather.common.retrofit.interceptors.CacheRulesInterceptor;
 import nowsci.com.temperateweather.common.retrofit.interceptors.GzipInterceptor;
+import nowsci.com.temperateweather.common.retrofit.interceptors.OfflineCacheInterceptor;
+import nowsci.com.temperateweather.weather.json.accu.AccuTypeAdapterFactory;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunTypeAdapterFactory;
+import nowsci.com.temperateweather.weather.json.mf.MfTypeAdapterFactory;
+import nowsci.com.temperateweather.weather.json.owm.OwmTypeAdapterFactory;
 
 @InstallIn(SingletonComponent.class)
 @Module
 public class RetrofitModule {
 
+    private static final String HTTP_CACHE_DIRECTORY = "http";
+    private static final long HTTP_CACHE_SIZE = 32 * 1024 * 1024;
+
+    // a refresh of one location sends up to 6 requests to the host of its weather source, and a
+    // polling refreshes several locations of the same source at once. none of them may wait for
+    // a slot of the dispatcher, the secondary requests already count their timeout.
+    private static final int MAX_REQUESTS_PER_REFRESH = 6;
+    private static final int MAX_REQUESTS_PER_HOST
+            = MAX_REQUESTS_PER_REFRESH * PollingUpdateHelper.DEFAULT_MAX_REQUESTS_PER_SOURCE;
+    private static final int MAX_REQUESTS = 2 * MAX_REQUESTS_PER_HOST;
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
     @Provides
     @Singleton
-    public OkHttpClient provideOkHttpClient(GzipInterceptor gzipInterceptor,
-                                            HttpLoggingInterceptor loggingInterceptor) {
+    public OkHttpClient provideOkHttpClient(Cache cache,
+                                            ConnectionPool connectionPool,
+                                            Dispatcher dispatcher,
+                                            CachingDns dns,
+                                            NetworkMetrics metrics,
+                                            GzipInterceptor gzipInterceptor,
+                                            OfflineCacheInterceptor offlineCacheInterceptor,
+                                            HttpLoggingInterceptor loggingInterceptor,
+                                            CacheRulesInterceptor cacheRulesInterceptor) {
         return TLSCompactHelper.getClientBuilder()
+                .cache(cache)
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .dns(dns)
+                .eventListenerFactory(metrics)
                 .addInterceptor(gzipInterceptor)
+                .addInterceptor(offlineCacheInterceptor)
                 .addInterceptor(loggingInterceptor)
+                .addNetworkInterceptor(cacheRulesInterceptor)
                 .build();
     }
 
+    @Provides
+    @Singleton
+    public Cache provideHttpCache(@ApplicationContext Context context) {
+        return new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIRECTORY), HTTP_CACHE_SIZE);
+    }
+
+    @Provides
+    @Singleton
+    public ConnectionPool provideConnectionPool() {
+        return new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Provides
+    @Singleton
+    public Dispatcher provideDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
     @Provides
     @Singleton
     public GsonConverterFactory provideGsonConverterFactory() {
         return GsonConverterFactory.create(
-                new GsonBuilder().setDateFormat("yyyy-MM-dd'T'HH:mm:ss").create()
+                new GsonBuilder()
+                        .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+                        .registerTypeAdapterFactory(new AccuTypeAdapterFactory())
+                        .registerTypeAdapterFactory(new CaiYunTypeAdapterFactory())
+                        .registerTypeAdapterFactory(new MfTypeAdapterFactory())
+                        .registerTypeAdapterFactory(new OwmTypeAdapterFactory())
+                        .create()
         );
     }
 
     @Provides
     @Singleton
     public RxJava2CallAdapterFactory provideRxJava2CallAdapterFactory() {
-        return RxJava2CallAdapterFactory.create();
+        // calls are enqueued, so the limits of the dispatcher apply to them.
+        return RxJava2CallAdapterFactory.createAsync();
     }
 
     @Provides
@@ -0,0 +1,70 @@
+package nowsci.com.temperateweather.common.retrofit;
+
+import androidx.annotation.NonNull;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Dns;
+
+/**
+ * Caching dns.
+ *
+ * Keeps the addresses of the provider hosts for a while, so a refresh of several locations does
+ * not look them up for every request. A lookup that fails falls back to the last known addresses.
+ * */
+@Singleton
+public class CachingDns implements Dns {
+
+    private static final long TTL_MILLIS = 10 * 60 * 1000;
+
+    private final Dns mDelegate;
+    private final Map<String, Entry> mEntries;
+
+    private static class Entry {
+        final List<InetAddress> addresses;
+        final long time;
+
+        Entry(List<InetAddress> addresses, long time) {
+            this.addresses = addresses;
+            this.time = time;
+        }
+    }
+
+    @Inject
+    public CachingDns() {
+        this(Dns.SYSTEM);
+    }
+
+    public CachingDns(Dns delegate) {
+        mDelegate = delegate;
+        mEntries = new ConcurrentHashMap<>();
+    }
+
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        long now = System.currentTimeMillis();
+        Entry entry = mEntries.get(hostname);
+        if (entry != null && now - entry.time < TTL_MILLIS) {
+            return entry.addresses;
+        }
+
+        try {
+            List<InetAddress> addresses = mDelegate.lookup(hostname);
+            mEntries.put(hostname, new Entry(addresses, now));
+            return addresses;
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+}
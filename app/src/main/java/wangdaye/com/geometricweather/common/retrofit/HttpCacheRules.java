@@ -0,0 +1,119 @@
+package nowsci.com.temperateweather.common.retrofit;
+
+import androidx.annotation.NonNull;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Http cache rules.
+ *
+ * Freshness of the provider endpoints whose responses rarely change. Providers mark most of them
+ * as uncacheable, so these rules decide how long a response can be served from the http cache.
+ * Coordinates of the geo position and ephemeris requests are rounded to about one kilometer, so
+ * nearby positions share a cache entry. Every other endpoint is revalidated on each request, so
+ * its ETag or Last-Modified validator saves the download of unchanged data.
+ * */
+
+public class HttpCacheRules {
+
+    public static final long MAX_STALE_SECONDS = TimeUnit.DAYS.toSeconds(30);
+
+    private static final long LOCATION_MAX_AGE_SECONDS = TimeUnit.DAYS.toSeconds(7);
+    private static final String COORDINATE_FORMAT = "%.2f";
+
+    private enum Rule {
+        // search by name.
+        LOCATION,
+        // search by coordinates, as "lat,lon" in the q parameter or as lat and lon parameters.
+        GEO_POSITION,
+        // sun and moon of the current day.
+        EPHEMERIS
+    }
+
+    public static boolean isCacheable(@NonNull HttpUrl url) {
+        return getRule(url) != null;
+    }
+
+    /**
+     * @return seconds the response of the url stays fresh, or -1 if the url has no rule.
+     * */
+    public static long getMaxAgeSeconds(@NonNull HttpUrl url, long currentTime, @NonNull TimeZone timeZone) {
+        Rule rule = getRule(url);
+        if (rule == null) {
+            return -1;
+        }
+        switch (rule) {
+            case EPHEMERIS:
+                Calendar calendar = Calendar.getInstance(timeZone);
+                calendar.setTimeInMillis(currentTime);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                calendar.add(Calendar.DATE, 1);
+                return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(calendar.getTimeInMillis() - currentTime));
+
+            default:
+                return LOCATION_MAX_AGE_SECONDS;
+        }
+    }
+
+    @NonNull
+    public static HttpUrl roundCoordinates(@NonNull HttpUrl url) {
+        Rule rule = getRule(url);
+        if (rule != Rule.GEO_POSITION && rule != Rule.EPHEMERIS) {
+            return url;
+        }
+
+        HttpUrl.Builder builder = url.newBuilder();
+        String q = url.queryParameter("q");
+        if (q != null) {
+            String[] coordinates = q.split(",");
+            if (coordinates.length == 2) {
+                String latitude = round(coordinates[0]);
+                String longitude = round(coordinates[1]);
+                if (latitude != null && longitude != null) {
+                    builder.setQueryParameter("q", latitude + "," + longitude);
+                }
+            }
+        }
+        for (String name : new String[] {"lat", "lon"}) {
+            String value = url.queryParameter(name);
+            String rounded = value == null ? null : round(value);
+            if (rounded != null) {
+                builder.setQueryParameter(name, rounded);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Rule getRule(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.endsWith("/locations/v1/cities/translate.json")
+                || path.endsWith("/geo/1.0/direct")
+                || path.endsWith("/places")) {
+            return Rule.LOCATION;
+        }
+        if (path.endsWith("/locations/v1/cities/geoposition/search.json")
+                || path.endsWith("/geo/1.0/reverse")) {
+            return Rule.GEO_POSITION;
+        }
+        if (path.endsWith("/ephemeris")) {
+            return Rule.EPHEMERIS;
+        }
+        return null;
+    }
+
+    private static String round(String coordinate) {
+        try {
+            return String.format(Locale.US, COORDINATE_FORMAT, Double.parseDouble(coordinate.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package nowsci.com.temperateweather.common.retrofit;
+
+import androidx.annotation.NonNull;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+
+/**
+ * Network metrics.
+ *
+ * Counts, for every host, how many requests went out on a connection of the pool instead of a
+ * new one, and how long it took from the start of the call to the first byte of the response.
+ * Responses served by the http cache do not touch the network and are not counted.
+ * */
+@Singleton
+public class NetworkMetrics implements EventListener.Factory {
+
+    private final Map<String, HostMetrics> mMetrics;
+
+    public static class HostMetrics {
+
+        private int mConnectionCount;
+        private int mReusedCount;
+        private int mResponseCount;
+        private long mTotalTimeToFirstByte;
+
+        HostMetrics() {
+            mConnectionCount = 0;
+            mReusedCount = 0;
+            mResponseCount = 0;
+            mTotalTimeToFirstByte = 0;
+        }
+
+        HostMetrics(HostMetrics metrics) {
+            mConnectionCount = metrics.mConnectionCount;
+            mReusedCount = metrics.mReusedCount;
+            mResponseCount = metrics.mResponseCount;
+            mTotalTimeToFirstByte = metrics.mTotalTimeToFirstByte;
+        }
+
+        public int getConnectionCount() {
+            return mConnectionCount;
+        }
+
+        public int getReusedCount() {
+            return mReusedCount;
+        }
+
+        public float getReuseRate() {
+            return mConnectionCount == 0 ? 0 : (float) mReusedCount / mConnectionCount;
+        }
+
+        public int getResponseCount() {
+            return mResponseCount;
+        }
+
+        public long getAverageTimeToFirstByte() {
+            return mResponseCount == 0 ? 0 : mTotalTimeToFirstByte / mResponseCount;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "connections=" + mConnectionCount
+                    + ", reused=" + (int) (getReuseRate() * 100) + "%"
+                    + ", ttfb=" + getAverageTimeToFirstByte() + "ms";
+        }
+    }
+
+    @Inject
+    public NetworkMetrics() {
+        mMetrics = new HashMap<>();
+    }
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new CallListener(call.request().url().host());
+    }
+
+    /**
+     * @return a copy of the metrics, by host.
+     * */
+    @NonNull
+    public synchronized Map<String, HostMetrics> getSnapshot() {
+        Map<String, HostMetrics> snapshot = new HashMap<>();
+        for (Map.Entry<String, HostMetrics> entry : mMetrics.entrySet()) {
+            snapshot.put(entry.getKey(), new HostMetrics(entry.getValue()));
+        }
+        return snapshot;
+    }
+
+    public synchronized void reset() {
+        mMetrics.clear();
+    }
+
+    private synchronized void onConnectionAcquired(String host, boolean reused) {
+        HostMetrics metrics = getMetrics(host);
+        metrics.mConnectionCount ++;
+        if (reused) {
+            metrics.mReusedCount ++;
+        }
+    }
+
+    private synchronized void onFirstByte(String host, long timeToFirstByte) {
+        HostMetrics metrics = getMetrics(host);
+        metrics.mResponseCount ++;
+        metrics.mTotalTimeToFirstByte += timeToFirstByte;
+    }
+
+    private HostMetrics getMetrics(String host) {
+        HostMetrics metrics = mMetrics.get(host);
+        if (metrics == null) {
+            metrics = new HostMetrics();
+            mMetrics.put(host, metrics);
+        }
+        return metrics;
+    }
+
+    // one listener for every call, the events of a call come one after another.
+    private class CallListener extends EventListener {
+
+        private final String mHost;
+        private long mStartTime;
+        private boolean mConnected;
+        private boolean mAcquired;
+        private boolean mResponded;
+
+        CallListener(String host) {
+            mHost = host;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            mStartTime = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call,
+                                 @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            mConnected = true;
+        }
+
+        @Override
+        public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+            // a retry or a redirect acquires the connection again.
+            if (!mAcquired) {
+                mAcquired = true;
+                onConnectionAcquired(mHost, !mConnected);
+            }
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            if (!mResponded) {
+                mResponded = true;
+                onFirstByte(mHost, (System.nanoTime() - mStartTime) / 1000 / 1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package nowsci.com.temperateweather.common.retrofit.interceptors;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.TimeZone;
+
+import javax.inject.Inject;
+
+import nowsci.com.temperateweather.common.retrofit.HttpCacheRules;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Cache rules interceptor.
+ *
+ * Network interceptor that replaces the cache headers of the provider with the freshness of
+ * {@link HttpCacheRules}, before the response is written to the http cache. Responses of the
+ * other endpoints are cached only if they carry a validator, and are always revalidated.
+ * */
+public class CacheRulesInterceptor implements Interceptor {
+
+    @Inject
+    public CacheRulesInterceptor() {
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful() && response.code() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return response;
+        }
+
+        // the service tags the requests whose freshness depends on the day of the location.
+        TimeZone timeZone = request.tag(TimeZone.class);
+        long maxAge = HttpCacheRules.getMaxAgeSeconds(
+                request.url(),
+                System.currentTimeMillis(),
+                timeZone == null ? TimeZone.getDefault() : timeZone
+        );
+        if (maxAge < 0) {
+            if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED
+                    || response.header("ETag") != null
+                    || response.header("Last-Modified") != null) {
+                // keep the validators, but never serve the response without asking the provider.
+                return response.newBuilder()
+                        .removeHeader("Pragma")
+                        .removeHeader("Expires")
+                        .header("Cache-Control", "no-cache")
+                        .build();
+            }
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+}
@@ -3,24 +3,23 @@ package nowsci.com.temperateweather.common.retrofit.interceptors;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 
 import javax.inject.Inject;
 
-import okhttp3.MediaType;
-import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import okio.Buffer;
-import okio.BufferedSource;
 import okio.GzipSource;
-
+import okio.Okio;
+
+/**
+ * Gzip interceptor.
+ *
+ * Unzips gzip encoded bodies while they are read. Nothing is buffered here, so the converter
+ * parses the body straight from the network source.
+ * */
 public class GzipInterceptor extends ReportExceptionInterceptor {
 
-    private static final Charset UTF8 = StandardCharsets.UTF_8;
-
     @Inject
     public GzipInterceptor() {
     }
@@ -31,44 +30,24 @@ public class GzipInterceptor extends ReportExceptionInterceptor {
         Request request = chain.request()
                 .newBuilder()
                 .build();
-        return buildResponse(request, chain.proceed(request));
+        return buildResponse(chain.proceed(request));
     }
 
-    private Response buildResponse(Request request, Response response) throws IOException {
+    private Response buildResponse(Response response) {
         ResponseBody body = response.body();
-        if (body == null) {
+        if (body == null || !"gzip".equalsIgnoreCase(response.header("Content-Encoding"))) {
             return response;
         }
 
-        BufferedSource source = body.source();
-        source.request(Long.MAX_VALUE); // Buffer the entire body.
-        Buffer buffer = source.buffer();
-
-        if ("gzip".equalsIgnoreCase(response.headers().get("Content-Encoding"))) {
-            try (GzipSource gzippedResponseBody = new GzipSource(buffer.clone())) {
-                buffer = new Buffer();
-                buffer.writeAll(gzippedResponseBody);
-            }
-        }
-
-        Charset charset = UTF8;
-        MediaType contentType = body.contentType();
-        if (contentType != null) {
-            charset = contentType.charset(UTF8);
-        }
-
-        String bodyString = "";
-        if (charset != null) {
-            bodyString = buffer.clone().readString(charset);
-        }
-
-        return new Response.Builder()
-                .addHeader("Content-Type", "application/json")
-                .code(response.code())
-                .body(ResponseBody.create(body.contentType(), bodyString))
-                .message(response.message())
-                .request(request)
-                .protocol(Protocol.HTTP_2)
+        // the length of the unzipped body is unknown until it has been read.
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(
+                        body.contentType(),
+                        -1L,
+                        Okio.buffer(new GzipSource(body.source()))
+                ))
                 .build();
     }
-}
\ No newline at end of file
+}
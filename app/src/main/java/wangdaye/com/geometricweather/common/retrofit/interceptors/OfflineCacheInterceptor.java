@@ -0,0 +1,112 @@
+package nowsci.com.temperateweather.common.retrofit.interceptors;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import nowsci.com.temperateweather.common.retrofit.HttpCacheRules;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Offline cache interceptor.
+ *
+ * Rounds the coordinates of cacheable requests, serves a stale cached response if the network
+ * fails and counts how the cacheable requests were answered.
+ * */
+@Singleton
+public class OfflineCacheInterceptor implements Interceptor {
+
+    private final AtomicInteger mRequestCount;
+    private final AtomicInteger mHitCount;
+    private final AtomicInteger mConditionalHitCount;
+    private final AtomicInteger mStaleHitCount;
+
+    @Inject
+    public OfflineCacheInterceptor() {
+        mRequestCount = new AtomicInteger();
+        mHitCount = new AtomicInteger();
+        mConditionalHitCount = new AtomicInteger();
+        mStaleHitCount = new AtomicInteger();
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!HttpCacheRules.isCacheable(request.url())) {
+            return chain.proceed(request);
+        }
+
+        request = request.newBuilder()
+                .url(HttpCacheRules.roundCoordinates(request.url()))
+                .build();
+        mRequestCount.incrementAndGet();
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Response cached = chain.proceed(
+                    request.newBuilder()
+                            .cacheControl(new CacheControl.Builder()
+                                    .onlyIfCached()
+                                    .maxStale((int) HttpCacheRules.MAX_STALE_SECONDS, TimeUnit.SECONDS)
+                                    .build())
+                            .build()
+            );
+            if (cached.code() == HttpURLConnection.HTTP_GATEWAY_TIMEOUT) {
+                // nothing has been cached.
+                cached.close();
+                throw e;
+            }
+            mStaleHitCount.incrementAndGet();
+            return cached;
+        }
+
+        if (response.cacheResponse() != null) {
+            if (response.networkResponse() == null) {
+                mHitCount.incrementAndGet();
+            } else {
+                mConditionalHitCount.incrementAndGet();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * @return count of the requests that {@link HttpCacheRules} considers cacheable.
+     * */
+    public int getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    /**
+     * @return count of the requests answered by a fresh cached response, without any network.
+     * */
+    public int getHitCount() {
+        return mHitCount.get();
+    }
+
+    /**
+     * @return count of the requests answered by a cached response that the server validated.
+     * */
+    public int getConditionalHitCount() {
+        return mConditionalHitCount.get();
+    }
+
+    /**
+     * @return count of the requests answered by a stale cached response because the network failed.
+     * */
+    public int getStaleHitCount() {
+        return mStaleHitCount.get();
+    }
+}
@@ -1,17 +1,16 @@
 package nowsci.com.temperateweather.common.utils;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.List;
-
-import nowsci.com.temperateweather.common.basic.models.ChineseCity;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * File utils.
@@ -19,31 +18,43 @@ import nowsci.com.temperateweather.common.basic.models.ChineseCity;
 
 public class FileUtils {
 
-    public static List<ChineseCity> readCityList(Context context) {
-        return new Gson().fromJson(
-                readAssetFileToString(context, "city_list.txt"),
-                new TypeToken<List<ChineseCity>>() {}.getType()
-        );
+    /**
+     * Map an asset into memory. Only uncompressed assets (see aaptOptions.noCompress) can be
+     * mapped, compressed ones are copied into a heap buffer instead.
+     * */
+    public static ByteBuffer mapAssetFile(Context context, String fileName) throws IOException {
+        AssetFileDescriptor descriptor = null;
+        FileInputStream stream = null;
+        try {
+            descriptor = context.getResources().getAssets().openFd(fileName);
+            stream = descriptor.createInputStream();
+            return stream.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY,
+                    descriptor.getStartOffset(),
+                    descriptor.getLength()
+            );
+        } catch (FileNotFoundException e) {
+            // the asset is compressed.
+            return ByteBuffer.wrap(readAssetFileToBytes(context, fileName));
+        } finally {
+            closeIO(stream, descriptor);
+        }
     }
 
-    private static String readAssetFileToString(Context context, String fileName) {
-        StringBuilder result = new StringBuilder();
-        InputStreamReader inputReader = null;
-        BufferedReader bufReader = null;
+    private static byte[] readAssetFileToBytes(Context context, String fileName) throws IOException {
+        InputStream inputStream = null;
         try {
-            inputReader = new InputStreamReader(context.getResources().getAssets().open(fileName));
-            bufReader = new BufferedReader(inputReader);
-            String line;
-
-            while ((line = bufReader.readLine()) != null) {
-                result.append(line);
+            inputStream = context.getResources().getAssets().open(fileName);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(inputStream.available());
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            return outputStream.toByteArray();
+        } finally {
+            closeIO(inputStream);
         }
-        closeIO(inputReader, bufReader);
-
-        return result.toString();
     }
 
     private static void closeIO(Closeable... closeables) {
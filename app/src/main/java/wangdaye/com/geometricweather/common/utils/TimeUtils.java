@@ -0,0 +1,101 @@
+package nowsci.com.temperateweather.common.utils;
+
+import java.util.TimeZone;
+
+/**
+ * Time utils.
+ *
+ * Local time of day and calendar days of epoch seconds in a time zone, computed with the offset
+ * of the zone at that instant instead of a {@link java.util.Calendar} or a
+ * {@link java.text.SimpleDateFormat}. Nothing is allocated and nothing is shared, so every method
+ * can be called from any thread.
+ * */
+public class TimeUtils {
+
+    public static final long SECONDS_PER_MINUTE = 60;
+    public static final long SECONDS_PER_HOUR = 60 * SECONDS_PER_MINUTE;
+    public static final long SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    /**
+     * @return the local time of the instant in the zone, as seconds since 1970-01-01T00:00.
+     * */
+    public static long toLocalSeconds(long epochSeconds, TimeZone timeZone) {
+        return epochSeconds + timeZone.getOffset(epochSeconds * 1000) / 1000;
+    }
+
+    /**
+     * @return the minutes since the local midnight, between 0 and 1439.
+     * */
+    public static int getMinuteOfDay(long epochSeconds, TimeZone timeZone) {
+        return (int) (floorMod(toLocalSeconds(epochSeconds, timeZone), SECONDS_PER_DAY)
+                / SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * @return a key of the local calendar day, the number of days since 1970-01-01. Two instants
+     * have the same key when they are on the same local day, like with a "yyyyMMdd" format.
+     * */
+    public static long getDayKey(long epochSeconds, TimeZone timeZone) {
+        return floorDiv(toLocalSeconds(epochSeconds, timeZone), SECONDS_PER_DAY);
+    }
+
+    /**
+     * @return the epoch seconds of the local midnight beginning the day of the instant.
+     * */
+    public static long getStartOfDay(long epochSeconds, TimeZone timeZone) {
+        long offset = timeZone.getOffset(epochSeconds * 1000) / 1000;
+        long localStart = floorDiv(epochSeconds + offset, SECONDS_PER_DAY) * SECONDS_PER_DAY;
+        return toEpochSeconds(localStart, offset, timeZone);
+    }
+
+    /**
+     * @return the epoch seconds of the local beginning of the hour of the instant.
+     * */
+    public static long getStartOfHour(long epochSeconds, TimeZone timeZone) {
+        long offset = timeZone.getOffset(epochSeconds * 1000) / 1000;
+        long localStart = floorDiv(epochSeconds + offset, SECONDS_PER_HOUR) * SECONDS_PER_HOUR;
+        return toEpochSeconds(localStart, offset, timeZone);
+    }
+
+    /**
+     * Compare the local times of day of the instants, whatever their days.
+     *
+     * @return true if the current time of day is strictly between the sunrise and the sunset,
+     * to the minute.
+     * */
+    public static boolean isDaylight(long sunriseEpochSeconds,
+                                     long sunsetEpochSeconds,
+                                     long currentEpochSeconds,
+                                     TimeZone timeZone) {
+        int sunrise = getMinuteOfDay(sunriseEpochSeconds, timeZone);
+        int sunset = getMinuteOfDay(sunsetEpochSeconds, timeZone);
+        int current = getMinuteOfDay(currentEpochSeconds, timeZone);
+        return sunrise < current && current < sunset;
+    }
+
+    // the instant of a local time before an instant of the given offset. the offset is kept if
+    // the zone had it at the local time, which resolves the hour repeated when the clocks are set
+    // back like a calendar does. otherwise a transition lies between them and the offset of the
+    // zone at the local time is used, a time skipped by the transition being moved by the gap.
+    private static long toEpochSeconds(long localSeconds, long offset, TimeZone timeZone) {
+        long epochSeconds = localSeconds - offset;
+        long actualOffset = timeZone.getOffset(epochSeconds * 1000) / 1000;
+        if (actualOffset == offset) {
+            return epochSeconds;
+        }
+        epochSeconds = localSeconds - actualOffset;
+        return localSeconds - timeZone.getOffset(epochSeconds * 1000) / 1000;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q --;
+        }
+        return q;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+}
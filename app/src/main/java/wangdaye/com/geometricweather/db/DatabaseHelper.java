@@ -5,35 +5,57 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.greenrobot.greendao.DaoException;
+import org.greenrobot.greendao.identityscope.IdentityScopeType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import nowsci.com.temperateweather.background.polling.RefreshScheduleHelper;
 import nowsci.com.temperateweather.common.basic.models.ChineseCity;
 import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Base;
 import nowsci.com.temperateweather.common.basic.models.weather.History;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.db.controllers.AlertEntityController;
-import nowsci.com.temperateweather.db.controllers.ChineseCityEntityController;
 import nowsci.com.temperateweather.db.controllers.DailyEntityController;
+import nowsci.com.temperateweather.db.controllers.ForecastSeriesEntityController;
 import nowsci.com.temperateweather.db.controllers.HistoryEntityController;
 import nowsci.com.temperateweather.db.controllers.HourlyEntityController;
 import nowsci.com.temperateweather.db.controllers.LocationEntityController;
 import nowsci.com.temperateweather.db.controllers.MinutelyEntityController;
 import nowsci.com.temperateweather.db.controllers.WeatherEntityController;
 import nowsci.com.temperateweather.db.generators.AlertEntityGenerator;
-import nowsci.com.temperateweather.db.generators.ChineseCityEntityGenerator;
 import nowsci.com.temperateweather.db.generators.DailyEntityGenerator;
+import nowsci.com.temperateweather.db.generators.ForecastSeriesEntityGenerator;
 import nowsci.com.temperateweather.db.generators.HistoryEntityGenerator;
-import nowsci.com.temperateweather.db.generators.HourlyEntityGenerator;
 import nowsci.com.temperateweather.db.generators.LocationEntityGenerator;
-import nowsci.com.temperateweather.db.generators.MinutelyEntityGenerator;
 import nowsci.com.temperateweather.db.generators.WeatherEntityGenerator;
-import nowsci.com.temperateweather.db.entities.ChineseCityEntity;
+import nowsci.com.temperateweather.db.entities.AlertEntity;
+import nowsci.com.temperateweather.db.entities.DailyEntity;
 import nowsci.com.temperateweather.db.entities.DaoMaster;
 import nowsci.com.temperateweather.db.entities.DaoSession;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntity;
 import nowsci.com.temperateweather.db.entities.HistoryEntity;
 import nowsci.com.temperateweather.db.entities.LocationEntity;
 import nowsci.com.temperateweather.db.entities.WeatherEntity;
+import nowsci.com.temperateweather.db.indexes.ChineseCityIndex;
 import nowsci.com.temperateweather.common.utils.FileUtils;
+import nowsci.com.temperateweather.weather.services.SecondaryFallback;
+import nowsci.com.temperateweather.weather.services.ValidatedRefresh;
 
 /**
  * Database helper
@@ -45,22 +67,59 @@ public class DatabaseHelper {
     public static DatabaseHelper getInstance(Context c) {
         if (sInstance == null) {
             synchronized (DatabaseHelper.class) {
-                sInstance = new DatabaseHelper(c);
+                if (sInstance == null) {
+                    sInstance = new DatabaseHelper(c);
+                }
             }
         }
         return sInstance;
     }
 
+    private final Context mContext;
     private final DaoSession mSession;
+    // without identity scope, a reader never gets the entities the writer has changed in memory
+    // before they are committed, or after they have been rolled back.
+    private final DaoSession mWeatherSession;
     private final Object mWritingLock;
+    private final WeatherCache mWeatherCache;
+    // weather is only written by this thread, queued writes of the same location are merged.
+    private final ExecutorService mWeatherWriter;
+    private final Map<String, PendingWeatherWrite> mPendingWeatherWrites;
+    // increased before and after each weather transaction, see readWeatherConsistently().
+    private final AtomicLong mWeatherWriteSequence;
+    // cache keys of the weather written in the transactions of this thread, see callInTx().
+    private final ThreadLocal<Set<String>> mInvalidationsAfterTx;
+    private final Object mChineseCityLock;
+    private volatile ChineseCityIndex mChineseCityIndex;
 
     private final static String DATABASE_NAME = "Geometric_Weather_db";
+    private final static int OPTIMISTIC_READ_ATTEMPTS = 3;
 
     private DatabaseHelper(Context c) {
-        mSession = new DaoMaster(
-                new DatabaseOpenHelper(c, DATABASE_NAME, null).getWritableDatabase()
-        ).newSession();
+        mContext = c.getApplicationContext();
+        DaoMaster daoMaster = new DaoMaster(
+                new DatabaseOpenHelper(c, DATABASE_NAME, null).getWritableDatabase());
+        mSession = daoMaster.newSession();
+        mWeatherSession = daoMaster.newSession(IdentityScopeType.None);
         mWritingLock = new Object();
+        mWeatherCache = new WeatherCache();
+        mWeatherWriter = Executors.newSingleThreadExecutor();
+        mPendingWeatherWrites = new HashMap<>();
+        mWeatherWriteSequence = new AtomicLong(0);
+        mInvalidationsAfterTx = new ThreadLocal<>();
+        mChineseCityLock = new Object();
+    }
+
+    private static class PendingWeatherWrite {
+
+        Location location;
+        Weather weather;
+        Future<?> future;
+
+        PendingWeatherWrite(Location location, Weather weather) {
+            this.location = location;
+            this.weather = weather;
+        }
     }
 
     // location.
@@ -68,7 +127,7 @@ public class DatabaseHelper {
     public void writeLocation(@NonNull Location location) {
         LocationEntity entity = LocationEntityGenerator.generate(location);
 
-        mSession.callInTxNoException(() -> {
+        callInTx(mSession, () -> {
             if (LocationEntityController.selectLocationEntity(mSession, location.getFormattedId()) == null) {
                 LocationEntityController.insertLocationEntity(mSession, entity);
             } else {
@@ -79,7 +138,7 @@ public class DatabaseHelper {
     }
 
     public void writeLocationList(@NonNull List<Location> list) {
-        mSession.callInTxNoException(() -> {
+        callInTx(mSession, () -> {
             LocationEntityController.deleteLocationEntityList(mSession);
             LocationEntityController.insertLocationEntityList(
                     mSession,
@@ -92,6 +151,7 @@ public class DatabaseHelper {
     public void deleteLocation(@NonNull Location location) {
         LocationEntityController.deleteLocationEntity(
                 mSession, LocationEntityGenerator.generate(location));
+        clearRefreshState(location);
     }
 
     @Nullable
@@ -136,130 +196,389 @@ public class DatabaseHelper {
 
     // weather.
 
+    /**
+     * Write the weather on the weather writer thread and wait until it has been committed. If
+     * an earlier write of the same location is still queued, that write stores this weather
+     * instead and both calls return once it has been committed.
+     * */
     public void writeWeather(@NonNull Location location, @NonNull Weather weather) {
-        mSession.callInTxNoException(() -> {
-            deleteWeather(location);
+        if (mWeatherSession.getDatabase().isDbLockedByCurrentThread()) {
+            // the writer thread would wait for the transaction of this thread.
+            writeWeatherInTx(location, weather);
+            return;
+        }
 
-            WeatherEntityController.insertWeatherEntity(
-                    mSession,
-                    WeatherEntityGenerator.generate(location, weather)
-            );
-            DailyEntityController.insertDailyList(
-                    mSession,
-                    DailyEntityGenerator.generate(
-                            location.getCityId(),
-                            location.getWeatherSource(),
-                            weather.getDailyForecast()
-                    )
-            );
-            HourlyEntityController.insertHourlyList(
-                    mSession,
-                    HourlyEntityGenerator.generateEntityList(
-                            location.getCityId(),
-                            location.getWeatherSource(),
-                            weather.getHourlyForecast()
-                    )
-            );
-            MinutelyEntityController.insertMinutelyList(
-                    mSession,
-                    MinutelyEntityGenerator.generate(
-                            location.getCityId(),
-                            location.getWeatherSource(),
-                            weather.getMinutelyForecast()
-                    )
-            );
-            AlertEntityController.insertAlertList(
-                    mSession,
-                    AlertEntityGenerator.generate(
-                            location.getCityId(),
-                            location.getWeatherSource(),
-                            weather.getAlertList()
-                    )
-            );
-            HistoryEntityController.insertHistoryEntity(
-                    mSession,
-                    HistoryEntityGenerator.generate(
-                            location.getCityId(), location.getWeatherSource(), weather
-                    )
-            );
-            if (weather.getYesterday() != null) {
-                HistoryEntityController.insertHistoryEntity(
-                        mSession,
-                        HistoryEntityGenerator.generate(
-                                location.getCityId(), location.getWeatherSource(), weather.getYesterday()
-                        )
-                );
+        String key = WeatherCache.getKey(location.getCityId(), location.getWeatherSource());
+        Future<?> future;
+        synchronized (mPendingWeatherWrites) {
+            PendingWeatherWrite write = mPendingWeatherWrites.get(key);
+            if (write == null) {
+                PendingWeatherWrite newWrite = new PendingWeatherWrite(location, weather);
+                newWrite.future = mWeatherWriter.submit(() -> {
+                    Location l;
+                    Weather w;
+                    synchronized (mPendingWeatherWrites) {
+                        if (mPendingWeatherWrites.get(key) == newWrite) {
+                            mPendingWeatherWrites.remove(key);
+                        }
+                        l = newWrite.location;
+                        w = newWrite.weather;
+                    }
+                    writeWeatherInTx(l, w);
+                });
+                mPendingWeatherWrites.put(key, newWrite);
+                write = newWrite;
+            } else {
+                write.location = location;
+                write.weather = weather;
             }
-            return true;
-        });
+            future = write.future;
+        }
+        waitFor(future);
+    }
+
+    private void writeWeatherInTx(@NonNull Location location, @NonNull Weather weather) {
+        mWeatherWriteSequence.incrementAndGet();
+        try {
+            callInTx(mWeatherSession, () -> {
+                String cityId = location.getCityId();
+                WeatherSource source = location.getWeatherSource();
+
+                WeatherEntityController.updateWeatherEntity(
+                        mWeatherSession, cityId, source, WeatherEntityGenerator.generate(location, weather));
+                DailyEntityController.updateDailyList(
+                        mWeatherSession,
+                        cityId,
+                        source,
+                        DailyEntityGenerator.generate(cityId, source, weather.getDailyForecast())
+                );
+                ForecastSeriesEntityController.updateForecastSeriesEntity(
+                        mWeatherSession,
+                        cityId,
+                        source,
+                        ForecastSeriesEntityGenerator.generate(cityId, source, weather)
+                );
+                AlertEntityController.updateAlertList(
+                        mWeatherSession,
+                        cityId,
+                        source,
+                        AlertEntityGenerator.generate(cityId, source, weather.getAlertList())
+                );
+
+                List<HistoryEntity> historyList = new ArrayList<>(2);
+                historyList.add(HistoryEntityGenerator.generate(cityId, source, weather));
+                if (weather.getYesterday() != null) {
+                    historyList.add(HistoryEntityGenerator.generate(cityId, source, weather.getYesterday()));
+                }
+                HistoryEntityController.updateHistoryList(mWeatherSession, cityId, source, historyList);
+
+                // rows of weather that was written before the forecast series existed.
+                HourlyEntityController.deleteHourlyEntityList(mWeatherSession, cityId, source);
+                MinutelyEntityController.deleteMinutelyEntityList(mWeatherSession, cityId, source);
+                return true;
+            });
+        } finally {
+            mWeatherWriteSequence.incrementAndGet();
+        }
+        invalidateWeather(WeatherCache.getKey(location.getCityId(), location.getWeatherSource()));
+    }
+
+    /**
+     * Move the update time of the stored weather forward, for a refresh whose provider data has
+     * not changed. Only the weather row is written.
+     * */
+    public void touchWeather(@NonNull Location location, @NonNull Base base) {
+        if (mWeatherSession.getDatabase().isDbLockedByCurrentThread()) {
+            touchWeatherInTx(location, base);
+            return;
+        }
+        waitFor(mWeatherWriter.submit(() -> touchWeatherInTx(location, base)));
+    }
+
+    private void touchWeatherInTx(@NonNull Location location, @NonNull Base base) {
+        mWeatherWriteSequence.incrementAndGet();
+        try {
+            callInTx(mWeatherSession, () -> {
+                WeatherEntityController.updateWeatherUpdateTime(
+                        mWeatherSession,
+                        location.getCityId(),
+                        location.getWeatherSource(),
+                        base.getTimeStamp(),
+                        base.getUpdateDate(),
+                        base.getUpdateTime()
+                );
+                return true;
+            });
+        } finally {
+            mWeatherWriteSequence.incrementAndGet();
+        }
+        invalidateWeather(WeatherCache.getKey(location.getCityId(), location.getWeatherSource()));
     }
 
     @Nullable
     public Weather readWeather(@NonNull Location location) {
+        String key = WeatherCache.getKey(location.getCityId(), location.getWeatherSource());
+        Weather weather = mWeatherCache.get(key);
+        if (weather != null) {
+            return weather;
+        }
+
+        long version = mWeatherCache.getVersion();
+        weather = readWeatherConsistently(() -> readWeatherFromDatabase(location));
+        if (weather != null) {
+            mWeatherCache.put(key, weather, version);
+        }
+        return weather;
+    }
+
+    @Nullable
+    private Weather readWeatherFromDatabase(@NonNull Location location) {
         WeatherEntity weatherEntity = WeatherEntityController.selectWeatherEntity(
-                mSession,location.getCityId(), location.getWeatherSource());
+                mWeatherSession,location.getCityId(), location.getWeatherSource());
         if (weatherEntity == null) {
             return null;
         }
 
         HistoryEntity historyEntity = HistoryEntityController.selectYesterdayHistoryEntity(
-                mSession,location.getCityId(), location.getWeatherSource(),weatherEntity.publishDate);
+                mWeatherSession,location.getCityId(), location.getWeatherSource(),weatherEntity.publishDate);
+
+        ForecastSeriesEntity seriesEntity = ForecastSeriesEntityController.selectForecastSeriesEntity(
+                mWeatherSession, location.getCityId(), location.getWeatherSource());
+
+        return WeatherEntityGenerator.generate(weatherEntity, historyEntity, seriesEntity);
+    }
+
+    /**
+     * Read the weather of several locations at once. Locations that are not cached are read
+     * with a single query per table for all of them.
+     *
+     * @return weather of each location in the same order, null if a location has no weather.
+     * */
+    @NonNull
+    public List<Weather> readWeatherList(@NonNull List<Location> locationList) {
+        List<Weather> weatherList = new ArrayList<>(locationList.size());
+        Map<String, Location> missedLocations = new LinkedHashMap<>();
+        for (Location location : locationList) {
+            String key = WeatherCache.getKey(location.getCityId(), location.getWeatherSource());
+            Weather weather = mWeatherCache.get(key);
+            weatherList.add(weather);
+            if (weather == null) {
+                missedLocations.put(key, location);
+            }
+        }
+        if (missedLocations.isEmpty()) {
+            return weatherList;
+        }
+
+        long version = mWeatherCache.getVersion();
+        Map<String, Weather> weatherMap = readWeatherConsistently(() ->
+                readWeatherMapFromDatabase(missedLocations)
+        );
+        for (Map.Entry<String, Weather> entry : weatherMap.entrySet()) {
+            mWeatherCache.put(entry.getKey(), entry.getValue(), version);
+        }
+
+        for (int i = 0; i < locationList.size(); i ++) {
+            if (weatherList.get(i) == null) {
+                Location location = locationList.get(i);
+                weatherList.set(i, weatherMap.get(
+                        WeatherCache.getKey(location.getCityId(), location.getWeatherSource())));
+            }
+        }
+        return weatherList;
+    }
+
+    @NonNull
+    private Map<String, Weather> readWeatherMapFromDatabase(@NonNull Map<String, Location> locations) {
+        Set<String> cityIds = new HashSet<>();
+        for (Location location : locations.values()) {
+            cityIds.add(location.getCityId());
+        }
+
+        // the queries only filter by city id, so drop the rows of other weather sources.
+        Map<String, WeatherEntity> weatherEntityMap = new HashMap<>();
+        for (WeatherEntity entity : WeatherEntityController.selectWeatherEntityList(mWeatherSession, cityIds)) {
+            String key = WeatherCache.getKey(entity.cityId, entity.weatherSource);
+            if (locations.containsKey(key) && !weatherEntityMap.containsKey(key)) {
+                weatherEntityMap.put(key, entity);
+            }
+        }
+        if (weatherEntityMap.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, List<DailyEntity>> dailyEntityMap = new HashMap<>();
+        for (DailyEntity entity : DailyEntityController.selectDailyEntityList(mWeatherSession, cityIds)) {
+            getList(dailyEntityMap, WeatherCache.getKey(entity.cityId, entity.weatherSource)).add(entity);
+        }
+        Map<String, List<AlertEntity>> alertEntityMap = new HashMap<>();
+        for (AlertEntity entity : AlertEntityController.selectAlertEntityList(mWeatherSession, cityIds)) {
+            getList(alertEntityMap, WeatherCache.getKey(entity.cityId, entity.weatherSource)).add(entity);
+        }
+        Map<String, List<HistoryEntity>> historyEntityMap = new HashMap<>();
+        for (HistoryEntity entity : HistoryEntityController.selectHistoryEntityList(mWeatherSession, cityIds)) {
+            getList(historyEntityMap, WeatherCache.getKey(entity.cityId, entity.weatherSource)).add(entity);
+        }
+        Map<String, ForecastSeriesEntity> seriesEntityMap = new HashMap<>();
+        for (ForecastSeriesEntity entity
+                : ForecastSeriesEntityController.selectForecastSeriesEntityList(mWeatherSession, cityIds)) {
+            seriesEntityMap.put(WeatherCache.getKey(entity.cityId, entity.weatherSource), entity);
+        }
 
-        return WeatherEntityGenerator.generate(weatherEntity, historyEntity);
+        Map<String, Weather> weatherMap = new HashMap<>();
+        for (Map.Entry<String, WeatherEntity> entry : weatherEntityMap.entrySet()) {
+            String key = entry.getKey();
+            WeatherEntity weatherEntity = entry.getValue();
+            List<HistoryEntity> historyEntityList = historyEntityMap.get(key);
+            List<DailyEntity> dailyEntityList = dailyEntityMap.get(key);
+            List<AlertEntity> alertEntityList = alertEntityMap.get(key);
+            weatherMap.put(key, WeatherEntityGenerator.generate(
+                    weatherEntity,
+                    historyEntityList == null ? null : HistoryEntityController.selectYesterdayHistoryEntity(
+                            historyEntityList, weatherEntity.publishDate),
+                    seriesEntityMap.get(key),
+                    dailyEntityList == null ? new ArrayList<>() : dailyEntityList,
+                    alertEntityList == null ? new ArrayList<>() : alertEntityList
+            ));
+        }
+        return weatherMap;
+    }
+
+    private static <E> List<E> getList(Map<String, List<E>> map, String key) {
+        List<E> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            map.put(key, list);
+        }
+        return list;
     }
 
     public void deleteWeather(@NonNull Location location) {
-        mSession.callInTxNoException(() -> {
-            WeatherEntityController.deleteWeather(
-                    mSession,
-                    WeatherEntityController.selectWeatherEntityList(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            HistoryEntityController.deleteLocationHistoryEntity(
-                    mSession,
-                    HistoryEntityController.selectHistoryEntityList(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            DailyEntityController.deleteDailyEntityList(
-                    mSession,
-                    DailyEntityController.selectDailyEntityList(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            HourlyEntityController.deleteHourlyEntityList(
-                    mSession,
-                    HourlyEntityController.selectHourlyEntityList(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            MinutelyEntityController.deleteMinutelyEntityList(
-                    mSession,
-                    MinutelyEntityController.selectMinutelyEntityList(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            AlertEntityController.deleteAlertList(
-                    mSession,
-                    AlertEntityController.selectLocationAlertEntity(
-                            mSession,
-                            location.getCityId(),
-                            location.getWeatherSource()
-                    )
-            );
-            return true;
-        });
+        String cityId = location.getCityId();
+        WeatherSource source = location.getWeatherSource();
+        clearRefreshState(location);
+        if (mWeatherSession.getDatabase().isDbLockedByCurrentThread()) {
+            deleteWeatherInTx(cityId, source);
+            return;
+        }
+
+        synchronized (mPendingWeatherWrites) {
+            // a queued write must not store a later weather after this deletion.
+            mPendingWeatherWrites.remove(WeatherCache.getKey(cityId, source));
+        }
+        waitFor(mWeatherWriter.submit(() -> deleteWeatherInTx(cityId, source)));
+    }
+
+    // the preferences which the refreshes keep by location would outlive it otherwise.
+    private void clearRefreshState(@NonNull Location location) {
+        ValidatedRefresh.clear(mContext, location);
+        SecondaryFallback.clear(mContext, location);
+        RefreshScheduleHelper.clear(mContext, location);
+    }
+
+    private void deleteWeatherInTx(@NonNull String cityId, @NonNull WeatherSource source) {
+        mWeatherWriteSequence.incrementAndGet();
+        try {
+            callInTx(mWeatherSession, () -> {
+                deleteWeatherRows(cityId, source);
+                return true;
+            });
+        } finally {
+            mWeatherWriteSequence.incrementAndGet();
+        }
+        invalidateWeather(WeatherCache.getKey(cityId, source));
+    }
+
+    private void deleteWeatherRows(@NonNull String cityId, @NonNull WeatherSource source) {
+        WeatherEntityController.deleteWeather(mWeatherSession, cityId, source);
+        HistoryEntityController.deleteLocationHistoryEntity(mWeatherSession, cityId, source);
+        DailyEntityController.deleteDailyEntityList(mWeatherSession, cityId, source);
+        // rows of weather that was written before the forecast series existed.
+        HourlyEntityController.deleteHourlyEntityList(mWeatherSession, cityId, source);
+        MinutelyEntityController.deleteMinutelyEntityList(mWeatherSession, cityId, source);
+        AlertEntityController.deleteAlertList(mWeatherSession, cityId, source);
+        ForecastSeriesEntityController.deleteForecastSeriesEntity(mWeatherSession, cityId, source);
+    }
+
+    /**
+     * Run several selects without blocking the weather writer thread or being blocked by it.
+     * The write sequence is odd while a weather transaction is open and changes when it ends, so
+     * a result is only kept if the sequence was even and unchanged during the whole read. Retry
+     * otherwise and fall back to a transaction, which waits for the writer, if the weather keeps
+     * changing.
+     * */
+    private <V> V readWeatherConsistently(@NonNull Callable<V> reader) {
+        for (int i = 0; i < OPTIMISTIC_READ_ATTEMPTS; i ++) {
+            long sequence = mWeatherWriteSequence.get();
+            if (sequence % 2 != 0) {
+                Thread.yield();
+                continue;
+            }
+            V result;
+            try {
+                result = reader.call();
+            } catch (Exception e) {
+                throw new DaoException("Callable failed", e);
+            }
+            if (mWeatherWriteSequence.get() == sequence) {
+                return result;
+            }
+        }
+        return callInTx(mWeatherSession, reader);
+    }
+
+    /**
+     * Run the callable in a transaction of the session. Weather written in it, or in a nested
+     * transaction, is only invalidated in the cache once the outermost transaction has ended.
+     * Before that, readers on other threads still read the old rows and could cache them again.
+     * */
+    private <V> V callInTx(@NonNull DaoSession session, @NonNull Callable<V> callable) {
+        boolean outermost = mInvalidationsAfterTx.get() == null;
+        if (outermost) {
+            mInvalidationsAfterTx.set(new HashSet<>());
+        }
+        try {
+            return session.callInTxNoException(callable);
+        } finally {
+            if (outermost) {
+                Set<String> keys = mInvalidationsAfterTx.get();
+                mInvalidationsAfterTx.remove();
+                for (String key : keys) {
+                    mWeatherCache.remove(key);
+                }
+            }
+        }
+    }
+
+    // invalidate the cached weather now, or once the transaction of this thread has ended.
+    private void invalidateWeather(@NonNull String key) {
+        Set<String> keys = mInvalidationsAfterTx.get();
+        if (keys != null) {
+            keys.add(key);
+        } else {
+            mWeatherCache.remove(key);
+        }
+    }
+
+    private static void waitFor(@NonNull Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DaoException(e.getCause());
+        }
+    }
+
+    public int getWeatherCacheHitCount() {
+        return mWeatherCache.getHitCount();
+    }
+
+    public int getWeatherCacheMissCount() {
+        return mWeatherCache.getMissCount();
     }
 
     // history.
@@ -267,7 +586,7 @@ public class DatabaseHelper {
     public History readHistory(@NonNull Location location, @NonNull Weather weather) {
         return HistoryEntityGenerator.generate(
                 HistoryEntityController.selectYesterdayHistoryEntity(
-                        mSession,
+                        mWeatherSession,
                         location.getCityId(),
                         location.getWeatherSource(),
                         weather.getBase().getPublishDate()
@@ -277,62 +596,61 @@ public class DatabaseHelper {
 
     // chinese city.
 
+    /**
+     * Load the chinese city list from the binary asset. The list is decoded only once per process.
+     *
+     * @throws IllegalStateException if the asset is missing or cannot be decoded.
+     * */
     public void ensureChineseCityList(Context context) {
-        if (countChineseCity() < 3216) {
-            synchronized (mWritingLock) {
-                if (countChineseCity() < 3216) {
-                    List<ChineseCity> list = FileUtils.readCityList(context);
+        getChineseCityIndex(context);
+    }
 
-                    ChineseCityEntityController.deleteChineseCityEntityList(mSession);
-                    ChineseCityEntityController.insertChineseCityEntityList(
-                            mSession, ChineseCityEntityGenerator.generateEntityList(list));
+    @NonNull
+    private ChineseCityIndex getChineseCityIndex(Context context) {
+        ChineseCityIndex index = mChineseCityIndex;
+        if (index == null) {
+            synchronized (mChineseCityLock) {
+                index = mChineseCityIndex;
+                if (index == null) {
+                    try {
+                        index = ChineseCityIndex.read(
+                                FileUtils.mapAssetFile(context, ChineseCityIndex.ASSET_NAME));
+                    } catch (IOException e) {
+                        // the asset is generated by the build, every lookup would miss without it.
+                        throw new IllegalStateException(
+                                "Cannot read chinese city list: " + ChineseCityIndex.ASSET_NAME, e);
+                    }
+                    mChineseCityIndex = index;
                 }
             }
         }
+        return index;
     }
 
     @Nullable
     public ChineseCity readChineseCity(@NonNull String name) {
-        ChineseCityEntity entity = ChineseCityEntityController.selectChineseCityEntity(mSession, name);
-        if (entity != null) {
-            return ChineseCityEntityGenerator.generate(entity);
-        } else {
-            return null;
-        }
+        return getChineseCityIndex(mContext).select(name);
     }
 
     @Nullable
     public ChineseCity readChineseCity(@NonNull String province,
                                        @NonNull String city,
                                        @NonNull String district) {
-        ChineseCityEntity entity = ChineseCityEntityController.selectChineseCityEntity(
-                mSession, province, city, district);
-        if (entity != null) {
-            return ChineseCityEntityGenerator.generate(entity);
-        } else {
-            return null;
-        }
+        return getChineseCityIndex(mContext).select(province, city, district);
     }
 
     @Nullable
     public ChineseCity readChineseCity(float latitude, float longitude) {
-        ChineseCityEntity entity = ChineseCityEntityController.selectChineseCityEntity(
-                mSession, latitude, longitude);
-        if (entity != null) {
-            return ChineseCityEntityGenerator.generate(entity);
-        } else {
-            return null;
-        }
+        return getChineseCityIndex(mContext).selectNearest(latitude, longitude);
     }
 
     @NonNull
     public List<ChineseCity> readChineseCityList(@NonNull String name) {
-        return ChineseCityEntityGenerator.generateModuleList(
-                ChineseCityEntityController.selectChineseCityEntityList(mSession, name));
+        return getChineseCityIndex(mContext).selectList(name);
     }
 
     public int countChineseCity() {
-        return ChineseCityEntityController.countChineseCityEntity(mSession);
+        return getChineseCityIndex(mContext).size();
     }
 }
 
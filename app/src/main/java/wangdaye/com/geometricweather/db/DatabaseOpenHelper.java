@@ -8,9 +8,9 @@ import com.github.yuweiguocn.library.greendao.MigrationHelper;
 import org.greenrobot.greendao.database.Database;
 
 import nowsci.com.temperateweather.db.entities.AlertEntityDao;
-import nowsci.com.temperateweather.db.entities.ChineseCityEntityDao;
 import nowsci.com.temperateweather.db.entities.DailyEntityDao;
 import nowsci.com.temperateweather.db.entities.DaoMaster;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntityDao;
 import nowsci.com.temperateweather.db.entities.HistoryEntityDao;
 import nowsci.com.temperateweather.db.entities.HourlyEntityDao;
 import nowsci.com.temperateweather.db.entities.LocationEntityDao;
@@ -19,13 +19,29 @@ import nowsci.com.temperateweather.db.entities.WeatherEntityDao;
 
 class DatabaseOpenHelper extends DaoMaster.OpenHelper {
 
+    // schema 63 only adds the (cityId, weatherSource) indexes of the weather tables.
+    private static final int SCHEMA_VERSION_WEATHER_INDEXES = 63;
+    // schema 64 only adds the forecast series table.
+    private static final int SCHEMA_VERSION_FORECAST_SERIES = 64;
+    // schema 65 only drops the chinese city table, the list is read from an asset instead.
+    private static final int SCHEMA_VERSION_CHINESE_CITY_ASSET = 65;
+
+    private static final String CHINESE_CITY_TABLE = "CHINESE_CITY_ENTITY";
+
     DatabaseOpenHelper(Context context, String name, SQLiteDatabase.CursorFactory factory) {
         super(context, name, factory);
+        // let readers use their own connections while the weather writer thread is writing.
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
     public void onUpgrade(Database db, int oldVersion, int newVersion) {
-        if (oldVersion >= 53) {
+        if (oldVersion >= SCHEMA_VERSION_WEATHER_INDEXES - 1
+                && newVersion <= SCHEMA_VERSION_CHINESE_CITY_ASSET) {
+            // existing tables are unchanged, so there is no need to copy them. Creating the
+            // tables if not exist only adds the missing tables and indexes.
+            DaoMaster.createAllTables(db, true);
+        } else if (oldVersion >= 53) {
             MigrationHelper.migrate(
                     db,
                     new MigrationHelper.ReCreateAllTableListener() {
@@ -40,8 +56,8 @@ class DatabaseOpenHelper extends DaoMaster.OpenHelper {
                         }
                     },
                     AlertEntityDao.class,
-                    ChineseCityEntityDao.class,
                     DailyEntityDao.class,
+                    ForecastSeriesEntityDao.class,
                     HistoryEntityDao.class,
                     HourlyEntityDao.class,
                     LocationEntityDao.class,
@@ -52,5 +68,7 @@ class DatabaseOpenHelper extends DaoMaster.OpenHelper {
             DaoMaster.dropAllTables(db, true);
             onCreate(db);
         }
+        // the dao master does not know this table anymore, so it is not dropped with the others.
+        db.execSQL("DROP TABLE IF EXISTS \"" + CHINESE_CITY_TABLE + "\"");
     }
 }
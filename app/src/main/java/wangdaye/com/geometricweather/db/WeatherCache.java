@@ -0,0 +1,73 @@
+package nowsci.com.temperateweather.db;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+
+/**
+ * Weather cache.
+ *
+ * Keeps the latest weather objects read from database, keyed by city id and weather source.
+ * */
+
+class WeatherCache {
+
+    private static final int MAX_SIZE = 32;
+
+    private final LruCache<String, Weather> mCache;
+    // increased by every invalidation, so a read that raced with a write is not cached.
+    private long mVersion;
+
+    WeatherCache() {
+        mCache = new LruCache<>(MAX_SIZE);
+        mVersion = 0;
+    }
+
+    @NonNull
+    static String getKey(@NonNull String cityId, @NonNull WeatherSource source) {
+        return getKey(cityId, source.getId());
+    }
+
+    /**
+     * @param weatherSource database value of the weather source, which is its id.
+     * */
+    @NonNull
+    static String getKey(@NonNull String cityId, @NonNull String weatherSource) {
+        return weatherSource + "&" + cityId;
+    }
+
+    @Nullable
+    Weather get(@NonNull String key) {
+        return mCache.get(key);
+    }
+
+    synchronized long getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * @param version the version returned by {@link #getVersion()} before reading the weather.
+     * */
+    synchronized void put(@NonNull String key, @NonNull Weather weather, long version) {
+        if (mVersion == version) {
+            mCache.put(key, weather);
+        }
+    }
+
+    synchronized void remove(@NonNull String key) {
+        mVersion ++;
+        mCache.remove(key);
+    }
+
+    int getHitCount() {
+        return mCache.hitCount();
+    }
+
+    int getMissCount() {
+        return mCache.missCount();
+    }
+}
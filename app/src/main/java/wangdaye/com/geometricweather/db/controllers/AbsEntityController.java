@@ -1,7 +1,10 @@
 package nowsci.com.temperateweather.db.controllers;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.greenrobot.greendao.AbstractDao;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,4 +13,16 @@ public abstract class AbsEntityController {
     protected static <E> List<E> getNonNullList(@Nullable List<E> list) {
         return list == null ? new ArrayList<>() : list;
     }
+
+    protected static <E> void applyDiff(@NonNull AbstractDao<E, Long> dao, @NonNull EntityDiff<E> diff) {
+        if (!diff.deleteList.isEmpty()) {
+            dao.deleteInTx(diff.deleteList);
+        }
+        if (!diff.updateList.isEmpty()) {
+            dao.updateInTx(diff.updateList);
+        }
+        if (!diff.insertList.isEmpty()) {
+            dao.insertInTx(diff.insertList);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package nowsci.com.temperateweather.db.controllers;
 
 import androidx.annotation.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
@@ -9,6 +10,7 @@ import nowsci.com.temperateweather.db.entities.AlertEntity;
 import nowsci.com.temperateweather.db.entities.AlertEntityDao;
 import nowsci.com.temperateweather.db.entities.DaoSession;
 import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
+import nowsci.com.temperateweather.db.generators.AlertEntityGenerator;
 
 public class AlertEntityController extends AbsEntityController {
 
@@ -19,11 +21,57 @@ public class AlertEntityController extends AbsEntityController {
         session.getAlertEntityDao().insertInTx(entityList);
     }
 
+    // update.
+
+    /**
+     * Replace the stored alerts of the location, alerts are matched by their id.
+     * */
+    @NonNull
+    public static EntityDiff<AlertEntity> updateAlertList(@NonNull DaoSession session,
+                                                          @NonNull String cityId,
+                                                          @NonNull WeatherSource source,
+                                                          @NonNull List<AlertEntity> entityList) {
+        EntityDiff<AlertEntity> diff = new EntityDiff<AlertEntity>() {
+            @Override
+            protected long getSlot(@NonNull AlertEntity entity) {
+                return entity.alertId;
+            }
+
+            @Override
+            protected boolean isSameContent(@NonNull AlertEntity stored, @NonNull AlertEntity entity) {
+                return AlertEntityGenerator.isSameContent(stored, entity);
+            }
+
+            @Override
+            protected Long getId(@NonNull AlertEntity entity) {
+                return entity.id;
+            }
+
+            @Override
+            protected void setId(@NonNull AlertEntity entity, Long id) {
+                entity.id = id;
+            }
+        }.compute(selectLocationAlertEntity(session, cityId, source), entityList);
+        applyDiff(session.getAlertEntityDao(), diff);
+        return diff;
+    }
+
     // delete.
 
     public static void deleteAlertList(@NonNull DaoSession session,
-                                @NonNull List<AlertEntity> entityList) {
-        session.getAlertEntityDao().deleteInTx(entityList);
+                                       @NonNull String cityId,
+                                       @NonNull WeatherSource source) {
+        session.getAlertEntityDao()
+                .queryBuilder()
+                .where(
+                        AlertEntityDao.Properties.CityId.eq(cityId),
+                        AlertEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getAlertEntityDao().detachAll();
     }
 
     // search.
@@ -42,4 +90,16 @@ public class AlertEntityController extends AbsEntityController {
                         ).list()
         );
     }
+
+    @NonNull
+    public static List<AlertEntity> selectAlertEntityList(@NonNull DaoSession session,
+                                                          @NonNull Collection<String> cityIds) {
+        return getNonNullList(
+                session.getAlertEntityDao()
+                        .queryBuilder()
+                        .where(AlertEntityDao.Properties.CityId.in(cityIds))
+                        .orderAsc(AlertEntityDao.Properties.Date)
+                        .list()
+        );
+    }
 }
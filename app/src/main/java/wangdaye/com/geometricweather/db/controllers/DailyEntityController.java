@@ -2,6 +2,7 @@ package nowsci.com.temperateweather.db.controllers;
 
 import androidx.annotation.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
@@ -9,6 +10,7 @@ import nowsci.com.temperateweather.db.entities.DailyEntity;
 import nowsci.com.temperateweather.db.entities.DailyEntityDao;
 import nowsci.com.temperateweather.db.entities.DaoSession;
 import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
+import nowsci.com.temperateweather.db.generators.DailyEntityGenerator;
 
 public class DailyEntityController extends AbsEntityController {
 
@@ -19,11 +21,57 @@ public class DailyEntityController extends AbsEntityController {
         session.getDailyEntityDao().insertInTx(entityList);
     }
 
+    // update.
+
+    /**
+     * Replace the stored daily forecast of the location, a day is only rewritten if it changed.
+     * */
+    @NonNull
+    public static EntityDiff<DailyEntity> updateDailyList(@NonNull DaoSession session,
+                                                          @NonNull String cityId,
+                                                          @NonNull WeatherSource source,
+                                                          @NonNull List<DailyEntity> entityList) {
+        EntityDiff<DailyEntity> diff = new EntityDiff<DailyEntity>() {
+            @Override
+            protected long getSlot(@NonNull DailyEntity entity) {
+                return entity.time;
+            }
+
+            @Override
+            protected boolean isSameContent(@NonNull DailyEntity stored, @NonNull DailyEntity entity) {
+                return DailyEntityGenerator.isSameContent(stored, entity);
+            }
+
+            @Override
+            protected Long getId(@NonNull DailyEntity entity) {
+                return entity.id;
+            }
+
+            @Override
+            protected void setId(@NonNull DailyEntity entity, Long id) {
+                entity.id = id;
+            }
+        }.compute(selectDailyEntityList(session, cityId, source), entityList);
+        applyDiff(session.getDailyEntityDao(), diff);
+        return diff;
+    }
+
     // delete.
 
     public static void deleteDailyEntityList(@NonNull DaoSession session,
-                                             @NonNull List<DailyEntity> entityList) {
-        session.getDailyEntityDao().deleteInTx(entityList);
+                                             @NonNull String cityId,
+                                             @NonNull WeatherSource source) {
+        session.getDailyEntityDao()
+                .queryBuilder()
+                .where(
+                        DailyEntityDao.Properties.CityId.eq(cityId),
+                        DailyEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getDailyEntityDao().detachAll();
     }
 
     // select.
@@ -43,4 +91,16 @@ public class DailyEntityController extends AbsEntityController {
                         ).list()
         );
     }
+
+    @NonNull
+    public static List<DailyEntity> selectDailyEntityList(@NonNull DaoSession session,
+                                                          @NonNull Collection<String> cityIds) {
+        return getNonNullList(
+                session.getDailyEntityDao()
+                        .queryBuilder()
+                        .where(DailyEntityDao.Properties.CityId.in(cityIds))
+                        .orderAsc(DailyEntityDao.Properties.Date)
+                        .list()
+        );
+    }
 }
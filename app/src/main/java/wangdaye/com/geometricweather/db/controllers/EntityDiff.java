@@ -0,0 +1,68 @@
+package nowsci.com.temperateweather.db.controllers;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity diff.
+ *
+ * Matches the stored rows of a location with the rows of the new weather by their time slot.
+ * Rows whose content did not change are left alone, changed rows are updated in place and only
+ * the stored rows without a new counterpart are deleted.
+ * */
+public abstract class EntityDiff<E> {
+
+    final List<E> insertList = new ArrayList<>();
+    final List<E> updateList = new ArrayList<>();
+    final List<E> deleteList = new ArrayList<>();
+
+    @NonNull
+    EntityDiff<E> compute(@NonNull List<E> storedList, @NonNull List<E> newList) {
+        Map<Long, E> storedMap = new HashMap<>(storedList.size() * 2);
+        for (E stored : storedList) {
+            E duplicate = storedMap.put(getSlot(stored), stored);
+            if (duplicate != null) {
+                deleteList.add(duplicate);
+            }
+        }
+        for (E entity : newList) {
+            E stored = storedMap.remove(getSlot(entity));
+            if (stored == null) {
+                insertList.add(entity);
+            } else if (!isSameContent(stored, entity)) {
+                setId(entity, getId(stored));
+                updateList.add(entity);
+            }
+        }
+        deleteList.addAll(storedMap.values());
+        return this;
+    }
+
+    protected abstract long getSlot(@NonNull E entity);
+
+    protected abstract boolean isSameContent(@NonNull E stored, @NonNull E entity);
+
+    protected abstract Long getId(@NonNull E entity);
+
+    protected abstract void setId(@NonNull E entity, Long id);
+
+    public boolean isEmpty() {
+        return insertList.isEmpty() && updateList.isEmpty() && deleteList.isEmpty();
+    }
+
+    public int getInsertCount() {
+        return insertList.size();
+    }
+
+    public int getUpdateCount() {
+        return updateList.size();
+    }
+
+    public int getDeleteCount() {
+        return deleteList.size();
+    }
+}
@@ -0,0 +1,124 @@
+package nowsci.com.temperateweather.db.controllers;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.db.entities.DaoSession;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntity;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntityDao;
+import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
+
+public class ForecastSeriesEntityController extends AbsEntityController {
+
+    // insert.
+
+    public static void insertForecastSeriesEntity(@NonNull DaoSession session,
+                                                  @NonNull ForecastSeriesEntity entity) {
+        session.getForecastSeriesEntityDao().insert(entity);
+    }
+
+    // update.
+
+    /**
+     * Replace the stored forecast series of the location, the row is only rewritten if one of
+     * the series changed.
+     * */
+    @NonNull
+    public static EntityDiff<ForecastSeriesEntity> updateForecastSeriesEntity(@NonNull DaoSession session,
+                                                                              @NonNull String cityId,
+                                                                              @NonNull WeatherSource source,
+                                                                              @NonNull ForecastSeriesEntity entity) {
+        EntityDiff<ForecastSeriesEntity> diff = new EntityDiff<ForecastSeriesEntity>() {
+            @Override
+            protected long getSlot(@NonNull ForecastSeriesEntity entity) {
+                return 0;
+            }
+
+            @Override
+            protected boolean isSameContent(@NonNull ForecastSeriesEntity stored, @NonNull ForecastSeriesEntity entity) {
+                return Arrays.equals(stored.hourlySeries, entity.hourlySeries)
+                        && Arrays.equals(stored.minutelySeries, entity.minutelySeries);
+            }
+
+            @Override
+            protected Long getId(@NonNull ForecastSeriesEntity entity) {
+                return entity.id;
+            }
+
+            @Override
+            protected void setId(@NonNull ForecastSeriesEntity entity, Long id) {
+                entity.id = id;
+            }
+        }.compute(
+                selectForecastSeriesEntityList(session, cityId, source),
+                Collections.singletonList(entity)
+        );
+        applyDiff(session.getForecastSeriesEntityDao(), diff);
+        return diff;
+    }
+
+    // delete.
+
+    public static void deleteForecastSeriesEntity(@NonNull DaoSession session,
+                                                  @NonNull String cityId,
+                                                  @NonNull WeatherSource source) {
+        session.getForecastSeriesEntityDao()
+                .queryBuilder()
+                .where(
+                        ForecastSeriesEntityDao.Properties.CityId.eq(cityId),
+                        ForecastSeriesEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getForecastSeriesEntityDao().detachAll();
+    }
+
+    // select.
+
+    @Nullable
+    public static ForecastSeriesEntity selectForecastSeriesEntity(@NonNull DaoSession session,
+                                                                  @NonNull String cityId,
+                                                                  @NonNull WeatherSource source) {
+        List<ForecastSeriesEntity> entityList = selectForecastSeriesEntityList(session, cityId, source);
+        if (entityList.size() <= 0) {
+            return null;
+        } else {
+            return entityList.get(0);
+        }
+    }
+
+    @NonNull
+    public static List<ForecastSeriesEntity> selectForecastSeriesEntityList(@NonNull DaoSession session,
+                                                                            @NonNull String cityId,
+                                                                            @NonNull WeatherSource source) {
+        return getNonNullList(
+                session.getForecastSeriesEntityDao()
+                        .queryBuilder()
+                        .where(
+                                ForecastSeriesEntityDao.Properties.CityId.eq(cityId),
+                                ForecastSeriesEntityDao.Properties.WeatherSource.eq(
+                                        new WeatherSourceConverter().convertToDatabaseValue(source)
+                                )
+                        ).list()
+        );
+    }
+
+    @NonNull
+    public static List<ForecastSeriesEntity> selectForecastSeriesEntityList(@NonNull DaoSession session,
+                                                                            @NonNull Collection<String> cityIds) {
+        return getNonNullList(
+                session.getForecastSeriesEntityDao()
+                        .queryBuilder()
+                        .where(ForecastSeriesEntityDao.Properties.CityId.in(cityIds))
+                        .list()
+        );
+    }
+}
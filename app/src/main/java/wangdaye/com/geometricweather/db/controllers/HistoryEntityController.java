@@ -9,6 +9,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Collection;
 import java.util.List;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
@@ -16,6 +17,7 @@ import nowsci.com.temperateweather.db.entities.DaoSession;
 import nowsci.com.temperateweather.db.entities.HistoryEntity;
 import nowsci.com.temperateweather.db.entities.HistoryEntityDao;
 import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
+import nowsci.com.temperateweather.db.generators.HistoryEntityGenerator;
 
 public class HistoryEntityController extends AbsEntityController {
 
@@ -25,11 +27,57 @@ public class HistoryEntityController extends AbsEntityController {
         session.getHistoryEntityDao().insert(entity);
     }
 
+    // update.
+
+    /**
+     * Replace the stored history of the location, a day is only rewritten if it changed.
+     * */
+    @NonNull
+    public static EntityDiff<HistoryEntity> updateHistoryList(@NonNull DaoSession session,
+                                                              @NonNull String cityId,
+                                                              @NonNull WeatherSource source,
+                                                              @NonNull List<HistoryEntity> entityList) {
+        EntityDiff<HistoryEntity> diff = new EntityDiff<HistoryEntity>() {
+            @Override
+            protected long getSlot(@NonNull HistoryEntity entity) {
+                return entity.time;
+            }
+
+            @Override
+            protected boolean isSameContent(@NonNull HistoryEntity stored, @NonNull HistoryEntity entity) {
+                return HistoryEntityGenerator.isSameContent(stored, entity);
+            }
+
+            @Override
+            protected Long getId(@NonNull HistoryEntity entity) {
+                return entity.id;
+            }
+
+            @Override
+            protected void setId(@NonNull HistoryEntity entity, Long id) {
+                entity.id = id;
+            }
+        }.compute(selectHistoryEntityList(session, cityId, source), entityList);
+        applyDiff(session.getHistoryEntityDao(), diff);
+        return diff;
+    }
+
     // delete.
 
     public static void deleteLocationHistoryEntity(@NonNull DaoSession session,
-                                                   @NonNull List<HistoryEntity> entityList) {
-        session.getHistoryEntityDao().deleteInTx(entityList);
+                                                   @NonNull String cityId,
+                                                   @NonNull WeatherSource source) {
+        session.getHistoryEntityDao()
+                .queryBuilder()
+                .where(
+                        HistoryEntityDao.Properties.CityId.eq(cityId),
+                        HistoryEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getHistoryEntityDao().detachAll();
     }
 
     // select.
@@ -74,6 +122,40 @@ public class HistoryEntityController extends AbsEntityController {
         }
     }
 
+    /**
+     * Same as {@link #selectYesterdayHistoryEntity(DaoSession, String, WeatherSource, Date)},
+     * but search in the rows that have already been selected.
+     * */
+    @SuppressLint("SimpleDateFormat")
+    @Nullable
+    public static HistoryEntity selectYesterdayHistoryEntity(@NonNull List<HistoryEntity> entityList,
+                                                             @NonNull Date currentDate) {
+        try {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+            Date today = format.parse(format.format(currentDate));
+            if (today == null) {
+                throw new NullPointerException("Get null Date object.");
+            }
+
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(today);
+            calendar.add(Calendar.DATE, -1);
+            Date yesterday = calendar.getTime();
+
+            for (HistoryEntity entity : entityList) {
+                if (entity.date != null
+                        && !entity.date.before(yesterday)
+                        && entity.date.before(today)) {
+                    return entity;
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     @SuppressLint("SimpleDateFormat")
     @Nullable
     private static HistoryEntity selectTodayHistoryEntity(@NonNull DaoSession session,
@@ -128,4 +210,15 @@ public class HistoryEntityController extends AbsEntityController {
                         ).list()
         );
     }
+
+    @NonNull
+    public static List<HistoryEntity> selectHistoryEntityList(@NonNull DaoSession session,
+                                                              @NonNull Collection<String> cityIds) {
+        return getNonNullList(
+                session.getHistoryEntityDao()
+                        .queryBuilder()
+                        .where(HistoryEntityDao.Properties.CityId.in(cityIds))
+                        .list()
+        );
+    }
 }
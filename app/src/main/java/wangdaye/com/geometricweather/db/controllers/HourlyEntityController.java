@@ -22,8 +22,19 @@ public class HourlyEntityController extends AbsEntityController {
     // delete.
 
     public static void deleteHourlyEntityList(@NonNull DaoSession session,
-                                              @NonNull List<HourlyEntity> entityList) {
-        session.getHourlyEntityDao().deleteInTx(entityList);
+                                              @NonNull String cityId,
+                                              @NonNull WeatherSource source) {
+        session.getHourlyEntityDao()
+                .queryBuilder()
+                .where(
+                        HourlyEntityDao.Properties.CityId.eq(cityId),
+                        HourlyEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getHourlyEntityDao().detachAll();
     }
 
     // select.
@@ -22,8 +22,19 @@ public class MinutelyEntityController extends AbsEntityController {
     // delete.
 
     public static void deleteMinutelyEntityList(@NonNull DaoSession session,
-                                                @NonNull List<MinutelyEntity> entityList) {
-        session.getMinutelyEntityDao().deleteInTx(entityList);
+                                                @NonNull String cityId,
+                                                @NonNull WeatherSource source) {
+        session.getMinutelyEntityDao()
+                .queryBuilder()
+                .where(
+                        MinutelyEntityDao.Properties.CityId.eq(cityId),
+                        MinutelyEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getMinutelyEntityDao().detachAll();
     }
 
     // select.
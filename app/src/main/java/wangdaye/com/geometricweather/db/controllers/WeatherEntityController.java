@@ -3,6 +3,9 @@ package nowsci.com.temperateweather.db.controllers;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
@@ -20,11 +23,81 @@ public class WeatherEntityController extends AbsEntityController {
         session.getWeatherEntityDao().insert(entity);
     }
 
+    // update.
+
+    /**
+     * Replace the stored weather of the location. The existing row is updated in place instead of
+     * being deleted and inserted again.
+     * */
+    @NonNull
+    public static EntityDiff<WeatherEntity> updateWeatherEntity(@NonNull DaoSession session,
+                                                                @NonNull String cityId,
+                                                                @NonNull WeatherSource source,
+                                                                @NonNull WeatherEntity entity) {
+        EntityDiff<WeatherEntity> diff = new EntityDiff<WeatherEntity>() {
+            @Override
+            protected long getSlot(@NonNull WeatherEntity entity) {
+                return 0;
+            }
+
+            @Override
+            protected boolean isSameContent(@NonNull WeatherEntity stored, @NonNull WeatherEntity entity) {
+                return false;
+            }
+
+            @Override
+            protected Long getId(@NonNull WeatherEntity entity) {
+                return entity.id;
+            }
+
+            @Override
+            protected void setId(@NonNull WeatherEntity entity, Long id) {
+                entity.id = id;
+            }
+        }.compute(
+                selectWeatherEntityList(session, cityId, source),
+                Collections.singletonList(entity)
+        );
+        applyDiff(session.getWeatherEntityDao(), diff);
+        return diff;
+    }
+
+    /**
+     * @return false if the location has no stored weather.
+     * */
+    public static boolean updateWeatherUpdateTime(@NonNull DaoSession session,
+                                                  @NonNull String cityId,
+                                                  @NonNull WeatherSource source,
+                                                  long timeStamp,
+                                                  @NonNull Date updateDate,
+                                                  long updateTime) {
+        WeatherEntity entity = selectWeatherEntity(session, cityId, source);
+        if (entity == null) {
+            return false;
+        }
+        entity.setTimeStamp(timeStamp);
+        entity.setUpdateDate(updateDate);
+        entity.setUpdateTime(updateTime);
+        session.getWeatherEntityDao().update(entity);
+        return true;
+    }
+
     // delete.
 
     public static void deleteWeather(@NonNull DaoSession session,
-                                     @NonNull List<WeatherEntity> entityList) {
-        session.getWeatherEntityDao().deleteInTx(entityList);
+                                     @NonNull String cityId,
+                                     @NonNull WeatherSource source) {
+        session.getWeatherEntityDao()
+                .queryBuilder()
+                .where(
+                        WeatherEntityDao.Properties.CityId.eq(cityId),
+                        WeatherEntityDao.Properties.WeatherSource.eq(
+                                new WeatherSourceConverter().convertToDatabaseValue(source)
+                        )
+                ).buildDelete()
+                .executeDeleteWithoutDetachingEntities();
+        // deleted rows may still be cached by the identity scope.
+        session.getWeatherEntityDao().detachAll();
     }
 
     // select.
@@ -55,4 +128,15 @@ public class WeatherEntityController extends AbsEntityController {
                         ).list()
         );
     }
+
+    @NonNull
+    public static List<WeatherEntity> selectWeatherEntityList(@NonNull DaoSession session,
+                                                              @NonNull Collection<String> cityIds) {
+        return getNonNullList(
+                session.getWeatherEntityDao()
+                        .queryBuilder()
+                        .where(WeatherEntityDao.Properties.CityId.in(cityIds))
+                        .list()
+        );
+    }
 }
@@ -2,6 +2,7 @@ package nowsci.com.temperateweather.db.entities;
 
 import org.greenrobot.greendao.annotation.Entity;
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 import org.greenrobot.greendao.annotation.Generated;
@@ -13,7 +14,9 @@ import nowsci.com.temperateweather.common.basic.models.weather.Alert;
  *
  * {@link Alert}
  * */
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource, date")
+})
 public class AlertEntity {
 
     @Id public Long id;
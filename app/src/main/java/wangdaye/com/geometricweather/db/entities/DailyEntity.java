@@ -3,6 +3,7 @@ package nowsci.com.temperateweather.db.entities;
 import org.greenrobot.greendao.annotation.Convert;
 import org.greenrobot.greendao.annotation.Entity;
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 
@@ -19,7 +20,9 @@ import org.greenrobot.greendao.annotation.Generated;
  *
  * {@link Daily}.
  * */
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource, date")
+})
 public class DailyEntity {
 
     @Id public Long id;
@@ -0,0 +1,68 @@
+package nowsci.com.temperateweather.db.entities;
+
+import org.greenrobot.greendao.annotation.Entity;
+import org.greenrobot.greendao.annotation.Generated;
+import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
+
+import nowsci.com.temperateweather.db.series.ForecastSeriesCodec;
+
+/**
+ * Forecast series entity.
+ *
+ * Hourly and minutely forecasts of a location, packed into one row by {@link ForecastSeriesCodec}.
+ * */
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource", unique = true)
+})
+public class ForecastSeriesEntity {
+
+    @Id public Long id;
+    public String cityId;
+    public String weatherSource;
+
+    public byte[] hourlySeries;
+    public byte[] minutelySeries;
+    @Generated
+    public ForecastSeriesEntity(Long id, String cityId, String weatherSource,
+            byte[] hourlySeries, byte[] minutelySeries) {
+        this.id = id;
+        this.cityId = cityId;
+        this.weatherSource = weatherSource;
+        this.hourlySeries = hourlySeries;
+        this.minutelySeries = minutelySeries;
+    }
+    @Generated
+    public ForecastSeriesEntity() {
+    }
+    public Long getId() {
+        return this.id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getCityId() {
+        return this.cityId;
+    }
+    public void setCityId(String cityId) {
+        this.cityId = cityId;
+    }
+    public String getWeatherSource() {
+        return this.weatherSource;
+    }
+    public void setWeatherSource(String weatherSource) {
+        this.weatherSource = weatherSource;
+    }
+    public byte[] getHourlySeries() {
+        return this.hourlySeries;
+    }
+    public void setHourlySeries(byte[] hourlySeries) {
+        this.hourlySeries = hourlySeries;
+    }
+    public byte[] getMinutelySeries() {
+        return this.minutelySeries;
+    }
+    public void setMinutelySeries(byte[] minutelySeries) {
+        this.minutelySeries = minutelySeries;
+    }
+}
@@ -3,6 +3,7 @@ package nowsci.com.temperateweather.db.entities;
 import org.greenrobot.greendao.annotation.Entity;
 
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 import org.greenrobot.greendao.annotation.Generated;
@@ -15,7 +16,9 @@ import nowsci.com.temperateweather.common.basic.models.weather.History;
  * {@link History}.
  * */
 
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource, date")
+})
 public class HistoryEntity {
 
     @Id public Long id;
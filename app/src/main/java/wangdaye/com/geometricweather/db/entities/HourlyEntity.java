@@ -3,6 +3,7 @@ package nowsci.com.temperateweather.db.entities;
 import org.greenrobot.greendao.annotation.Convert;
 import org.greenrobot.greendao.annotation.Entity;
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 
@@ -18,7 +19,9 @@ import org.greenrobot.greendao.annotation.Generated;
  *
  * {@link Hourly}.
  * */
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource, date")
+})
 public class HourlyEntity {
 
     @Id public Long id;
@@ -3,6 +3,7 @@ package nowsci.com.temperateweather.db.entities;
 import org.greenrobot.greendao.annotation.Convert;
 import org.greenrobot.greendao.annotation.Entity;
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 
@@ -17,7 +18,9 @@ import org.greenrobot.greendao.annotation.Generated;
  *
  * {@link Minutely}.
  * */
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource, date")
+})
 public class MinutelyEntity {
 
     @Id public Long id;
@@ -4,6 +4,7 @@ import org.greenrobot.greendao.annotation.Convert;
 import org.greenrobot.greendao.annotation.Entity;
 
 import org.greenrobot.greendao.annotation.Id;
+import org.greenrobot.greendao.annotation.Index;
 
 import java.util.Date;
 import java.util.List;
@@ -26,7 +27,9 @@ import org.greenrobot.greendao.DaoException;
  *
  * {@link Weather}.
  * */
-@Entity
+@Entity(indexes = {
+        @Index(value = "cityId, weatherSource")
+})
 public class WeatherEntity {
 
     @Id public Long id;
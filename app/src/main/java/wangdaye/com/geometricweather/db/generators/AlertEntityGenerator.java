@@ -2,6 +2,7 @@ package nowsci.com.temperateweather.db.generators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
 import nowsci.com.temperateweather.common.basic.models.weather.Alert;
@@ -59,4 +60,18 @@ public class AlertEntityGenerator {
         }
         return dailyList;
     }
+
+    /**
+     * @return true if both entities would be stored with the same values, ids are ignored.
+     * */
+    public static boolean isSameContent(AlertEntity a, AlertEntity b) {
+        return a.alertId == b.alertId
+                && Objects.equals(a.date, b.date)
+                && a.time == b.time
+                && Objects.equals(a.description, b.description)
+                && Objects.equals(a.content, b.content)
+                && Objects.equals(a.type, b.type)
+                && a.priority == b.priority
+                && a.color == b.color;
+    }
 }
@@ -2,6 +2,7 @@ package nowsci.com.temperateweather.db.generators;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
 import nowsci.com.temperateweather.common.basic.models.weather.AirQuality;
@@ -274,4 +275,102 @@ public class DailyEntityGenerator {
         }
         return dailyList;
     }
+
+    /**
+     * @return true if both entities would be stored with the same values, ids are ignored.
+     * */
+    public static boolean isSameContent(DailyEntity a, DailyEntity b) {
+        return Objects.equals(a.date, b.date)
+                && a.time == b.time
+                && Objects.equals(a.daytimeWeatherText, b.daytimeWeatherText)
+                && Objects.equals(a.daytimeWeatherPhase, b.daytimeWeatherPhase)
+                && Objects.equals(a.daytimeWeatherCode, b.daytimeWeatherCode)
+                && a.daytimeTemperature == b.daytimeTemperature
+                && Objects.equals(a.daytimeRealFeelTemperature, b.daytimeRealFeelTemperature)
+                && Objects.equals(a.daytimeRealFeelShaderTemperature, b.daytimeRealFeelShaderTemperature)
+                && Objects.equals(a.daytimeApparentTemperature, b.daytimeApparentTemperature)
+                && Objects.equals(a.daytimeWindChillTemperature, b.daytimeWindChillTemperature)
+                && Objects.equals(a.daytimeWetBulbTemperature, b.daytimeWetBulbTemperature)
+                && Objects.equals(a.daytimeDegreeDayTemperature, b.daytimeDegreeDayTemperature)
+                && Objects.equals(a.daytimeTotalPrecipitation, b.daytimeTotalPrecipitation)
+                && Objects.equals(a.daytimeThunderstormPrecipitation, b.daytimeThunderstormPrecipitation)
+                && Objects.equals(a.daytimeRainPrecipitation, b.daytimeRainPrecipitation)
+                && Objects.equals(a.daytimeSnowPrecipitation, b.daytimeSnowPrecipitation)
+                && Objects.equals(a.daytimeIcePrecipitation, b.daytimeIcePrecipitation)
+                && Objects.equals(a.daytimeTotalPrecipitationProbability, b.daytimeTotalPrecipitationProbability)
+                && Objects.equals(a.daytimeThunderstormPrecipitationProbability, b.daytimeThunderstormPrecipitationProbability)
+                && Objects.equals(a.daytimeRainPrecipitationProbability, b.daytimeRainPrecipitationProbability)
+                && Objects.equals(a.daytimeSnowPrecipitationProbability, b.daytimeSnowPrecipitationProbability)
+                && Objects.equals(a.daytimeIcePrecipitationProbability, b.daytimeIcePrecipitationProbability)
+                && Objects.equals(a.daytimeTotalPrecipitationDuration, b.daytimeTotalPrecipitationDuration)
+                && Objects.equals(a.daytimeThunderstormPrecipitationDuration, b.daytimeThunderstormPrecipitationDuration)
+                && Objects.equals(a.daytimeRainPrecipitationDuration, b.daytimeRainPrecipitationDuration)
+                && Objects.equals(a.daytimeSnowPrecipitationDuration, b.daytimeSnowPrecipitationDuration)
+                && Objects.equals(a.daytimeIcePrecipitationDuration, b.daytimeIcePrecipitationDuration)
+                && Objects.equals(a.daytimeWindDirection, b.daytimeWindDirection)
+                && GeneratorUtils.isSameWindDegree(a.daytimeWindDegree, b.daytimeWindDegree)
+                && Objects.equals(a.daytimeWindSpeed, b.daytimeWindSpeed)
+                && Objects.equals(a.daytimeWindLevel, b.daytimeWindLevel)
+                && Objects.equals(a.daytimeCloudCover, b.daytimeCloudCover)
+                && Objects.equals(a.nighttimeWeatherText, b.nighttimeWeatherText)
+                && Objects.equals(a.nighttimeWeatherPhase, b.nighttimeWeatherPhase)
+                && Objects.equals(a.nighttimeWeatherCode, b.nighttimeWeatherCode)
+                && a.nighttimeTemperature == b.nighttimeTemperature
+                && Objects.equals(a.nighttimeRealFeelTemperature, b.nighttimeRealFeelTemperature)
+                && Objects.equals(a.nighttimeRealFeelShaderTemperature, b.nighttimeRealFeelShaderTemperature)
+                && Objects.equals(a.nighttimeApparentTemperature, b.nighttimeApparentTemperature)
+                && Objects.equals(a.nighttimeWindChillTemperature, b.nighttimeWindChillTemperature)
+                && Objects.equals(a.nighttimeWetBulbTemperature, b.nighttimeWetBulbTemperature)
+                && Objects.equals(a.nighttimeDegreeDayTemperature, b.nighttimeDegreeDayTemperature)
+                && Objects.equals(a.nighttimeTotalPrecipitation, b.nighttimeTotalPrecipitation)
+                && Objects.equals(a.nighttimeThunderstormPrecipitation, b.nighttimeThunderstormPrecipitation)
+                && Objects.equals(a.nighttimeRainPrecipitation, b.nighttimeRainPrecipitation)
+                && Objects.equals(a.nighttimeSnowPrecipitation, b.nighttimeSnowPrecipitation)
+                && Objects.equals(a.nighttimeIcePrecipitation, b.nighttimeIcePrecipitation)
+                && Objects.equals(a.nighttimeTotalPrecipitationProbability, b.nighttimeTotalPrecipitationProbability)
+                && Objects.equals(a.nighttimeThunderstormPrecipitationProbability, b.nighttimeThunderstormPrecipitationProbability)
+                && Objects.equals(a.nighttimeRainPrecipitationProbability, b.nighttimeRainPrecipitationProbability)
+                && Objects.equals(a.nighttimeSnowPrecipitationProbability, b.nighttimeSnowPrecipitationProbability)
+                && Objects.equals(a.nighttimeIcePrecipitationProbability, b.nighttimeIcePrecipitationProbability)
+                && Objects.equals(a.nighttimeTotalPrecipitationDuration, b.nighttimeTotalPrecipitationDuration)
+                && Objects.equals(a.nighttimeThunderstormPrecipitationDuration, b.nighttimeThunderstormPrecipitationDuration)
+                && Objects.equals(a.nighttimeRainPrecipitationDuration, b.nighttimeRainPrecipitationDuration)
+                && Objects.equals(a.nighttimeSnowPrecipitationDuration, b.nighttimeSnowPrecipitationDuration)
+                && Objects.equals(a.nighttimeIcePrecipitationDuration, b.nighttimeIcePrecipitationDuration)
+                && Objects.equals(a.nighttimeWindDirection, b.nighttimeWindDirection)
+                && GeneratorUtils.isSameWindDegree(a.nighttimeWindDegree, b.nighttimeWindDegree)
+                && Objects.equals(a.nighttimeWindSpeed, b.nighttimeWindSpeed)
+                && Objects.equals(a.nighttimeWindLevel, b.nighttimeWindLevel)
+                && Objects.equals(a.nighttimeCloudCover, b.nighttimeCloudCover)
+                && Objects.equals(a.sunRiseDate, b.sunRiseDate)
+                && Objects.equals(a.sunSetDate, b.sunSetDate)
+                && Objects.equals(a.moonRiseDate, b.moonRiseDate)
+                && Objects.equals(a.moonSetDate, b.moonSetDate)
+                && Objects.equals(a.moonPhaseAngle, b.moonPhaseAngle)
+                && Objects.equals(a.moonPhaseDescription, b.moonPhaseDescription)
+                && Objects.equals(a.aqiText, b.aqiText)
+                && Objects.equals(a.aqiIndex, b.aqiIndex)
+                && Objects.equals(a.pm25, b.pm25)
+                && Objects.equals(a.pm10, b.pm10)
+                && Objects.equals(a.so2, b.so2)
+                && Objects.equals(a.no2, b.no2)
+                && Objects.equals(a.o3, b.o3)
+                && Objects.equals(a.co, b.co)
+                && Objects.equals(a.grassIndex, b.grassIndex)
+                && Objects.equals(a.grassLevel, b.grassLevel)
+                && Objects.equals(a.grassDescription, b.grassDescription)
+                && Objects.equals(a.moldIndex, b.moldIndex)
+                && Objects.equals(a.moldLevel, b.moldLevel)
+                && Objects.equals(a.moldDescription, b.moldDescription)
+                && Objects.equals(a.ragweedIndex, b.ragweedIndex)
+                && Objects.equals(a.ragweedLevel, b.ragweedLevel)
+                && Objects.equals(a.ragweedDescription, b.ragweedDescription)
+                && Objects.equals(a.treeIndex, b.treeIndex)
+                && Objects.equals(a.treeLevel, b.treeLevel)
+                && Objects.equals(a.treeDescription, b.treeDescription)
+                && Objects.equals(a.uvIndex, b.uvIndex)
+                && Objects.equals(a.uvLevel, b.uvLevel)
+                && Objects.equals(a.uvDescription, b.uvDescription)
+                && Float.compare(a.hoursOfSun, b.hoursOfSun) == 0;
+    }
 }
@@ -0,0 +1,52 @@
+package nowsci.com.temperateweather.db.generators;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntity;
+import nowsci.com.temperateweather.db.series.ForecastSeriesCodec;
+import nowsci.com.temperateweather.db.series.HourlySeries;
+import nowsci.com.temperateweather.db.series.MinutelySeries;
+
+public class ForecastSeriesEntityGenerator {
+
+    public static ForecastSeriesEntity generate(String cityId, WeatherSource source, Weather weather) {
+        ForecastSeriesEntity entity = new ForecastSeriesEntity();
+
+        entity.cityId = cityId;
+        entity.weatherSource = new WeatherSourceConverter().convertToDatabaseValue(source);
+
+        entity.hourlySeries = ForecastSeriesCodec.encodeHourlyList(weather.getHourlyForecast());
+        entity.minutelySeries = ForecastSeriesCodec.encodeMinutelyList(weather.getMinutelyForecast());
+
+        return entity;
+    }
+
+    /**
+     * @return null if the entity does not contain a readable hourly series.
+     * */
+    @Nullable
+    public static List<Hourly> generateHourlyList(@Nullable ForecastSeriesEntity entity) {
+        HourlySeries series = entity == null
+                ? null
+                : ForecastSeriesCodec.decodeHourlySeries(entity.hourlySeries);
+        return series == null ? null : series.asList();
+    }
+
+    /**
+     * @return null if the entity does not contain a readable minutely series.
+     * */
+    @Nullable
+    public static List<Minutely> generateMinutelyList(@Nullable ForecastSeriesEntity entity) {
+        MinutelySeries series = entity == null
+                ? null
+                : ForecastSeriesCodec.decodeMinutelySeries(entity.minutelySeries);
+        return series == null ? null : series.asList();
+    }
+}
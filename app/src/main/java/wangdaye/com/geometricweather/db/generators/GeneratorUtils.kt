@@ -1,9 +1,21 @@
 package nowsci.com.temperateweather.db.generators
 
+import nowsci.com.temperateweather.common.basic.models.weather.WindDegree
+import nowsci.com.temperateweather.db.converters.WindDegreeConverter
+
 object GeneratorUtils {
 
     @JvmStatic
     fun nonNull(string: String?): String {
         return string ?: ""
     }
-}
\ No newline at end of file
+
+    @JvmStatic
+    fun isSameWindDegree(a: WindDegree?, b: WindDegree?): Boolean {
+        if (a == null || b == null) {
+            return a == b
+        }
+        val converter = WindDegreeConverter()
+        return converter.convertToDatabaseValue(a) == converter.convertToDatabaseValue(b)
+    }
+}
@@ -2,6 +2,8 @@ package nowsci.com.temperateweather.db.generators;
 
 import androidx.annotation.Nullable;
 
+import java.util.Objects;
+
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
 import nowsci.com.temperateweather.common.basic.models.weather.History;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
@@ -43,4 +45,14 @@ public class HistoryEntityGenerator {
                 entity.nighttimeTemperature
         );
     }
+
+    /**
+     * @return true if both entities would be stored with the same values, ids are ignored.
+     * */
+    public static boolean isSameContent(HistoryEntity a, HistoryEntity b) {
+        return Objects.equals(a.date, b.date)
+                && a.time == b.time
+                && a.daytimeTemperature == b.daytimeTemperature
+                && a.nighttimeTemperature == b.nighttimeTemperature;
+    }
 }
@@ -1,17 +1,25 @@
 package nowsci.com.temperateweather.db.generators;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.List;
+
 import nowsci.com.temperateweather.common.basic.models.Location;
 import nowsci.com.temperateweather.common.basic.models.weather.AirQuality;
 import nowsci.com.temperateweather.common.basic.models.weather.Base;
 import nowsci.com.temperateweather.common.basic.models.weather.Current;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
 import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
 import nowsci.com.temperateweather.common.basic.models.weather.PrecipitationProbability;
 import nowsci.com.temperateweather.common.basic.models.weather.Temperature;
 import nowsci.com.temperateweather.common.basic.models.weather.UV;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
+import nowsci.com.temperateweather.db.entities.AlertEntity;
+import nowsci.com.temperateweather.db.entities.DailyEntity;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntity;
 import nowsci.com.temperateweather.db.entities.HistoryEntity;
 import nowsci.com.temperateweather.db.entities.WeatherEntity;
 import nowsci.com.temperateweather.db.converters.WeatherSourceConverter;
@@ -86,10 +94,35 @@ public class WeatherEntityGenerator {
     }
 
     public static Weather generate(@Nullable WeatherEntity weatherEntity,
-                                   @Nullable HistoryEntity historyEntity) {
+                                   @Nullable HistoryEntity historyEntity,
+                                   @Nullable ForecastSeriesEntity seriesEntity) {
         if (weatherEntity == null) {
             return null;
         }
+        return generate(
+                weatherEntity,
+                historyEntity,
+                seriesEntity,
+                weatherEntity.getDailyEntityList(),
+                weatherEntity.getAlertEntityList()
+        );
+    }
+
+    public static Weather generate(@NonNull WeatherEntity weatherEntity,
+                                   @Nullable HistoryEntity historyEntity,
+                                   @Nullable ForecastSeriesEntity seriesEntity,
+                                   @NonNull List<DailyEntity> dailyEntityList,
+                                   @NonNull List<AlertEntity> alertEntityList) {
+
+        // weather written before the forecast series existed still keeps one row per item.
+        List<Hourly> hourlyList = ForecastSeriesEntityGenerator.generateHourlyList(seriesEntity);
+        if (hourlyList == null) {
+            hourlyList = HourlyEntityGenerator.generateModuleList(weatherEntity.getHourlyEntityList());
+        }
+        List<Minutely> minutelyList = ForecastSeriesEntityGenerator.generateMinutelyList(seriesEntity);
+        if (minutelyList == null) {
+            minutelyList = MinutelyEntityGenerator.generate(weatherEntity.getMinutelyEntityList());
+        }
 
         return new Weather(
                 new Base(
@@ -152,10 +185,10 @@ public class WeatherEntityGenerator {
                         weatherEntity.hourlyForecast
                 ),
                 HistoryEntityGenerator.generate(historyEntity),
-                DailyEntityGenerator.generate(weatherEntity.getDailyEntityList()),
-                HourlyEntityGenerator.generateModuleList(weatherEntity.getHourlyEntityList()),
-                MinutelyEntityGenerator.generate(weatherEntity.getMinutelyEntityList()),
-                AlertEntityGenerator.generate(weatherEntity.getAlertEntityList())
+                DailyEntityGenerator.generate(dailyEntityList),
+                hourlyList,
+                minutelyList,
+                AlertEntityGenerator.generate(alertEntityList)
         );
     }
 }
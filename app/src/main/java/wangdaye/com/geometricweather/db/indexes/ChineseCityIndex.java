@@ -0,0 +1,159 @@
+package nowsci.com.temperateweather.db.indexes;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import nowsci.com.temperateweather.common.basic.models.ChineseCity;
+
+/**
+ * Chinese city index.
+ *
+ * In-memory snapshot of the chinese city list, decoded once from the binary asset generated by
+ * the generateChineseCityList gradle task and shared by every lookup.
+ *
+ * Binary layout (big endian):
+ * int magic, int version, int cityCount, int stringCount,
+ * stringCount * (u16 byteLength, utf-8 bytes),
+ * cityCount * (u16 cityId, u16 province, u16 city, u16 district, u16 latitude, u16 longitude,
+ *              f64 latitude, f64 longitude).
+ * The u16 fields are indices into the string table.
+ * */
+
+public class ChineseCityIndex {
+
+    public static final String ASSET_NAME = "city_list.bin";
+
+    private static final int MAGIC = 0x4757434C; // "GWCL"
+    private static final int VERSION = 1;
+
+    private static final int FIELD_PROVINCE = ChineseCityTextIndex.FIELD_PROVINCE;
+    private static final int FIELD_CITY = ChineseCityTextIndex.FIELD_CITY;
+    private static final int FIELD_DISTRICT = ChineseCityTextIndex.FIELD_DISTRICT;
+
+    private final ChineseCity[] mCities;
+    private final ChineseCitySpatialIndex mSpatialIndex;
+    private final ChineseCityTextIndex mTextIndex;
+
+    private ChineseCityIndex(ChineseCity[] cities,
+                             ChineseCitySpatialIndex spatialIndex,
+                             ChineseCityTextIndex textIndex) {
+        mCities = cities;
+        mSpatialIndex = spatialIndex;
+        mTextIndex = textIndex;
+    }
+
+    @NonNull
+    public static ChineseCityIndex read(@NonNull ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a chinese city list.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported chinese city list version: " + version);
+        }
+
+        int cityCount = buffer.getInt();
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < strings.length; i ++) {
+            int length = buffer.getChar();
+            if (length > bytes.length) {
+                bytes = new byte[length];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        ChineseCity[] cities = new ChineseCity[cityCount];
+        double[] latitudes = new double[cityCount];
+        double[] longitudes = new double[cityCount];
+        String[] provinces = new String[cityCount];
+        String[] cityNames = new String[cityCount];
+        String[] districts = new String[cityCount];
+        for (int i = 0; i < cityCount; i ++) {
+            cities[i] = new ChineseCity(
+                    strings[buffer.getChar()],
+                    strings[buffer.getChar()],
+                    strings[buffer.getChar()],
+                    strings[buffer.getChar()],
+                    strings[buffer.getChar()],
+                    strings[buffer.getChar()]
+            );
+            latitudes[i] = buffer.getDouble();
+            longitudes[i] = buffer.getDouble();
+            provinces[i] = cities[i].getProvince();
+            cityNames[i] = cities[i].getCity();
+            districts[i] = cities[i].getDistrict();
+        }
+
+        return new ChineseCityIndex(
+                cities,
+                new ChineseCitySpatialIndex(latitudes, longitudes),
+                new ChineseCityTextIndex(provinces, cityNames, districts)
+        );
+    }
+
+    public int size() {
+        return mCities.length;
+    }
+
+    @Nullable
+    public ChineseCity selectNearest(float latitude, float longitude) {
+        int index = mSpatialIndex.nearest(latitude, longitude);
+        return index < 0 ? null : mCities[index];
+    }
+
+    @Nullable
+    public ChineseCity select(@NonNull String name) {
+        if (TextUtils.isEmpty(name)) {
+            return null;
+        }
+        int district = mTextIndex.first(FIELD_DISTRICT, name);
+        int city = mTextIndex.first(FIELD_CITY, name);
+        if (district < 0) {
+            return city < 0 ? null : mCities[city];
+        }
+        return mCities[city < 0 ? district : Math.min(district, city)];
+    }
+
+    /**
+     * Try the conditions below in order and return the first city that matches one of them.
+     * */
+    @Nullable
+    public ChineseCity select(@NonNull String province, @NonNull String city, @NonNull String district) {
+        int index;
+        if ((index = mTextIndex.first(FIELD_DISTRICT, district, FIELD_CITY, city)) >= 0
+                || (index = mTextIndex.first(FIELD_DISTRICT, district, FIELD_PROVINCE, province)) >= 0
+                || (index = mTextIndex.first(FIELD_CITY, city, FIELD_PROVINCE, province)) >= 0
+                || (index = mTextIndex.first(FIELD_CITY, city)) >= 0
+                || (index = mTextIndex.first(FIELD_DISTRICT, city, FIELD_PROVINCE, province)) >= 0
+                || (index = mTextIndex.first(FIELD_DISTRICT, city, FIELD_CITY, province)) >= 0
+                || (index = mTextIndex.first(FIELD_DISTRICT, city)) >= 0
+                || (index = mTextIndex.first(FIELD_CITY, district)) >= 0) {
+            return mCities[index];
+        }
+        return null;
+    }
+
+    @NonNull
+    public List<ChineseCity> selectList(@NonNull String name) {
+        if (TextUtils.isEmpty(name)) {
+            return new ArrayList<>();
+        }
+
+        int[] indices = mTextIndex.search(name);
+        List<ChineseCity> cityList = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            cityList.add(mCities[index]);
+        }
+        return cityList;
+    }
+}
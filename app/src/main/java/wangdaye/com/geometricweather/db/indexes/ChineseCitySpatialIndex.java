@@ -0,0 +1,169 @@
+package nowsci.com.temperateweather.db.indexes;
+
+/**
+ * Chinese city spatial index.
+ *
+ * A static 2-d tree over primitive coordinate arrays. The tree is implicit: the node of a range
+ * [lo, hi) is always stored at (lo + hi) / 2, so no node objects are allocated and queries only
+ * walk the arrays. Distances are the squared degree distances used by the original linear scan,
+ * and ties are resolved to the smallest input index so both paths return the same city.
+ * */
+
+public class ChineseCitySpatialIndex {
+
+    // coordinates and input indices, stored in tree order.
+    private final double[] mLatitudes;
+    private final double[] mLongitudes;
+    private final int[] mIndices;
+
+    /**
+     * @param latitudes  latitude of every city, {@link Double#NaN} for unusable rows.
+     * @param longitudes longitude of every city, {@link Double#NaN} for unusable rows.
+     * */
+    public ChineseCitySpatialIndex(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Coordinate arrays have different lengths.");
+        }
+
+        int size = 0;
+        for (int i = 0; i < latitudes.length; i ++) {
+            if (!Double.isNaN(latitudes[i]) && !Double.isNaN(longitudes[i])) {
+                size ++;
+            }
+        }
+
+        mLatitudes = new double[size];
+        mLongitudes = new double[size];
+        mIndices = new int[size];
+
+        int cursor = 0;
+        for (int i = 0; i < latitudes.length; i ++) {
+            if (!Double.isNaN(latitudes[i]) && !Double.isNaN(longitudes[i])) {
+                mLatitudes[cursor] = latitudes[i];
+                mLongitudes[cursor] = longitudes[i];
+                mIndices[cursor] = i;
+                cursor ++;
+            }
+        }
+
+        build(0, size, 0);
+    }
+
+    public int size() {
+        return mIndices.length;
+    }
+
+    /**
+     * @return input index of the nearest city, or -1 if the index is empty.
+     * */
+    public int nearest(double latitude, double longitude) {
+        int best = search(0, mIndices.length, 0, latitude, longitude, -1);
+        return best < 0 ? -1 : mIndices[best];
+    }
+
+    // build.
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth & 1);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    // quick select: puts the k-th smallest key of [left, right] at k.
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            int pivot = partition(left, right, (left + right) >>> 1, axis);
+            if (pivot == k) {
+                return;
+            } else if (pivot < k) {
+                left = pivot + 1;
+            } else {
+                right = pivot - 1;
+            }
+        }
+    }
+
+    private int partition(int left, int right, int pivot, int axis) {
+        double pivotKey = key(pivot, axis);
+        swap(pivot, right);
+        int store = left;
+        for (int i = left; i < right; i ++) {
+            if (key(i, axis) < pivotKey) {
+                swap(i, store);
+                store ++;
+            }
+        }
+        swap(store, right);
+        return store;
+    }
+
+    private double key(int position, int axis) {
+        return axis == 0 ? mLatitudes[position] : mLongitudes[position];
+    }
+
+    private void swap(int a, int b) {
+        double lat = mLatitudes[a];
+        mLatitudes[a] = mLatitudes[b];
+        mLatitudes[b] = lat;
+
+        double lon = mLongitudes[a];
+        mLongitudes[a] = mLongitudes[b];
+        mLongitudes[b] = lon;
+
+        int index = mIndices[a];
+        mIndices[a] = mIndices[b];
+        mIndices[b] = index;
+    }
+
+    // search.
+
+    private int search(int lo, int hi, int depth,
+                       double latitude, double longitude, int best) {
+        if (lo >= hi) {
+            return best;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        if (isCloser(mid, best, latitude, longitude)) {
+            best = mid;
+        }
+
+        double delta = (depth & 1) == 0
+                ? latitude - mLatitudes[mid]
+                : longitude - mLongitudes[mid];
+        if (delta < 0) {
+            best = search(lo, mid, depth + 1, latitude, longitude, best);
+            if (delta * delta <= distance(best, latitude, longitude)) {
+                best = search(mid + 1, hi, depth + 1, latitude, longitude, best);
+            }
+        } else {
+            best = search(mid + 1, hi, depth + 1, latitude, longitude, best);
+            if (delta * delta <= distance(best, latitude, longitude)) {
+                best = search(lo, mid, depth + 1, latitude, longitude, best);
+            }
+        }
+        return best;
+    }
+
+    private boolean isCloser(int position, int best, double latitude, double longitude) {
+        if (best < 0) {
+            return true;
+        }
+        double d = distance(position, latitude, longitude);
+        double bestD = distance(best, latitude, longitude);
+        return d < bestD || (d == bestD && mIndices[position] < mIndices[best]);
+    }
+
+    private double distance(int position, double latitude, double longitude) {
+        if (position < 0) {
+            return Double.MAX_VALUE;
+        }
+        double dLat = latitude - mLatitudes[position];
+        double dLon = longitude - mLongitudes[position];
+        return dLat * dLat + dLon * dLon;
+    }
+}
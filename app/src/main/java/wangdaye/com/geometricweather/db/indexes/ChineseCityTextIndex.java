@@ -0,0 +1,215 @@
+package nowsci.com.temperateweather.db.indexes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Chinese city text index.
+ *
+ * Exact lookups go through a hash map per field, whose values are the input indices of the
+ * cities with that name in ascending order. Substring search goes through an n-gram index: every
+ * distinct lower case name is split into its 1-grams and 2-grams, a key is looked up by the
+ * rarest of its own grams and the few candidate names are verified with a plain contains. All
+ * results are input indices in ascending order, so callers get the same cities in the same order
+ * as a linear scan.
+ * */
+
+public class ChineseCityTextIndex {
+
+    public static final int FIELD_PROVINCE = 0;
+    public static final int FIELD_CITY = 1;
+    public static final int FIELD_DISTRICT = 2;
+
+    private static final int[] EMPTY = new int[0];
+
+    // names of every city, indexed by field and input index.
+    private final String[][] mFields;
+    private final List<Map<String, int[]>> mExactIndices;
+
+    // distinct lower case names, the input indices of the cities using them and their n-grams.
+    private final String[] mNames;
+    private final int[][] mNameCities;
+    private final Map<String, int[]> mGrams;
+
+    public ChineseCityTextIndex(String[] provinces, String[] cities, String[] districts) {
+        if (provinces.length != cities.length || cities.length != districts.length) {
+            throw new IllegalArgumentException("Name arrays have different lengths.");
+        }
+        mFields = new String[][] {provinces, cities, districts};
+
+        mExactIndices = new ArrayList<>(mFields.length);
+        for (String[] field : mFields) {
+            Map<String, IntList> builder = new HashMap<>();
+            for (int i = 0; i < field.length; i ++) {
+                getIntList(builder, field[i]).add(i);
+            }
+            mExactIndices.add(toArrays(builder));
+        }
+
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<IntList> nameCities = new ArrayList<>();
+        for (int i = 0; i < provinces.length; i ++) {
+            for (String[] field : mFields) {
+                if (field[i] == null) {
+                    continue;
+                }
+                String name = field[i].toLowerCase(Locale.ROOT);
+                Integer id = nameIds.get(name);
+                if (id == null) {
+                    id = names.size();
+                    nameIds.put(name, id);
+                    names.add(name);
+                    nameCities.add(new IntList());
+                }
+                nameCities.get(id).addDistinct(i);
+            }
+        }
+
+        mNames = names.toArray(new String[0]);
+        mNameCities = new int[mNames.length][];
+        Map<String, IntList> grams = new HashMap<>();
+        for (int id = 0; id < mNames.length; id ++) {
+            mNameCities[id] = nameCities.get(id).toArray();
+
+            String name = mNames[id];
+            for (int i = 0; i < name.length(); i ++) {
+                getIntList(grams, name.substring(i, i + 1)).addDistinct(id);
+                if (i + 1 < name.length()) {
+                    getIntList(grams, name.substring(i, i + 2)).addDistinct(id);
+                }
+            }
+        }
+        mGrams = toArrays(grams);
+    }
+
+    public int size() {
+        return mFields[FIELD_PROVINCE].length;
+    }
+
+    /**
+     * @return input index of the first city whose field equals the value, or -1.
+     * */
+    public int first(int field, String value) {
+        int[] indices = mExactIndices.get(field).get(value);
+        return indices == null ? -1 : indices[0];
+    }
+
+    /**
+     * @return input index of the first city whose fields equal both values, or -1.
+     * */
+    public int first(int field, String value, int otherField, String otherValue) {
+        int[] indices = mExactIndices.get(field).get(value);
+        if (indices == null) {
+            return -1;
+        }
+        String[] others = mFields[otherField];
+        for (int index : indices) {
+            if (otherValue.equals(others[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same as a sqlite LIKE '%key%' on every field, which ignores the case of ascii characters.
+     *
+     * @return input indices of the matching cities in ascending order.
+     * */
+    public int[] search(String key) {
+        if (key.isEmpty()) {
+            return EMPTY;
+        }
+        String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+
+        int[] candidates;
+        if (lowerCaseKey.length() == 1) {
+            candidates = mGrams.get(lowerCaseKey);
+        } else {
+            candidates = null;
+            for (int i = 0; i + 1 < lowerCaseKey.length(); i ++) {
+                int[] names = mGrams.get(lowerCaseKey.substring(i, i + 2));
+                if (names == null) {
+                    return EMPTY;
+                }
+                if (candidates == null || names.length < candidates.length) {
+                    candidates = names;
+                }
+            }
+        }
+        if (candidates == null) {
+            return EMPTY;
+        }
+
+        IntList result = new IntList();
+        for (int id : candidates) {
+            if (mNames[id].contains(lowerCaseKey)) {
+                result.addAll(mNameCities[id]);
+            }
+        }
+        return result.toSortedDistinctArray();
+    }
+
+    private static IntList getIntList(Map<String, IntList> map, String key) {
+        IntList list = map.get(key);
+        if (list == null) {
+            list = new IntList();
+            map.put(key, list);
+        }
+        return list;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, IntList> map) {
+        Map<String, int[]> result = new HashMap<>(map.size() * 2);
+        for (Map.Entry<String, IntList> entry : map.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return result;
+    }
+
+    private static class IntList {
+
+        private int[] mValues = new int[4];
+        private int mSize = 0;
+
+        void add(int value) {
+            if (mSize == mValues.length) {
+                mValues = Arrays.copyOf(mValues, mSize * 2);
+            }
+            mValues[mSize ++] = value;
+        }
+
+        // values are added in ascending order, so a duplicate is always the last value.
+        void addDistinct(int value) {
+            if (mSize == 0 || mValues[mSize - 1] != value) {
+                add(value);
+            }
+        }
+
+        void addAll(int[] values) {
+            for (int value : values) {
+                add(value);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(mValues, mSize);
+        }
+
+        int[] toSortedDistinctArray() {
+            Arrays.sort(mValues, 0, mSize);
+            int size = 0;
+            for (int i = 0; i < mSize; i ++) {
+                if (size == 0 || mValues[size - 1] != mValues[i]) {
+                    mValues[size ++] = mValues[i];
+                }
+            }
+            return Arrays.copyOf(mValues, size);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package nowsci.com.temperateweather.db.series;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
+
+/**
+ * Forecast series.
+ *
+ * Column oriented forecast items decoded from a blob of {@link ForecastSeriesCodec}. Model
+ * objects are only created by {@link #asList()} when they are accessed.
+ * */
+
+public abstract class ForecastSeries<T> {
+
+    private final int mCount;
+    private final String[] mStrings;
+    private final WeatherCode[] mWeatherCodes;
+
+    ForecastSeries(int count, String[] strings) {
+        mCount = count;
+        mStrings = strings;
+        mWeatherCodes = new WeatherCode[strings.length];
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    public abstract long getTime(int index);
+
+    @NonNull
+    abstract T create(int index);
+
+    @Nullable
+    String getString(short index) {
+        return index == ForecastSeriesCodec.NULL_STRING ? null : mStrings[index];
+    }
+
+    @Nullable
+    WeatherCode getWeatherCode(short index) {
+        if (index == ForecastSeriesCodec.NULL_STRING) {
+            return null;
+        }
+        WeatherCode code = mWeatherCodes[index];
+        if (code == null) {
+            code = WeatherCode.getInstance(mStrings[index]);
+            mWeatherCodes[index] = code;
+        }
+        return code;
+    }
+
+    /**
+     * @return a read only list that creates and caches each item on first access.
+     * */
+    @NonNull
+    public List<T> asList() {
+        return new LazyList<>(this);
+    }
+
+    private static class LazyList<T> extends AbstractList<T>
+            implements RandomAccess, Serializable {
+
+        private final ForecastSeries<T> mSeries;
+        private final Object[] mItems;
+
+        LazyList(ForecastSeries<T> series) {
+            mSeries = series;
+            mItems = new Object[series.size()];
+        }
+
+        // items are immutable, so a racing thread can only create an equal item twice.
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            Object item = mItems[index];
+            if (item == null) {
+                item = mSeries.create(index);
+                mItems[index] = item;
+            }
+            return (T) item;
+        }
+
+        @Override
+        public int size() {
+            return mItems.length;
+        }
+
+        // the series is not serializable, so write the items themselves.
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package nowsci.com.temperateweather.db.series;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
+import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+
+/**
+ * Forecast series codec.
+ *
+ * Packs a whole hourly or minutely forecast into one column oriented blob.
+ *
+ * Binary layout (big endian):
+ * int version, int count, int stringCount, stringCount * (int byteLength, utf-8 bytes),
+ * followed by one array of count values per column, see {@link HourlySeries} and
+ * {@link MinutelySeries} for the column order. Strings and weather codes are stored as short
+ * indices into the string table, null values are stored as {@link #NULL_STRING},
+ * {@link #NULL_INT} and NaN.
+ * */
+
+public class ForecastSeriesCodec {
+
+    public static final int HOURLY_VERSION = 1;
+    public static final int MINUTELY_VERSION = 1;
+
+    static final short NULL_STRING = -1;
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    static final byte FLAG_DAYLIGHT = 1;
+    static final byte FLAG_NULL_DATE = 1 << 1;
+    static final byte FLAG_NULL_WIND_DEGREE = 1 << 2;
+    static final byte FLAG_NO_WIND_DIRECTION = 1 << 3;
+
+    // date, time, flags, weather text, weather code, 7 temperatures, 5 precipitations,
+    // 5 precipitation probabilities, wind direction, wind degree, wind speed, wind level,
+    // uv index, uv level, uv description.
+    private static final int HOURLY_ROW_BYTES = 8 + 8 + 1 + 2 + 2 + 4 * 7 + 4 * 5 + 4 * 5
+            + 2 + 4 + 4 + 2 + 4 + 2 + 2;
+    // date, time, flags, weather text, weather code, minute interval, dbz, cloud cover.
+    private static final int MINUTELY_ROW_BYTES = 8 + 8 + 1 + 2 + 2 + 4 + 4 + 4;
+
+    // encode.
+
+    @NonNull
+    public static byte[] encodeHourlyList(@NonNull List<Hourly> hourlyList) {
+        int count = hourlyList.size();
+        StringTable table = new StringTable();
+        short[] texts = new short[count];
+        short[] codes = new short[count];
+        short[] windDirections = new short[count];
+        short[] windLevels = new short[count];
+        short[] uvLevels = new short[count];
+        short[] uvDescriptions = new short[count];
+        for (int i = 0; i < count; i ++) {
+            Hourly hourly = hourlyList.get(i);
+            texts[i] = table.put(hourly.getWeatherText());
+            codes[i] = table.put(codeId(hourly.getWeatherCode()));
+            windDirections[i] = table.put(hourly.getWind().getDirection());
+            windLevels[i] = table.put(hourly.getWind().getLevel());
+            uvLevels[i] = table.put(hourly.getUV().getLevel());
+            uvDescriptions[i] = table.put(hourly.getUV().getDescription());
+        }
+
+        ByteBuffer buffer = table.writeHeader(HOURLY_VERSION, count, HOURLY_ROW_BYTES);
+        for (Hourly h : hourlyList) {
+            buffer.putLong(h.getDate() == null ? 0 : h.getDate().getTime());
+        }
+        for (Hourly h : hourlyList) {
+            buffer.putLong(h.getTime());
+        }
+        for (Hourly h : hourlyList) {
+            WindDegree degree = h.getWind().getDegree();
+            byte flags = 0;
+            if (h.isDaylight()) {
+                flags |= FLAG_DAYLIGHT;
+            }
+            if (h.getDate() == null) {
+                flags |= FLAG_NULL_DATE;
+            }
+            if (degree == null) {
+                flags |= FLAG_NULL_WIND_DEGREE;
+            } else if (degree.isNoDirection()) {
+                flags |= FLAG_NO_WIND_DIRECTION;
+            }
+            buffer.put(flags);
+        }
+        putShorts(buffer, texts);
+        putShorts(buffer, codes);
+
+        for (Hourly h : hourlyList) {
+            buffer.putInt(h.getTemperature().getTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getRealFeelTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getRealFeelShaderTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getApparentTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getWindChillTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getWetBulbTemperature());
+        }
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getTemperature().getDegreeDayTemperature());
+        }
+
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitation().getTotal());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitation().getThunderstorm());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitation().getRain());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitation().getSnow());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitation().getIce());
+        }
+
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitationProbability().getTotal());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitationProbability().getThunderstorm());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitationProbability().getRain());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitationProbability().getSnow());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getPrecipitationProbability().getIce());
+        }
+
+        putShorts(buffer, windDirections);
+        for (Hourly h : hourlyList) {
+            WindDegree degree = h.getWind().getDegree();
+            buffer.putFloat(degree == null ? 0 : degree.getDegree());
+        }
+        for (Hourly h : hourlyList) {
+            putFloat(buffer, h.getWind().getSpeed());
+        }
+        putShorts(buffer, windLevels);
+
+        for (Hourly h : hourlyList) {
+            putInt(buffer, h.getUV().getIndex());
+        }
+        putShorts(buffer, uvLevels);
+        putShorts(buffer, uvDescriptions);
+
+        return buffer.array();
+    }
+
+    @NonNull
+    public static byte[] encodeMinutelyList(@NonNull List<Minutely> minutelyList) {
+        int count = minutelyList.size();
+        StringTable table = new StringTable();
+        short[] texts = new short[count];
+        short[] codes = new short[count];
+        for (int i = 0; i < count; i ++) {
+            Minutely minutely = minutelyList.get(i);
+            texts[i] = table.put(minutely.getWeatherText());
+            codes[i] = table.put(codeId(minutely.getWeatherCode()));
+        }
+
+        ByteBuffer buffer = table.writeHeader(MINUTELY_VERSION, count, MINUTELY_ROW_BYTES);
+        for (Minutely m : minutelyList) {
+            buffer.putLong(m.getDate() == null ? 0 : m.getDate().getTime());
+        }
+        for (Minutely m : minutelyList) {
+            buffer.putLong(m.getTime());
+        }
+        for (Minutely m : minutelyList) {
+            byte flags = 0;
+            if (m.isDaylight()) {
+                flags |= FLAG_DAYLIGHT;
+            }
+            if (m.getDate() == null) {
+                flags |= FLAG_NULL_DATE;
+            }
+            buffer.put(flags);
+        }
+        putShorts(buffer, texts);
+        putShorts(buffer, codes);
+        for (Minutely m : minutelyList) {
+            buffer.putInt(m.getMinuteInterval());
+        }
+        for (Minutely m : minutelyList) {
+            putInt(buffer, m.getDbz());
+        }
+        for (Minutely m : minutelyList) {
+            putInt(buffer, m.getCloudCover());
+        }
+
+        return buffer.array();
+    }
+
+    // decode.
+
+    /**
+     * @return null if the blob is missing or was written by an unknown version.
+     * */
+    @Nullable
+    public static HourlySeries decodeHourlySeries(@Nullable byte[] blob) {
+        ByteBuffer buffer = readHeader(blob, HOURLY_VERSION);
+        if (buffer == null) {
+            return null;
+        }
+        int count = buffer.getInt();
+        return new HourlySeries(buffer, count, readStrings(buffer));
+    }
+
+    /**
+     * @return null if the blob is missing or was written by an unknown version.
+     * */
+    @Nullable
+    public static MinutelySeries decodeMinutelySeries(@Nullable byte[] blob) {
+        ByteBuffer buffer = readHeader(blob, MINUTELY_VERSION);
+        if (buffer == null) {
+            return null;
+        }
+        int count = buffer.getInt();
+        return new MinutelySeries(buffer, count, readStrings(buffer));
+    }
+
+    @Nullable
+    private static ByteBuffer readHeader(@Nullable byte[] blob, int version) {
+        if (blob == null || blob.length < 12) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        return buffer.getInt() == version ? buffer : null;
+    }
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i ++) {
+            int length = buffer.getInt();
+            strings[i] = new String(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8
+            );
+            buffer.position(buffer.position() + length);
+        }
+        return strings;
+    }
+
+    // column.
+
+    static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * 8);
+        return values;
+    }
+
+    static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    static float[] getFloats(ByteBuffer buffer, int count) {
+        float[] values = new float[count];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    static short[] getShorts(ByteBuffer buffer, int count) {
+        short[] values = new short[count];
+        buffer.asShortBuffer().get(values);
+        buffer.position(buffer.position() + count * 2);
+        return values;
+    }
+
+    static byte[] getBytes(ByteBuffer buffer, int count) {
+        byte[] values = new byte[count];
+        buffer.get(values);
+        return values;
+    }
+
+    @Nullable
+    static Integer nullableInt(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static void putShorts(ByteBuffer buffer, short[] values) {
+        for (short value : values) {
+            buffer.putShort(value);
+        }
+    }
+
+    private static void putInt(ByteBuffer buffer, @Nullable Integer value) {
+        buffer.putInt(value == null ? NULL_INT : value);
+    }
+
+    private static void putFloat(ByteBuffer buffer, @Nullable Float value) {
+        buffer.putFloat(value == null ? Float.NaN : value);
+    }
+
+    @Nullable
+    private static String codeId(@Nullable WeatherCode code) {
+        return code == null ? null : code.getId();
+    }
+
+    private static class StringTable {
+
+        private final Map<String, Short> mIndices = new HashMap<>();
+        private final List<byte[]> mBytes = new ArrayList<>();
+        private int mByteCount = 0;
+
+        short put(@Nullable String string) {
+            if (string == null) {
+                return NULL_STRING;
+            }
+            Short index = mIndices.get(string);
+            if (index == null) {
+                if (mBytes.size() >= Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many strings in one forecast series.");
+                }
+                index = (short) mBytes.size();
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                mIndices.put(string, index);
+                mBytes.add(bytes);
+                mByteCount += 4 + bytes.length;
+            }
+            return index;
+        }
+
+        ByteBuffer writeHeader(int version, int count, int rowBytes) {
+            ByteBuffer buffer = ByteBuffer.allocate(12 + mByteCount + count * rowBytes);
+            buffer.putInt(version);
+            buffer.putInt(count);
+            buffer.putInt(mBytes.size());
+            for (byte[] bytes : mBytes) {
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package nowsci.com.temperateweather.db.series;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
+import nowsci.com.temperateweather.common.basic.models.weather.PrecipitationProbability;
+import nowsci.com.temperateweather.common.basic.models.weather.Temperature;
+import nowsci.com.temperateweather.common.basic.models.weather.UV;
+import nowsci.com.temperateweather.common.basic.models.weather.Wind;
+import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_DAYLIGHT;
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_NO_WIND_DIRECTION;
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_NULL_DATE;
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_NULL_WIND_DEGREE;
+
+/**
+ * Hourly series.
+ *
+ * Columns: date, time, flags, weather text, weather code, temperature, real feel, real feel
+ * shader, apparent, wind chill, wet bulb, degree day, total / thunderstorm / rain / snow / ice
+ * precipitation, total / thunderstorm / rain / snow / ice precipitation probability,
+ * wind direction, wind degree, wind speed, wind level, uv index, uv level, uv description.
+ * */
+
+public class HourlySeries extends ForecastSeries<Hourly> {
+
+    private final long[] mDates;
+    private final long[] mTimes;
+    private final byte[] mFlags;
+    private final short[] mWeatherTexts;
+    private final short[] mWeatherCodeIds;
+
+    private final int[] mTemperatures;
+    private final int[][] mOtherTemperatures;
+    private final float[][] mPrecipitations;
+    private final float[][] mPrecipitationProbabilities;
+
+    private final short[] mWindDirections;
+    private final float[] mWindDegrees;
+    private final float[] mWindSpeeds;
+    private final short[] mWindLevels;
+
+    private final int[] mUVIndices;
+    private final short[] mUVLevels;
+    private final short[] mUVDescriptions;
+
+    HourlySeries(ByteBuffer buffer, int count, String[] strings) {
+        super(count, strings);
+
+        mDates = ForecastSeriesCodec.getLongs(buffer, count);
+        mTimes = ForecastSeriesCodec.getLongs(buffer, count);
+        mFlags = ForecastSeriesCodec.getBytes(buffer, count);
+        mWeatherTexts = ForecastSeriesCodec.getShorts(buffer, count);
+        mWeatherCodeIds = ForecastSeriesCodec.getShorts(buffer, count);
+
+        mTemperatures = ForecastSeriesCodec.getInts(buffer, count);
+        mOtherTemperatures = new int[6][];
+        for (int i = 0; i < mOtherTemperatures.length; i ++) {
+            mOtherTemperatures[i] = ForecastSeriesCodec.getInts(buffer, count);
+        }
+        mPrecipitations = new float[5][];
+        for (int i = 0; i < mPrecipitations.length; i ++) {
+            mPrecipitations[i] = ForecastSeriesCodec.getFloats(buffer, count);
+        }
+        mPrecipitationProbabilities = new float[5][];
+        for (int i = 0; i < mPrecipitationProbabilities.length; i ++) {
+            mPrecipitationProbabilities[i] = ForecastSeriesCodec.getFloats(buffer, count);
+        }
+
+        mWindDirections = ForecastSeriesCodec.getShorts(buffer, count);
+        mWindDegrees = ForecastSeriesCodec.getFloats(buffer, count);
+        mWindSpeeds = ForecastSeriesCodec.getFloats(buffer, count);
+        mWindLevels = ForecastSeriesCodec.getShorts(buffer, count);
+
+        mUVIndices = ForecastSeriesCodec.getInts(buffer, count);
+        mUVLevels = ForecastSeriesCodec.getShorts(buffer, count);
+        mUVDescriptions = ForecastSeriesCodec.getShorts(buffer, count);
+    }
+
+    @Override
+    public long getTime(int index) {
+        return mTimes[index];
+    }
+
+    public int getTemperature(int index) {
+        return mTemperatures[index];
+    }
+
+    /**
+     * @return NaN if there is no total precipitation.
+     * */
+    public float getTotalPrecipitation(int index) {
+        return mPrecipitations[0][index];
+    }
+
+    /**
+     * @return NaN if there is no total precipitation probability.
+     * */
+    public float getTotalPrecipitationProbability(int index) {
+        return mPrecipitationProbabilities[0][index];
+    }
+
+    /**
+     * @return NaN if there is no wind speed.
+     * */
+    public float getWindSpeed(int index) {
+        return mWindSpeeds[index];
+    }
+
+    // the value types take the same missing values as the columns, so nothing is boxed.
+    @NonNull
+    @Override
+    Hourly create(int i) {
+        byte flags = mFlags[i];
+
+        WindDegree windDegree;
+        if ((flags & FLAG_NULL_WIND_DEGREE) != 0) {
+            windDegree = null;
+        } else {
+            windDegree = new WindDegree(mWindDegrees[i], (flags & FLAG_NO_WIND_DIRECTION) != 0);
+        }
+
+        return new Hourly(
+                (flags & FLAG_NULL_DATE) != 0 ? null : new Date(mDates[i]),
+                mTimes[i],
+                (flags & FLAG_DAYLIGHT) != 0,
+                getString(mWeatherTexts[i]),
+                getWeatherCode(mWeatherCodeIds[i]),
+                new Temperature(
+                        mTemperatures[i],
+                        mOtherTemperatures[0][i],
+                        mOtherTemperatures[1][i],
+                        mOtherTemperatures[2][i],
+                        mOtherTemperatures[3][i],
+                        mOtherTemperatures[4][i],
+                        mOtherTemperatures[5][i]
+                ),
+                new Precipitation(
+                        mPrecipitations[0][i],
+                        mPrecipitations[1][i],
+                        mPrecipitations[2][i],
+                        mPrecipitations[3][i],
+                        mPrecipitations[4][i]
+                ),
+                new PrecipitationProbability(
+                        mPrecipitationProbabilities[0][i],
+                        mPrecipitationProbabilities[1][i],
+                        mPrecipitationProbabilities[2][i],
+                        mPrecipitationProbabilities[3][i],
+                        mPrecipitationProbabilities[4][i]
+                ),
+                new Wind(
+                        getString(mWindDirections[i]),
+                        windDegree,
+                        mWindSpeeds[i],
+                        getString(mWindLevels[i])
+                ),
+                new UV(
+                        mUVIndices[i],
+                        getString(mUVLevels[i]),
+                        getString(mUVDescriptions[i])
+                )
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package nowsci.com.temperateweather.db.series;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_DAYLIGHT;
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.FLAG_NULL_DATE;
+import static nowsci.com.temperateweather.db.series.ForecastSeriesCodec.nullableInt;
+
+/**
+ * Minutely series.
+ *
+ * Columns: date, time, flags, weather text, weather code, minute interval, dbz, cloud cover.
+ * */
+
+public class MinutelySeries extends ForecastSeries<Minutely> {
+
+    private final long[] mDates;
+    private final long[] mTimes;
+    private final byte[] mFlags;
+    private final short[] mWeatherTexts;
+    private final short[] mWeatherCodeIds;
+    private final int[] mMinuteIntervals;
+    private final int[] mDbzs;
+    private final int[] mCloudCovers;
+
+    MinutelySeries(ByteBuffer buffer, int count, String[] strings) {
+        super(count, strings);
+
+        mDates = ForecastSeriesCodec.getLongs(buffer, count);
+        mTimes = ForecastSeriesCodec.getLongs(buffer, count);
+        mFlags = ForecastSeriesCodec.getBytes(buffer, count);
+        mWeatherTexts = ForecastSeriesCodec.getShorts(buffer, count);
+        mWeatherCodeIds = ForecastSeriesCodec.getShorts(buffer, count);
+        mMinuteIntervals = ForecastSeriesCodec.getInts(buffer, count);
+        mDbzs = ForecastSeriesCodec.getInts(buffer, count);
+        mCloudCovers = ForecastSeriesCodec.getInts(buffer, count);
+    }
+
+    @Override
+    public long getTime(int index) {
+        return mTimes[index];
+    }
+
+    @NonNull
+    @Override
+    Minutely create(int i) {
+        byte flags = mFlags[i];
+        Integer dbz = nullableInt(mDbzs[i]);
+        Integer cloudCover = nullableInt(mCloudCovers[i]);
+        return new Minutely(
+                (flags & FLAG_NULL_DATE) != 0 ? null : new Date(mDates[i]),
+                mTimes[i],
+                (flags & FLAG_DAYLIGHT) != 0,
+                getString(mWeatherTexts[i]),
+                getWeatherCode(mWeatherCodeIds[i]),
+                mMinuteIntervals[i],
+                dbz,
+                cloudCover
+        );
+    }
+}
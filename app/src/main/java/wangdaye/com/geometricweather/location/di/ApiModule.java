@@ -1,5 +1,7 @@
 package nowsci.com.temperateweather.location.di;
 
+import javax.inject.Singleton;
+
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
@@ -16,6 +18,7 @@ import nowsci.com.temperateweather.location.services.ip.BaiduIPLocationApi;
 public class ApiModule {
 
     @Provides
+    @Singleton
     public BaiduIPLocationApi provideBaiduIPLocationApi(OkHttpClient client,
                                                         GsonConverterFactory converterFactory,
                                                         RxJava2CallAdapterFactory callAdapterFactory) {
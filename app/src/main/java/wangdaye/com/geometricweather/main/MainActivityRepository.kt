@@ -53,6 +53,9 @@ class MainActivityRepository @Inject constructor(
         callback: AsyncHelper.Callback<List<Location>>
     ) {
         AsyncHelper.runOnExecutor({ emitter ->
+            val weathers = DatabaseHelper.getInstance(context).readWeatherList(
+                oldList.filter { it.formattedId != ignoredFormattedId }
+            ).iterator()
             emitter.send(
                 oldList.map {
                     if (it.formattedId == ignoredFormattedId) {
@@ -60,7 +63,7 @@ class MainActivityRepository @Inject constructor(
                     } else {
                         Location.copy(
                             src = it,
-                            weather = DatabaseHelper.getInstance(context).readWeather(it)
+                            weather = weathers.next()
                         )
                     }
                 },
@@ -14,7 +14,6 @@ import java.util.TimeZone;
 import nowsci.com.temperateweather.R;
 import nowsci.com.temperateweather.common.basic.GeoActivity;
 import nowsci.com.temperateweather.common.basic.models.Location;
-import nowsci.com.temperateweather.common.basic.models.weather.Daily;
 import nowsci.com.temperateweather.common.ui.widgets.horizontal.HorizontalViewPager2;
 import nowsci.com.temperateweather.common.utils.helpers.IntentHelper;
 import nowsci.com.temperateweather.main.adapters.HomePollenAdapter;
@@ -69,9 +68,7 @@ public class AllergenViewHolder extends AbstractMainCardViewHolder {
             assert mLocation.getWeather() != null;
 
             TimeZone timeZone = mLocation.getTimeZone();
-            Daily daily = mLocation.getWeather().getDailyForecast().get(position);
-
-            if (daily.isToday(timeZone)) {
+            if (mLocation.getWeather().getIndex().getTodayIndex(timeZone) == position) {
                 mIndicator.setText(mContext.getString(R.string.today));
             } else {
                 mIndicator.setText((position + 1) + "/" + mLocation.getWeather().getDailyForecast().size());
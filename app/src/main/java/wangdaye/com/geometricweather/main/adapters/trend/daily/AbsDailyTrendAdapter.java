@@ -42,7 +42,7 @@ public abstract class AbsDailyTrendAdapter extends TrendRecyclerViewAdapter<AbsD
             assert weather != null;
             Daily daily = weather.getDailyForecast().get(position);
 
-            if (daily.isToday(timeZone)) {
+            if (weather.getIndex().getTodayIndex(timeZone) == position) {
                 talkBackBuilder.append(", ").append(context.getString(R.string.today));
                 dailyItem.setWeekText(context.getString(R.string.today));
             } else {
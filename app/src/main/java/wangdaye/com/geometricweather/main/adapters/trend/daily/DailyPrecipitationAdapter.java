@@ -18,6 +18,7 @@ import nowsci.com.temperateweather.common.basic.models.options.unit.Precipitatio
 import nowsci.com.temperateweather.common.basic.models.weather.Daily;
 import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherIndex;
 import nowsci.com.temperateweather.common.ui.widgets.trend.TrendRecyclerView;
 import nowsci.com.temperateweather.common.ui.widgets.trend.chart.DoubleHistogramView;
 import nowsci.com.temperateweather.main.utils.MainThemeColorProvider;
@@ -113,19 +114,10 @@ public class DailyPrecipitationAdapter extends AbsDailyTrendAdapter {
         mResourceProvider = provider;
         mPrecipitationUnit = unit;
 
-        mHighestPrecipitation = 0;
-        Float daytimePrecipitation;
-        Float nighttimePrecipitation;
-        for (int i = weather.getDailyForecast().size() - 1; i >= 0; i --) {
-            daytimePrecipitation = weather.getDailyForecast().get(i).day().getPrecipitation().getTotal();
-            nighttimePrecipitation = weather.getDailyForecast().get(i).night().getPrecipitation().getTotal();
-            if (daytimePrecipitation != null && daytimePrecipitation > mHighestPrecipitation) {
-                mHighestPrecipitation = daytimePrecipitation;
-            }
-            if (nighttimePrecipitation != null && nighttimePrecipitation > mHighestPrecipitation) {
-                mHighestPrecipitation = nighttimePrecipitation;
-            }
-        }
+        mHighestPrecipitation = WeatherIndex.getMax(
+                weather.getIndex().getNighttimePrecipitations(),
+                WeatherIndex.getMax(weather.getIndex().getDaytimePrecipitations(), 0)
+        );
     }
 
     @NonNull
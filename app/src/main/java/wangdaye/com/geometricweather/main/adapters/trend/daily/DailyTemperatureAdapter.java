@@ -271,11 +271,11 @@ public class DailyTemperatureAdapter extends AbsDailyTrendAdapter {
     }
 
     protected int getDaytimeTemperatureC(Weather weather, int index) {
-        return weather.getDailyForecast().get(index).day().getTemperature().getTemperature();
+        return weather.getIndex().getDaytimeTemperatures()[index];
     }
 
     protected int getNighttimeTemperatureC(Weather weather, int index) {
-        return weather.getDailyForecast().get(index).night().getTemperature().getTemperature();
+        return weather.getIndex().getNighttimeTemperatures()[index];
     }
 
     protected int getDaytimeTemperature(Weather weather, int index, TemperatureUnit unit) {
@@ -20,6 +20,7 @@ import nowsci.com.temperateweather.common.basic.models.Location;
 import nowsci.com.temperateweather.common.basic.models.options.unit.SpeedUnit;
 import nowsci.com.temperateweather.common.basic.models.weather.Daily;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherIndex;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.ui.images.RotateDrawable;
 import nowsci.com.temperateweather.common.ui.widgets.trend.TrendRecyclerView;
@@ -110,19 +111,10 @@ public class DailyWindAdapter extends AbsDailyTrendAdapter {
         assert weather != null;
         mSpeedUnit = unit;
 
-        mHighestWindSpeed = 0;
-        Float daytimeWindSpeed;
-        Float nighttimeWindSpeed;
-        for (int i = weather.getDailyForecast().size() - 1; i >= 0; i --) {
-            daytimeWindSpeed = weather.getDailyForecast().get(i).day().getWind().getSpeed();
-            nighttimeWindSpeed = weather.getDailyForecast().get(i).night().getWind().getSpeed();
-            if (daytimeWindSpeed != null && daytimeWindSpeed > mHighestWindSpeed) {
-                mHighestWindSpeed = daytimeWindSpeed;
-            }
-            if (nighttimeWindSpeed != null && nighttimeWindSpeed > mHighestWindSpeed) {
-                mHighestWindSpeed = nighttimeWindSpeed;
-            }
-        }
+        mHighestWindSpeed = WeatherIndex.getMax(
+                weather.getIndex().getNighttimeWindSpeeds(),
+                WeatherIndex.getMax(weather.getIndex().getDaytimeWindSpeeds(), 0)
+        );
     }
 
     @NonNull
@@ -17,6 +17,7 @@ import nowsci.com.temperateweather.common.basic.models.options.unit.Precipitatio
 import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
 import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherIndex;
 import nowsci.com.temperateweather.common.ui.widgets.trend.TrendRecyclerView;
 import nowsci.com.temperateweather.common.ui.widgets.trend.chart.PolylineAndHistogramView;
 import nowsci.com.temperateweather.main.utils.MainThemeColorProvider;
@@ -120,14 +121,7 @@ public class HourlyPrecipitationAdapter extends AbsHourlyTrendAdapter {
         mResourceProvider = provider;
         mPrecipitationUnit = unit;
 
-        mHighestPrecipitation = 0;
-        Float precipitation;
-        for (int i = weather.getHourlyForecast().size() - 1; i >= 0; i --) {
-            precipitation = weather.getHourlyForecast().get(i).getPrecipitation().getTotal();
-            if (precipitation != null && precipitation > mHighestPrecipitation) {
-                mHighestPrecipitation = precipitation;
-            }
-        }
+        mHighestPrecipitation = WeatherIndex.getMax(weather.getIndex().getHourlyPrecipitations(), 0);
     }
 
     @NonNull
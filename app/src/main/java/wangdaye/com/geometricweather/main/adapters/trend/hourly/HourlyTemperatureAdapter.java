@@ -246,7 +246,7 @@ public class HourlyTemperatureAdapter extends AbsHourlyTrendAdapter {
     }
 
     protected int getTemperatureC(Weather weather, int index) {
-        return weather.getHourlyForecast().get(index).getTemperature().getTemperature();
+        return weather.getIndex().getHourlyTemperatures()[index];
     }
 
     protected int getTemperature(Weather weather, int index, TemperatureUnit unit) {
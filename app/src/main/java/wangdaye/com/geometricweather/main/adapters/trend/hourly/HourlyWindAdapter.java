@@ -20,6 +20,7 @@ import nowsci.com.temperateweather.common.basic.models.Location;
 import nowsci.com.temperateweather.common.basic.models.options.unit.SpeedUnit;
 import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherIndex;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.ui.images.RotateDrawable;
 import nowsci.com.temperateweather.common.ui.widgets.trend.TrendRecyclerView;
@@ -101,14 +102,7 @@ public class HourlyWindAdapter extends AbsHourlyTrendAdapter {
         assert weather != null;
         mSpeedUnit = unit;
 
-        mHighestWindSpeed = 0;
-        Float daytimeWindSpeed;
-        for (int i = weather.getHourlyForecast().size() - 1; i >= 0; i --) {
-            daytimeWindSpeed = weather.getHourlyForecast().get(i).getWind().getSpeed();
-            if (daytimeWindSpeed != null && daytimeWindSpeed > mHighestWindSpeed) {
-                mHighestWindSpeed = daytimeWindSpeed;
-            }
-        }
+        mHighestWindSpeed = WeatherIndex.getMax(weather.getIndex().getHourlyWindSpeeds(), 0);
     }
 
     @NonNull
@@ -31,6 +31,7 @@ import nowsci.com.temperateweather.TemperateWeather;
 import nowsci.com.temperateweather.R;
 import nowsci.com.temperateweather.common.basic.models.Location;
 import nowsci.com.temperateweather.common.basic.models.weather.Alert;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.utils.helpers.IntentHelper;
 import nowsci.com.temperateweather.remoteviews.presenters.notification.NormalNotificationIMP;
@@ -288,8 +289,11 @@ public class NotificationHelper {
     }
 
     private static boolean isShortTermLiquid(Weather weather) {
-        for (int i = 0; i < 4; i ++) {
-            if (weather.getHourlyForecast().get(i).getWeatherCode().isPrecipitation()) {
+        // the next hours, from the current one if the forecast covers it.
+        List<Hourly> hourlyForecast = weather.getHourlyForecast();
+        int start = Math.max(0, weather.getIndex().getCurrentHourlyIndex());
+        for (int i = start; i < Math.min(start + 4, hourlyForecast.size()); i ++) {
+            if (hourlyForecast.get(i).getWeatherCode().isPrecipitation()) {
                 return true;
             }
         }
@@ -8,6 +8,7 @@ import java.util.List;
 import dagger.hilt.android.AndroidEntryPoint;
 import nowsci.com.temperateweather.R;
 import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.db.DatabaseHelper;
 import nowsci.com.temperateweather.remoteviews.presenters.MultiCityWidgetIMP;
 
@@ -25,13 +26,9 @@ public class MultiCityWidgetConfigActivity extends AbstractWidgetConfigActivity
         super.initData();
 
         locationList = DatabaseHelper.getInstance(this).readLocationList();
+        List<Weather> weatherList = DatabaseHelper.getInstance(this).readWeatherList(locationList);
         for (int i = 0; i < locationList.size(); i ++) {
-            locationList.set(
-                    i, Location.copy(
-                            locationList.get(i),
-                            DatabaseHelper.getInstance(this).readWeather(locationList.get(i))
-                    )
-            );
+            locationList.set(i, Location.copy(locationList.get(i), weatherList.get(i)));
         }
     }
 
@@ -292,7 +292,7 @@ private fun buildRemoteViews(
 
     views.setTextViewText(
         R.id.widget_material_you_forecast_week_1,
-        if (weather.dailyForecast[0].isToday(location.timeZone)) {
+        if (weather.index.getTodayIndex(location.timeZone) == 0) {
             context.getString(R.string.today)
         } else {
             weather.dailyForecast[0].getWeek(context)
@@ -300,7 +300,7 @@ private fun buildRemoteViews(
     )
     views.setTextViewText(
         R.id.widget_material_you_forecast_week_2,
-        if (weather.dailyForecast[1].isToday(location.timeZone)) {
+        if (weather.index.getTodayIndex(location.timeZone) == 1) {
             context.getString(R.string.today)
         } else {
             weather.dailyForecast[1].getWeek(context)
@@ -57,6 +57,10 @@ class ConfigStore private constructor(sp: SharedPreferences) {
         return preferences.contains(key)
     }
 
+    fun getKeys(): Set<String> {
+        return preferences.all.keys
+    }
+
     fun edit(): Editor {
         return Editor(this)
     }
@@ -3,8 +3,10 @@ package nowsci.com.temperateweather.weather;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -13,6 +15,7 @@ import io.reactivex.Observable;
 import io.reactivex.disposables.CompositeDisposable;
 import nowsci.com.temperateweather.common.basic.models.Location;
 import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Base;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.rxjava.BaseObserver;
 import nowsci.com.temperateweather.common.rxjava.ObserverContainer;
@@ -20,12 +23,14 @@ import nowsci.com.temperateweather.common.rxjava.SchedulerTransformer;
 import nowsci.com.temperateweather.common.utils.NetworkUtils;
 import nowsci.com.temperateweather.common.utils.helpers.AsyncHelper;
 import nowsci.com.temperateweather.db.DatabaseHelper;
+import nowsci.com.temperateweather.weather.services.ValidatedRefresh;
 import nowsci.com.temperateweather.weather.services.WeatherService;
 
 public class WeatherHelper {
 
     private final WeatherServiceSet mServiceSet;
     private final CompositeDisposable mCompositeDisposable;
+    private final WeatherRequestCoalescer mCoalescer;
 
     public interface OnRequestWeatherListener {
         void requestWeatherSuccess(@NonNull Location requestLocation);
@@ -39,9 +44,11 @@ public class WeatherHelper {
 
     @Inject
     public WeatherHelper(WeatherServiceSet weatherServiceSet,
-                         CompositeDisposable compositeDisposable) {
+                         CompositeDisposable compositeDisposable,
+                         WeatherRequestCoalescer coalescer) {
         mServiceSet = weatherServiceSet;
         mCompositeDisposable = compositeDisposable;
+        mCoalescer = coalescer;
     }
 
     public void requestWeather(Context c, Location location, @NonNull final OnRequestWeatherListener l) {
@@ -51,36 +58,85 @@ public class WeatherHelper {
             return;
         }
 
+        final String key = WeatherRequestCoalescer.getKey(location);
+        final WeatherRequestCoalescer.Flight flight = mCoalescer.join(key, this, c, location, l);
+        if (flight == null) {
+            return;
+        }
+
         service.requestWeather(c, location.copy(), new WeatherService.RequestWeatherCallback() {
 
             @Override
-            public void requestWeatherSuccess(@NonNull Location requestLocation) {
+            public void requestWeatherSuccess(@NonNull Location requestLocation,
+                                              @Nullable String validators) {
                 Weather weather = requestLocation.getWeather();
                 if (weather != null) {
                     DatabaseHelper.getInstance(c).writeWeather(requestLocation, weather);
+                    ValidatedRefresh.onWeatherWritten(c, requestLocation, validators);
                     if (weather.getYesterday() == null) {
                         weather.setYesterday(
                                 DatabaseHelper.getInstance(c).readHistory(requestLocation, weather)
                         );
                     }
-                    l.requestWeatherSuccess(requestLocation);
+                    for (WeatherRequestCoalescer.Waiter waiter : mCoalescer.complete(key, flight)) {
+                        waiter.listener.requestWeatherSuccess(requestLocation);
+                    }
                 } else {
                     requestWeatherFailed(requestLocation);
                 }
             }
 
+            @Override
+            public void requestWeatherNotModified(@NonNull Location requestLocation) {
+                Weather weather = requestLocation.getWeather();
+                if (weather == null) {
+                    requestWeatherFailed(requestLocation);
+                    return;
+                }
+
+                // the validators matched the stored weather, nothing to convert or to store again.
+                weather = touch(weather, System.currentTimeMillis());
+                DatabaseHelper.getInstance(c).touchWeather(requestLocation, weather.getBase());
+
+                Location touchedLocation = Location.copy(requestLocation, weather);
+                for (WeatherRequestCoalescer.Waiter waiter : mCoalescer.complete(key, flight)) {
+                    waiter.listener.requestWeatherSuccess(touchedLocation);
+                }
+            }
+
             @Override
             public void requestWeatherFailed(@NonNull Location requestLocation) {
-                l.requestWeatherFailed(
-                        Location.copy(
-                                requestLocation,
-                                DatabaseHelper.getInstance(c).readWeather(requestLocation)
-                        )
+                Location failedLocation = Location.copy(
+                        requestLocation,
+                        DatabaseHelper.getInstance(c).readWeather(requestLocation)
                 );
+                for (WeatherRequestCoalescer.Waiter waiter : mCoalescer.complete(key, flight)) {
+                    waiter.listener.requestWeatherFailed(failedLocation);
+                }
             }
         });
     }
 
+    private static Weather touch(@NonNull Weather weather, long updateTime) {
+        Base base = weather.getBase();
+        return new Weather(
+                new Base(
+                        base.getCityId(),
+                        updateTime,
+                        base.getPublishDate(),
+                        base.getPublishTime(),
+                        new Date(updateTime),
+                        updateTime
+                ),
+                weather.getCurrent(),
+                weather.getYesterday(),
+                weather.getDailyForecast(),
+                weather.getHourlyForecast(),
+                weather.getMinutelyForecast(),
+                weather.getAlertList()
+        );
+    }
+
     public void requestLocation(Context context, String query, List<WeatherSource> enabledSources,
                                 @NonNull final OnRequestLocationListener l) {
         if (enabledSources == null || enabledSources.isEmpty()) {
@@ -133,5 +189,15 @@ public class WeatherHelper {
             s.cancel();
         }
         mCompositeDisposable.clear();
+
+        // whoever joined a request of this helper will not get its result now.
+        for (WeatherRequestCoalescer.Waiter waiter : mCoalescer.cancel(this)) {
+            waiter.listener.requestWeatherFailed(
+                    Location.copy(
+                            waiter.location,
+                            DatabaseHelper.getInstance(waiter.context).readWeather(waiter.location)
+                    )
+            );
+        }
     }
 }
@@ -0,0 +1,141 @@
+package nowsci.com.temperateweather.weather;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import nowsci.com.temperateweather.common.basic.models.Location;
+
+/**
+ * Weather request coalescer.
+ *
+ * Keeps the weather requests in flight, keyed by the formatted id and the weather source of the
+ * location. A request for a location that is already being requested joins the running request
+ * and gets its result, instead of sending the same api calls a second time.
+ * */
+@Singleton
+public class WeatherRequestCoalescer {
+
+    // a request running for longer than this has probably been lost, it is sent again.
+    public static final long DEFAULT_MAX_FLIGHT_MILLIS = 60 * 1000;
+
+    private final Map<String, Flight> mFlights;
+    private final long mMaxFlightMillis;
+
+    public static class Waiter {
+        final Object owner;
+        final Context context;
+        final Location location;
+        final WeatherHelper.OnRequestWeatherListener listener;
+
+        Waiter(Object owner,
+               Context context,
+               Location location,
+               WeatherHelper.OnRequestWeatherListener listener) {
+            this.owner = owner;
+            this.context = context.getApplicationContext();
+            this.location = location;
+            this.listener = listener;
+        }
+    }
+
+    public static class Flight {
+        final Object owner;
+        final long startTime;
+        final List<Waiter> waiters;
+
+        Flight(Object owner) {
+            this.owner = owner;
+            this.startTime = System.currentTimeMillis();
+            this.waiters = new ArrayList<>();
+        }
+    }
+
+    @Inject
+    public WeatherRequestCoalescer() {
+        this(DEFAULT_MAX_FLIGHT_MILLIS);
+    }
+
+    public WeatherRequestCoalescer(long maxFlightMillis) {
+        mFlights = new HashMap<>();
+        mMaxFlightMillis = maxFlightMillis;
+    }
+
+    public static String getKey(@NonNull Location location) {
+        return location.getFormattedId() + "&" + location.getWeatherSource().getId();
+    }
+
+    /**
+     * @return the new flight if there was no request in flight for the key, the owner has to send
+     * it and call {@link #complete(String, Flight)} with this flight once it returns. Null if the
+     * request joined a flight of someone else.
+     * */
+    @Nullable
+    public synchronized Flight join(@NonNull String key,
+                                     @NonNull Object owner,
+                                     @NonNull Context context,
+                                     @NonNull Location location,
+                                     @NonNull WeatherHelper.OnRequestWeatherListener listener) {
+        Flight flight = mFlights.get(key);
+        boolean started = flight == null
+                || System.currentTimeMillis() - flight.startTime > mMaxFlightMillis;
+        if (started) {
+            Flight lostFlight = flight;
+            flight = new Flight(owner);
+            if (lostFlight != null) {
+                flight.waiters.addAll(lostFlight.waiters);
+            }
+            mFlights.put(key, flight);
+        }
+        flight.waiters.add(new Waiter(owner, context, location, listener));
+        return started ? flight : null;
+    }
+
+    /**
+     * @return everyone waiting for the flight, in the order they joined it. Empty if the flight
+     * has been replaced because it seemed lost, its waiters belong to the replacement then.
+     * */
+    @NonNull
+    public synchronized List<Waiter> complete(@NonNull String key, @NonNull Flight flight) {
+        if (mFlights.get(key) != flight) {
+            return new ArrayList<>();
+        }
+        mFlights.remove(key);
+        return flight.waiters;
+    }
+
+    /**
+     * Forget the waiters of the owner, and the requests it sent, as they will never return.
+     *
+     * @return waiters of other owners who joined one of those requests.
+     * */
+    @NonNull
+    public synchronized List<Waiter> cancel(@NonNull Object owner) {
+        List<Waiter> orphanList = new ArrayList<>();
+
+        Iterator<Flight> iterator = mFlights.values().iterator();
+        while (iterator.hasNext()) {
+            Flight flight = iterator.next();
+            for (int i = flight.waiters.size() - 1; i >= 0; i --) {
+                if (flight.waiters.get(i).owner == owner) {
+                    flight.waiters.remove(i);
+                }
+            }
+            if (flight.owner == owner) {
+                orphanList.addAll(flight.waiters);
+                iterator.remove();
+            }
+        }
+        return orphanList;
+    }
+}
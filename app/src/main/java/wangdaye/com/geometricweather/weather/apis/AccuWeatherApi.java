@@ -4,6 +4,7 @@ import java.util.List;
 
 import io.reactivex.Observable;
 import retrofit2.Call;
+import retrofit2.Response;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
@@ -40,38 +41,38 @@ public interface AccuWeatherApi {
                                                                    @Query("language") String language);
 
     @GET("currentconditions/v1/{city_key}.json")
-    Observable<List<AccuCurrentResult>> getCurrent(@Path("city_key") String city_key,
+    Observable<Response<List<AccuCurrentResult>>> getCurrent(@Path("city_key") String city_key,
+                                                             @Query("apikey") String apikey,
+                                                             @Query("language") String language,
+                                                             @Query("details") boolean details);
+
+    @GET("forecasts/v1/daily/15day/{city_key}.json")
+    Observable<Response<AccuDailyResult>> getDaily(@Path("city_key") String city_key,
                                                    @Query("apikey") String apikey,
                                                    @Query("language") String language,
+                                                   @Query("metric") boolean metric,
                                                    @Query("details") boolean details);
 
-    @GET("forecasts/v1/daily/15day/{city_key}.json")
-    Observable<AccuDailyResult> getDaily(@Path("city_key") String city_key,
-                                         @Query("apikey") String apikey,
-                                         @Query("language") String language,
-                                         @Query("metric") boolean metric,
-                                         @Query("details") boolean details);
-
     @GET("forecasts/v1/hourly/24hour/{city_key}.json")
-    Observable<List<AccuHourlyResult>> getHourly(@Path("city_key") String city_key,
-                                                 @Query("apikey") String apikey,
-                                                 @Query("language") String language,
-                                                 @Query("metric") boolean metric,
-                                                 @Query("details") boolean details);
+    Observable<Response<List<AccuHourlyResult>>> getHourly(@Path("city_key") String city_key,
+                                                           @Query("apikey") String apikey,
+                                                           @Query("language") String language,
+                                                           @Query("metric") boolean metric,
+                                                           @Query("details") boolean details);
 
     @GET("forecasts/v1/minute/1minute.json")
-    Observable<AccuMinuteResult> getMinutely(@Query("apikey") String apikey,
-                                             @Query("language") String language,
-                                             @Query("details") boolean details,
-                                             @Query("q") String q);
+    Observable<Response<AccuMinuteResult>> getMinutely(@Query("apikey") String apikey,
+                                                       @Query("language") String language,
+                                                       @Query("details") boolean details,
+                                                       @Query("q") String q);
 
     @GET("airquality/v1/observations/{city_key}.json")
-    Observable<AccuAqiResult> getAirQuality(@Path("city_key") String city_key,
-                                            @Query("apikey") String apikey);
+    Observable<Response<AccuAqiResult>> getAirQuality(@Path("city_key") String city_key,
+                                                      @Query("apikey") String apikey);
 
     @GET("alerts/v1/{city_key}.json")
-    Observable<List<AccuAlertResult>> getAlert(@Path("city_key") String city_key,
-                                               @Query("apikey") String apikey,
-                                               @Query("language") String language,
-                                               @Query("details") boolean details);
+    Observable<Response<List<AccuAlertResult>>> getAlert(@Path("city_key") String city_key,
+                                                         @Query("apikey") String apikey,
+                                                         @Query("language") String language,
+                                                         @Query("details") boolean details);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package nowsci.com.temperateweather.weather.apis;
 
 import io.reactivex.Observable;
+import retrofit2.Response;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
 import nowsci.com.temperateweather.weather.json.atmoaura.AtmoAuraQAResult;
@@ -13,8 +14,8 @@ import nowsci.com.temperateweather.weather.json.atmoaura.AtmoAuraQAResult;
 public interface AtmoAuraIqaApi {
 
     @GET("air2go/full_request")
-    Observable<AtmoAuraQAResult> getQAFull(@Query("api_token") String api_token,
-                                           @Query("latitude") String latitude,
-                                           @Query("longitude") String longitude);
+    Observable<Response<AtmoAuraQAResult>> getQAFull(@Query("api_token") String api_token,
+                                                     @Query("latitude") String latitude,
+                                                     @Query("longitude") String longitude);
 
 }
\ No newline at end of file
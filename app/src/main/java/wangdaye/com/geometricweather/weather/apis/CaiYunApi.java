@@ -1,6 +1,7 @@
 package nowsci.com.temperateweather.weather.apis;
 
 import io.reactivex.Observable;
+import retrofit2.Response;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
 import nowsci.com.temperateweather.weather.json.caiyun.CaiYunForecastResult;
@@ -9,27 +10,27 @@ import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult;
 public interface CaiYunApi {
 
     @GET("wtr-v3/weather/all")
-    Observable<CaiYunMainlyResult> getMainlyWeather(@Query("latitude") String latitude,
-                                                    @Query("longitude") String longitude,
-                                                    @Query("isLocated") boolean isLocated,
-                                                    @Query("locationKey") String locationKey,
-                                                    @Query("days") int days,
-                                                    @Query("appKey") String appKey,
-                                                    @Query("sign") String sign,
-                                                    @Query("romVersion") String romVersion,
-                                                    @Query("appVersion") String appVersion,
-                                                    @Query("alpha") boolean alpha,
-                                                    @Query("isGlobal") boolean isGlobal,
-                                                    @Query("device") String device,
-                                                    @Query("modDevice") String modDevice,
-                                                    @Query("locale") String locale);
+    Observable<Response<CaiYunMainlyResult>> getMainlyWeather(@Query("latitude") String latitude,
+                                                              @Query("longitude") String longitude,
+                                                              @Query("isLocated") boolean isLocated,
+                                                              @Query("locationKey") String locationKey,
+                                                              @Query("days") int days,
+                                                              @Query("appKey") String appKey,
+                                                              @Query("sign") String sign,
+                                                              @Query("romVersion") String romVersion,
+                                                              @Query("appVersion") String appVersion,
+                                                              @Query("alpha") boolean alpha,
+                                                              @Query("isGlobal") boolean isGlobal,
+                                                              @Query("device") String device,
+                                                              @Query("modDevice") String modDevice,
+                                                              @Query("locale") String locale);
 
     @GET("wtr-v3/weather/xm/forecast/minutely")
-    Observable<CaiYunForecastResult> getForecastWeather(@Query("latitude") String latitude,
-                                                        @Query("longitude") String longitude,
-                                                        @Query("locale") String locale,
-                                                        @Query("isGlobal") boolean isGlobal,
-                                                        @Query("appKey") String appKey,
-                                                        @Query("locationKey") String locationKey,
-                                                        @Query("sign") String sign);
+    Observable<Response<CaiYunForecastResult>> getForecastWeather(@Query("latitude") String latitude,
+                                                                  @Query("longitude") String longitude,
+                                                                  @Query("locale") String locale,
+                                                                  @Query("isGlobal") boolean isGlobal,
+                                                                  @Query("appKey") String appKey,
+                                                                  @Query("locationKey") String locationKey,
+                                                                  @Query("sign") String sign);
 }
@@ -1,11 +1,14 @@
 package nowsci.com.temperateweather.weather.apis;
 
 import java.util.List;
+import java.util.TimeZone;
 
 import io.reactivex.Observable;
 import retrofit2.Call;
+import retrofit2.Response;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.Tag;
 import nowsci.com.temperateweather.weather.json.mf.MfCurrentResult;
 import nowsci.com.temperateweather.weather.json.mf.MfEphemerisResult;
 import nowsci.com.temperateweather.weather.json.mf.MfForecastResult;
@@ -33,10 +36,10 @@ public interface MfWeatherApi {
                                                           @Query("token") String token);
 
     @GET("forecast")
-    Observable<MfForecastResult> getForecast(@Query("lat") double lat,
-                                             @Query("lon") double lon,
-                                             @Query("lang") String lang,
-                                             @Query("token") String token);
+    Observable<Response<MfForecastResult>> getForecast(@Query("lat") double lat,
+                                                       @Query("lon") double lon,
+                                                       @Query("lang") String lang,
+                                                       @Query("token") String token);
 
     @GET("v2/forecast")
     Observable<MfForecastV2Result> getForecastV2(@Query("lat") double lat,
@@ -57,25 +60,29 @@ public interface MfWeatherApi {
                                                     @Query("token") String token);
 
     @GET("observation/gridded")
-    Observable<MfCurrentResult> getCurrent(@Query("lat") double lat,
-                                           @Query("lon") double lon,
-                                           @Query("lang") String lang,
-                                           @Query("token") String token);
+    Observable<Response<MfCurrentResult>> getCurrent(@Query("lat") double lat,
+                                                     @Query("lon") double lon,
+                                                     @Query("lang") String lang,
+                                                     @Query("token") String token);
 
     @GET("rain")
-    Observable<MfRainResult> getRain(@Query("lat") double lat,
-                                     @Query("lon") double lon,
-                                     @Query("lang") String lang,
-                                     @Query("token") String token);
-
-    @GET("ephemeris")
-    Observable<MfEphemerisResult> getEphemeris(@Query("lat") double lat,
+    Observable<Response<MfRainResult>> getRain(@Query("lat") double lat,
                                                @Query("lon") double lon,
                                                @Query("lang") String lang,
                                                @Query("token") String token);
 
+    /**
+     * @param timeZone time zone of the location, the cached ephemeris expires at its midnight.
+     * */
+    @GET("ephemeris")
+    Observable<Response<MfEphemerisResult>> getEphemeris(@Query("lat") double lat,
+                                                         @Query("lon") double lon,
+                                                         @Query("lang") String lang,
+                                                         @Query("token") String token,
+                                                         @Tag TimeZone timeZone);
+
     @GET("warning/full")
-    Observable<MfWarningsResult> getWarnings(@Query("domain") String domain,
-                                             @Query("formatDate") String formatDate,
-                                             @Query("token") String token);
+    Observable<Response<MfWarningsResult>> getWarnings(@Query("domain") String domain,
+                                                       @Query("formatDate") String formatDate,
+                                                       @Query("token") String token);
 }
\ No newline at end of file
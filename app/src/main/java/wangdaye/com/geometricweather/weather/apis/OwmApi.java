@@ -4,6 +4,7 @@ import java.util.List;
 
 import io.reactivex.Observable;
 import retrofit2.Call;
+import retrofit2.Response;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
 import nowsci.com.temperateweather.weather.json.owm.OwmAirPollutionResult;
@@ -32,11 +33,11 @@ public interface OwmApi {
 
     // Contains current weather, minute forecast for 1 hour, hourly forecast for 48 hours, daily forecast for 7 days and government weather alerts
     @GET("data/2.5/onecall")
-    Observable<OwmOneCallResult> getOneCall(@Query("appid") String apikey,
-                                            @Query("lat") double lat,
-                                            @Query("lon") double lon,
-                                            @Query("units") String units,
-                                            @Query("lang") String lang);
+    Observable<Response<OwmOneCallResult>> getOneCall(@Query("appid") String apikey,
+                                                      @Query("lat") double lat,
+                                                      @Query("lon") double lon,
+                                                      @Query("units") String units,
+                                                      @Query("lang") String lang);
 
 
     @GET("data/2.5/onecall/timemachine")
@@ -48,12 +49,12 @@ public interface OwmApi {
                                                           @Query("lang") String lang);
 
     @GET("data/2.5/air_pollution")
-    Observable<OwmAirPollutionResult> getAirPollutionCurrent(@Query("appid") String apikey,
-                                                             @Query("lat") double lat,
-                                                             @Query("lon") double lon);
+    Observable<Response<OwmAirPollutionResult>> getAirPollutionCurrent(@Query("appid") String apikey,
+                                                                       @Query("lat") double lat,
+                                                                       @Query("lon") double lon);
 
     @GET("data/2.5/air_pollution/forecast")
-    Observable<OwmAirPollutionResult> getAirPollutionForecast(@Query("appid") String apikey,
-                                                              @Query("lat") double lat,
-                                                              @Query("lon") double lon);
+    Observable<Response<OwmAirPollutionResult>> getAirPollutionForecast(@Query("appid") String apikey,
+                                                                        @Query("lat") double lat,
+                                                                        @Query("lon") double lon);
 }
@@ -38,6 +38,7 @@ import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+import nowsci.com.temperateweather.common.utils.TimeUtils;
 import nowsci.com.temperateweather.settings.SettingsManager;
 import nowsci.com.temperateweather.weather.json.accu.AccuAlertResult;
 import nowsci.com.temperateweather.weather.json.accu.AccuAqiResult;
@@ -111,8 +112,24 @@ public class AccuResultConverter {
                                                               List<AccuHourlyResult> hourlyResultList,
                                                               @Nullable AccuMinuteResult minuteResult,
                                                               @Nullable AccuAqiResult aqiResult,
-                                                              List<AccuAlertResult> alertResultList) {
+                                                              List<AccuAlertResult> alertResultList,
+                                                              ConversionMetrics metrics) {
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.ACCU);
         try {
+            ConversionTasks.Task<List<Daily>> daily = tasks.fork(
+                    "daily", () -> getDailyList(context, dailyResult));
+            ConversionTasks.Task<List<Hourly>> hourly = tasks.fork(
+                    "hourly", () -> getHourlyList(context, hourlyResultList));
+            ConversionTasks.Task<List<Minutely>> minutely = tasks.fork(
+                    "minutely", () -> getMinutelyList(
+                            location.getTimeZone(),
+                            dailyResult.DailyForecasts.get(0).Sun.EpochRise,
+                            dailyResult.DailyForecasts.get(0).Sun.EpochSet,
+                            minuteResult
+                    ));
+            ConversionTasks.Task<List<Alert>> alerts = tasks.fork(
+                    "alerts", () -> getAlertList(alertResultList));
+
             Weather weather = new Weather(
                     new Base(
                             location.getCityId(),
@@ -122,7 +139,7 @@ public class AccuResultConverter {
                             new Date(),
                             System.currentTimeMillis()
                     ),
-                    new Current(
+                    tasks.run("current", () -> new Current(
                             currentResult.WeatherText,
                             getWeatherCode(currentResult.WeatherIcon),
                             new Temperature(
@@ -176,24 +193,21 @@ public class AccuResultConverter {
                             (float) (currentResult.Ceiling.Metric.Value / 1000.0),
                             convertUnit(context, dailyResult.Headline.Text),
                             convertUnit(context, minuteResult != null ? minuteResult.Summary.LongPhrase : null)
-                    ),
+                    )),
                     new History(
                             new Date((currentResult.EpochTime - 24 * 60 * 60) * 1000),
                             (currentResult.EpochTime - 24 * 60 * 60) * 1000,
                             toInt(currentResult.TemperatureSummary.Past24HourRange.Maximum.Metric.Value),
                             toInt(currentResult.TemperatureSummary.Past24HourRange.Minimum.Metric.Value)
                     ),
-                    getDailyList(context, dailyResult),
-                    getHourlyList(context, hourlyResultList),
-                    getMinutelyList(
-                            new Date(dailyResult.DailyForecasts.get(0).Sun.EpochRise * 1000),
-                            new Date(dailyResult.DailyForecasts.get(0).Sun.EpochSet * 1000),
-                            minuteResult
-                    ),
-                    getAlertList(alertResultList)
+                    daily.join(),
+                    hourly.join(),
+                    minutely.join(),
+                    alerts.join()
             );
             return new WeatherService.WeatherResultWrapper(weather);
         } catch (Exception ignored) {
+            tasks.cancel();
             return new WeatherService.WeatherResultWrapper(null);
         }
     }
@@ -418,7 +432,7 @@ public class AccuResultConverter {
         return hourlyList;
     }
 
-    private static List<Minutely> getMinutelyList(Date sunrise, Date sunset,
+    private static List<Minutely> getMinutelyList(TimeZone timeZone, long sunrise, long sunset,
                                                   @Nullable AccuMinuteResult minuteResult) {
         if (minuteResult == null) {
             return new ArrayList<>();
@@ -429,7 +443,7 @@ public class AccuResultConverter {
                     new Minutely(
                             interval.StartDateTime,
                             interval.StartEpochDateTime,
-                            CommonConverter.isDaylight(sunrise, sunset, interval.StartDateTime),
+                            TimeUtils.isDaylight(sunrise, sunset, interval.StartEpochDateTime / 1000, timeZone),
                             interval.ShortPhrase,
                             getWeatherCode(interval.IconCode),
                             interval.Minute,
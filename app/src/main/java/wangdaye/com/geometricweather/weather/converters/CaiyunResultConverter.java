@@ -9,11 +9,12 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
 
 import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
 import nowsci.com.temperateweather.common.basic.models.weather.AirQuality;
 import nowsci.com.temperateweather.common.basic.models.weather.Alert;
 import nowsci.com.temperateweather.common.basic.models.weather.Astro;
@@ -35,6 +36,7 @@ import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+import nowsci.com.temperateweather.common.utils.TimeUtils;
 import nowsci.com.temperateweather.weather.json.caiyun.CaiYunForecastResult;
 import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult;
 import nowsci.com.temperateweather.weather.services.WeatherService;
@@ -44,8 +46,34 @@ public class CaiyunResultConverter {
     @NonNull
     public static WeatherService.WeatherResultWrapper convert(Context context, Location location,
                                                               CaiYunMainlyResult mainlyResult,
-                                                              CaiYunForecastResult forecastResult) {
+                                                              CaiYunForecastResult forecastResult,
+                                                              ConversionMetrics metrics) {
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.CAIYUN);
         try {
+            ConversionTasks.Task<List<Daily>> daily = tasks.fork(
+                    "daily", () -> getDailyList(
+                            context, location.getTimeZone(), mainlyResult.current.pubTime, mainlyResult.forecastDaily));
+            ConversionTasks.Task<List<Hourly>> hourly = tasks.fork(
+                    "hourly", () -> getHourlyList(
+                            context,
+                            location.getTimeZone(),
+                            mainlyResult.current.pubTime,
+                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).from,
+                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).to,
+                            mainlyResult.forecastHourly
+                    ));
+            ConversionTasks.Task<List<Minutely>> minutely = tasks.fork(
+                    "minutely", () -> getMinutelyList(
+                            location.getTimeZone(),
+                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).from,
+                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).to,
+                            getWeatherText(mainlyResult.current.weather),
+                            getWeatherCode(mainlyResult.current.weather),
+                            forecastResult
+                    ));
+            ConversionTasks.Task<List<Alert>> alerts = tasks.fork(
+                    "alerts", () -> getAlertList(mainlyResult));
+
             Weather weather = new Weather(
                     new Base(
                             location.getCityId(),
@@ -55,7 +83,7 @@ public class CaiyunResultConverter {
                             new Date(System.currentTimeMillis()),
                             System.currentTimeMillis()
                     ),
-                    new Current(
+                    tasks.run("current", () -> new Current(
                             getWeatherText(mainlyResult.current.weather),
                             getWeatherCode(mainlyResult.current.weather),
                             new Temperature(
@@ -113,27 +141,16 @@ public class CaiyunResultConverter {
                             null,
                             null,
                             forecastResult.precipitation.description
-                    ),
+                    )),
                     getYesterday(mainlyResult),
-                    getDailyList(context, mainlyResult.current.pubTime, mainlyResult.forecastDaily),
-                    getHourlyList(
-                            context,
-                            mainlyResult.current.pubTime,
-                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).from,
-                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).to,
-                            mainlyResult.forecastHourly
-                    ),
-                    getMinutelyList(
-                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).from,
-                            mainlyResult.forecastDaily.sunRiseSet.value.get(0).to,
-                            getWeatherText(mainlyResult.current.weather),
-                            getWeatherCode(mainlyResult.current.weather),
-                            forecastResult
-                    ),
-                    getAlertList(mainlyResult)
+                    daily.join(),
+                    hourly.join(),
+                    minutely.join(),
+                    alerts.join()
             );
             return new WeatherService.WeatherResultWrapper(weather);
         } catch (Exception e) {
+            tasks.cancel();
             e.printStackTrace();
             return new WeatherService.WeatherResultWrapper(null);
         }
@@ -214,22 +231,21 @@ public class CaiyunResultConverter {
         }
     }
 
-    private static List<Daily> getDailyList(Context context,
+    private static List<Daily> getDailyList(Context context, TimeZone timeZone,
                                             Date publishDate, CaiYunMainlyResult.ForecastDailyBean forecast) {
         List<Daily> dailyList = new ArrayList<>(forecast.weather.value.size());
+        long publishDay = TimeUtils.getStartOfDay(publishDate.getTime() / 1000, timeZone);
         for (int i = 0; i < forecast.weather.value.size(); i ++) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(publishDate);
-            calendar.add(Calendar.DATE, i);
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
+            // from the middle of the day, so a day of 23 or 25 hours does not move to a wrong one.
+            long time = TimeUtils.getStartOfDay(
+                    publishDay + i * TimeUtils.SECONDS_PER_DAY + 12 * TimeUtils.SECONDS_PER_HOUR,
+                    timeZone
+            ) * 1000;
 
             dailyList.add(
                     new Daily(
-                            calendar.getTime(),
-                            calendar.getTimeInMillis(),
+                            new Date(time),
+                            time,
                             new HalfDay(
                                     getWeatherText(forecast.weather.value.get(i).from),
                                     getWeatherText(forecast.weather.value.get(i).from),
@@ -390,24 +406,21 @@ public class CaiyunResultConverter {
         }
     }
 
-    private static List<Hourly> getHourlyList(Context context, Date publishDate,
+    private static List<Hourly> getHourlyList(Context context, TimeZone timeZone, Date publishDate,
                                               Date sunrise, Date sunset,
                                               CaiYunMainlyResult.ForecastHourlyBean forecast) {
         List<Hourly> hourlyList = new ArrayList<>(forecast.weather.value.size());
+        long publishTime = publishDate.getTime() / 1000;
+        long sunriseTime = sunrise.getTime() / 1000;
+        long sunsetTime = sunset.getTime() / 1000;
         for (int i = 0; i < forecast.weather.value.size(); i ++) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(publishDate);
-            calendar.add(Calendar.HOUR_OF_DAY, i);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
-
-            Date date = calendar.getTime();
+            long time = TimeUtils.getStartOfHour(publishTime + i * TimeUtils.SECONDS_PER_HOUR, timeZone);
+
             hourlyList.add(
                     new Hourly(
-                            date,
-                            date.getTime(),
-                            CommonConverter.isDaylight(sunrise, sunset, date),
+                            new Date(time * 1000),
+                            time * 1000,
+                            TimeUtils.isDaylight(sunriseTime, sunsetTime, time, timeZone),
                             getWeatherText(String.valueOf(forecast.weather.value.get(i))),
                             getWeatherCode(String.valueOf(forecast.weather.value.get(i))),
                             new Temperature(
@@ -452,24 +465,22 @@ public class CaiyunResultConverter {
         return hourlyList;
     }
 
-    private static List<Minutely> getMinutelyList(Date sunrise, Date sunset,
+    private static List<Minutely> getMinutelyList(TimeZone timeZone, Date sunrise, Date sunset,
                                                   String currentWeatherText,
                                                   WeatherCode currentWeatherCode,
                                                   CaiYunForecastResult result) {
-        Date current = result.precipitation.pubTime;
+        long current = result.precipitation.pubTime.getTime() / 1000;
+        current -= current % TimeUtils.SECONDS_PER_MINUTE;
+        boolean daylight = TimeUtils.isDaylight(
+                sunrise.getTime() / 1000, sunset.getTime() / 1000, current, timeZone);
 
         List<Minutely> minutelyList = new ArrayList<>(result.precipitation.value.size());
         for (int i = 0; i < result.precipitation.value.size(); i ++) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(current);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
-
             minutelyList.add(
                     new Minutely(
-                            calendar.getTime(),
-                            calendar.getTimeInMillis(),
-                            CommonConverter.isDaylight(sunrise, sunset, calendar.getTime()),
+                            new Date(current * 1000),
+                            current * 1000,
+                            daylight,
                             getMinuteWeatherText(
                                     result.precipitation.value.get(i),
                                     currentWeatherText,
@@ -5,9 +5,6 @@ import android.text.TextUtils;
 
 import androidx.annotation.Nullable;
 
-import java.util.Calendar;
-import java.util.Date;
-
 import nowsci.com.temperateweather.R;
 import nowsci.com.temperateweather.common.basic.models.weather.AirQuality;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
@@ -107,19 +104,4 @@ public class CommonConverter {
                 return 360;
         }
     }
-
-    public static boolean isDaylight(Date sunrise, Date sunset, Date current) {
-        Calendar calendar = Calendar.getInstance();
-
-        calendar.setTime(sunrise);
-        int sunriseTime = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
-
-        calendar.setTime(sunset);
-        int sunsetTime = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
-
-        calendar.setTime(current);
-        int currentTime = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
-
-        return sunriseTime < currentTime && currentTime < sunsetTime;
-    }
 }
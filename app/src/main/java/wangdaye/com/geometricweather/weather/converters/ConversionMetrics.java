@@ -0,0 +1,100 @@
+package nowsci.com.temperateweather.weather.converters;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Conversion metrics.
+ *
+ * Counts, for every section of the results of every weather source, how many times it was
+ * converted and how much cpu time it took, so slow conversions can be found. Only the thread
+ * converting a section is measured, the time spent waiting for a section is not counted.
+ * */
+@Singleton
+public class ConversionMetrics {
+
+    private final Map<String, SectionMetrics> mMetrics;
+
+    public static class SectionMetrics {
+
+        private int mCount;
+        private long mTotalCpuTime;
+        private long mMaxCpuTime;
+
+        SectionMetrics() {
+            mCount = 0;
+            mTotalCpuTime = 0;
+            mMaxCpuTime = 0;
+        }
+
+        SectionMetrics(SectionMetrics metrics) {
+            mCount = metrics.mCount;
+            mTotalCpuTime = metrics.mTotalCpuTime;
+            mMaxCpuTime = metrics.mMaxCpuTime;
+        }
+
+        public int getCount() {
+            return mCount;
+        }
+
+        /**
+         * @return the average cpu time of a conversion, in microseconds.
+         * */
+        public long getAverageCpuTime() {
+            return mCount == 0 ? 0 : mTotalCpuTime / mCount / 1000;
+        }
+
+        /**
+         * @return the longest cpu time of a conversion, in microseconds.
+         * */
+        public long getMaxCpuTime() {
+            return mMaxCpuTime / 1000;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "conversions=" + mCount
+                    + ", cpu=" + getAverageCpuTime() + "us"
+                    + ", max=" + getMaxCpuTime() + "us";
+        }
+    }
+
+    @Inject
+    public ConversionMetrics() {
+        mMetrics = new HashMap<>();
+    }
+
+    /**
+     * @return a copy of the metrics, by "source/section".
+     * */
+    @NonNull
+    public synchronized Map<String, SectionMetrics> getSnapshot() {
+        Map<String, SectionMetrics> snapshot = new HashMap<>();
+        for (Map.Entry<String, SectionMetrics> entry : mMetrics.entrySet()) {
+            snapshot.put(entry.getKey(), new SectionMetrics(entry.getValue()));
+        }
+        return snapshot;
+    }
+
+    public synchronized void reset() {
+        mMetrics.clear();
+    }
+
+    synchronized void onConverted(String source, String section, long cpuTime) {
+        String key = source + "/" + section;
+        SectionMetrics metrics = mMetrics.get(key);
+        if (metrics == null) {
+            metrics = new SectionMetrics();
+            mMetrics.put(key, metrics);
+        }
+        metrics.mCount ++;
+        metrics.mTotalCpuTime += cpuTime;
+        metrics.mMaxCpuTime = Math.max(metrics.mMaxCpuTime, cpuTime);
+    }
+}
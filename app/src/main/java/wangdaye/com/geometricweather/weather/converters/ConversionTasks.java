@@ -0,0 +1,102 @@
+package nowsci.com.temperateweather.weather.converters;
+
+import android.os.Debug;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import io.reactivex.schedulers.Schedulers;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+
+/**
+ * Conversion tasks.
+ *
+ * Converts the independent sections of a result, like its daily, hourly and minutely forecasts,
+ * at the same time on the computation scheduler, whose threads are bounded by the count of cores.
+ * A forked section that no thread has started when it is joined is converted by the joining
+ * thread, so a conversion never waits for a busy pool, even if it runs on the pool itself. When a
+ * conversion fails, {@link #cancel()} keeps the pool from converting the sections nobody joins.
+ *
+ * The cpu time of every section is recorded in {@link ConversionMetrics}.
+ * */
+public class ConversionTasks {
+
+    private final ConversionMetrics mMetrics;
+    private final String mSource;
+    private final List<Task<?>> mTasks;
+
+    public ConversionTasks(ConversionMetrics metrics, WeatherSource source) {
+        mMetrics = metrics;
+        mSource = source.getId();
+        mTasks = new ArrayList<>();
+    }
+
+    /**
+     * Start converting a section on the computation scheduler.
+     * */
+    @NonNull
+    public <T> Task<T> fork(String section, Callable<T> callable) {
+        Task<T> task = new Task<>(new FutureTask<>(() -> call(section, callable)));
+        mTasks.add(task);
+        Schedulers.computation().scheduleDirect(task.mFuture);
+        return task;
+    }
+
+    /**
+     * Cancel the forked sections that no thread has started. The sections being converted are
+     * not interrupted, their results are dropped.
+     * */
+    public void cancel() {
+        for (Task<?> task : mTasks) {
+            task.mFuture.cancel(false);
+        }
+    }
+
+    /**
+     * Convert a section on the current thread.
+     * */
+    public <T> T run(String section, Callable<T> callable) throws Exception {
+        return call(section, callable);
+    }
+
+    private <T> T call(String section, Callable<T> callable) throws Exception {
+        // always -1 if the vm cannot measure it, the time is 0 then.
+        long start = Debug.threadCpuTimeNanos();
+        try {
+            return callable.call();
+        } finally {
+            mMetrics.onConverted(mSource, section, Math.max(0, Debug.threadCpuTimeNanos() - start));
+        }
+    }
+
+    public static class Task<T> {
+
+        private final FutureTask<T> mFuture;
+
+        Task(FutureTask<T> future) {
+            mFuture = future;
+        }
+
+        /**
+         * @return the converted section, the exception of its conversion is thrown again.
+         * */
+        public T join() throws Exception {
+            // does nothing if a thread of the pool has already started the task.
+            mFuture.run();
+            try {
+                return mFuture.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+}
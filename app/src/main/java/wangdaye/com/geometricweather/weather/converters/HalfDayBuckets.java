@@ -0,0 +1,284 @@
+package nowsci.com.temperateweather.weather.converters;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Half day buckets.
+ *
+ * Aggregates hourly points into the half days of a daily forecast in a single pass: the daytime
+ * of a day lasts from 6:00 to 18:00 after the start of the day, and its night from 18:00 to 6:00
+ * of the next day. Every point is added once and lands in the half days containing it, so a
+ * forecast of n days and m hours costs O(m log n) instead of O(n × m).
+ *
+ * Times are in seconds, and the start times of the days must be sorted.
+ * */
+public class HalfDayBuckets {
+
+    private static final long DAYTIME_START = 6 * 3600;
+    private static final long NIGHTTIME_START = 18 * 3600;
+    private static final long NIGHTTIME_END = 30 * 3600;
+
+    private final long[] mDayStarts;
+
+    // indexed by slot, see getSlot(int, boolean).
+    private final int[] mTemperatureCount;
+    private final int[] mMaxTemperature;
+    private final int[] mMinTemperature;
+    private final int[] mWindChillCount;
+    private final int[] mMaxWindChill;
+    private final int[] mMinWindChill;
+
+    private final float[] mPrecipitationTotal;
+    private final float[] mPrecipitationRain;
+    private final float[] mPrecipitationSnow;
+
+    private final float[] mProbabilityTotal;
+    private final float[] mProbabilityRain;
+    private final float[] mProbabilitySnow;
+    private final float[] mProbabilityIce;
+
+    private final int[] mCloudCoverCount;
+    private final int[] mCloudCover;
+    private final float[] mWindSpeed;
+    private final int[] mWindSource;
+
+    // slots of the point being added, a point is in two half days at most. they are kept for
+    // the next add of the same time, so adding several values of a point looks it up once.
+    private final int[] mSlots;
+    private int mSlotCount;
+    private long mSlotTime;
+
+    public HalfDayBuckets(long[] dayStarts) {
+        mDayStarts = dayStarts;
+
+        int count = dayStarts.length * 2;
+        mTemperatureCount = new int[count];
+        mMaxTemperature = new int[count];
+        mMinTemperature = new int[count];
+        mWindChillCount = new int[count];
+        mMaxWindChill = new int[count];
+        mMinWindChill = new int[count];
+
+        mPrecipitationTotal = new float[count];
+        mPrecipitationRain = new float[count];
+        mPrecipitationSnow = new float[count];
+
+        mProbabilityTotal = new float[count];
+        mProbabilityRain = new float[count];
+        mProbabilitySnow = new float[count];
+        mProbabilityIce = new float[count];
+
+        mCloudCoverCount = new int[count];
+        mCloudCover = new int[count];
+        mWindSpeed = new float[count];
+        mWindSource = new int[count];
+        Arrays.fill(mWindSpeed, Float.NEGATIVE_INFINITY);
+        Arrays.fill(mWindSource, -1);
+
+        mSlots = new int[2];
+        mSlotCount = -1;
+        mSlotTime = 0;
+    }
+
+    public void addTemperature(long time, int temperature, @Nullable Integer windChill) {
+        for (int i = 0, count = findSlots(time); i < count; i ++) {
+            int slot = mSlots[i];
+            if (mTemperatureCount[slot] == 0 || temperature > mMaxTemperature[slot]) {
+                mMaxTemperature[slot] = temperature;
+            }
+            if (mTemperatureCount[slot] == 0 || temperature < mMinTemperature[slot]) {
+                mMinTemperature[slot] = temperature;
+            }
+            mTemperatureCount[slot] ++;
+
+            if (windChill != null) {
+                if (mWindChillCount[slot] == 0 || windChill > mMaxWindChill[slot]) {
+                    mMaxWindChill[slot] = windChill;
+                }
+                if (mWindChillCount[slot] == 0 || windChill < mMinWindChill[slot]) {
+                    mMinWindChill[slot] = windChill;
+                }
+                mWindChillCount[slot] ++;
+            }
+        }
+    }
+
+    public void addPrecipitation(long time,
+                                 @Nullable Float total, @Nullable Float rain, @Nullable Float snow) {
+        for (int i = 0, count = findSlots(time); i < count; i ++) {
+            int slot = mSlots[i];
+            if (total != null) {
+                mPrecipitationTotal[slot] += total;
+            }
+            if (rain != null) {
+                mPrecipitationRain[slot] += rain;
+            }
+            if (snow != null) {
+                mPrecipitationSnow[slot] += snow;
+            }
+        }
+    }
+
+    public void addPrecipitationProbability(long time,
+                                            @Nullable Float total, @Nullable Float rain,
+                                            @Nullable Float snow, @Nullable Float ice) {
+        for (int i = 0, count = findSlots(time); i < count; i ++) {
+            int slot = mSlots[i];
+            if (total != null && total > mProbabilityTotal[slot]) {
+                mProbabilityTotal[slot] = total;
+            }
+            if (rain != null && rain > mProbabilityRain[slot]) {
+                mProbabilityRain[slot] = rain;
+            }
+            if (snow != null && snow > mProbabilitySnow[slot]) {
+                mProbabilitySnow[slot] = snow;
+            }
+            if (ice != null && ice > mProbabilityIce[slot]) {
+                mProbabilityIce[slot] = ice;
+            }
+        }
+    }
+
+    public void addCloudCover(long time, int cloudCover) {
+        for (int i = 0, count = findSlots(time); i < count; i ++) {
+            int slot = mSlots[i];
+            if (mCloudCoverCount[slot] == 0 || cloudCover > mCloudCover[slot]) {
+                mCloudCover[slot] = cloudCover;
+            }
+            mCloudCoverCount[slot] ++;
+        }
+    }
+
+    /**
+     * @param source index of the point in the list of the caller, to read the direction of the
+     *               strongest wind from it later. The first point wins when speeds are equal.
+     * */
+    public void addWind(long time, float speed, int source) {
+        for (int i = 0, count = findSlots(time); i < count; i ++) {
+            int slot = mSlots[i];
+            if (speed > mWindSpeed[slot]) {
+                mWindSpeed[slot] = speed;
+                mWindSource[slot] = source;
+            }
+        }
+    }
+
+    @Nullable
+    public Integer getMaxTemperature(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mTemperatureCount[slot] == 0 ? null : mMaxTemperature[slot];
+    }
+
+    @Nullable
+    public Integer getMinTemperature(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mTemperatureCount[slot] == 0 ? null : mMinTemperature[slot];
+    }
+
+    @Nullable
+    public Integer getMaxWindChill(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mWindChillCount[slot] == 0 ? null : mMaxWindChill[slot];
+    }
+
+    @Nullable
+    public Integer getMinWindChill(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mWindChillCount[slot] == 0 ? null : mMinWindChill[slot];
+    }
+
+    public float getPrecipitationTotal(int day, boolean daytime) {
+        return mPrecipitationTotal[getSlot(day, daytime)];
+    }
+
+    public float getPrecipitationRain(int day, boolean daytime) {
+        return mPrecipitationRain[getSlot(day, daytime)];
+    }
+
+    public float getPrecipitationSnow(int day, boolean daytime) {
+        return mPrecipitationSnow[getSlot(day, daytime)];
+    }
+
+    public float getProbabilityTotal(int day, boolean daytime) {
+        return mProbabilityTotal[getSlot(day, daytime)];
+    }
+
+    public float getProbabilityRain(int day, boolean daytime) {
+        return mProbabilityRain[getSlot(day, daytime)];
+    }
+
+    public float getProbabilitySnow(int day, boolean daytime) {
+        return mProbabilitySnow[getSlot(day, daytime)];
+    }
+
+    public float getProbabilityIce(int day, boolean daytime) {
+        return mProbabilityIce[getSlot(day, daytime)];
+    }
+
+    @Nullable
+    public Integer getCloudCover(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mCloudCoverCount[slot] == 0 ? null : mCloudCover[slot];
+    }
+
+    @Nullable
+    public Float getWindSpeed(int day, boolean daytime) {
+        int slot = getSlot(day, daytime);
+        return mWindSource[slot] < 0 ? null : mWindSpeed[slot];
+    }
+
+    /**
+     * @return the source of the strongest wind given to {@link #addWind(long, float, int)}, or -1.
+     * */
+    public int getWindSource(int day, boolean daytime) {
+        return mWindSource[getSlot(day, daytime)];
+    }
+
+    private static int getSlot(int day, boolean daytime) {
+        return day * 2 + (daytime ? 0 : 1);
+    }
+
+    // fill mSlots with the half days containing the time, and return their count.
+    private int findSlots(long time) {
+        if (mSlotCount >= 0 && mSlotTime == time) {
+            return mSlotCount;
+        }
+
+        int count = 0;
+        for (int day = findLastDayStartingBefore(time);
+             day >= 0 && time < mDayStarts[day] + NIGHTTIME_END;
+             day --) {
+            long offset = time - mDayStarts[day];
+            if (offset < NIGHTTIME_START) {
+                mSlots[count ++] = getSlot(day, true);
+            } else {
+                mSlots[count ++] = getSlot(day, false);
+            }
+            if (count == mSlots.length) {
+                break;
+            }
+        }
+        mSlotCount = count;
+        mSlotTime = time;
+        return count;
+    }
+
+    // the last day whose daytime has begun at the time, or -1.
+    private int findLastDayStartingBefore(long time) {
+        int low = 0;
+        int high = mDayStarts.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (mDayStarts[middle] + DAYTIME_START <= time) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+}
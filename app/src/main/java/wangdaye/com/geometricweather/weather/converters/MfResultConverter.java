@@ -7,7 +7,6 @@ import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -36,6 +35,7 @@ import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+import nowsci.com.temperateweather.common.utils.TimeUtils;
 import nowsci.com.temperateweather.weather.json.atmoaura.AtmoAuraQAResult;
 import nowsci.com.temperateweather.weather.json.mf.MfCurrentResult;
 import nowsci.com.temperateweather.weather.json.mf.MfEphemerisResult;
@@ -159,12 +159,25 @@ public class MfResultConverter {
                                                               Location location,
                                                               MfCurrentResult currentResult,
                                                               MfForecastResult forecastResult,
-                                                              MfEphemerisResult ephemerisResult,
+                                                              @Nullable MfEphemerisResult ephemerisResult,
                                                               MfRainResult rainResult,
                                                               MfWarningsResult warningsResult,
-                                                              @Nullable AtmoAuraQAResult aqiAtmoAuraResult) {
+                                                              @Nullable AtmoAuraQAResult aqiAtmoAuraResult,
+                                                              ConversionMetrics metrics) {
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.MF);
         try {
-            List<Hourly> hourly = getHourlyList(context, forecastResult.forecasts, forecastResult.probabilityForecast);
+            ConversionTasks.Task<List<Hourly>> hourly = tasks.fork(
+                    "hourly", () -> getHourlyList(context, forecastResult.forecasts, forecastResult.probabilityForecast));
+            ConversionTasks.Task<List<Minutely>> minutely = tasks.fork(
+                    "minutely", () -> getMinutelyList(
+                            location.getTimeZone(),
+                            forecastResult.dailyForecasts.get(0).sun.rise,
+                            forecastResult.dailyForecasts.get(0).sun.set,
+                            rainResult
+                    ));
+            ConversionTasks.Task<List<Alert>> alerts = tasks.fork(
+                    "alerts", () -> getWarningsList(warningsResult));
+
             Weather weather = new Weather(
                     new Base(
                             location.getCityId(),
@@ -174,7 +187,7 @@ public class MfResultConverter {
                             new Date(),
                             System.currentTimeMillis()
                     ),
-                    new Current(
+                    tasks.run("current", () -> new Current(
                             currentResult.observation.weather.desc,
                             getWeatherCode(currentResult.observation.weather.icon),
                             new Temperature(
@@ -207,7 +220,7 @@ public class MfResultConverter {
                                     CommonConverter.getWindLevel(context, currentResult.observation.wind.speed * 3.6f)
                             ),
                             new UV(null, null, null),
-                            getAirQuality(new Date(), aqiAtmoAuraResult),
+                            getAirQuality(location.getTimeZone(), System.currentTimeMillis() / 1000, aqiAtmoAuraResult),
                             null,
                             null,
                             null,
@@ -216,15 +229,18 @@ public class MfResultConverter {
                             null,
                             null,
                             null
-                    ),
+                    )),
                     null, // TODO: Fill in with observation data instead
-                    getDailyList(context, forecastResult, hourly, ephemerisResult, aqiAtmoAuraResult),
-                    hourly,
-                    getMinutelyList(forecastResult.dailyForecasts.get(0).sun.rise, forecastResult.dailyForecasts.get(0).sun.set, rainResult),
-                    getWarningsList(warningsResult)
+                    // the half days are made of the hourly forecasts, which are converted meanwhile.
+                    tasks.run("daily", () -> getDailyList(
+                            context, location.getTimeZone(), forecastResult, hourly.join(), ephemerisResult, aqiAtmoAuraResult)),
+                    hourly.join(),
+                    minutely.join(),
+                    alerts.join()
             );
             return new WeatherService.WeatherResultWrapper(weather);
         } catch (Exception ignored) {
+            tasks.cancel();
             /*Log.d("GEOM", ignored.getMessage());
             for (StackTraceElement stackTraceElement : ignored.getStackTrace()) {
                 Log.d("GEOM", stackTraceElement.toString());
@@ -234,7 +250,7 @@ public class MfResultConverter {
     }
 
     // This can be improved by adding Aqi results from other regions
-    private static AirQuality getAirQuality(Date requestedDate, @Nullable AtmoAuraQAResult aqiAtmoAuraResult) {
+    private static AirQuality getAirQuality(TimeZone timeZone, long requestedTime, @Nullable AtmoAuraQAResult aqiAtmoAuraResult) {
         if (aqiAtmoAuraResult == null) {
             return new AirQuality(
                     null, null,
@@ -243,29 +259,31 @@ public class MfResultConverter {
                     null, null
             );
         } else {
-            SimpleDateFormat fmt = new SimpleDateFormat("yyyyMMdd");
-            if (fmt.format(requestedDate).equals(fmt.format(aqiAtmoAuraResult.indexs.yesterday.date))) {
+            long requestedDay = TimeUtils.getDayKey(requestedTime, timeZone);
+            // the dates of atmo aura are local days without an offset, gson reads them in the zone of the device.
+            TimeZone resultTimeZone = TimeZone.getDefault();
+            if (requestedDay == TimeUtils.getDayKey(aqiAtmoAuraResult.indexs.yesterday.date.getTime() / 1000, resultTimeZone)) {
                 return new AirQuality(
                         aqiAtmoAuraResult.indexs.yesterday.aggregatedIndex.quali, (int) Math.round(aqiAtmoAuraResult.indexs.yesterday.aggregatedIndex.val),
                         null, (float) aqiAtmoAuraResult.indexs.yesterday.pm10.val,
                         null, (float) aqiAtmoAuraResult.indexs.yesterday.no2.val,
                         (float) aqiAtmoAuraResult.indexs.yesterday.o3.val, null
                 );
-            } else if (fmt.format(requestedDate).equals(fmt.format(aqiAtmoAuraResult.indexs.today.date))) {
+            } else if (requestedDay == TimeUtils.getDayKey(aqiAtmoAuraResult.indexs.today.date.getTime() / 1000, resultTimeZone)) {
                 return new AirQuality(
                         aqiAtmoAuraResult.indexs.today.aggregatedIndex.quali, (int) Math.round(aqiAtmoAuraResult.indexs.today.aggregatedIndex.val),
                         null, (float) aqiAtmoAuraResult.indexs.today.pm10.val,
                         null, (float) aqiAtmoAuraResult.indexs.today.no2.val,
                         (float) aqiAtmoAuraResult.indexs.today.o3.val, null
                 );
-            } else if (fmt.format(requestedDate).equals(fmt.format(aqiAtmoAuraResult.indexs.tomorrow.date))) {
+            } else if (requestedDay == TimeUtils.getDayKey(aqiAtmoAuraResult.indexs.tomorrow.date.getTime() / 1000, resultTimeZone)) {
                 return new AirQuality(
                         aqiAtmoAuraResult.indexs.tomorrow.aggregatedIndex.quali, (int) Math.round(aqiAtmoAuraResult.indexs.tomorrow.aggregatedIndex.val),
                         null, (float) aqiAtmoAuraResult.indexs.tomorrow.pm10.val,
                         null, (float) aqiAtmoAuraResult.indexs.tomorrow.no2.val,
                         (float) aqiAtmoAuraResult.indexs.tomorrow.o3.val, null
                 );
-            } else if (aqiAtmoAuraResult.indexs.inTwoDays != null && fmt.format(requestedDate).equals(fmt.format(aqiAtmoAuraResult.indexs.inTwoDays.date))) {
+            } else if (aqiAtmoAuraResult.indexs.inTwoDays != null && requestedDay == TimeUtils.getDayKey(aqiAtmoAuraResult.indexs.inTwoDays.date.getTime() / 1000, resultTimeZone)) {
                 return new AirQuality(
                         aqiAtmoAuraResult.indexs.inTwoDays.aggregatedIndex.quali, (int) Math.round(aqiAtmoAuraResult.indexs.inTwoDays.aggregatedIndex.val),
                         null, (float) aqiAtmoAuraResult.indexs.inTwoDays.pm10.val,
@@ -283,80 +301,61 @@ public class MfResultConverter {
         }
     }
 
-    private static HalfDay getHalfDay(Context context, boolean isDaytime, List<Hourly> hourly, List<MfForecastResult.Forecast> hourlyForecast, MfForecastResult.DailyForecast dailyForecast) {
-        Integer temp = isDaytime? toInt(dailyForecast.temperature.max) : toInt(dailyForecast.temperature.min);
-        Integer tempWindChill = null;
-
-        Float precipitationTotal = 0.0f;
-        Float precipitationRain = 0.0f;
-        Float precipitationSnow = 0.0f;
-
-        Float probPrecipitationTotal = 0.0f;
-        Float probPrecipitationRain = 0.0f;
-        Float probPrecipitationSnow = 0.0f;
-        Float probPrecipitationIce = 0.0f;
+    private static HalfDayBuckets getHalfDayBuckets(List<Hourly> hourly, List<MfForecastResult.Forecast> hourlyForecast, List<MfForecastResult.DailyForecast> dailyForecasts) {
+        long[] dayStarts = new long[dailyForecasts.size()];
+        for (int i = 0; i < dayStarts.length; i ++) {
+            dayStarts[i] = dailyForecasts.get(i).dt;
+        }
+        HalfDayBuckets buckets = new HalfDayBuckets(dayStarts);
 
         for (Hourly hour : hourly) {
-            if ((isDaytime && (hour.getTime() / 1000) >= dailyForecast.dt + 6 * 3600 && (hour.getTime() / 1000) < dailyForecast.dt + 18 * 3600)
-                    || (!isDaytime && (hour.getTime() / 1000) >= dailyForecast.dt + 18 * 3600 && (hour.getTime() / 1000) < dailyForecast.dt + 30 * 3600)) {
-                // Temperature
-                if (isDaytime) {
-                    if (temp == null || hour.getTemperature().getTemperature() > temp) {
-                        temp = hour.getTemperature().getTemperature();
-                    }
-                    if (tempWindChill == null || hour.getTemperature().getWindChillTemperature() > tempWindChill) {
-                        tempWindChill = hour.getTemperature().getWindChillTemperature();
-                    }
-                }
-                if (!isDaytime) {
-                    if (temp == null || hour.getTemperature().getTemperature() < temp) {
-                        temp = hour.getTemperature().getTemperature();
-                    }
-                    if (tempWindChill == null || hour.getTemperature().getWindChillTemperature() < tempWindChill) {
-                        tempWindChill = hour.getTemperature().getWindChillTemperature();
-                    }
-                }
-
-                // Precipitation
-                precipitationTotal += hour.getPrecipitation().getTotal();
-                precipitationRain += hour.getPrecipitation().getRain();
-                precipitationSnow += hour.getPrecipitation().getSnow();
+            long time = hour.getTime() / 1000;
+            buckets.addTemperature(time, hour.getTemperature().getTemperature(), hour.getTemperature().getWindChillTemperature());
+            buckets.addPrecipitation(time, hour.getPrecipitation().getTotal(), hour.getPrecipitation().getRain(), hour.getPrecipitation().getSnow());
+            buckets.addPrecipitationProbability(time, hour.getPrecipitationProbability().getTotal(), hour.getPrecipitationProbability().getRain(),
+                    hour.getPrecipitationProbability().getSnow(), hour.getPrecipitationProbability().getIce());
+        }
+        for (int i = 0; i < hourlyForecast.size(); i ++) {
+            MfForecastResult.Forecast hourForecast = hourlyForecast.get(i);
+            if (hourForecast.clouds != null) {
+                buckets.addCloudCover(hourForecast.dt, hourForecast.clouds);
+            }
+            buckets.addWind(hourForecast.dt, hourForecast.wind.speed * 3.6f, i);
+        }
+        return buckets;
+    }
 
-                // Precipitation probability
-                if (hour.getPrecipitationProbability().getTotal() != null && hour.getPrecipitationProbability().getTotal() > probPrecipitationTotal) {
-                    probPrecipitationTotal = hour.getPrecipitationProbability().getTotal();
-                }
-                if (hour.getPrecipitationProbability().getRain() != null && hour.getPrecipitationProbability().getRain() > probPrecipitationRain) {
-                    probPrecipitationRain = hour.getPrecipitationProbability().getRain();
-                }
-                if (hour.getPrecipitationProbability().getSnow() != null && hour.getPrecipitationProbability().getSnow() > probPrecipitationSnow) {
-                    probPrecipitationSnow = hour.getPrecipitationProbability().getSnow();
-                }
-                if (hour.getPrecipitationProbability().getIce() != null && hour.getPrecipitationProbability().getIce() > probPrecipitationIce) {
-                    probPrecipitationIce = hour.getPrecipitationProbability().getIce();
-                }
+    private static HalfDay getHalfDay(Context context, boolean isDaytime, HalfDayBuckets buckets, int day, List<MfForecastResult.Forecast> hourlyForecast, MfForecastResult.DailyForecast dailyForecast) {
+        Integer temp;
+        Integer tempWindChill;
+        if (isDaytime) {
+            temp = toInt(dailyForecast.temperature.max);
+            Integer hourlyTemp = buckets.getMaxTemperature(day, true);
+            if (hourlyTemp != null && hourlyTemp > temp) {
+                temp = hourlyTemp;
             }
+            tempWindChill = buckets.getMaxWindChill(day, true);
+        } else {
+            temp = toInt(dailyForecast.temperature.min);
+            Integer hourlyTemp = buckets.getMinTemperature(day, false);
+            if (hourlyTemp != null && hourlyTemp < temp) {
+                temp = hourlyTemp;
+            }
+            tempWindChill = buckets.getMinWindChill(day, false);
         }
 
-        Integer cloudCover = null;
         String windDirection = "Pas d’info";
         WindDegree windDegree = new WindDegree(0, false);
         Float windSpeed = null;
         String windLevel = "Pas d’info";
 
-        for (MfForecastResult.Forecast hourForecast : hourlyForecast) {
-            if ((isDaytime && hourForecast.dt >= dailyForecast.dt + 6 * 3600 && hourForecast.dt < dailyForecast.dt + 18 * 3600)
-                    || (!isDaytime && hourForecast.dt >= dailyForecast.dt + 18 * 3600 && hourForecast.dt < dailyForecast.dt + 30 * 3600)) {
-                if (cloudCover == null || hourForecast.clouds > cloudCover) {
-                    cloudCover = hourForecast.clouds;
-                }
-                if (windSpeed == null || hourForecast.wind.speed * 3.6f > windSpeed) {
-                    windDirection = hourForecast.wind.icon;
-                    windDegree = new WindDegree(hourForecast.wind.direction.equals("Variable") ? 0.0f : Float.parseFloat(hourForecast.wind.direction), hourForecast.wind.direction.equals("Variable"));
-                    windSpeed = hourForecast.wind.speed * 3.6f;
-                    windLevel = CommonConverter.getWindLevel(context, hourForecast.wind.speed * 3.6f);
-                }
-            }
+        int windSource = buckets.getWindSource(day, isDaytime);
+        if (windSource >= 0) {
+            MfForecastResult.Forecast hourForecast = hourlyForecast.get(windSource);
+            windDirection = hourForecast.wind.icon;
+            windDegree = new WindDegree(hourForecast.wind.direction.equals("Variable") ? 0.0f : Float.parseFloat(hourForecast.wind.direction), hourForecast.wind.direction.equals("Variable"));
+            windSpeed = buckets.getWindSpeed(day, isDaytime);
+            windLevel = CommonConverter.getWindLevel(context, windSpeed);
         }
 
         return new HalfDay(
@@ -373,18 +372,18 @@ public class MfResultConverter {
                         null
                 ),
                 new Precipitation(
-                        precipitationTotal,
+                        buckets.getPrecipitationTotal(day, isDaytime),
                         null,
-                        precipitationRain,
-                        precipitationSnow,
+                        buckets.getPrecipitationRain(day, isDaytime),
+                        buckets.getPrecipitationSnow(day, isDaytime),
                         null
                 ),
                 new PrecipitationProbability(
-                        probPrecipitationTotal,
+                        buckets.getProbabilityTotal(day, isDaytime),
                         null,
-                        probPrecipitationRain,
-                        probPrecipitationSnow,
-                        probPrecipitationIce
+                        buckets.getProbabilityRain(day, isDaytime),
+                        buckets.getProbabilitySnow(day, isDaytime),
+                        buckets.getProbabilityIce(day, isDaytime)
                 ),
                 new PrecipitationDuration(
                         null,
@@ -399,28 +398,32 @@ public class MfResultConverter {
                         windSpeed,
                         windLevel
                 ),
-                cloudCover
+                buckets.getCloudCover(day, isDaytime)
         );
     }
 
-    private static List<Daily> getDailyList(Context context, MfForecastResult forecastsResult, List<Hourly> hourly, MfEphemerisResult ephemerisResult, @Nullable AtmoAuraQAResult aqiAtmoAuraResult) {
+    private static List<Daily> getDailyList(Context context, TimeZone timeZone, MfForecastResult forecastsResult, List<Hourly> hourly, @Nullable MfEphemerisResult ephemerisResult, @Nullable AtmoAuraQAResult aqiAtmoAuraResult) {
         List<Daily> dailyList = new ArrayList<>(forecastsResult.dailyForecasts.size());
+        HalfDayBuckets buckets = getHalfDayBuckets(hourly, forecastsResult.forecasts, forecastsResult.dailyForecasts);
 
-        for (MfForecastResult.DailyForecast dailyForecast : forecastsResult.dailyForecasts) {
+        for (int i = 0; i < forecastsResult.dailyForecasts.size(); i ++) {
+            MfForecastResult.DailyForecast dailyForecast = forecastsResult.dailyForecasts.get(i);
             // Don't add day if temperature is given null as it would crash the app (not nullable)
             if (dailyForecast.temperature.min != null && dailyForecast.temperature.max != null) {
                 dailyList.add(
                         new Daily(
                                 new Date(dailyForecast.dt * 1000),
                                 dailyForecast.dt * 1000,
-                                getHalfDay(context, true, hourly, forecastsResult.forecasts, dailyForecast),
-                                getHalfDay(context, false, hourly, forecastsResult.forecasts, dailyForecast),
+                                getHalfDay(context, true, buckets, i, forecastsResult.forecasts, dailyForecast),
+                                getHalfDay(context, false, buckets, i, forecastsResult.forecasts, dailyForecast),
                                 new Astro(new Date(dailyForecast.sun.rise * 1000), new Date(dailyForecast.sun.set * 1000)),
                                 // Note: Below is the same moon data for all days, but since we are only showing the data for the current day in the app, this does not matter
                                 //new Astro(ephemerisResult.properties.ephemeris.moonriseTime, ephemerisResult.properties.ephemeris.moonsetTime), // FIXME: Weird issue, input is UTC (due to Z) but system thinks it's system timezone
                                 new Astro(null, null),
-                                new MoonPhase(CommonConverter.getMoonPhaseAngle(ephemerisResult.properties.ephemeris.moonPhaseDescription), ephemerisResult.properties.ephemeris.moonPhaseDescription),
-                                getAirQuality(new Date(dailyForecast.dt * 1000), aqiAtmoAuraResult),
+                                ephemerisResult == null
+                                        ? new MoonPhase(null, null)
+                                        : new MoonPhase(CommonConverter.getMoonPhaseAngle(ephemerisResult.properties.ephemeris.moonPhaseDescription), ephemerisResult.properties.ephemeris.moonPhaseDescription),
+                                getAirQuality(timeZone, dailyForecast.dt, aqiAtmoAuraResult),
                                 new Pollen(null, null, null, null, null, null, null, null, null, null, null, null),
                                 new UV(dailyForecast.uv, null, null),
                                 getHoursOfDay(new Date(dailyForecast.sun.rise * 1000), new Date(dailyForecast.sun.set * 1000))
@@ -546,7 +549,7 @@ public class MfResultConverter {
                             new Date(hourlyForecast.dt * 1000),
                             hourlyForecast.dt * 1000,
                             // TODO: Probably not the best way to check if it is daytime or nighttime
-                            // Use CommonConverter.isDaylight(sunrise, sunset, new Date(hourlyForecast.dt * 1000)) instead
+                            // Use TimeUtils.isDaylight(sunrise, sunset, hourlyForecast.dt, timeZone) instead
                             !hourlyForecast.weather.icon.endsWith("n"),
                             hourlyForecast.weather.desc,
                             getWeatherCode(hourlyForecast.weather.icon),
@@ -574,7 +577,7 @@ public class MfResultConverter {
         return hourlyList;
     }
 
-    private static List<Minutely> getMinutelyList(long sunrise, long sunset, @Nullable MfRainResult rainResult) {
+    private static List<Minutely> getMinutelyList(TimeZone timeZone, long sunrise, long sunset, @Nullable MfRainResult rainResult) {
         if (rainResult == null) {
             return new ArrayList<>();
         }
@@ -585,7 +588,7 @@ public class MfResultConverter {
                     new Minutely(
                             new Date(rainForecast.date * 1000),
                             rainForecast.date * 1000,
-                            CommonConverter.isDaylight(new Date(sunrise * 1000), new Date(sunset * 1000), new Date(rainForecast.date * 1000)),
+                            TimeUtils.isDaylight(sunrise, sunset, rainForecast.date, timeZone),
                             rainForecast.desc,
                             rainForecast.rain > 1 ? WeatherCode.RAIN : getWeatherCode(null),
                             toInt((rainForecast.date / 60) - minuteZero), // TODO
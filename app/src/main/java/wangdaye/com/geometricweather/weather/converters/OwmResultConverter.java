@@ -7,7 +7,6 @@ import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -35,6 +34,7 @@ import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
 import nowsci.com.temperateweather.common.basic.models.weather.Wind;
 import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+import nowsci.com.temperateweather.common.utils.TimeUtils;
 import nowsci.com.temperateweather.weather.json.owm.OwmAirPollutionResult;
 import nowsci.com.temperateweather.weather.json.owm.OwmLocationResult;
 import nowsci.com.temperateweather.weather.json.owm.OwmOneCallResult;
@@ -100,8 +100,34 @@ public class OwmResultConverter {
                                                               Location location,
                                                               OwmOneCallResult oneCallResult,
                                                               @Nullable OwmAirPollutionResult airPollutionCurrentResult,
-                                                              @Nullable OwmAirPollutionResult airPollutionForecastResult) {
+                                                              @Nullable OwmAirPollutionResult airPollutionForecastResult,
+                                                              ConversionMetrics metrics) {
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.OWM);
         try {
+            // the location is searched without a time zone, the one of the forecast is used instead.
+            TimeZone timeZone = TextUtils.isEmpty(oneCallResult.timezone)
+                    ? location.getTimeZone()
+                    : TimeZone.getTimeZone(oneCallResult.timezone);
+
+            ConversionTasks.Task<List<Daily>> daily = tasks.fork(
+                    "daily", () -> getDailyList(context, timeZone, oneCallResult.daily, airPollutionForecastResult));
+            ConversionTasks.Task<List<Hourly>> hourly = tasks.fork(
+                    "hourly", () -> getHourlyList(
+                            context,
+                            timeZone,
+                            oneCallResult.current.sunrise,
+                            oneCallResult.current.sunset,
+                            oneCallResult.hourly
+                    ));
+            ConversionTasks.Task<List<Minutely>> minutely = tasks.fork(
+                    "minutely", () -> getMinutelyList(
+                            oneCallResult.current.sunrise,
+                            oneCallResult.current.sunset,
+                            oneCallResult.minutely
+                    ));
+            ConversionTasks.Task<List<Alert>> alerts = tasks.fork(
+                    "alerts", () -> getAlertList(oneCallResult.alerts));
+
             Weather weather = new Weather(
                     new Base(
                             location.getCityId(),
@@ -111,7 +137,7 @@ public class OwmResultConverter {
                             new Date(),
                             System.currentTimeMillis()
                     ),
-                    new Current(
+                    tasks.run("current", () -> new Current(
                             oneCallResult.current.weather.get(0).description,
                             getWeatherCode(oneCallResult.current.weather.get(0).id),
                             new Temperature(
@@ -165,24 +191,16 @@ public class OwmResultConverter {
                             null,
                             null,
                             null
-                    ),
+                    )),
                     null,
-                    getDailyList(context, oneCallResult.daily, airPollutionForecastResult),
-                    getHourlyList(
-                            context,
-                            oneCallResult.current.sunrise,
-                            oneCallResult.current.sunset,
-                            oneCallResult.hourly
-                    ),
-                    getMinutelyList(
-                            oneCallResult.current.sunrise,
-                            oneCallResult.current.sunset,
-                            oneCallResult.minutely
-                    ),
-                    getAlertList(oneCallResult.alerts)
+                    daily.join(),
+                    hourly.join(),
+                    minutely.join(),
+                    alerts.join()
             );
             return new WeatherService.WeatherResultWrapper(weather);
         } catch (Exception ignored) {
+            tasks.cancel();
             /*Log.d("GEOM", ignored.getMessage());
             for (StackTraceElement stackTraceElement : ignored.getStackTrace()) {
                 Log.d("GEOM", stackTraceElement.toString());
@@ -191,7 +209,7 @@ public class OwmResultConverter {
         }
     }
 
-    private static List<Daily> getDailyList(Context context, List<OwmOneCallResult.Daily> dailyResult,
+    private static List<Daily> getDailyList(Context context, TimeZone timeZone, List<OwmOneCallResult.Daily> dailyResult,
                                             @Nullable OwmAirPollutionResult airPollutionForecastResult) {
         List<Daily> dailyList = new ArrayList<>(dailyResult.size());
 
@@ -287,7 +305,7 @@ public class OwmResultConverter {
                             new Astro(new Date(forecasts.sunrise * 1000), new Date(forecasts.sunset * 1000)),
                             new Astro(null, null),
                             new MoonPhase(null, null),
-                            getAirQuality(context, new Date(forecasts.dt * 1000), airPollutionForecastResult),
+                            getAirQuality(context, timeZone, forecasts.dt, airPollutionForecastResult),
                             new Pollen(null, null, null, null, null, null, null, null, null, null, null, null),
                             new UV(toInt(forecasts.uvi), null, null),
                             0.0f
@@ -314,14 +332,14 @@ public class OwmResultConverter {
         return rain + snow;
     }
 
-    private static List<Hourly> getHourlyList(Context context, long sunrise, long sunset, List<OwmOneCallResult.Hourly> resultList) {
+    private static List<Hourly> getHourlyList(Context context, TimeZone timeZone, long sunrise, long sunset, List<OwmOneCallResult.Hourly> resultList) {
         List<Hourly> hourlyList = new ArrayList<>(resultList.size());
         for (OwmOneCallResult.Hourly result : resultList) {
             hourlyList.add(
                     new Hourly(
                             new Date(result.dt * 1000),
                             result.dt * 1000,
-                            CommonConverter.isDaylight(new Date(sunrise * 1000), new Date(sunset * 1000), new Date(result.dt * 1000)),
+                            TimeUtils.isDaylight(sunrise, sunset, result.dt, timeZone),
                             result.weather.get(0).main,
                             getWeatherCode(result.weather.get(0).id),
                             new Temperature(
@@ -371,7 +389,7 @@ public class OwmResultConverter {
                     new Minutely(
                             interval.StartDateTime,
                             interval.StartEpochDateTime,
-                            CommonConverter.isDaylight(new Date(sunrise * 1000), new Date(sunset * 1000), interval.StartDateTime),
+                            TimeUtils.isDaylight(sunrise, sunset, interval.StartDateTime.getTime() / 1000, timeZone),
                             interval.ShortPhrase,
                             getWeatherCode(interval.IconCode),
                             interval.Minute,
@@ -401,11 +419,11 @@ public class OwmResultConverter {
         }
     }
 
-    private static AirQuality getAirQuality(Context context, Date requestedDate, @Nullable OwmAirPollutionResult owmAirPollutionForecastResult) {
+    private static AirQuality getAirQuality(Context context, TimeZone timeZone, long requestedTime, @Nullable OwmAirPollutionResult owmAirPollutionForecastResult) {
         if (owmAirPollutionForecastResult != null) {
-            SimpleDateFormat fmt = new SimpleDateFormat("yyyyMMdd");
+            long requestedDay = TimeUtils.getDayKey(requestedTime, timeZone);
             for (OwmAirPollutionResult.AirPollution airPollutionForecast : owmAirPollutionForecastResult.list) {
-                if (fmt.format(requestedDate).equals(fmt.format(airPollutionForecast.dt * 1000))) {
+                if (requestedDay == TimeUtils.getDayKey(airPollutionForecast.dt, timeZone)) {
                     return new AirQuality(
                             CommonConverter.getAqiQuality(context, getAqiFromIndex(airPollutionForecast.main.aqi)),
                             getAqiFromIndex(airPollutionForecast.main.aqi),
@@ -1,5 +1,7 @@
 package nowsci.com.temperateweather.weather.di;
 
+import javax.inject.Singleton;
+
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
@@ -20,6 +22,7 @@ import nowsci.com.temperateweather.weather.apis.OwmApi;
 public class ApiModule {
 
     @Provides
+    @Singleton
     public AccuWeatherApi provideAccuWeatherApi(OkHttpClient client,
                                                 GsonConverterFactory converterFactory,
                                                 RxJava2CallAdapterFactory callAdapterFactory) {
@@ -33,6 +36,7 @@ public class ApiModule {
     }
 
     @Provides
+    @Singleton
     public OwmApi provideOpenWeatherMapApi(OkHttpClient client,
                                            GsonConverterFactory converterFactory,
                                            RxJava2CallAdapterFactory callAdapterFactory) {
@@ -46,6 +50,7 @@ public class ApiModule {
     }
 
     @Provides
+    @Singleton
     public CaiYunApi provideCaiYunApi(OkHttpClient client,
                                       GsonConverterFactory converterFactory,
                                       RxJava2CallAdapterFactory callAdapterFactory) {
@@ -59,6 +64,7 @@ public class ApiModule {
     }
 
     @Provides
+    @Singleton
     public MfWeatherApi provideMfWeatherApi(OkHttpClient client,
                                             GsonConverterFactory converterFactory,
                                             RxJava2CallAdapterFactory callAdapterFactory) {
@@ -72,6 +78,7 @@ public class ApiModule {
     }
 
     @Provides
+    @Singleton
     public AtmoAuraIqaApi provideAtmoAuraIqaApi(OkHttpClient client,
                                                 GsonConverterFactory converterFactory,
                                                 RxJava2CallAdapterFactory callAdapterFactory) {
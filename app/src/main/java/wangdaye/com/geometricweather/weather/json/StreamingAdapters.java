@@ -0,0 +1,178 @@
+package nowsci.com.temperateweather.weather.json;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming adapters.
+ *
+ * Helpers of the hand written type adapters of the provider results. Those adapters read only the
+ * fields the converters use and skip everything else without binding it.
+ * */
+public class StreamingAdapters {
+
+    /**
+     * @return false if the value is null and has been consumed, true if an object has begun.
+     * */
+    public static boolean beginObject(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        in.beginObject();
+        return true;
+    }
+
+    /**
+     * @return false if the value is null and has been consumed, true if an array has begun.
+     * */
+    public static boolean beginArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        in.beginArray();
+        return true;
+    }
+
+    @Nullable
+    public static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * @return the values, the null ones are kept like the reflective adapter does. Null if the
+     * array is null.
+     * */
+    @Nullable
+    public static List<Integer> nextIntegerList(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+        List<Integer> list = new ArrayList<>();
+        while (in.hasNext()) {
+            list.add(nextIntOrNull(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    /**
+     * @see #nextIntegerList(JsonReader)
+     * */
+    @Nullable
+    public static List<String> nextStringList(JsonReader in) throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        while (in.hasNext()) {
+            list.add(nextString(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    /**
+     * @return the value, or the fallback if it is null, like the reflective adapter keeps the
+     * default of a primitive field.
+     * */
+    public static int nextInt(JsonReader in, int fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextInt();
+    }
+
+    /**
+     * @see #nextInt(JsonReader, int)
+     * */
+    public static long nextLong(JsonReader in, long fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextLong();
+    }
+
+    /**
+     * @see #nextInt(JsonReader, int)
+     * */
+    public static double nextDouble(JsonReader in, double fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextDouble();
+    }
+
+    /**
+     * @see #nextInt(JsonReader, int)
+     * */
+    public static boolean nextBoolean(JsonReader in, boolean fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextBoolean();
+    }
+
+    @Nullable
+    public static Integer nextIntOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    @Nullable
+    public static Long nextLongOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    @Nullable
+    public static Float nextFloatOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return (float) in.nextDouble();
+    }
+
+    /**
+     * Read the "Value" of an object like {"Value":4.1,"Unit":"C","UnitType":17}.
+     *
+     * @return the value, or 0 if there is none or it or the object is null.
+     * */
+    public static double nextValue(JsonReader in) throws IOException {
+        double value = 0;
+        if (!beginObject(in)) {
+            return value;
+        }
+        while (in.hasNext()) {
+            if (in.nextName().equals("Value")) {
+                value = nextDouble(in, value);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+}
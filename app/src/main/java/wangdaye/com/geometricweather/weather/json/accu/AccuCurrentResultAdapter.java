@@ -0,0 +1,401 @@
+package nowsci.com.temperateweather.weather.json.accu;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextValue;
+
+/**
+ * Accu current result adapter.
+ *
+ * Reads the fields of the current conditions that {@code AccuResultConverter} uses, in metric
+ * units. The imperial values, the observation date, the local source, the precipitation summary,
+ * the other temperature ranges and the links are skipped.
+ * */
+public class AccuCurrentResultAdapter extends TypeAdapter<AccuCurrentResult> {
+
+    private final TypeAdapter<AccuCurrentResult> mDelegate;
+
+    AccuCurrentResultAdapter(TypeAdapter<AccuCurrentResult> delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, AccuCurrentResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public AccuCurrentResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult result = new AccuCurrentResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "EpochTime":
+                    result.EpochTime = nextLong(in, result.EpochTime);
+                    break;
+
+                case "WeatherText":
+                    result.WeatherText = nextString(in);
+                    break;
+
+                case "WeatherIcon":
+                    result.WeatherIcon = nextInt(in, result.WeatherIcon);
+                    break;
+
+                case "Temperature":
+                    if (beginObject(in)) {
+                        result.Temperature = new AccuCurrentResult.Temperature();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.Temperature.Metric = new AccuCurrentResult.Temperature.Metric();
+                                result.Temperature.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "RealFeelTemperature":
+                    if (beginObject(in)) {
+                        result.RealFeelTemperature = new AccuCurrentResult.RealFeelTemperature();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.RealFeelTemperature.Metric
+                                        = new AccuCurrentResult.RealFeelTemperature.Metric();
+                                result.RealFeelTemperature.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "RealFeelTemperatureShade":
+                    if (beginObject(in)) {
+                        result.RealFeelTemperatureShade = new AccuCurrentResult.RealFeelTemperatureShade();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.RealFeelTemperatureShade.Metric
+                                        = new AccuCurrentResult.RealFeelTemperatureShade.Metric();
+                                result.RealFeelTemperatureShade.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "ApparentTemperature":
+                    if (beginObject(in)) {
+                        result.ApparentTemperature = new AccuCurrentResult.ApparentTemperature();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.ApparentTemperature.Metric
+                                        = new AccuCurrentResult.ApparentTemperature.Metric();
+                                result.ApparentTemperature.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "WindChillTemperature":
+                    if (beginObject(in)) {
+                        result.WindChillTemperature = new AccuCurrentResult.WindChillTemperature();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.WindChillTemperature.Metric
+                                        = new AccuCurrentResult.WindChillTemperature.Metric();
+                                result.WindChillTemperature.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "WetBulbTemperature":
+                    if (beginObject(in)) {
+                        result.WetBulbTemperature = new AccuCurrentResult.WetBulbTemperature();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.WetBulbTemperature.Metric
+                                        = new AccuCurrentResult.WetBulbTemperature.Metric();
+                                result.WetBulbTemperature.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "DewPoint":
+                    if (beginObject(in)) {
+                        result.DewPoint = new AccuCurrentResult.DewPoint();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.DewPoint.Metric = new AccuCurrentResult.DewPoint.Metric();
+                                result.DewPoint.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "Precip1hr":
+                    if (beginObject(in)) {
+                        result.Precip1hr = new AccuCurrentResult.Precip1hr();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.Precip1hr.Metric = new AccuCurrentResult.Precip1hr.Metric();
+                                result.Precip1hr.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "Wind":
+                    result.Wind = readWind(in);
+                    break;
+
+                case "WindGust":
+                    result.WindGust = readWindGust(in);
+                    break;
+
+                case "UVIndex":
+                    result.UVIndex = nextInt(in, result.UVIndex);
+                    break;
+
+                case "UVIndexText":
+                    result.UVIndexText = nextString(in);
+                    break;
+
+                case "RelativeHumidity":
+                    result.RelativeHumidity = nextInt(in, result.RelativeHumidity);
+                    break;
+
+                case "Pressure":
+                    if (beginObject(in)) {
+                        result.Pressure = new AccuCurrentResult.Pressure();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.Pressure.Metric = new AccuCurrentResult.Pressure.Metric();
+                                result.Pressure.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "Visibility":
+                    if (beginObject(in)) {
+                        result.Visibility = new AccuCurrentResult.Visibility();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.Visibility.Metric = new AccuCurrentResult.Visibility.Metric();
+                                result.Visibility.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "CloudCover":
+                    result.CloudCover = nextInt(in, result.CloudCover);
+                    break;
+
+                case "Ceiling":
+                    if (beginObject(in)) {
+                        result.Ceiling = new AccuCurrentResult.Ceiling();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                result.Ceiling.Metric = new AccuCurrentResult.Ceiling.Metric();
+                                result.Ceiling.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "TemperatureSummary":
+                    result.TemperatureSummary = readTemperatureSummary(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static AccuCurrentResult.Wind readWind(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult.Wind wind = new AccuCurrentResult.Wind();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Direction")) {
+                wind.Direction = readDirection(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    private static AccuCurrentResult.Wind.Direction readDirection(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult.Wind.Direction direction = new AccuCurrentResult.Wind.Direction();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Degrees":
+                    direction.Degrees = nextInt(in, direction.Degrees);
+                    break;
+
+                case "Localized":
+                    direction.Localized = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return direction;
+    }
+
+    private static AccuCurrentResult.WindGust readWindGust(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult.WindGust windGust = new AccuCurrentResult.WindGust();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Speed")) {
+                if (beginObject(in)) {
+                    windGust.Speed = new AccuCurrentResult.WindGust.Speed();
+                    while (in.hasNext()) {
+                        if (in.nextName().equals("Metric")) {
+                            windGust.Speed.Metric = new AccuCurrentResult.WindGust.Speed.Metric();
+                            windGust.Speed.Metric.Value = nextValue(in);
+                        } else {
+                            in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                }
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return windGust;
+    }
+
+    private static AccuCurrentResult.TemperatureSummary readTemperatureSummary(
+            JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult.TemperatureSummary summary = new AccuCurrentResult.TemperatureSummary();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Past24HourRange")) {
+                summary.Past24HourRange = readPast24HourRange(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return summary;
+    }
+
+    private static AccuCurrentResult.TemperatureSummary.Past24HourRange readPast24HourRange(
+            JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuCurrentResult.TemperatureSummary.Past24HourRange range
+                = new AccuCurrentResult.TemperatureSummary.Past24HourRange();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Minimum":
+                    if (beginObject(in)) {
+                        range.Minimum = new AccuCurrentResult.TemperatureSummary.Past24HourRange.Minimum();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                range.Minimum.Metric
+                                        = new AccuCurrentResult.TemperatureSummary.Past24HourRange.Minimum.Metric();
+                                range.Minimum.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "Maximum":
+                    if (beginObject(in)) {
+                        range.Maximum = new AccuCurrentResult.TemperatureSummary.Past24HourRange.Maximum();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Metric")) {
+                                range.Maximum.Metric
+                                        = new AccuCurrentResult.TemperatureSummary.Past24HourRange.Maximum.Metric();
+                                range.Maximum.Metric.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return range;
+    }
+}
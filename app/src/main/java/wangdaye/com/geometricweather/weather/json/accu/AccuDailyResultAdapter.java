@@ -0,0 +1,635 @@
+package nowsci.com.temperateweather.weather.json.accu;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+
+import nowsci.com.temperateweather.weather.json.accu.AccuDailyResult.DailyForecasts;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginArray;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextDouble;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextValue;
+
+/**
+ * Accu daily result adapter.
+ *
+ * Reads the headline text and the fields of every day that {@code AccuResultConverter} uses.
+ * Units, links, sources, local sources and the phrases of the icons are skipped.
+ * */
+public class AccuDailyResultAdapter extends TypeAdapter<AccuDailyResult> {
+
+    private final TypeAdapter<AccuDailyResult> mDelegate;
+    private final TypeAdapter<Date> mDateAdapter;
+
+    AccuDailyResultAdapter(TypeAdapter<AccuDailyResult> delegate, TypeAdapter<Date> dateAdapter) {
+        mDelegate = delegate;
+        mDateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, AccuDailyResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public AccuDailyResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuDailyResult result = new AccuDailyResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Headline":
+                    result.Headline = readHeadline(in);
+                    break;
+
+                case "DailyForecasts":
+                    if (beginArray(in)) {
+                        result.DailyForecasts = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.DailyForecasts.add(readForecasts(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static AccuDailyResult.Headline readHeadline(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuDailyResult.Headline headline = new AccuDailyResult.Headline();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Text")) {
+                headline.Text = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return headline;
+    }
+
+    private DailyForecasts readForecasts(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts forecasts = new DailyForecasts();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Date":
+                    forecasts.Date = mDateAdapter.read(in);
+                    break;
+
+                case "EpochDate":
+                    forecasts.EpochDate = nextLong(in, forecasts.EpochDate);
+                    break;
+
+                case "Sun":
+                    forecasts.Sun = readSun(in);
+                    break;
+
+                case "Moon":
+                    forecasts.Moon = readMoon(in);
+                    break;
+
+                case "Temperature":
+                    forecasts.Temperature = readTemperature(in);
+                    break;
+
+                case "RealFeelTemperature":
+                    forecasts.RealFeelTemperature = readRealFeelTemperature(in);
+                    break;
+
+                case "RealFeelTemperatureShade":
+                    forecasts.RealFeelTemperatureShade = readRealFeelTemperatureShade(in);
+                    break;
+
+                case "HoursOfSun":
+                    forecasts.HoursOfSun = nextDouble(in, forecasts.HoursOfSun);
+                    break;
+
+                case "DegreeDaySummary":
+                    forecasts.DegreeDaySummary = readDegreeDaySummary(in);
+                    break;
+
+                case "Day":
+                    forecasts.Day = readDay(in);
+                    break;
+
+                case "Night":
+                    forecasts.Night = readNight(in);
+                    break;
+
+                case "AirAndPollen":
+                    if (beginArray(in)) {
+                        forecasts.AirAndPollen = new ArrayList<>();
+                        while (in.hasNext()) {
+                            forecasts.AirAndPollen.add(readAirAndPollen(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return forecasts;
+    }
+
+    private static DailyForecasts.Sun readSun(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.Sun sun = new DailyForecasts.Sun();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "EpochRise":
+                    sun.EpochRise = nextLong(in, sun.EpochRise);
+                    break;
+
+                case "EpochSet":
+                    sun.EpochSet = nextLong(in, sun.EpochSet);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return sun;
+    }
+
+    private static DailyForecasts.Moon readMoon(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.Moon moon = new DailyForecasts.Moon();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "EpochRise":
+                    moon.EpochRise = nextLong(in, moon.EpochRise);
+                    break;
+
+                case "EpochSet":
+                    moon.EpochSet = nextLong(in, moon.EpochSet);
+                    break;
+
+                case "Phase":
+                    moon.Phase = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return moon;
+    }
+
+    private static DailyForecasts.Temperature readTemperature(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.Temperature range = new DailyForecasts.Temperature();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Minimum":
+                    range.Minimum = new DailyForecasts.Temperature.Minimum();
+                    range.Minimum.Value = nextValue(in);
+                    break;
+
+                case "Maximum":
+                    range.Maximum = new DailyForecasts.Temperature.Maximum();
+                    range.Maximum.Value = nextValue(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return range;
+    }
+
+    private static DailyForecasts.RealFeelTemperature readRealFeelTemperature(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.RealFeelTemperature range = new DailyForecasts.RealFeelTemperature();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Minimum":
+                    range.Minimum = new DailyForecasts.RealFeelTemperature.Minimum();
+                    range.Minimum.Value = nextValue(in);
+                    break;
+
+                case "Maximum":
+                    range.Maximum = new DailyForecasts.RealFeelTemperature.Maximum();
+                    range.Maximum.Value = nextValue(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return range;
+    }
+
+    private static DailyForecasts.RealFeelTemperatureShade readRealFeelTemperatureShade(
+            JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.RealFeelTemperatureShade range
+
+                = new DailyForecasts.RealFeelTemperatureShade();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Minimum":
+                    range.Minimum = new DailyForecasts.RealFeelTemperatureShade.Minimum();
+                    range.Minimum.Value = nextValue(in);
+                    break;
+
+                case "Maximum":
+                    range.Maximum = new DailyForecasts.RealFeelTemperatureShade.Maximum();
+                    range.Maximum.Value = nextValue(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return range;
+    }
+
+    private static DailyForecasts.DegreeDaySummary readDegreeDaySummary(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.DegreeDaySummary summary = new DailyForecasts.DegreeDaySummary();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Heating":
+                    summary.Heating = new DailyForecasts.DegreeDaySummary.Heating();
+                    summary.Heating.Value = nextValue(in);
+                    break;
+
+                case "Cooling":
+                    summary.Cooling = new DailyForecasts.DegreeDaySummary.Cooling();
+                    summary.Cooling.Value = nextValue(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return summary;
+    }
+
+    private static DailyForecasts.Day readDay(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.Day day = new DailyForecasts.Day();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Icon":
+                    day.Icon = nextInt(in, day.Icon);
+                    break;
+
+                case "ShortPhrase":
+                    day.ShortPhrase = nextString(in);
+                    break;
+
+                case "LongPhrase":
+                    day.LongPhrase = nextString(in);
+                    break;
+
+                case "PrecipitationProbability":
+                    day.PrecipitationProbability = nextInt(in, day.PrecipitationProbability);
+                    break;
+
+                case "ThunderstormProbability":
+                    day.ThunderstormProbability = nextInt(in, day.ThunderstormProbability);
+                    break;
+
+                case "RainProbability":
+                    day.RainProbability = nextInt(in, day.RainProbability);
+                    break;
+
+                case "SnowProbability":
+                    day.SnowProbability = nextInt(in, day.SnowProbability);
+                    break;
+
+                case "IceProbability":
+                    day.IceProbability = nextInt(in, day.IceProbability);
+                    break;
+
+                case "Wind":
+                    if (beginObject(in)) {
+                        day.Wind = new DailyForecasts.Day.Wind();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Direction") && in.peek() != JsonToken.NULL) {
+                                day.Wind.Direction = new DailyForecasts.Day.Wind.Direction();
+                                in.beginObject();
+                                while (in.hasNext()) {
+                                    switch (in.nextName()) {
+                                        case "Degrees":
+                                            day.Wind.Direction.Degrees = nextInt(
+                                                    in, day.Wind.Direction.Degrees);
+                                            break;
+
+                                        case "Localized":
+                                            day.Wind.Direction.Localized = nextString(in);
+                                            break;
+
+                                        default:
+                                            in.skipValue();
+                                            break;
+                                    }
+                                }
+                                in.endObject();
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "WindGust":
+                    if (beginObject(in)) {
+                        day.WindGust = new DailyForecasts.Day.WindGust();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Speed")) {
+                                day.WindGust.Speed = new DailyForecasts.Day.WindGust.Speed();
+                                day.WindGust.Speed.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "TotalLiquid":
+                    day.TotalLiquid = new DailyForecasts.Day.TotalLiquid();
+                    day.TotalLiquid.Value = nextValue(in);
+                    break;
+
+                case "Rain":
+                    day.Rain = new DailyForecasts.Day.Rain();
+                    day.Rain.Value = nextValue(in);
+                    break;
+
+                case "Snow":
+                    day.Snow = new DailyForecasts.Day.Snow();
+                    day.Snow.Value = nextValue(in);
+                    break;
+
+                case "Ice":
+                    day.Ice = new DailyForecasts.Day.Ice();
+                    day.Ice.Value = nextValue(in);
+                    break;
+
+                case "HoursOfPrecipitation":
+                    day.HoursOfPrecipitation = nextDouble(in, day.HoursOfPrecipitation);
+                    break;
+
+                case "HoursOfRain":
+                    day.HoursOfRain = nextDouble(in, day.HoursOfRain);
+                    break;
+
+                case "HoursOfSnow":
+                    day.HoursOfSnow = nextDouble(in, day.HoursOfSnow);
+                    break;
+
+                case "HoursOfIce":
+                    day.HoursOfIce = nextDouble(in, day.HoursOfIce);
+                    break;
+
+                case "CloudCover":
+                    day.CloudCover = nextInt(in, day.CloudCover);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return day;
+    }
+
+    private static DailyForecasts.Night readNight(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.Night night = new DailyForecasts.Night();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Icon":
+                    night.Icon = nextInt(in, night.Icon);
+                    break;
+
+                case "ShortPhrase":
+                    night.ShortPhrase = nextString(in);
+                    break;
+
+                case "LongPhrase":
+                    night.LongPhrase = nextString(in);
+                    break;
+
+                case "PrecipitationProbability":
+                    night.PrecipitationProbability = nextInt(in, night.PrecipitationProbability);
+                    break;
+
+                case "ThunderstormProbability":
+                    night.ThunderstormProbability = nextInt(in, night.ThunderstormProbability);
+                    break;
+
+                case "RainProbability":
+                    night.RainProbability = nextInt(in, night.RainProbability);
+                    break;
+
+                case "SnowProbability":
+                    night.SnowProbability = nextInt(in, night.SnowProbability);
+                    break;
+
+                case "IceProbability":
+                    night.IceProbability = nextInt(in, night.IceProbability);
+                    break;
+
+                case "Wind":
+                    if (beginObject(in)) {
+                        night.Wind = new DailyForecasts.Night.Wind();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Direction") && in.peek() != JsonToken.NULL) {
+                                night.Wind.Direction = new DailyForecasts.Night.Wind.Direction();
+                                in.beginObject();
+                                while (in.hasNext()) {
+                                    switch (in.nextName()) {
+                                        case "Degrees":
+                                            night.Wind.Direction.Degrees = nextInt(
+                                                    in, night.Wind.Direction.Degrees);
+                                            break;
+
+                                        case "Localized":
+                                            night.Wind.Direction.Localized = nextString(in);
+                                            break;
+
+                                        default:
+                                            in.skipValue();
+                                            break;
+                                    }
+                                }
+                                in.endObject();
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "WindGust":
+                    if (beginObject(in)) {
+                        night.WindGust = new DailyForecasts.Night.WindGust();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("Speed")) {
+                                night.WindGust.Speed = new DailyForecasts.Night.WindGust.Speed();
+                                night.WindGust.Speed.Value = nextValue(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "TotalLiquid":
+                    night.TotalLiquid = new DailyForecasts.Night.TotalLiquid();
+                    night.TotalLiquid.Value = nextValue(in);
+                    break;
+
+                case "Rain":
+                    night.Rain = new DailyForecasts.Night.Rain();
+                    night.Rain.Value = nextValue(in);
+                    break;
+
+                case "Snow":
+                    night.Snow = new DailyForecasts.Night.Snow();
+                    night.Snow.Value = nextValue(in);
+                    break;
+
+                case "Ice":
+                    night.Ice = new DailyForecasts.Night.Ice();
+                    night.Ice.Value = nextValue(in);
+                    break;
+
+                case "HoursOfPrecipitation":
+                    night.HoursOfPrecipitation = nextDouble(in, night.HoursOfPrecipitation);
+                    break;
+
+                case "HoursOfRain":
+                    night.HoursOfRain = nextDouble(in, night.HoursOfRain);
+                    break;
+
+                case "HoursOfSnow":
+                    night.HoursOfSnow = nextDouble(in, night.HoursOfSnow);
+                    break;
+
+                case "HoursOfIce":
+                    night.HoursOfIce = nextDouble(in, night.HoursOfIce);
+                    break;
+
+                case "CloudCover":
+                    night.CloudCover = nextInt(in, night.CloudCover);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return night;
+    }
+
+    private static DailyForecasts.AirAndPollen readAirAndPollen(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecasts.AirAndPollen item = new DailyForecasts.AirAndPollen();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Name":
+                    item.Name = nextString(in);
+                    break;
+
+                case "Value":
+                    item.Value = nextInt(in, item.Value);
+                    break;
+
+                case "Category":
+                    item.Category = nextString(in);
+                    break;
+
+                case "CategoryValue":
+                    item.CategoryValue = nextInt(in, item.CategoryValue);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return item;
+    }
+}
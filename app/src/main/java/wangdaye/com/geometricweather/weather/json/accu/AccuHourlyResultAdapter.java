@@ -0,0 +1,212 @@
+package nowsci.com.temperateweather.weather.json.accu;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextBoolean;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextValue;
+
+/**
+ * Accu hourly result adapter.
+ *
+ * Reads the fields of an hour that {@code AccuResultConverter} uses. Units, links, the mean wind
+ * speed and the gust direction are skipped.
+ * */
+public class AccuHourlyResultAdapter extends TypeAdapter<AccuHourlyResult> {
+
+    private final TypeAdapter<AccuHourlyResult> mDelegate;
+    private final TypeAdapter<Date> mDateAdapter;
+
+    AccuHourlyResultAdapter(TypeAdapter<AccuHourlyResult> delegate, TypeAdapter<Date> dateAdapter) {
+        mDelegate = delegate;
+        mDateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, AccuHourlyResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public AccuHourlyResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuHourlyResult result = new AccuHourlyResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "DateTime":
+                    result.DateTime = mDateAdapter.read(in);
+                    break;
+
+                case "EpochDateTime":
+                    result.EpochDateTime = nextLong(in, result.EpochDateTime);
+                    break;
+
+                case "WeatherIcon":
+                    result.WeatherIcon = nextInt(in, result.WeatherIcon);
+                    break;
+
+                case "IconPhrase":
+                    result.IconPhrase = nextString(in);
+                    break;
+
+                case "IsDaylight":
+                    result.IsDaylight = nextBoolean(in, result.IsDaylight);
+                    break;
+
+                case "Temperature":
+                    result.Temperature = new AccuHourlyResult.Temperature();
+                    result.Temperature.Value = nextValue(in);
+                    break;
+
+                case "RealFeelTemperature":
+                    result.RealFeelTemperature = new AccuHourlyResult.RealFeelTemperature();
+                    result.RealFeelTemperature.Value = nextValue(in);
+                    break;
+
+                case "RealFeelTemperatureShade":
+                    result.RealFeelTemperatureShade = new AccuHourlyResult.RealFeelTemperatureShade();
+                    result.RealFeelTemperatureShade.Value = nextValue(in);
+                    break;
+
+                case "WetBulbTemperature":
+                    result.WetBulbTemperature = new AccuHourlyResult.WetBulbTemperature();
+                    result.WetBulbTemperature.Value = nextValue(in);
+                    break;
+
+                case "PrecipitationProbability":
+                    result.PrecipitationProbability = nextInt(
+                            in, result.PrecipitationProbability);
+                    break;
+
+                case "ThunderstormProbability":
+                    result.ThunderstormProbability = nextInt(in, result.ThunderstormProbability);
+                    break;
+
+                case "RainProbability":
+                    result.RainProbability = nextInt(in, result.RainProbability);
+                    break;
+
+                case "SnowProbability":
+                    result.SnowProbability = nextInt(in, result.SnowProbability);
+                    break;
+
+                case "IceProbability":
+                    result.IceProbability = nextInt(in, result.IceProbability);
+                    break;
+
+                case "Wind":
+                    result.Wind = readWind(in);
+                    break;
+
+                case "WindGust":
+                    result.WindGust = readWindGust(in);
+                    break;
+
+                case "UVIndex":
+                    result.UVIndex = nextInt(in, result.UVIndex);
+                    break;
+
+                case "UVIndexText":
+                    result.UVIndexText = nextString(in);
+                    break;
+
+                case "TotalLiquid":
+                    result.TotalLiquid = new AccuHourlyResult.TotalLiquid();
+                    result.TotalLiquid.Value = nextValue(in);
+                    break;
+
+                case "Rain":
+                    result.Rain = new AccuHourlyResult.Rain();
+                    result.Rain.Value = nextValue(in);
+                    break;
+
+                case "Snow":
+                    result.Snow = new AccuHourlyResult.Snow();
+                    result.Snow.Value = nextValue(in);
+                    break;
+
+                case "Ice":
+                    result.Ice = new AccuHourlyResult.Ice();
+                    result.Ice.Value = nextValue(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static AccuHourlyResult.Wind readWind(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuHourlyResult.Wind wind = new AccuHourlyResult.Wind();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Direction")) {
+                wind.Direction = readDirection(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    private static AccuHourlyResult.Wind.Direction readDirection(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuHourlyResult.Wind.Direction direction = new AccuHourlyResult.Wind.Direction();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Degrees":
+                    direction.Degrees = nextInt(in, direction.Degrees);
+                    break;
+
+                case "Localized":
+                    direction.Localized = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return direction;
+    }
+
+    private static AccuHourlyResult.WindGust readWindGust(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuHourlyResult.WindGust windGust = new AccuHourlyResult.WindGust();
+        while (in.hasNext()) {
+            if (in.nextName().equals("Speed")) {
+                windGust.Speed = new AccuHourlyResult.WindGust.Speed();
+                windGust.Speed.Value = nextValue(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return windGust;
+    }
+}
@@ -0,0 +1,133 @@
+package nowsci.com.temperateweather.weather.json.accu;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginArray;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextDouble;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+
+/**
+ * Accu minute result adapter.
+ *
+ * Reads the long phrase of the summary and the fields of every interval that
+ * {@code AccuResultConverter} uses. The other phrases, the summaries, the colors of the intervals
+ * and the links are skipped.
+ * */
+public class AccuMinuteResultAdapter extends TypeAdapter<AccuMinuteResult> {
+
+    private final TypeAdapter<AccuMinuteResult> mDelegate;
+    private final TypeAdapter<Date> mDateAdapter;
+
+    AccuMinuteResultAdapter(TypeAdapter<AccuMinuteResult> delegate, TypeAdapter<Date> dateAdapter) {
+        mDelegate = delegate;
+        mDateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, AccuMinuteResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public AccuMinuteResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuMinuteResult result = new AccuMinuteResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Summary":
+                    result.Summary = readSummary(in);
+                    break;
+
+                case "Intervals":
+                    if (beginArray(in)) {
+                        result.Intervals = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.Intervals.add(readInterval(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static AccuMinuteResult.SummaryBean readSummary(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuMinuteResult.SummaryBean summary = new AccuMinuteResult.SummaryBean();
+        while (in.hasNext()) {
+            if (in.nextName().equals("LongPhrase")) {
+                summary.LongPhrase = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return summary;
+    }
+
+    private AccuMinuteResult.IntervalsBean readInterval(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        AccuMinuteResult.IntervalsBean interval = new AccuMinuteResult.IntervalsBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "StartDateTime":
+                    interval.StartDateTime = mDateAdapter.read(in);
+                    break;
+
+                case "StartEpochDateTime":
+                    interval.StartEpochDateTime = nextLong(in, interval.StartEpochDateTime);
+                    break;
+
+                case "Minute":
+                    interval.Minute = nextInt(in, interval.Minute);
+                    break;
+
+                case "Dbz":
+                    interval.Dbz = nextDouble(in, interval.Dbz);
+                    break;
+
+                case "ShortPhrase":
+                    interval.ShortPhrase = nextString(in);
+                    break;
+
+                case "IconCode":
+                    interval.IconCode = nextInt(in, interval.IconCode);
+                    break;
+
+                case "CloudCover":
+                    interval.CloudCover = nextInt(in, interval.CloudCover);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return interval;
+    }
+}
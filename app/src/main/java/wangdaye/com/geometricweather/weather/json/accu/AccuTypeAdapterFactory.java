@@ -0,0 +1,47 @@
+package nowsci.com.temperateweather.weather.json.accu;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.Date;
+
+/**
+ * Accu type adapter factory.
+ *
+ * Binds the current conditions, the minutely, hourly and daily forecasts, the largest payloads of
+ * a refresh, with streaming adapters instead of reflection. They are still written by the
+ * reflective adapters.
+ * */
+public class AccuTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() == AccuCurrentResult.class) {
+            return (TypeAdapter<T>) new AccuCurrentResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(AccuCurrentResult.class))
+            );
+        }
+        if (type.getRawType() == AccuMinuteResult.class) {
+            return (TypeAdapter<T>) new AccuMinuteResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(AccuMinuteResult.class)),
+                    gson.getAdapter(Date.class)
+            );
+        }
+        if (type.getRawType() == AccuHourlyResult.class) {
+            return (TypeAdapter<T>) new AccuHourlyResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(AccuHourlyResult.class)),
+                    gson.getAdapter(Date.class)
+            );
+        }
+        if (type.getRawType() == AccuDailyResult.class) {
+            return (TypeAdapter<T>) new AccuDailyResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(AccuDailyResult.class)),
+                    gson.getAdapter(Date.class)
+            );
+        }
+        return null;
+    }
+}
@@ -0,0 +1,655 @@
+package nowsci.com.temperateweather.weather.json.caiyun;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult.CurrentBean;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult.ForecastDailyBean;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult.ForecastDailyBean.WindBeanX;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult.ForecastHourlyBean;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginArray;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextIntegerList;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextStringList;
+
+/**
+ * CaiYun mainly result adapter.
+ *
+ * Reads the fields that {@code CaiyunResultConverter} uses. Indices, urls, brands, the
+ * descriptions of the pollutants, the hourly air quality and the images and defenses of the alerts
+ * are skipped.
+ * */
+public class CaiYunMainlyResultAdapter extends TypeAdapter<CaiYunMainlyResult> {
+
+    private final TypeAdapter<CaiYunMainlyResult> mDelegate;
+    private final TypeAdapter<Date> mDateAdapter;
+
+    CaiYunMainlyResultAdapter(TypeAdapter<CaiYunMainlyResult> delegate,
+                              TypeAdapter<Date> dateAdapter) {
+        mDelegate = delegate;
+        mDateAdapter = dateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, CaiYunMainlyResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public CaiYunMainlyResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CaiYunMainlyResult result = new CaiYunMainlyResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "current":
+                    result.current = readCurrent(in);
+                    break;
+
+                case "forecastDaily":
+                    result.forecastDaily = readForecastDaily(in);
+                    break;
+
+                case "forecastHourly":
+                    result.forecastHourly = readForecastHourly(in);
+                    break;
+
+                case "yesterday":
+                    result.yesterday = readYesterday(in);
+                    break;
+
+                case "updateTime":
+                    result.updateTime = nextLong(in, result.updateTime);
+                    break;
+
+                case "aqi":
+                    result.aqi = readAqi(in);
+                    break;
+
+                case "alerts":
+                    if (beginArray(in)) {
+                        result.alerts = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.alerts.add(readAlert(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    // current.
+
+    private CurrentBean readCurrent(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CurrentBean current = new CurrentBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "feelsLike":
+                    if (beginObject(in)) {
+                        current.feelsLike = new CurrentBean.FeelsLikeBean();
+                        current.feelsLike.value = readValue(in);
+                    }
+                    break;
+
+                case "humidity":
+                    if (beginObject(in)) {
+                        current.humidity = new CurrentBean.HumidityBean();
+                        current.humidity.value = readValue(in);
+                    }
+                    break;
+
+                case "pressure":
+                    if (beginObject(in)) {
+                        current.pressure = new CurrentBean.PressureBean();
+                        current.pressure.value = readValue(in);
+                    }
+                    break;
+
+                case "pubTime":
+                    current.pubTime = mDateAdapter.read(in);
+                    break;
+
+                case "temperature":
+                    if (beginObject(in)) {
+                        current.temperature = new CurrentBean.TemperatureBean();
+                        current.temperature.value = readValue(in);
+                    }
+                    break;
+
+                case "uvIndex":
+                    current.uvIndex = nextString(in);
+                    break;
+
+                case "visibility":
+                    if (beginObject(in)) {
+                        current.visibility = new CurrentBean.VisibilityBean();
+                        current.visibility.value = readValue(in);
+                    }
+                    break;
+
+                case "weather":
+                    current.weather = nextString(in);
+                    break;
+
+                case "wind":
+                    current.wind = readCurrentWind(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return current;
+    }
+
+    private static CurrentBean.WindBean readCurrentWind(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CurrentBean.WindBean wind = new CurrentBean.WindBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "direction":
+                    if (beginObject(in)) {
+                        wind.direction = new CurrentBean.WindBean.DirectionBean();
+                        wind.direction.value = readValue(in);
+                    }
+                    break;
+
+                case "speed":
+                    if (beginObject(in)) {
+                        wind.speed = new CurrentBean.WindBean.SpeedBean();
+                        wind.speed.value = readValue(in);
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    // daily.
+
+    private ForecastDailyBean readForecastDaily(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        ForecastDailyBean daily = new ForecastDailyBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "aqi":
+                    if (beginObject(in)) {
+                        daily.aqi = new ForecastDailyBean.AqiBean();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("value")) {
+                                daily.aqi.value = nextIntegerList(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "precipitationProbability":
+                    if (beginObject(in)) {
+                        daily.precipitationProbability
+                                = new ForecastDailyBean.PrecipitationProbabilityBean();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("value")) {
+                                daily.precipitationProbability.value = nextStringList(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "sunRiseSet":
+                    daily.sunRiseSet = readSunRiseSet(in);
+                    break;
+
+                case "temperature":
+                    if (beginObject(in)) {
+                        daily.temperature = new ForecastDailyBean.TemperatureBeanX();
+                        while (in.hasNext()) {
+                            if (!in.nextName().equals("value")) {
+                                in.skipValue();
+                            } else if (beginArray(in)) {
+                                daily.temperature.value = new ArrayList<>();
+                                while (in.hasNext()) {
+                                    String[] range = readRange(in);
+                                    ForecastDailyBean.TemperatureBeanX.ValueBeanX value = null;
+                                    if (range != null) {
+                                        value = new ForecastDailyBean.TemperatureBeanX.ValueBeanX();
+                                        value.from = range[0];
+                                        value.to = range[1];
+                                    }
+                                    daily.temperature.value.add(value);
+                                }
+                                in.endArray();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "weather":
+                    if (beginObject(in)) {
+                        daily.weather = new ForecastDailyBean.WeatherBean();
+                        while (in.hasNext()) {
+                            if (!in.nextName().equals("value")) {
+                                in.skipValue();
+                            } else if (beginArray(in)) {
+                                daily.weather.value = new ArrayList<>();
+                                while (in.hasNext()) {
+                                    String[] range = readRange(in);
+                                    ForecastDailyBean.WeatherBean.ValueBeanXX value = null;
+                                    if (range != null) {
+                                        value = new ForecastDailyBean.WeatherBean.ValueBeanXX();
+                                        value.from = range[0];
+                                        value.to = range[1];
+                                    }
+                                    daily.weather.value.add(value);
+                                }
+                                in.endArray();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "wind":
+                    daily.wind = readDailyWind(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return daily;
+    }
+
+    private ForecastDailyBean.SunRiseSetBean readSunRiseSet(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        ForecastDailyBean.SunRiseSetBean sunRiseSet = new ForecastDailyBean.SunRiseSetBean();
+        while (in.hasNext()) {
+            if (!in.nextName().equals("value")) {
+                in.skipValue();
+            } else if (beginArray(in)) {
+                sunRiseSet.value = new ArrayList<>();
+                while (in.hasNext()) {
+                    ForecastDailyBean.SunRiseSetBean.ValueBean value = null;
+                    if (beginObject(in)) {
+                        value = new ForecastDailyBean.SunRiseSetBean.ValueBean();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "from":
+                                    value.from = mDateAdapter.read(in);
+                                    break;
+
+                                case "to":
+                                    value.to = mDateAdapter.read(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    sunRiseSet.value.add(value);
+                }
+                in.endArray();
+            }
+        }
+        in.endObject();
+        return sunRiseSet;
+    }
+
+    private static WindBeanX readDailyWind(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        WindBeanX wind = new WindBeanX();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "direction":
+                    if (beginObject(in)) {
+                        wind.direction = new WindBeanX.DirectionBeanX();
+                        while (in.hasNext()) {
+                            if (!in.nextName().equals("value")) {
+                                in.skipValue();
+                            } else if (beginArray(in)) {
+                                wind.direction.value = new ArrayList<>();
+                                while (in.hasNext()) {
+                                    String[] range = readRange(in);
+                                    WindBeanX.DirectionBeanX.ValueBeanXXX value = null;
+                                    if (range != null) {
+                                        value = new WindBeanX.DirectionBeanX.ValueBeanXXX();
+                                        value.from = range[0];
+                                        value.to = range[1];
+                                    }
+                                    wind.direction.value.add(value);
+                                }
+                                in.endArray();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "speed":
+                    if (beginObject(in)) {
+                        wind.speed = new WindBeanX.SpeedBeanX();
+                        while (in.hasNext()) {
+                            if (!in.nextName().equals("value")) {
+                                in.skipValue();
+                            } else if (beginArray(in)) {
+                                wind.speed.value = new ArrayList<>();
+                                while (in.hasNext()) {
+                                    String[] range = readRange(in);
+                                    WindBeanX.SpeedBeanX.ValueBeanXXXX value = null;
+                                    if (range != null) {
+                                        value = new WindBeanX.SpeedBeanX.ValueBeanXXXX();
+                                        value.from = range[0];
+                                        value.to = range[1];
+                                    }
+                                    wind.speed.value.add(value);
+                                }
+                                in.endArray();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    // hourly.
+
+    private static ForecastHourlyBean readForecastHourly(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        ForecastHourlyBean hourly = new ForecastHourlyBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "temperature":
+                    if (beginObject(in)) {
+                        hourly.temperature = new ForecastHourlyBean.TemperatureBeanXX();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("value")) {
+                                hourly.temperature.value = nextIntegerList(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "weather":
+                    if (beginObject(in)) {
+                        hourly.weather = new ForecastHourlyBean.WeatherBeanX();
+                        while (in.hasNext()) {
+                            if (in.nextName().equals("value")) {
+                                hourly.weather.value = nextIntegerList(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "wind":
+                    if (beginObject(in)) {
+                        hourly.wind = new ForecastHourlyBean.WindBeanXX();
+                        while (in.hasNext()) {
+                            if (!in.nextName().equals("value")) {
+                                in.skipValue();
+                            } else if (beginArray(in)) {
+                                hourly.wind.value = new ArrayList<>();
+                                while (in.hasNext()) {
+                                    hourly.wind.value.add(readHourlyWind(in));
+                                }
+                                in.endArray();
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return hourly;
+    }
+
+    private static ForecastHourlyBean.WindBeanXX.ValueBeanXXXXX readHourlyWind(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        ForecastHourlyBean.WindBeanXX.ValueBeanXXXXX wind
+                = new ForecastHourlyBean.WindBeanXX.ValueBeanXXXXX();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "direction":
+                    wind.direction = nextString(in);
+                    break;
+
+                case "speed":
+                    wind.speed = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    // others.
+
+    private static CaiYunMainlyResult.YesterdayBean readYesterday(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CaiYunMainlyResult.YesterdayBean yesterday = new CaiYunMainlyResult.YesterdayBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "tempMax":
+                    yesterday.tempMax = nextString(in);
+                    break;
+
+                case "tempMin":
+                    yesterday.tempMin = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return yesterday;
+    }
+
+    private static CaiYunMainlyResult.AqiBeanXX readAqi(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CaiYunMainlyResult.AqiBeanXX aqi = new CaiYunMainlyResult.AqiBeanXX();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "aqi":
+                    aqi.aqi = nextString(in);
+                    break;
+
+                case "pm25":
+                    aqi.pm25 = nextString(in);
+                    break;
+
+                case "pm10":
+                    aqi.pm10 = nextString(in);
+                    break;
+
+                case "so2":
+                    aqi.so2 = nextString(in);
+                    break;
+
+                case "no2":
+                    aqi.no2 = nextString(in);
+                    break;
+
+                case "o3":
+                    aqi.o3 = nextString(in);
+                    break;
+
+                case "co":
+                    aqi.co = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return aqi;
+    }
+
+    private CaiYunMainlyResult.AlertsBean readAlert(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        CaiYunMainlyResult.AlertsBean alert = new CaiYunMainlyResult.AlertsBean();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "level":
+                    alert.level = nextString(in);
+                    break;
+
+                case "pubTime":
+                    alert.pubTime = mDateAdapter.read(in);
+                    break;
+
+                case "detail":
+                    alert.detail = nextString(in);
+                    break;
+
+                case "title":
+                    alert.title = nextString(in);
+                    break;
+
+                case "type":
+                    alert.type = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return alert;
+    }
+
+    // read the "value" of an object like {"unit":"℃","value":"17"} which has begun, and end it.
+    private static String readValue(JsonReader in) throws IOException {
+        String value = null;
+        while (in.hasNext()) {
+            if (in.nextName().equals("value")) {
+                value = nextString(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    // read an object like {"from":"25","to":"17"}, or null.
+    private static String[] readRange(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        String[] range = new String[2];
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "from":
+                    range[0] = nextString(in);
+                    break;
+
+                case "to":
+                    range[1] = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return range;
+    }
+}
@@ -0,0 +1,29 @@
+package nowsci.com.temperateweather.weather.json.caiyun;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.Date;
+
+/**
+ * CaiYun type adapter factory.
+ *
+ * Binds the mainly result, which carries the current weather and all the forecasts, with a
+ * streaming adapter instead of reflection. It is still written by the reflective adapter.
+ * */
+public class CaiYunTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() == CaiYunMainlyResult.class) {
+            return (TypeAdapter<T>) new CaiYunMainlyResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(CaiYunMainlyResult.class)),
+                    gson.getAdapter(Date.class)
+            );
+        }
+        return null;
+    }
+}
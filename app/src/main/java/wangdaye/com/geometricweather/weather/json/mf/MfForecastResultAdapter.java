@@ -0,0 +1,410 @@
+package nowsci.com.temperateweather.weather.json.mf;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import nowsci.com.temperateweather.weather.json.mf.MfForecastResult.DailyForecast;
+import nowsci.com.temperateweather.weather.json.mf.MfForecastResult.Forecast;
+import nowsci.com.temperateweather.weather.json.mf.MfForecastResult.ProbabilityForecast;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginArray;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextFloatOrNull;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextIntOrNull;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLongOrNull;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+
+/**
+ * Mf forecast result adapter.
+ *
+ * Reads the fields of the days, hours and probabilities that {@code MfResultConverter} uses. The
+ * position, the humidity, the sea level pressure, the gusts and the freezing and snow levels are
+ * skipped.
+ * */
+public class MfForecastResultAdapter extends TypeAdapter<MfForecastResult> {
+
+    private final TypeAdapter<MfForecastResult> mDelegate;
+
+    MfForecastResultAdapter(TypeAdapter<MfForecastResult> delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, MfForecastResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public MfForecastResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        MfForecastResult result = new MfForecastResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "updated_on":
+                    result.updatedOn = nextLong(in, result.updatedOn);
+                    break;
+
+                case "daily_forecast":
+                    if (beginArray(in)) {
+                        result.dailyForecasts = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.dailyForecasts.add(readDailyForecast(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                case "forecast":
+                    if (beginArray(in)) {
+                        result.forecasts = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.forecasts.add(readForecast(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                case "probability_forecast":
+                    if (beginArray(in)) {
+                        result.probabilityForecast = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.probabilityForecast.add(readProbabilityForecast(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static DailyForecast readDailyForecast(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        DailyForecast daily = new DailyForecast();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    daily.dt = nextLong(in, daily.dt);
+                    break;
+
+                case "sun":
+                    if (beginObject(in)) {
+                        daily.sun = new DailyForecast.Sun();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "rise":
+                                    daily.sun.rise = nextLongOrNull(in);
+                                    break;
+
+                                case "set":
+                                    daily.sun.set = nextLongOrNull(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "T":
+                    if (beginObject(in)) {
+                        daily.temperature = new DailyForecast.DailyTemperature();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "max":
+                                    daily.temperature.max = nextFloatOrNull(in);
+                                    break;
+
+                                case "min":
+                                    daily.temperature.min = nextFloatOrNull(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "uv":
+                    daily.uv = nextInt(in, daily.uv);
+                    break;
+
+                case "weather12H":
+                    if (beginObject(in)) {
+                        daily.weather12H = new DailyForecast.Weather();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "desc":
+                                    daily.weather12H.desc = nextString(in);
+                                    break;
+
+                                case "icon":
+                                    daily.weather12H.icon = nextString(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return daily;
+    }
+
+    private static Forecast readForecast(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        Forecast forecast = new Forecast();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "clouds":
+                    forecast.clouds = nextIntOrNull(in);
+                    break;
+
+                case "dt":
+                    forecast.dt = nextLong(in, forecast.dt);
+                    break;
+
+                case "rain":
+                    if (beginObject(in)) {
+                        forecast.rain = new Forecast.Rain();
+                        Float[] cumuls = readCumuls(in);
+                        forecast.rain.cumul1H = cumuls[0];
+                        forecast.rain.cumul3H = cumuls[1];
+                        forecast.rain.cumul6H = cumuls[2];
+                        forecast.rain.cumul12H = cumuls[3];
+                        forecast.rain.cumul24H = cumuls[4];
+                    }
+                    break;
+
+                case "snow":
+                    if (beginObject(in)) {
+                        forecast.snow = new Forecast.Snow();
+                        Float[] cumuls = readCumuls(in);
+                        forecast.snow.cumul1H = cumuls[0];
+                        forecast.snow.cumul3H = cumuls[1];
+                        forecast.snow.cumul6H = cumuls[2];
+                        forecast.snow.cumul12H = cumuls[3];
+                        forecast.snow.cumul24H = cumuls[4];
+                    }
+                    break;
+
+                case "T":
+                    if (beginObject(in)) {
+                        forecast.temperature = new Forecast.Temperature();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "value":
+                                    forecast.temperature.value = nextFloatOrNull(in);
+                                    break;
+
+                                case "windchill":
+                                    forecast.temperature.windChill = nextFloatOrNull(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "weather":
+                    if (beginObject(in)) {
+                        forecast.weather = new Forecast.Weather();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "desc":
+                                    forecast.weather.desc = nextString(in);
+                                    break;
+
+                                case "icon":
+                                    forecast.weather.icon = nextString(in);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "wind":
+                    forecast.wind = readWind(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return forecast;
+    }
+
+    private static Forecast.Wind readWind(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        Forecast.Wind wind = new Forecast.Wind();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "direction":
+                    wind.direction = nextString(in);
+                    break;
+
+                case "icon":
+                    wind.icon = nextString(in);
+                    break;
+
+                case "speed":
+                    wind.speed = nextIntOrNull(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return wind;
+    }
+
+    // read the cumuls of an object like {"1h":0,"3h":0.2} which has begun, and end it.
+    private static Float[] readCumuls(JsonReader in) throws IOException {
+        Float[] cumuls = new Float[5];
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "1h":
+                    cumuls[0] = nextFloatOrNull(in);
+                    break;
+
+                case "3h":
+                    cumuls[1] = nextFloatOrNull(in);
+                    break;
+
+                case "6h":
+                    cumuls[2] = nextFloatOrNull(in);
+                    break;
+
+                case "12h":
+                    cumuls[3] = nextFloatOrNull(in);
+                    break;
+
+                case "24h":
+                    cumuls[4] = nextFloatOrNull(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return cumuls;
+    }
+
+    private static ProbabilityForecast readProbabilityForecast(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        ProbabilityForecast probability = new ProbabilityForecast();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    probability.dt = nextLong(in, probability.dt);
+                    break;
+
+                case "freezing":
+                    probability.freezing = nextIntOrNull(in);
+                    break;
+
+                case "rain":
+                    if (beginObject(in)) {
+                        probability.rain = new ProbabilityForecast.ProbabilityRain();
+                        Integer[] probas = readProbas(in);
+                        probability.rain.proba3H = probas[0];
+                        probability.rain.proba6H = probas[1];
+                    }
+                    break;
+
+                case "snow":
+                    if (beginObject(in)) {
+                        probability.snow = new ProbabilityForecast.ProbabilitySnow();
+                        Integer[] probas = readProbas(in);
+                        probability.snow.proba3H = probas[0];
+                        probability.snow.proba6H = probas[1];
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return probability;
+    }
+
+    // read the probabilities of an object like {"3h":10,"6h":null} which has begun, and end it.
+    private static Integer[] readProbas(JsonReader in) throws IOException {
+        Integer[] probas = new Integer[2];
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "3h":
+                    probas[0] = nextIntOrNull(in);
+                    break;
+
+                case "6h":
+                    probas[1] = nextIntOrNull(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return probas;
+    }
+}
@@ -0,0 +1,26 @@
+package nowsci.com.temperateweather.weather.json.mf;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Mf type adapter factory.
+ *
+ * Binds the forecast, the largest payload of a refresh, with a streaming adapter instead of
+ * reflection. It is still written by the reflective adapter.
+ * */
+public class MfTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() == MfForecastResult.class) {
+            return (TypeAdapter<T>) new MfForecastResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(MfForecastResult.class))
+            );
+        }
+        return null;
+    }
+}
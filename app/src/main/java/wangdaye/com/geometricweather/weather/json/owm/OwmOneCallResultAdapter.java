@@ -0,0 +1,457 @@
+package nowsci.com.temperateweather.weather.json.owm;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginArray;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.beginObject;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextDouble;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextFloatOrNull;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextInt;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextLong;
+import static nowsci.com.temperateweather.weather.json.StreamingAdapters.nextString;
+
+/**
+ * Owm one call result adapter.
+ *
+ * Reads the fields that {@code OwmResultConverter} uses. The coordinates, the icons, the senders
+ * and ends of the alerts, and the values of the hours and days that the converter only takes
+ * from the current weather, like the pressure or the dew point, are skipped.
+ * */
+public class OwmOneCallResultAdapter extends TypeAdapter<OwmOneCallResult> {
+
+    private final TypeAdapter<OwmOneCallResult> mDelegate;
+
+    OwmOneCallResultAdapter(TypeAdapter<OwmOneCallResult> delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, OwmOneCallResult value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public OwmOneCallResult read(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult result = new OwmOneCallResult();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "timezone":
+                    result.timezone = nextString(in);
+                    break;
+
+                case "current":
+                    result.current = readCurrent(in);
+                    break;
+
+                case "minutely":
+                    if (beginArray(in)) {
+                        result.minutely = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.minutely.add(readMinutely(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                case "hourly":
+                    if (beginArray(in)) {
+                        result.hourly = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.hourly.add(readHourly(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                case "daily":
+                    if (beginArray(in)) {
+                        result.daily = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.daily.add(readDaily(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                case "alerts":
+                    if (beginArray(in)) {
+                        result.alerts = new ArrayList<>();
+                        while (in.hasNext()) {
+                            result.alerts.add(readAlert(in));
+                        }
+                        in.endArray();
+                    }
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return result;
+    }
+
+    private static OwmOneCallResult.Current readCurrent(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Current current = new OwmOneCallResult.Current();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    current.dt = nextLong(in, current.dt);
+                    break;
+
+                case "sunrise":
+                    current.sunrise = nextLong(in, current.sunrise);
+                    break;
+
+                case "sunset":
+                    current.sunset = nextLong(in, current.sunset);
+                    break;
+
+                case "temp":
+                    current.temp = nextDouble(in, current.temp);
+                    break;
+
+                case "feels_like":
+                    current.feelsLike = nextDouble(in, current.feelsLike);
+                    break;
+
+                case "pressure":
+                    current.pressure = nextInt(in, current.pressure);
+                    break;
+
+                case "humidity":
+                    current.humidity = nextInt(in, current.humidity);
+                    break;
+
+                case "dew_point":
+                    current.dewPoint = nextDouble(in, current.dewPoint);
+                    break;
+
+                case "uvi":
+                    current.uvi = nextDouble(in, current.uvi);
+                    break;
+
+                case "clouds":
+                    current.clouds = nextInt(in, current.clouds);
+                    break;
+
+                case "visibility":
+                    current.visibility = nextInt(in, current.visibility);
+                    break;
+
+                case "wind_speed":
+                    current.windSpeed = nextFloatOrNull(in);
+                    break;
+
+                case "wind_deg":
+                    current.windDeg = nextInt(in, current.windDeg);
+                    break;
+
+                case "weather":
+                    current.weather = readWeatherList(in);
+                    break;
+
+                case "rain":
+                    current.rain = readPrecipitation(in);
+                    break;
+
+                case "snow":
+                    current.snow = readPrecipitation(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return current;
+    }
+
+    private static OwmOneCallResult.Minutely readMinutely(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Minutely minutely = new OwmOneCallResult.Minutely();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    minutely.dt = nextLong(in, minutely.dt);
+                    break;
+
+                case "precipitation":
+                    minutely.precipitation = (float) nextDouble(in, minutely.precipitation);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return minutely;
+    }
+
+    private static OwmOneCallResult.Hourly readHourly(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Hourly hourly = new OwmOneCallResult.Hourly();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    hourly.dt = nextLong(in, hourly.dt);
+                    break;
+
+                case "temp":
+                    hourly.temp = nextDouble(in, hourly.temp);
+                    break;
+
+                case "feels_like":
+                    hourly.feelsLike = nextDouble(in, hourly.feelsLike);
+                    break;
+
+                case "uvi":
+                    hourly.uvi = nextDouble(in, hourly.uvi);
+                    break;
+
+                case "wind_speed":
+                    hourly.windSpeed = nextFloatOrNull(in);
+                    break;
+
+                case "wind_deg":
+                    hourly.windDeg = nextInt(in, hourly.windDeg);
+                    break;
+
+                case "weather":
+                    hourly.weather = readWeatherList(in);
+                    break;
+
+                case "pop":
+                    hourly.pop = nextFloatOrNull(in);
+                    break;
+
+                case "rain":
+                    hourly.rain = readPrecipitation(in);
+                    break;
+
+                case "snow":
+                    hourly.snow = readPrecipitation(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return hourly;
+    }
+
+    private static OwmOneCallResult.Daily readDaily(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Daily daily = new OwmOneCallResult.Daily();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "dt":
+                    daily.dt = nextLong(in, daily.dt);
+                    break;
+
+                case "sunrise":
+                    daily.sunrise = nextLong(in, daily.sunrise);
+                    break;
+
+                case "sunset":
+                    daily.sunset = nextLong(in, daily.sunset);
+                    break;
+
+                case "temp":
+                    if (beginObject(in)) {
+                        daily.temp = new OwmOneCallResult.Daily.Temp();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "day":
+                                    daily.temp.day = nextDouble(in, daily.temp.day);
+                                    break;
+
+                                case "night":
+                                    daily.temp.night = nextDouble(in, daily.temp.night);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "feels_like":
+                    if (beginObject(in)) {
+                        daily.feelsLike = new OwmOneCallResult.Daily.FeelsLike();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "day":
+                                    daily.feelsLike.day = nextDouble(in, daily.feelsLike.day);
+                                    break;
+
+                                case "night":
+                                    daily.feelsLike.night = nextDouble(in, daily.feelsLike.night);
+                                    break;
+
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                    }
+                    break;
+
+                case "wind_speed":
+                    daily.windSpeed = nextFloatOrNull(in);
+                    break;
+
+                case "wind_deg":
+                    daily.windDeg = nextInt(in, daily.windDeg);
+                    break;
+
+                case "weather":
+                    daily.weather = readWeatherList(in);
+                    break;
+
+                case "clouds":
+                    daily.clouds = nextInt(in, daily.clouds);
+                    break;
+
+                case "pop":
+                    daily.pop = nextFloatOrNull(in);
+                    break;
+
+                case "rain":
+                    daily.rain = nextFloatOrNull(in);
+                    break;
+
+                case "snow":
+                    daily.snow = nextFloatOrNull(in);
+                    break;
+
+                case "uvi":
+                    daily.uvi = nextDouble(in, daily.uvi);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return daily;
+    }
+
+    private static List<OwmOneCallResult.Weather> readWeatherList(JsonReader in)
+            throws IOException {
+        if (!beginArray(in)) {
+            return null;
+        }
+
+        List<OwmOneCallResult.Weather> list = new ArrayList<>(1);
+        while (in.hasNext()) {
+            OwmOneCallResult.Weather weather = null;
+            if (beginObject(in)) {
+                weather = new OwmOneCallResult.Weather();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "id":
+                            weather.id = nextInt(in, weather.id);
+                            break;
+
+                        case "main":
+                            weather.main = nextString(in);
+                            break;
+
+                        case "description":
+                            weather.description = nextString(in);
+                            break;
+
+                        default:
+                            in.skipValue();
+                            break;
+                    }
+                }
+                in.endObject();
+            }
+            list.add(weather);
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static OwmOneCallResult.Precipitation readPrecipitation(JsonReader in)
+            throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Precipitation precipitation = new OwmOneCallResult.Precipitation();
+        while (in.hasNext()) {
+            if (in.nextName().equals("1h")) {
+                precipitation.cumul1h = nextFloatOrNull(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return precipitation;
+    }
+
+    private static OwmOneCallResult.Alert readAlert(JsonReader in) throws IOException {
+        if (!beginObject(in)) {
+            return null;
+        }
+
+        OwmOneCallResult.Alert alert = new OwmOneCallResult.Alert();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "event":
+                    alert.event = nextString(in);
+                    break;
+
+                case "start":
+                    alert.start = nextLong(in, alert.start);
+                    break;
+
+                case "description":
+                    alert.description = nextString(in);
+                    break;
+
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return alert;
+    }
+}
@@ -0,0 +1,26 @@
+package nowsci.com.temperateweather.weather.json.owm;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Owm type adapter factory.
+ *
+ * Binds the one call result, which carries the current weather and all the forecasts, with a
+ * streaming adapter instead of reflection. It is still written by the reflective adapter.
+ * */
+public class OwmTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() == OwmOneCallResult.class) {
+            return (TypeAdapter<T>) new OwmOneCallResultAdapter(
+                    gson.getDelegateAdapter(this, TypeToken.get(OwmOneCallResult.class))
+            );
+        }
+        return null;
+    }
+}
@@ -19,6 +19,7 @@ import nowsci.com.temperateweather.common.rxjava.SchedulerTransformer;
 import nowsci.com.temperateweather.settings.SettingsManager;
 import nowsci.com.temperateweather.weather.apis.AccuWeatherApi;
 import nowsci.com.temperateweather.weather.converters.AccuResultConverter;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
 import nowsci.com.temperateweather.weather.json.accu.AccuAlertResult;
 import nowsci.com.temperateweather.weather.json.accu.AccuAqiResult;
 import nowsci.com.temperateweather.weather.json.accu.AccuCurrentResult;
@@ -35,6 +36,7 @@ public class AccuWeatherService extends WeatherService {
 
     private final AccuWeatherApi mApi;
     private final CompositeDisposable mCompositeDisposable;
+    private final ConversionMetrics mConversionMetrics;
 
     private static class EmptyMinuteResult extends AccuMinuteResult {
     }
@@ -43,64 +45,92 @@ public class AccuWeatherService extends WeatherService {
     }
 
     @Inject
-    public AccuWeatherService(AccuWeatherApi api, CompositeDisposable disposable) {
+    public AccuWeatherService(AccuWeatherApi api, CompositeDisposable disposable,
+                              ConversionMetrics metrics) {
         mApi = api;
         mCompositeDisposable = disposable;
+        mConversionMetrics = metrics;
     }
 
     @Override
     public void requestWeather(Context context, Location location, @NonNull RequestWeatherCallback callback) {
         String languageCode = SettingsManager.getInstance(context).getLanguage().getCode();
-
-        Observable<List<AccuCurrentResult>> realtime = mApi.getCurrent(
-                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuCurrentKey(), languageCode, true);
-
-        Observable<AccuDailyResult> daily = mApi.getDaily(
-                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true, true);
-
-        Observable<List<AccuHourlyResult>> hourly = mApi.getHourly(
-                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true, true);
-
-        Observable<AccuMinuteResult> minute = mApi.getMinutely(
-                SettingsManager.getInstance(context).getProviderAccuWeatherKey(),
-                languageCode,
-                true,
-                location.getLatitude() + "," + location.getLongitude()
-        ).onExceptionResumeNext(
-                Observable.create(emitter -> emitter.onNext(new EmptyMinuteResult()))
+        ValidatedRefresh refresh = new ValidatedRefresh();
+        SecondaryFallback fallback = new SecondaryFallback(context, location);
+
+        Observable<List<AccuCurrentResult>> realtime = refresh.unwrap(mApi.getCurrent(
+                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuCurrentKey(), languageCode, true));
+
+        Observable<AccuDailyResult> daily = refresh.unwrap(mApi.getDaily(
+                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true, true));
+
+        Observable<List<AccuHourlyResult>> hourly = refresh.unwrap(mApi.getHourly(
+                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true, true));
+
+        Observable<AccuMinuteResult> minute = requestSecondary(
+                refresh.unwrap(mApi.getMinutely(
+                        SettingsManager.getInstance(context).getProviderAccuWeatherKey(),
+                        languageCode,
+                        true,
+                        location.getLatitude() + "," + location.getLongitude()
+                )),
+                fallback,
+                "accu_minutely",
+                SecondaryFallback.Section.MINUTELY,
+                new EmptyMinuteResult(),
+                false
         );
 
-        Observable<List<AccuAlertResult>> alert = mApi.getAlert(
-                location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true);
+        // without recent stored alerts, a failed alert request still fails the refresh, so no alert is hidden.
+        Observable<List<AccuAlertResult>> alert = requestSecondary(
+                refresh.unwrap(mApi.getAlert(
+                        location.getCityId(), SettingsManager.getInstance(context).getProviderAccuWeatherKey(), languageCode, true)),
+                fallback,
+                "accu_alert",
+                SecondaryFallback.Section.ALERTS,
+                new ArrayList<>(),
+                true
+        );
 
-        Observable<AccuAqiResult> aqi = mApi.getAirQuality(
-                location.getCityId(),
-                SettingsManager.getInstance(context).getProviderAccuAqiKey()
-        ).onExceptionResumeNext(
-                Observable.create(emitter -> emitter.onNext(new EmptyAqiResult()))
+        Observable<AccuAqiResult> aqi = requestSecondary(
+                refresh.unwrap(mApi.getAirQuality(
+                        location.getCityId(),
+                        SettingsManager.getInstance(context).getProviderAccuAqiKey()
+                )),
+                fallback,
+                "accu_aqi",
+                SecondaryFallback.Section.AIR_QUALITY,
+                new EmptyAqiResult(),
+                false
         );
 
-        Observable.zip(realtime, daily, hourly, minute, alert, aqi,
+        fallback.readStoredWeatherBefore(Observable.zip(realtime, daily, hourly, minute, alert, aqi,
                 (accuRealtimeResults,
                  accuDailyResult, accuHourlyResults, accuMinuteResult,
                  accuAlertResults,
-                 accuAqiResult) -> AccuResultConverter.convert(
-                         context,
-                         location,
-                         accuRealtimeResults.get(0),
-                         accuDailyResult,
-                         accuHourlyResults,
-                         accuMinuteResult instanceof EmptyMinuteResult ? null : accuMinuteResult,
-                         accuAqiResult instanceof EmptyAqiResult ? null : accuAqiResult,
-                         accuAlertResults
-                 )
-        ).compose(SchedulerTransformer.create())
+                 accuAqiResult) -> fallback.apply(refresh.isNotModified(context, location)
+                        ? WeatherResultWrapper.NOT_MODIFIED
+                        : AccuResultConverter.convert(
+                                context,
+                                location,
+                                accuRealtimeResults.get(0),
+                                accuDailyResult,
+                                accuHourlyResults,
+                                accuMinuteResult instanceof EmptyMinuteResult ? null : accuMinuteResult,
+                                accuAqiResult instanceof EmptyAqiResult ? null : accuAqiResult,
+                                accuAlertResults,
+                                mConversionMetrics
+                        ))
+        )).compose(SchedulerTransformer.create())
                 .subscribe(new ObserverContainer<>(mCompositeDisposable, new BaseObserver<WeatherResultWrapper>() {
                     @Override
                     public void onSucceed(WeatherResultWrapper wrapper) {
-                        if (wrapper.result != null) {
+                        if (wrapper == WeatherResultWrapper.NOT_MODIFIED) {
+                            callback.requestWeatherNotModified(location);
+                        } else if (wrapper.result != null) {
                             callback.requestWeatherSuccess(
-                                    Location.copy(location, wrapper.result)
+                                    Location.copy(location, wrapper.result),
+                                    refresh.getValidators()
                             );
                         } else {
                             onFailed();
@@ -21,6 +21,7 @@ import nowsci.com.temperateweather.common.utils.LanguageUtils;
 import nowsci.com.temperateweather.db.DatabaseHelper;
 import nowsci.com.temperateweather.weather.apis.CaiYunApi;
 import nowsci.com.temperateweather.weather.converters.CaiyunResultConverter;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
 import nowsci.com.temperateweather.weather.json.caiyun.CaiYunForecastResult;
 import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult;
 
@@ -28,17 +29,22 @@ public class CaiYunWeatherService extends WeatherService {
 
     private final CaiYunApi mApi;
     private final CompositeDisposable mCompositeDisposable;
+    private final ConversionMetrics mConversionMetrics;
 
     @Inject
-    public CaiYunWeatherService(CaiYunApi cyApi, CompositeDisposable disposable) {
+    public CaiYunWeatherService(CaiYunApi cyApi, CompositeDisposable disposable,
+                                ConversionMetrics metrics) {
         mApi = cyApi;
         mCompositeDisposable = disposable;
+        mConversionMetrics = metrics;
     }
 
     @Override
     public void requestWeather(Context context,
                                Location location, @NonNull RequestWeatherCallback callback) {
-        Observable<CaiYunMainlyResult> mainly = mApi.getMainlyWeather(
+        ValidatedRefresh refresh = new ValidatedRefresh();
+
+        Observable<CaiYunMainlyResult> mainly = refresh.unwrap(mApi.getMainlyWeather(
                 String.valueOf(location.getLatitude()),
                 String.valueOf(location.getLongitude()),
                 location.isCurrentPosition(),
@@ -53,8 +59,8 @@ public class CaiYunWeatherService extends WeatherService {
                 "gemini",
                 "",
                 "zh_cn"
-        );
-        Observable<CaiYunForecastResult> forecast = mApi.getForecastWeather(
+        ));
+        Observable<CaiYunForecastResult> forecast = refresh.unwrap(mApi.getForecastWeather(
                 String.valueOf(location.getLatitude()),
                 String.valueOf(location.getLongitude()),
                 "zh_cn",
@@ -62,17 +68,21 @@ public class CaiYunWeatherService extends WeatherService {
                 "weather20151024",
                 "weathercn%3A" + location.getCityId(),
                 "zUFJoAR2ZVrDy1vF3D07"
-        );
+        ));
 
-        Observable.zip(mainly, forecast, (mainlyResult, forecastResult) ->
-                CaiyunResultConverter.convert(context, location, mainlyResult, forecastResult)
+        Observable.zip(mainly, forecast, (mainlyResult, forecastResult) -> refresh.isNotModified(context, location)
+                ? WeatherResultWrapper.NOT_MODIFIED
+                : CaiyunResultConverter.convert(context, location, mainlyResult, forecastResult, mConversionMetrics)
         ).compose(SchedulerTransformer.create())
                 .subscribe(new ObserverContainer<>(mCompositeDisposable, new BaseObserver<WeatherResultWrapper>() {
                     @Override
                     public void onSucceed(WeatherResultWrapper wrapper) {
-                        if (wrapper.result != null) {
+                        if (wrapper == WeatherResultWrapper.NOT_MODIFIED) {
+                            callback.requestWeatherNotModified(location);
+                        } else if (wrapper.result != null) {
                             callback.requestWeatherSuccess(
-                                    Location.copy(location, wrapper.result)
+                                    Location.copy(location, wrapper.result),
+                                    refresh.getValidators()
                             );
                         } else {
                             callback.requestWeatherFailed(location);
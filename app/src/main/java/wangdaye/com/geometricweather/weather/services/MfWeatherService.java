@@ -19,6 +19,7 @@ import nowsci.com.temperateweather.common.rxjava.SchedulerTransformer;
 import nowsci.com.temperateweather.settings.SettingsManager;
 import nowsci.com.temperateweather.weather.apis.AtmoAuraIqaApi;
 import nowsci.com.temperateweather.weather.apis.MfWeatherApi;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
 import nowsci.com.temperateweather.weather.converters.MfResultConverter;
 import nowsci.com.temperateweather.weather.json.atmoaura.AtmoAuraQAResult;
 import nowsci.com.temperateweather.weather.json.mf.MfCurrentResult;
@@ -38,6 +39,10 @@ public class MfWeatherService extends WeatherService {
     private final MfWeatherApi mMfApi;
     private final AtmoAuraIqaApi mAtmoAuraApi;
     private final CompositeDisposable mCompositeDisposable;
+    private final ConversionMetrics mConversionMetrics;
+
+    private static class EmptyEphemerisResult extends MfEphemerisResult {
+    }
 
     private static class EmptyAtmoAuraQAResult extends AtmoAuraQAResult {
     }
@@ -45,40 +50,65 @@ public class MfWeatherService extends WeatherService {
     private static class EmptyWarningsResult extends MfWarningsResult {
     }
 
+    private static class EmptyRainResult extends MfRainResult {
+    }
+
     @Inject
     public MfWeatherService(MfWeatherApi mfApi, AtmoAuraIqaApi atmoApi,
-                            CompositeDisposable disposable) {
+                            CompositeDisposable disposable, ConversionMetrics metrics) {
         mMfApi = mfApi;
         mAtmoAuraApi = atmoApi;
         mCompositeDisposable = disposable;
+        mConversionMetrics = metrics;
     }
 
     @Override
     public void requestWeather(Context context, Location location, @NonNull RequestWeatherCallback callback) {
         String languageCode = SettingsManager.getInstance(context).getLanguage().getCode();
+        ValidatedRefresh refresh = new ValidatedRefresh();
+        SecondaryFallback fallback = new SecondaryFallback(context, location);
 
-        Observable<MfCurrentResult> current = mMfApi.getCurrent(
-                location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey());
+        Observable<MfCurrentResult> current = refresh.unwrap(mMfApi.getCurrent(
+                location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey()));
 
-        Observable<MfForecastResult> forecast = mMfApi.getForecast(
-                location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey());
+        Observable<MfForecastResult> forecast = refresh.unwrap(mMfApi.getForecast(
+                location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey()));
 
         // TODO: Will allow us to display forecast for day and night in daily
         //Observable<MfForecastResult> dayNightForecast = api.getForecastInstants(
         //        location.getLatitude(), location.getLongitude(), languageCode, "afternoon,night", SettingsManager.getInstance(context).getProviderMfWsftKey(true));
 
-        Observable<MfEphemerisResult> ephemeris = mMfApi.getEphemeris(
-                location.getLatitude(), location.getLongitude(), "en", SettingsManager.getInstance(context).getProviderMfWsftKey());
         // English required to convert moon phase
+        Observable<MfEphemerisResult> ephemeris = requestSecondary(
+                refresh.unwrap(mMfApi.getEphemeris(
+                        location.getLatitude(), location.getLongitude(), "en", SettingsManager.getInstance(context).getProviderMfWsftKey(),
+                        location.getTimeZone())),
+                fallback,
+                "mf_ephemeris",
+                SecondaryFallback.Section.EPHEMERIS,
+                new EmptyEphemerisResult(),
+                true
+        );
 
-        Observable<MfRainResult> rain = mMfApi.getRain(
-                location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey());
+        Observable<MfRainResult> rain = requestSecondary(
+                refresh.unwrap(mMfApi.getRain(
+                        location.getLatitude(), location.getLongitude(), languageCode, SettingsManager.getInstance(context).getProviderMfWsftKey())),
+                fallback,
+                "mf_rain",
+                SecondaryFallback.Section.MINUTELY,
+                new EmptyRainResult(),
+                false
+        );
 
-        Observable<MfWarningsResult> warnings = mMfApi.getWarnings(
-                location.getProvince(), null, SettingsManager.getInstance(context).getProviderMfWsftKey()
-        ).onExceptionResumeNext(
-                // FIXME: Will not report warnings if current location was searched through AccuWeather search because "province" is not the department
-                Observable.create(emitter -> emitter.onNext(new EmptyWarningsResult()))
+        // FIXME: Will not report warnings if current location was searched through AccuWeather search because "province" is not the department
+        Observable<MfWarningsResult> warnings = requestSecondary(
+                refresh.unwrap(mMfApi.getWarnings(
+                        location.getProvince(), null, SettingsManager.getInstance(context).getProviderMfWsftKey())),
+                fallback,
+                "mf_warnings",
+                SecondaryFallback.Section.ALERTS,
+                new EmptyWarningsResult(),
+                false
         );
 
         Observable<AtmoAuraQAResult> aqiAtmoAura;
@@ -89,35 +119,46 @@ public class MfWeatherService extends WeatherService {
                 || location.getProvince().equals("43") || location.getProvince().equals("63")
                 || location.getProvince().equals("69") || location.getProvince().equals("73")
                 || location.getProvince().equals("74")) {
-            aqiAtmoAura = mAtmoAuraApi.getQAFull(
-                    SettingsManager.getInstance(context).getProviderIqaAtmoAuraKey(),
-                    String.valueOf(location.getLatitude()),
-                    String.valueOf(location.getLongitude())
-            ).onExceptionResumeNext(
-                    Observable.create(emitter -> emitter.onNext(new EmptyAtmoAuraQAResult()))
+            aqiAtmoAura = requestSecondary(
+                    refresh.unwrap(mAtmoAuraApi.getQAFull(
+                            SettingsManager.getInstance(context).getProviderIqaAtmoAuraKey(),
+                            String.valueOf(location.getLatitude()),
+                            String.valueOf(location.getLongitude())
+                    )),
+                    fallback,
+                    "atmo_aura_aqi",
+                    SecondaryFallback.Section.AIR_QUALITY,
+                    new EmptyAtmoAuraQAResult(),
+                    false
             );
         } else {
             aqiAtmoAura = Observable.create(emitter -> emitter.onNext(new EmptyAtmoAuraQAResult()));
         }
 
-        Observable.zip(current, forecast, ephemeris, rain, warnings, aqiAtmoAura,
-                (mfCurrentResult, mfForecastResult, mfEphemerisResult, mfRainResult, mfWarningResults, aqiAtmoAuraResult) -> MfResultConverter.convert(
-                        context,
-                        location,
-                        mfCurrentResult,
-                        mfForecastResult,
-                        mfEphemerisResult,
-                        mfRainResult,
-                        mfWarningResults,
-                        aqiAtmoAuraResult instanceof EmptyAtmoAuraQAResult ? null : aqiAtmoAuraResult
-                )
-        ).compose(SchedulerTransformer.create())
+        fallback.readStoredWeatherBefore(Observable.zip(current, forecast, ephemeris, rain, warnings, aqiAtmoAura,
+                (mfCurrentResult, mfForecastResult, mfEphemerisResult, mfRainResult, mfWarningResults, aqiAtmoAuraResult) -> fallback.apply(refresh.isNotModified(context, location)
+                        ? WeatherResultWrapper.NOT_MODIFIED
+                        : MfResultConverter.convert(
+                                context,
+                                location,
+                                mfCurrentResult,
+                                mfForecastResult,
+                                mfEphemerisResult instanceof EmptyEphemerisResult ? null : mfEphemerisResult,
+                                mfRainResult instanceof EmptyRainResult ? null : mfRainResult,
+                                mfWarningResults,
+                                aqiAtmoAuraResult instanceof EmptyAtmoAuraQAResult ? null : aqiAtmoAuraResult,
+                                mConversionMetrics
+                        ))
+        )).compose(SchedulerTransformer.create())
                 .subscribe(new ObserverContainer<>(mCompositeDisposable, new BaseObserver<WeatherResultWrapper>() {
                     @Override
                     public void onSucceed(WeatherResultWrapper wrapper) {
-                        if (wrapper.result != null) {
+                        if (wrapper == WeatherResultWrapper.NOT_MODIFIED) {
+                            callback.requestWeatherNotModified(location);
+                        } else if (wrapper.result != null) {
                             callback.requestWeatherSuccess(
-                                    Location.copy(location, wrapper.result)
+                                    Location.copy(location, wrapper.result),
+                                    refresh.getValidators()
                             );
                         } else {
                             onFailed();
@@ -18,6 +18,7 @@ import nowsci.com.temperateweather.common.rxjava.ObserverContainer;
 import nowsci.com.temperateweather.common.rxjava.SchedulerTransformer;
 import nowsci.com.temperateweather.settings.SettingsManager;
 import nowsci.com.temperateweather.weather.apis.OwmApi;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
 import nowsci.com.temperateweather.weather.converters.OwmResultConverter;
 import nowsci.com.temperateweather.weather.json.owm.OwmAirPollutionResult;
 import nowsci.com.temperateweather.weather.json.owm.OwmLocationResult;
@@ -31,50 +32,69 @@ public class OwmWeatherService extends WeatherService {
 
     private final OwmApi mApi;
     private final CompositeDisposable mCompositeDisposable;
+    private final ConversionMetrics mConversionMetrics;
 
     private static class EmptyAqiResult extends OwmAirPollutionResult {
     }
 
     @Inject
-    public OwmWeatherService(OwmApi api, CompositeDisposable disposable) {
+    public OwmWeatherService(OwmApi api, CompositeDisposable disposable,
+                             ConversionMetrics metrics) {
         mApi = api;
         mCompositeDisposable = disposable;
+        mConversionMetrics = metrics;
     }
 
     @Override
     public void requestWeather(Context context, Location location, @NonNull RequestWeatherCallback callback) {
         String languageCode = SettingsManager.getInstance(context).getLanguage().getCode();
-
-        Observable<OwmOneCallResult> oneCall = mApi.getOneCall(
-                SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude(), "metric", languageCode);
-
-        Observable<OwmAirPollutionResult> airPollutionCurrent = mApi.getAirPollutionCurrent(
-                SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude()
-        ).onExceptionResumeNext(
-                Observable.create(emitter -> emitter.onNext(new EmptyAqiResult()))
+        ValidatedRefresh refresh = new ValidatedRefresh();
+        SecondaryFallback fallback = new SecondaryFallback(context, location);
+
+        Observable<OwmOneCallResult> oneCall = refresh.unwrap(mApi.getOneCall(
+                SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude(), "metric", languageCode));
+
+        Observable<OwmAirPollutionResult> airPollutionCurrent = requestSecondary(
+                refresh.unwrap(mApi.getAirPollutionCurrent(
+                        SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude())),
+                fallback,
+                "owm_air_pollution_current",
+                SecondaryFallback.Section.AIR_QUALITY,
+                new EmptyAqiResult(),
+                false
         );
 
-        Observable<OwmAirPollutionResult> airPollutionForecast = mApi.getAirPollutionForecast(
-                SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude()
-        ).onExceptionResumeNext(
-                Observable.create(emitter -> emitter.onNext(new EmptyAqiResult()))
+        Observable<OwmAirPollutionResult> airPollutionForecast = requestSecondary(
+                refresh.unwrap(mApi.getAirPollutionForecast(
+                        SettingsManager.getInstance(context).getProviderOwmKey(), location.getLatitude(), location.getLongitude())),
+                fallback,
+                "owm_air_pollution_forecast",
+                SecondaryFallback.Section.AIR_QUALITY,
+                new EmptyAqiResult(),
+                false
         );
 
-        Observable.zip(oneCall, airPollutionCurrent, airPollutionForecast,
-                (owmOneCallResult, owmAirPollutionCurrentResult, owmAirPollutionForecastResult) -> OwmResultConverter.convert(
-                        context,
-                        location,
-                        owmOneCallResult,
-                        owmAirPollutionCurrentResult instanceof EmptyAqiResult ? null : owmAirPollutionCurrentResult,
-                        owmAirPollutionForecastResult instanceof EmptyAqiResult ? null : owmAirPollutionForecastResult
-                )
-        ).compose(SchedulerTransformer.create())
+        fallback.readStoredWeatherBefore(Observable.zip(oneCall, airPollutionCurrent, airPollutionForecast,
+                (owmOneCallResult, owmAirPollutionCurrentResult, owmAirPollutionForecastResult) -> fallback.apply(refresh.isNotModified(context, location)
+                        ? WeatherResultWrapper.NOT_MODIFIED
+                        : OwmResultConverter.convert(
+                                context,
+                                location,
+                                owmOneCallResult,
+                                owmAirPollutionCurrentResult instanceof EmptyAqiResult ? null : owmAirPollutionCurrentResult,
+                                owmAirPollutionForecastResult instanceof EmptyAqiResult ? null : owmAirPollutionForecastResult,
+                                mConversionMetrics
+                        ))
+        )).compose(SchedulerTransformer.create())
                 .subscribe(new ObserverContainer<>(mCompositeDisposable, new BaseObserver<WeatherResultWrapper>() {
                     @Override
                     public void onSucceed(WeatherResultWrapper wrapper) {
-                        if (wrapper.result != null) {
+                        if (wrapper == WeatherResultWrapper.NOT_MODIFIED) {
+                            callback.requestWeatherNotModified(location);
+                        } else if (wrapper.result != null) {
                             callback.requestWeatherSuccess(
-                                    Location.copy(location, wrapper.result)
+                                    Location.copy(location, wrapper.result),
+                                    refresh.getValidators()
                             );
                         } else {
                             onFailed();
@@ -0,0 +1,235 @@
+package nowsci.com.temperateweather.weather.services;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.weather.Current;
+import nowsci.com.temperateweather.common.basic.models.weather.Daily;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.db.DatabaseHelper;
+import nowsci.com.temperateweather.settings.ConfigStore;
+
+/**
+ * Secondary fallback.
+ *
+ * Stands in for the secondary endpoints of one refresh, such as alerts, air quality or
+ * precipitation nowcasts, which failed or missed their deadline. Their sections are taken from
+ * the weather stored for the location once the result has been converted, as long as the
+ * endpoint last answered within the max age of the section. The stored weather and the time of
+ * the last answer are both persisted, so a refresh in a new process, like a background one, can
+ * still fall back.
+ * */
+
+public class SecondaryFallback {
+
+    enum Section {
+        MINUTELY(30),
+        ALERTS(3 * 60),
+        AIR_QUALITY(6 * 60),
+        EPHEMERIS(6 * 60);
+
+        final long maxAge;
+
+        Section(long maxAgeMinutes) {
+            maxAge = TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+        }
+    }
+
+    private final Context mContext;
+    private final Location mLocation;
+    private final Set<Section> mReplacedSections;
+    private final Set<String> mAnsweredEndpoints;
+    // read before the requests are sent, see readStoredWeatherBefore(Observable).
+    @Nullable private volatile Weather mStoredWeather;
+
+    private static final String PREFERENCE_SECONDARY_FALLBACK = "SECONDARY_FALLBACK";
+
+    SecondaryFallback(@NonNull Context context, @NonNull Location location) {
+        mContext = context.getApplicationContext();
+        mLocation = location;
+        mReplacedSections = Collections.synchronizedSet(EnumSet.noneOf(Section.class));
+        mAnsweredEndpoints = Collections.synchronizedSet(new HashSet<>());
+        mStoredWeather = null;
+    }
+
+    /**
+     * @return the refresh, subscribed once the stored weather has been read on an io thread. The
+     * fallback then never reads the database on the threads of the http client, which run the
+     * error handlers of the requests and the combiner of their results.
+     * */
+    @NonNull
+    <T> Observable<T> readStoredWeatherBefore(@NonNull Observable<T> refresh) {
+        return Observable.fromCallable(() -> {
+            mStoredWeather = DatabaseHelper.getInstance(mContext).readWeather(mLocation);
+            return true;
+        }).subscribeOn(Schedulers.io()).flatMap(read -> refresh);
+    }
+
+    void onAnswered(@NonNull String endpoint) {
+        mAnsweredEndpoints.add(endpoint);
+    }
+
+    /**
+     * @return true if the section of the failed endpoint can be taken from the stored weather.
+     * It is replaced by {@link #apply(WeatherService.WeatherResultWrapper)}.
+     * */
+    boolean replace(@NonNull String endpoint, @NonNull Section section) {
+        long answerTime = ConfigStore.getInstance(mContext, PREFERENCE_SECONDARY_FALLBACK)
+                .getLong(getKey(endpoint), 0);
+        if (System.currentTimeMillis() - answerTime > section.maxAge || mStoredWeather == null) {
+            return false;
+        }
+        mReplacedSections.add(section);
+        return true;
+    }
+
+    /**
+     * Record the endpoints which answered and replace the sections of the failed ones in the
+     * converted weather.
+     * */
+    @NonNull
+    WeatherService.WeatherResultWrapper apply(@NonNull WeatherService.WeatherResultWrapper wrapper) {
+        if (wrapper != WeatherService.WeatherResultWrapper.NOT_MODIFIED && wrapper.result == null) {
+            return wrapper;
+        }
+        synchronized (mAnsweredEndpoints) {
+            if (!mAnsweredEndpoints.isEmpty()) {
+                long time = System.currentTimeMillis();
+                ConfigStore.Editor editor = ConfigStore.getInstance(
+                        mContext, PREFERENCE_SECONDARY_FALLBACK).edit();
+                for (String endpoint : mAnsweredEndpoints) {
+                    editor.putLong(getKey(endpoint), time);
+                }
+                editor.apply();
+            }
+        }
+
+        Weather weather = wrapper.result;
+        Weather stored = mStoredWeather;
+        if (weather == null || stored == null || mReplacedSections.isEmpty()) {
+            return wrapper;
+        }
+
+        Current current = weather.getCurrent();
+        if (mReplacedSections.contains(Section.AIR_QUALITY)) {
+            current = new Current(
+                    current.getWeatherText(),
+                    current.getWeatherCode(),
+                    current.getTemperature(),
+                    current.getPrecipitation(),
+                    current.getPrecipitationProbability(),
+                    current.getWind(),
+                    current.getUV(),
+                    stored.getCurrent().getAirQuality(),
+                    current.getRelativeHumidity(),
+                    current.getPressure(),
+                    current.getVisibility(),
+                    current.getDewPoint(),
+                    current.getCloudCover(),
+                    current.getCeiling(),
+                    current.getDailyForecast(),
+                    current.getHourlyForecast()
+            );
+        }
+
+        return new WeatherService.WeatherResultWrapper(new Weather(
+                weather.getBase(),
+                current,
+                weather.getYesterday(),
+                getDailyList(weather.getDailyForecast(), stored.getDailyForecast()),
+                weather.getHourlyForecast(),
+                mReplacedSections.contains(Section.MINUTELY)
+                        ? getMinutelyList(stored.getMinutelyForecast())
+                        : weather.getMinutelyForecast(),
+                mReplacedSections.contains(Section.ALERTS)
+                        ? new ArrayList<>(stored.getAlertList())
+                        : weather.getAlertList()
+        ));
+    }
+
+    // the days are matched by their time, a day which is not stored keeps its own values.
+    @NonNull
+    private List<Daily> getDailyList(@NonNull List<Daily> dailyList, @NonNull List<Daily> storedList) {
+        boolean airQuality = mReplacedSections.contains(Section.AIR_QUALITY);
+        boolean ephemeris = mReplacedSections.contains(Section.EPHEMERIS);
+        if (!airQuality && !ephemeris) {
+            return dailyList;
+        }
+
+        Map<Long, Daily> storedMap = new HashMap<>(storedList.size() * 2);
+        for (Daily daily : storedList) {
+            storedMap.put(daily.getTime(), daily);
+        }
+        List<Daily> list = new ArrayList<>(dailyList.size());
+        for (Daily daily : dailyList) {
+            Daily stored = storedMap.get(daily.getTime());
+            if (stored == null) {
+                list.add(daily);
+                continue;
+            }
+            list.add(new Daily(
+                    daily.getDate(),
+                    daily.getTime(),
+                    daily.day(),
+                    daily.night(),
+                    daily.sun(),
+                    daily.moon(),
+                    ephemeris ? stored.getMoonPhase() : daily.getMoonPhase(),
+                    airQuality ? stored.getAirQuality() : daily.getAirQuality(),
+                    daily.getPollen(),
+                    daily.getUV(),
+                    daily.getHoursOfSun()
+            ));
+        }
+        return list;
+    }
+
+    // the stored minutes which have passed are dropped.
+    @NonNull
+    private static List<Minutely> getMinutelyList(@NonNull List<Minutely> storedList) {
+        long now = System.currentTimeMillis();
+        List<Minutely> list = new ArrayList<>(storedList.size());
+        for (Minutely minutely : storedList) {
+            if (minutely.getTime() + TimeUnit.MINUTES.toMillis(minutely.getMinuteInterval()) > now) {
+                list.add(minutely);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Forget when the endpoints answered for the location.
+     * */
+    public static void clear(Context context, @NonNull Location location) {
+        ConfigStore config = ConfigStore.getInstance(context, PREFERENCE_SECONDARY_FALLBACK);
+        ConfigStore.Editor editor = config.edit();
+        for (String key : config.getKeys()) {
+            if (key.substring(key.indexOf('&') + 1).equals(location.getFormattedId())) {
+                editor.remove(key);
+            }
+        }
+        editor.apply();
+    }
+
+    // the endpoints never contain "&".
+    @NonNull
+    private String getKey(@NonNull String endpoint) {
+        return endpoint + "&" + mLocation.getFormattedId();
+    }
+}
@@ -0,0 +1,143 @@
+package nowsci.com.temperateweather.weather.services;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.settings.ConfigStore;
+import nowsci.com.temperateweather.weather.WeatherRequestCoalescer;
+import okio.ByteString;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Validated refresh.
+ *
+ * Unwraps the responses of one weather refresh and counts the ones whose data has not changed
+ * since the previous refresh: the provider answered the conditional request of the http cache
+ * with 304 not modified, or the cached response is still fresh.
+ *
+ * The http cache stores a body as soon as it has been read, even if the refresh then fails to
+ * convert or to store it. So the validators of the responses, their etag or last modified time,
+ * are stored with the weather that was converted from them, and the stored weather only counts
+ * as current if the validators of an unchanged refresh are the same.
+ * */
+public class ValidatedRefresh {
+
+    private final AtomicInteger mRequestCount;
+    private final AtomicInteger mNotModifiedCount;
+    // validator of every answered endpoint, by url.
+    private final Map<String, String> mValidators;
+
+    private static final String PREFERENCE_REFRESH_VALIDATORS = "REFRESH_VALIDATORS";
+
+    ValidatedRefresh() {
+        mRequestCount = new AtomicInteger();
+        mNotModifiedCount = new AtomicInteger();
+        mValidators = new TreeMap<>();
+    }
+
+    /**
+     * Same as requesting the body directly: an unsuccessful response or an empty body is emitted
+     * as an {@link HttpException}.
+     * */
+    @NonNull
+    <T> Observable<T> unwrap(@NonNull Observable<Response<T>> request) {
+        mRequestCount.incrementAndGet();
+        return request.map(response -> {
+            T body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new HttpException(response);
+            }
+            okhttp3.Response raw = response.raw();
+            synchronized (mValidators) {
+                mValidators.put(raw.request().url().toString(), getValidator(raw));
+            }
+            if (isNotModified(raw)) {
+                mNotModifiedCount.incrementAndGet();
+            }
+            return body;
+        });
+    }
+
+    /**
+     * @return true if every unwrapped request returned unchanged data, and the location still
+     * carries the weather that was converted from it.
+     * */
+    boolean isNotModified(@NonNull Context context, @NonNull Location location) {
+        int requestCount = mRequestCount.get();
+        return location.getWeather() != null
+                && requestCount > 0
+                && mNotModifiedCount.get() == requestCount
+                && getValidators().equals(
+                        ConfigStore.getInstance(context, PREFERENCE_REFRESH_VALIDATORS).getString(
+                                WeatherRequestCoalescer.getKey(location), null
+                        )
+                );
+    }
+
+    /**
+     * @return fingerprint of the validators of all answered endpoints. The urls carry the keys
+     * of the providers, so only their hash is kept.
+     * */
+    @NonNull
+    String getValidators() {
+        StringBuilder builder = new StringBuilder();
+        synchronized (mValidators) {
+            for (Map.Entry<String, String> entry : mValidators.entrySet()) {
+                builder.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+        }
+        return ByteString.encodeUtf8(builder.toString()).sha256().hex();
+    }
+
+    /**
+     * Record the validators of the refresh which produced the weather that has just been written
+     * for the location.
+     * */
+    public static void onWeatherWritten(Context context, @NonNull Location location,
+                                        @Nullable String validators) {
+        ConfigStore.Editor editor = ConfigStore.getInstance(
+                context, PREFERENCE_REFRESH_VALIDATORS).edit();
+        if (validators == null) {
+            editor.remove(WeatherRequestCoalescer.getKey(location));
+        } else {
+            editor.putString(WeatherRequestCoalescer.getKey(location), validators);
+        }
+        editor.apply();
+    }
+
+    public static void clear(Context context, @NonNull Location location) {
+        onWeatherWritten(context, location, null);
+    }
+
+    // a response without etag or last modified time can only come from the cache without a
+    // conditional request, the date of the cached response tells its body apart then.
+    @NonNull
+    private static String getValidator(@NonNull okhttp3.Response response) {
+        String validator = response.header("ETag");
+        if (validator == null) {
+            validator = response.header("Last-Modified");
+        }
+        if (validator == null) {
+            validator = response.header("Date");
+        }
+        return validator == null ? "" : validator;
+    }
+
+    private static boolean isNotModified(@NonNull okhttp3.Response response) {
+        okhttp3.Response networkResponse = response.networkResponse();
+        if (networkResponse == null) {
+            return response.cacheResponse() != null;
+        }
+        return networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+}
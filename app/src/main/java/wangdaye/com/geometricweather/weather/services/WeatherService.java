@@ -8,7 +8,9 @@ import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.Observable;
 import nowsci.com.temperateweather.common.basic.models.weather.Weather;
 import nowsci.com.temperateweather.common.utils.LanguageUtils;
 import nowsci.com.temperateweather.common.basic.models.Location;
@@ -19,7 +21,14 @@ import nowsci.com.temperateweather.common.basic.models.Location;
 
 public abstract class WeatherService {
 
+    // deadline of the secondary endpoints, the primary ones keep the timeouts of the http client.
+    private static final long SECONDARY_TIMEOUT_SECONDS = 5;
+
     public static class WeatherResultWrapper {
+
+        // the provider data has not changed since the weather of the location was converted.
+        static final WeatherResultWrapper NOT_MODIFIED = new WeatherResultWrapper(null);
+
         final Weather result;
 
         public WeatherResultWrapper(@Nullable Weather weather) {
@@ -28,7 +37,12 @@ public abstract class WeatherService {
     }
 
     public interface RequestWeatherCallback {
-        void requestWeatherSuccess(@NonNull Location requestLocation);
+        /**
+         * @param validators fingerprint of the responses the weather was converted from, see
+         *                   {@link ValidatedRefresh}.
+         * */
+        void requestWeatherSuccess(@NonNull Location requestLocation, @Nullable String validators);
+        void requestWeatherNotModified(@NonNull Location requestLocation);
         void requestWeatherFailed(@NonNull Location requestLocation);
     }
 
@@ -49,6 +63,31 @@ public abstract class WeatherService {
 
     public abstract void cancel();
 
+    /**
+     * Let a secondary endpoint fail without failing the whole refresh. If the request fails or
+     * misses its deadline, emit the empty result. The section of the endpoint is then taken from
+     * the stored weather by the fallback, if the endpoint answered recently enough. A required
+     * endpoint which cannot fall back emits the error.
+     *
+     * @param endpoint name of the endpoint, unique among all weather services.
+     * */
+    protected static <T> Observable<T> requestSecondary(@NonNull Observable<T> request,
+                                                        @NonNull SecondaryFallback fallback,
+                                                        @NonNull String endpoint,
+                                                        @NonNull SecondaryFallback.Section section,
+                                                        @NonNull T emptyResult,
+                                                        boolean required) {
+        return request
+                .timeout(SECONDARY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .doOnNext(result -> fallback.onAnswered(endpoint))
+                .onErrorResumeNext(throwable -> {
+                    if (fallback.replace(endpoint, section) || !required) {
+                        return Observable.just(emptyResult);
+                    }
+                    return Observable.error(throwable);
+                });
+    }
+
     protected static String formatLocationString(String str) {
         if (TextUtils.isEmpty(str)) {
             return "";
@@ -0,0 +1,73 @@
+package basic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+
+/**
+ * Benchmarks.
+ *
+ * Helpers of the benchmark tests: loads the recorded provider payloads, times a piece of code and
+ * prints the timings. They depend on the load of the machine, so they are never asserted.
+ * */
+public class Benchmarks {
+
+    // keeps the results of the measured code alive, so the jit cannot drop the code.
+    private static volatile Object sSink;
+
+    /**
+     * @param name path of the payload in the payloads directory of the test resources.
+     * */
+    public static byte[] readPayload(String name) throws IOException {
+        InputStream stream = Benchmarks.class.getClassLoader().getResourceAsStream("payloads/" + name);
+        if (stream == null) {
+            throw new IOException("no recorded payload: " + name);
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8 * 1024];
+            for (int count; (count = stream.read(buffer)) != -1; ) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * @see #readPayload(String)
+     * */
+    public static String payload(String name) throws IOException {
+        return new String(readPayload(name), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Run the round as many times to warm up, then as many times again to time it.
+     *
+     * @return average nanoseconds of one round.
+     * */
+    public static long measure(int rounds, Callable<?> round) {
+        try {
+            for (int i = 0; i < rounds; i ++) {
+                sSink = round.call();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i ++) {
+                sSink = round.call();
+            }
+            return (System.nanoTime() - start) / rounds;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void report(String title, String... lines) {
+        System.out.println(title + ":");
+        for (String line : lines) {
+            System.out.println("    " + line);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package basic;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Builds provider-sized json payloads, in the shape of the samples recorded in the json models.
+ * */
+public class ProviderPayloads {
+
+    public static final int ACCU_DAILY_COUNT = 15;
+    public static final int ACCU_HOURLY_COUNT = 240;
+
+    private static final long START_EPOCH = 1482361200L;
+    private static final long HOUR = 60 * 60;
+    private static final long DAY = 24 * HOUR;
+
+    private static final String LINK = "http://www.accuweather.com/zh/cn/qingdao/106573/"
+            + "daily-weather-forecast/106573?day=1&unit=c&lang=zh-cn";
+
+    public static String accuHourly() {
+        StringBuilder builder = new StringBuilder(ACCU_HOURLY_COUNT * 1500);
+        builder.append('[');
+        for (int i = 0; i < ACCU_HOURLY_COUNT; i ++) {
+            long epoch = START_EPOCH + i * HOUR;
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"DateTime\":\"").append(dateTime(epoch)).append('"')
+                    .append(",\"EpochDateTime\":").append(epoch)
+                    .append(",\"WeatherIcon\":").append(1 + i % 7)
+                    .append(",\"IconPhrase\":\"多云转阴\"")
+                    .append(",\"IsDaylight\":").append(i % 24 >= 6 && i % 24 < 18)
+                    .append(",\"Temperature\":").append(value(4.1 + i % 10, "C", 17))
+                    .append(",\"RealFeelTemperature\":").append(value(2.5 + i % 10, "C", 17))
+                    .append(",\"RealFeelTemperatureShade\":").append(value(2.1 + i % 10, "C", 17))
+                    .append(",\"WetBulbTemperature\":").append(value(1.3 + i % 10, "C", 17))
+                    .append(",\"PrecipitationProbability\":").append(i % 50)
+                    .append(",\"ThunderstormProbability\":0")
+                    .append(",\"RainProbability\":").append(i % 50)
+                    .append(",\"SnowProbability\":0")
+                    .append(",\"IceProbability\":0")
+                    .append(",\"Wind\":").append(wind(12.9 + i % 5, 337))
+                    .append(",\"WindGust\":").append(wind(24.1 + i % 5, 339))
+                    .append(",\"UVIndex\":").append(i % 6)
+                    .append(",\"UVIndexText\":\"低\"")
+                    .append(",\"TotalLiquid\":").append(value(0.1 * (i % 3), "mm", 3))
+                    .append(",\"Rain\":").append(value(0.1 * (i % 3), "mm", 3))
+                    .append(",\"Snow\":").append(value(0, "cm", 4))
+                    .append(",\"Ice\":").append(value(0, "mm", 3))
+                    .append(",\"MobileLink\":\"").append(LINK).append('"')
+                    .append(",\"Link\":\"").append(LINK).append("\"}");
+        }
+        return builder.append(']').toString();
+    }
+
+    public static String accuDaily() {
+        StringBuilder builder = new StringBuilder(ACCU_DAILY_COUNT * 4000);
+        builder.append("{\"Headline\":{\"EffectiveDate\":\"").append(dateTime(START_EPOCH)).append('"')
+                .append(",\"EffectiveEpochDate\":").append(START_EPOCH)
+                .append(",\"Severity\":7,\"Text\":\"从星期四上午至星期五下午有微风\",\"Category\":\"wind\"")
+                .append(",\"EndDate\":\"").append(dateTime(START_EPOCH + DAY)).append('"')
+                .append(",\"EndEpochDate\":").append(START_EPOCH + DAY)
+                .append(",\"MobileLink\":\"").append(LINK).append('"')
+                .append(",\"Link\":\"").append(LINK).append("\"}")
+                .append(",\"DailyForecasts\":[");
+        for (int i = 0; i < ACCU_DAILY_COUNT; i ++) {
+            long epoch = START_EPOCH + i * DAY;
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"Date\":\"").append(dateTime(epoch)).append('"')
+                    .append(",\"EpochDate\":").append(epoch)
+                    .append(",\"Sun\":{\"Rise\":\"").append(dateTime(epoch + 360)).append('"')
+                    .append(",\"EpochRise\":").append(epoch + 360)
+                    .append(",\"Set\":\"").append(dateTime(epoch + 35340)).append('"')
+                    .append(",\"EpochSet\":").append(epoch + 35340).append('}')
+                    .append(",\"Moon\":{\"Rise\":\"").append(dateTime(epoch - 23580)).append('"')
+                    .append(",\"EpochRise\":").append(epoch - 23580)
+                    .append(",\"Set\":\"").append(dateTime(epoch + 20340)).append('"')
+                    .append(",\"EpochSet\":").append(epoch + 20340)
+                    .append(",\"Phase\":\"WaningCrescent\",\"Age\":").append(23 + i % 5).append('}')
+                    .append(",\"Temperature\":").append(range(-1 + i % 4, 5 + i % 4))
+                    .append(",\"RealFeelTemperature\":").append(range(-10.2, -2))
+                    .append(",\"RealFeelTemperatureShade\":").append(range(-10.2, -2))
+                    .append(",\"HoursOfSun\":4.8")
+                    .append(",\"DegreeDaySummary\":{\"Heating\":").append(value(16, "C", 17))
+                    .append(",\"Cooling\":").append(value(0, "C", 17)).append('}')
+                    .append(",\"AirAndPollen\":[")
+                    .append("{\"Name\":\"AirQuality\",\"Value\":0,\"Category\":\"较适宜\",\"CategoryValue\":1,\"Type\":\"臭氧\"},")
+                    .append("{\"Name\":\"Grass\",\"Value\":0,\"Category\":\"低\",\"CategoryValue\":1},")
+                    .append("{\"Name\":\"Mold\",\"Value\":0,\"Category\":\"低\",\"CategoryValue\":1},")
+                    .append("{\"Name\":\"Ragweed\",\"Value\":0,\"Category\":\"低\",\"CategoryValue\":1},")
+                    .append("{\"Name\":\"Tree\",\"Value\":0,\"Category\":\"低\",\"CategoryValue\":1},")
+                    .append("{\"Name\":\"UVIndex\",\"Value\":2,\"Category\":\"低\",\"CategoryValue\":1}]")
+                    .append(",\"Day\":").append(halfDay(7, "多云", 25, 66))
+                    .append(",\"Night\":").append(halfDay(35, "多云转阴", 1, 11))
+                    .append(",\"Sources\":[\"AccuWeatherService\",\"Huafeng\"]")
+                    .append(",\"MobileLink\":\"").append(LINK).append('"')
+                    .append(",\"Link\":\"").append(LINK).append("\"}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String halfDay(int icon, String phrase, int probability, int cloudCover) {
+        return "{\"Icon\":" + icon + ",\"IconPhrase\":\"" + phrase + "\""
+                + ",\"LocalSource\":{\"Id\":7,\"Name\":\"Huafeng\",\"WeatherCode\":\"02\"}"
+                + ",\"ShortPhrase\":\"" + phrase + "\",\"LongPhrase\":\"" + phrase + "\""
+                + ",\"PrecipitationProbability\":" + probability
+                + ",\"ThunderstormProbability\":0,\"RainProbability\":" + probability
+                + ",\"SnowProbability\":0,\"IceProbability\":0"
+                + ",\"Wind\":" + wind(31.5, 337)
+                + ",\"WindGust\":" + wind(40.7, 339)
+                + ",\"TotalLiquid\":" + value(0, "mm", 3)
+                + ",\"Rain\":" + value(0, "mm", 3)
+                + ",\"Snow\":" + value(0, "cm", 4)
+                + ",\"Ice\":" + value(0, "mm", 3)
+                + ",\"HoursOfPrecipitation\":0,\"HoursOfRain\":0,\"HoursOfSnow\":0,\"HoursOfIce\":0"
+                + ",\"CloudCover\":" + cloudCover + "}";
+    }
+
+    private static String wind(double speed, int degrees) {
+        return "{\"Speed\":" + value(speed, "km/h", 7)
+                + ",\"Direction\":{\"Degrees\":" + degrees
+                + ",\"Localized\":\"西北偏北\",\"English\":\"NNW\"}}";
+    }
+
+    private static String range(double minimum, double maximum) {
+        return "{\"Minimum\":" + value(minimum, "C", 17) + ",\"Maximum\":" + value(maximum, "C", 17) + "}";
+    }
+
+    private static String value(double value, String unit, int unitType) {
+        return "{\"Value\":" + Math.round(value * 10) / 10.0
+                + ",\"Unit\":\"" + unit + "\",\"UnitType\":" + unitType + "}";
+    }
+
+    private static String dateTime(long epoch) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'+08:00'");
+        format.setTimeZone(TimeZone.getTimeZone("Asia/Shanghai"));
+        return format.format(new Date(epoch * 1000));
+    }
+}
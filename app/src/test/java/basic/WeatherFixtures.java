@@ -0,0 +1,167 @@
+package basic;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.AirQuality;
+import nowsci.com.temperateweather.common.basic.models.weather.Alert;
+import nowsci.com.temperateweather.common.basic.models.weather.Astro;
+import nowsci.com.temperateweather.common.basic.models.weather.Base;
+import nowsci.com.temperateweather.common.basic.models.weather.Current;
+import nowsci.com.temperateweather.common.basic.models.weather.Daily;
+import nowsci.com.temperateweather.common.basic.models.weather.HalfDay;
+import nowsci.com.temperateweather.common.basic.models.weather.History;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.MoonPhase;
+import nowsci.com.temperateweather.common.basic.models.weather.Pollen;
+import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
+import nowsci.com.temperateweather.common.basic.models.weather.PrecipitationDuration;
+import nowsci.com.temperateweather.common.basic.models.weather.PrecipitationProbability;
+import nowsci.com.temperateweather.common.basic.models.weather.Temperature;
+import nowsci.com.temperateweather.common.basic.models.weather.UV;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherCode;
+import nowsci.com.temperateweather.common.basic.models.weather.Wind;
+import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+
+/**
+ * Builds provider-sized weather data for database and model benchmarks.
+ * */
+public class WeatherFixtures {
+
+    public static final int DAILY_COUNT = 15;
+    public static final int HOURLY_COUNT = 240;
+    public static final int MINUTELY_COUNT = 120;
+    public static final int ALERT_COUNT = 2;
+
+    private static final long HOUR = 60 * 60 * 1000;
+    private static final long DAY = 24 * HOUR;
+
+    public static Location location(int index, WeatherSource source) {
+        return new Location(
+                "city_" + index,
+                30f + index * 0.1f,
+                120f + index * 0.1f,
+                TimeZone.getTimeZone("Asia/Shanghai"),
+                "country", "province", "city_" + index, "district",
+                null,
+                source,
+                false,
+                false,
+                false
+        );
+    }
+
+    public static Weather weather(String cityId, long startTime) {
+        long dayStart = startTime - startTime % DAY;
+
+        List<Daily> dailyList = new ArrayList<>(DAILY_COUNT);
+        for (int i = 0; i < DAILY_COUNT; i ++) {
+            long time = dayStart + i * DAY;
+            dailyList.add(new Daily(
+                    new Date(time), time,
+                    halfDay(20 + i % 5), halfDay(10 + i % 5),
+                    new Astro(new Date(time + 6 * HOUR), new Date(time + 18 * HOUR)),
+                    new Astro(new Date(time + 20 * HOUR), new Date(time + 30 * HOUR)),
+                    new MoonPhase(i * 12, "waxing"),
+                    new AirQuality("good", 40, 12f, 20f, 3f, 8f, 30f, 0.4f),
+                    new Pollen(1, 1, "low", 1, 1, "low", 1, 1, "low", 1, 1, "low"),
+                    new UV(3, "moderate", null),
+                    8f
+            ));
+        }
+
+        List<Hourly> hourlyList = new ArrayList<>(HOURLY_COUNT);
+        for (int i = 0; i < HOURLY_COUNT; i ++) {
+            long time = startTime + i * HOUR;
+            hourlyList.add(hourly(time, 15 + i % 10));
+        }
+
+        List<Minutely> minutelyList = new ArrayList<>(MINUTELY_COUNT);
+        for (int i = 0; i < MINUTELY_COUNT; i ++) {
+            long time = startTime + i * 60 * 1000L;
+            minutelyList.add(new Minutely(
+                    new Date(time), time, true,
+                    "rain", WeatherCode.RAIN,
+                    1, 20 + i % 10, 80
+            ));
+        }
+
+        List<Alert> alertList = new ArrayList<>(ALERT_COUNT);
+        for (int i = 0; i < ALERT_COUNT; i ++) {
+            alertList.add(new Alert(
+                    i, new Date(startTime), startTime,
+                    "alert " + i, "content " + i, "rain", i, 0xffff0000
+            ));
+        }
+
+        return new Weather(
+                new Base(
+                        cityId, startTime,
+                        new Date(startTime), startTime,
+                        new Date(startTime), startTime
+                ),
+                new Current(
+                        "cloudy", WeatherCode.CLOUDY,
+                        temperature(18),
+                        precipitation(0.5f),
+                        precipitationProbability(30f),
+                        wind(12f),
+                        new UV(3, "moderate", null),
+                        new AirQuality("good", 40, 12f, 20f, 3f, 8f, 30f, 0.4f),
+                        70f, 1013f, 10f, 12, 60, 1200f,
+                        "daily forecast", "hourly forecast"
+                ),
+                new History(new Date(dayStart - DAY), dayStart - DAY, 21, 11),
+                dailyList,
+                hourlyList,
+                minutelyList,
+                alertList
+        );
+    }
+
+    public static Hourly hourly(long time, int temperature) {
+        return new Hourly(
+                new Date(time), time, true,
+                "cloudy", WeatherCode.CLOUDY,
+                temperature(temperature),
+                precipitation(0.2f),
+                precipitationProbability(20f),
+                wind(10f),
+                new UV(2, "low", null)
+        );
+    }
+
+    private static HalfDay halfDay(int temperature) {
+        return new HalfDay(
+                "cloudy", "cloudy", WeatherCode.CLOUDY,
+                temperature(temperature),
+                precipitation(1.5f),
+                precipitationProbability(40f),
+                new PrecipitationDuration(1f, 0f, 1f, 0f, 0f),
+                wind(14f),
+                50
+        );
+    }
+
+    private static Temperature temperature(int temperature) {
+        return new Temperature(temperature, temperature - 1, temperature - 2, temperature, null, null, null);
+    }
+
+    private static Precipitation precipitation(float total) {
+        return new Precipitation(total, 0f, total, 0f, 0f);
+    }
+
+    private static PrecipitationProbability precipitationProbability(float total) {
+        return new PrecipitationProbability(total, 0f, total, 0f, 0f);
+    }
+
+    private static Wind wind(float speed) {
+        return new Wind("N", new WindDegree(0f, false), speed, "3");
+    }
+}
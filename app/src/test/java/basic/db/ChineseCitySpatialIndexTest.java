@@ -0,0 +1,122 @@
+package basic.db;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import basic.Benchmarks;
+import nowsci.com.temperateweather.db.indexes.ChineseCitySpatialIndex;
+
+public class ChineseCitySpatialIndexTest {
+
+    private static final int CITY_COUNT = 3216;
+    private static final int QUERY_COUNT = 20000;
+
+    @Test
+    public void matchesLinearScan() {
+        Random random = new Random(3216);
+        String[] latitudes = new String[CITY_COUNT];
+        String[] longitudes = new String[CITY_COUNT];
+        fillCities(random, latitudes, longitudes);
+
+        ChineseCitySpatialIndex index = buildIndex(latitudes, longitudes);
+        for (int i = 0; i < QUERY_COUNT; i ++) {
+            float lat = randomLatitude(random);
+            float lon = randomLongitude(random);
+            Assert.assertEquals(linearScan(latitudes, longitudes, lat, lon), index.nearest(lat, lon));
+        }
+    }
+
+    @Test
+    public void resolvesTiesLikeLinearScan() {
+        String[] latitudes = new String[] {"30.0", "31.0", "30.0", "31.0"};
+        String[] longitudes = new String[] {"120.0", "120.0", "120.0", "121.0"};
+
+        ChineseCitySpatialIndex index = buildIndex(latitudes, longitudes);
+        Assert.assertEquals(0, index.nearest(30.0, 120.0));
+        Assert.assertEquals(linearScan(latitudes, longitudes, 30.5f, 120.0f), index.nearest(30.5f, 120.0f));
+        Assert.assertEquals(-1, new ChineseCitySpatialIndex(new double[0], new double[0]).nearest(0, 0));
+    }
+
+    @Test
+    public void benchmark() {
+        Random random = new Random(42);
+        String[] latitudes = new String[CITY_COUNT];
+        String[] longitudes = new String[CITY_COUNT];
+        fillCities(random, latitudes, longitudes);
+
+        float[] queryLatitudes = new float[QUERY_COUNT];
+        float[] queryLongitudes = new float[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i ++) {
+            queryLatitudes[i] = randomLatitude(random);
+            queryLongitudes[i] = randomLongitude(random);
+        }
+
+        long buildCost = Benchmarks.measure(1, () -> buildIndex(latitudes, longitudes));
+        ChineseCitySpatialIndex index = buildIndex(latitudes, longitudes);
+
+        long linearCost = Benchmarks.measure(1, () -> {
+            long checksum = 0;
+            for (int i = 0; i < QUERY_COUNT; i ++) {
+                checksum += linearScan(latitudes, longitudes, queryLatitudes[i], queryLongitudes[i]);
+            }
+            return checksum;
+        });
+        long indexCost = Benchmarks.measure(1, () -> {
+            long checksum = 0;
+            for (int i = 0; i < QUERY_COUNT; i ++) {
+                checksum += index.nearest(queryLatitudes[i], queryLongitudes[i]);
+            }
+            return checksum;
+        });
+
+        Benchmarks.report(
+                "nearest of " + CITY_COUNT + " cities",
+                "build index: " + buildCost / 1000 + " us",
+                "linear scan: " + linearCost / QUERY_COUNT + " ns/query",
+                "k-d tree:    " + indexCost / QUERY_COUNT + " ns/query"
+        );
+    }
+
+    private static void fillCities(Random random, String[] latitudes, String[] longitudes) {
+        for (int i = 0; i < latitudes.length; i ++) {
+            latitudes[i] = String.valueOf(randomLatitude(random));
+            longitudes[i] = String.valueOf(randomLongitude(random));
+        }
+    }
+
+    private static float randomLatitude(Random random) {
+        return 18f + random.nextFloat() * 35f;
+    }
+
+    private static float randomLongitude(Random random) {
+        return 73f + random.nextFloat() * 62f;
+    }
+
+    private static ChineseCitySpatialIndex buildIndex(String[] latitudes, String[] longitudes) {
+        double[] lats = new double[latitudes.length];
+        double[] lons = new double[longitudes.length];
+        for (int i = 0; i < latitudes.length; i ++) {
+            lats[i] = Double.parseDouble(latitudes[i]);
+            lons[i] = Double.parseDouble(longitudes[i]);
+        }
+        return new ChineseCitySpatialIndex(lats, lons);
+    }
+
+    // same algorithm as the query of the chinese city table the index replaced.
+    private static int linearScan(String[] latitudes, String[] longitudes,
+                                  float latitude, float longitude) {
+        int minIndex = -1;
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < latitudes.length; i ++) {
+            double distance = Math.pow(latitude - Double.parseDouble(latitudes[i]), 2)
+                    + Math.pow(longitude - Double.parseDouble(longitudes[i]), 2);
+            if (distance < minDistance) {
+                minIndex = i;
+                minDistance = distance;
+            }
+        }
+        return minIndex;
+    }
+}
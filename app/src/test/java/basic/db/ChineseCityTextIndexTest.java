@@ -0,0 +1,142 @@
+package basic.db;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import basic.Benchmarks;
+import nowsci.com.temperateweather.db.indexes.ChineseCityTextIndex;
+
+public class ChineseCityTextIndexTest {
+
+    private static final int CITY_COUNT = 3216;
+    private static final int QUERY_COUNT = 5000;
+
+    private static final String CHARACTERS = "北京上海天津重庆河南山东江西湖广州市区县新城阳安宁平德";
+
+    @Test
+    public void matchesLinearScan() {
+        Random random = new Random(3216);
+        String[][] fields = randomFields(random);
+        ChineseCityTextIndex index = new ChineseCityTextIndex(fields[0], fields[1], fields[2]);
+
+        for (int i = 0; i < QUERY_COUNT; i ++) {
+            String key = randomName(random, 1 + random.nextInt(3));
+            Assert.assertArrayEquals(key, linearSearch(fields, key), index.search(key));
+
+            int field = random.nextInt(3);
+            int otherField = random.nextInt(3);
+            String value = fields[field][random.nextInt(CITY_COUNT)];
+            String otherValue = random.nextBoolean()
+                    ? fields[otherField][random.nextInt(CITY_COUNT)]
+                    : key;
+            Assert.assertEquals(linearFirst(fields, field, value, -1, null), index.first(field, value));
+            Assert.assertEquals(
+                    linearFirst(fields, field, value, otherField, otherValue),
+                    index.first(field, value, otherField, otherValue)
+            );
+        }
+    }
+
+    @Test
+    public void ignoresCaseOfAscii() {
+        ChineseCityTextIndex index = new ChineseCityTextIndex(
+                new String[] {"Beijing", "Hong Kong", "Macao"},
+                new String[] {"Beijing", "Hong Kong", "Macao"},
+                new String[] {"Chaoyang", "Kowloon", "Taipa"}
+        );
+        Assert.assertArrayEquals(new int[] {0}, index.search("JING"));
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, index.search("O"));
+        Assert.assertArrayEquals(new int[0], index.search("kongs"));
+        Assert.assertArrayEquals(new int[0], index.search(""));
+        Assert.assertEquals(-1, index.first(ChineseCityTextIndex.FIELD_CITY, "beijing"));
+    }
+
+    @Test
+    public void benchmark() {
+        Random random = new Random(42);
+        String[][] fields = randomFields(random);
+        String[] keys = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i ++) {
+            keys[i] = randomName(random, 1 + random.nextInt(3));
+        }
+
+        long buildCost = Benchmarks.measure(
+                1, () -> new ChineseCityTextIndex(fields[0], fields[1], fields[2]));
+        ChineseCityTextIndex index = new ChineseCityTextIndex(fields[0], fields[1], fields[2]);
+
+        long linearCost = Benchmarks.measure(1, () -> {
+            long checksum = 0;
+            for (String key : keys) {
+                checksum += linearSearch(fields, key).length;
+            }
+            return checksum;
+        });
+        long indexCost = Benchmarks.measure(1, () -> {
+            long checksum = 0;
+            for (String key : keys) {
+                checksum += index.search(key).length;
+            }
+            return checksum;
+        });
+
+        Benchmarks.report(
+                "search of " + CITY_COUNT + " cities",
+                "build index: " + buildCost / 1000 + " us",
+                "linear scan: " + linearCost / QUERY_COUNT + " ns/query",
+                "n-gram:      " + indexCost / QUERY_COUNT + " ns/query"
+        );
+    }
+
+    private static String[][] randomFields(Random random) {
+        String[][] fields = new String[3][CITY_COUNT];
+        for (int i = 0; i < CITY_COUNT; i ++) {
+            // cities of the same province and city are stored next to each other.
+            fields[0][i] = i > 0 && random.nextInt(100) > 0 ? fields[0][i - 1] : randomName(random, 2);
+            fields[1][i] = i > 0 && random.nextInt(10) > 0 ? fields[1][i - 1] : randomName(random, 2 + random.nextInt(2));
+            fields[2][i] = randomName(random, 2 + random.nextInt(3));
+        }
+        return fields;
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i ++) {
+            builder.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+        }
+        return builder.toString();
+    }
+
+    // same algorithm as the LIKE '%name%' query of the chinese city table.
+    private static int[] linearSearch(String[][] fields, String key) {
+        String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < CITY_COUNT; i ++) {
+            if (fields[2][i].toLowerCase(Locale.ROOT).contains(lowerCaseKey)
+                    || fields[1][i].toLowerCase(Locale.ROOT).contains(lowerCaseKey)
+                    || fields[0][i].toLowerCase(Locale.ROOT).contains(lowerCaseKey)) {
+                indices.add(i);
+            }
+        }
+        int[] result = new int[indices.size()];
+        for (int i = 0; i < result.length; i ++) {
+            result[i] = indices.get(i);
+        }
+        return result;
+    }
+
+    private static int linearFirst(String[][] fields, int field, String value,
+                                   int otherField, String otherValue) {
+        for (int i = 0; i < CITY_COUNT; i ++) {
+            if (value.equals(fields[field][i])
+                    && (otherField < 0 || otherValue.equals(fields[otherField][i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,193 @@
+package basic.db;
+
+import android.app.Application;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Hourly;
+import nowsci.com.temperateweather.common.basic.models.weather.Minutely;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.db.controllers.ForecastSeriesEntityController;
+import nowsci.com.temperateweather.db.controllers.HourlyEntityController;
+import nowsci.com.temperateweather.db.controllers.MinutelyEntityController;
+import nowsci.com.temperateweather.db.entities.DaoMaster;
+import nowsci.com.temperateweather.db.entities.DaoSession;
+import nowsci.com.temperateweather.db.entities.ForecastSeriesEntity;
+import nowsci.com.temperateweather.db.generators.ForecastSeriesEntityGenerator;
+import nowsci.com.temperateweather.db.generators.HourlyEntityGenerator;
+import nowsci.com.temperateweather.db.generators.MinutelyEntityGenerator;
+
+/**
+ * Compares one row per hourly / minutely item with one forecast series blob per location.
+ * */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class ForecastSeriesBenchmarkTest {
+
+    private static final String CITY_ID = "city_0";
+    private static final WeatherSource SOURCE = WeatherSource.ACCU;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void seriesRoundTrip() {
+        DaoSession session = newSession("forecast_series_round_trip.db");
+        Weather weather = WeatherFixtures.weather(CITY_ID, System.currentTimeMillis());
+
+        writeSeries(session, weather);
+        ForecastSeriesEntity entity = ForecastSeriesEntityController.selectForecastSeriesEntity(
+                session, CITY_ID, SOURCE);
+        List<Hourly> hourlyList = ForecastSeriesEntityGenerator.generateHourlyList(entity);
+        List<Minutely> minutelyList = ForecastSeriesEntityGenerator.generateMinutelyList(entity);
+
+        Assert.assertNotNull(hourlyList);
+        Assert.assertNotNull(minutelyList);
+        Assert.assertEquals(weather.getHourlyForecast().size(), hourlyList.size());
+        Assert.assertEquals(weather.getMinutelyForecast().size(), minutelyList.size());
+        for (int i = 0; i < hourlyList.size(); i ++) {
+            Hourly expected = weather.getHourlyForecast().get(i);
+            Hourly actual = hourlyList.get(i);
+            Assert.assertEquals(expected.getTime(), actual.getTime());
+            Assert.assertEquals(expected.getDate(), actual.getDate());
+            Assert.assertEquals(expected.getWeatherCode(), actual.getWeatherCode());
+            Assert.assertEquals(expected.getTemperature().getTemperature(), actual.getTemperature().getTemperature());
+            Assert.assertEquals(expected.getTemperature().getRealFeelShaderTemperature(),
+                    actual.getTemperature().getRealFeelShaderTemperature());
+            Assert.assertEquals(expected.getPrecipitation().getTotal(), actual.getPrecipitation().getTotal());
+            Assert.assertEquals(expected.getWind().getSpeed(), actual.getWind().getSpeed());
+            Assert.assertEquals(expected.getUV().getIndex(), actual.getUV().getIndex());
+            Assert.assertEquals(expected.getUV().getDescription(), actual.getUV().getDescription());
+        }
+        for (int i = 0; i < minutelyList.size(); i ++) {
+            Minutely expected = weather.getMinutelyForecast().get(i);
+            Minutely actual = minutelyList.get(i);
+            Assert.assertEquals(expected.getTime(), actual.getTime());
+            Assert.assertEquals(expected.getDbz(), actual.getDbz());
+            Assert.assertEquals(expected.getCloudCover(), actual.getCloudCover());
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        Weather weather = WeatherFixtures.weather(CITY_ID, System.currentTimeMillis());
+
+        DaoSession rowSession = newSession("forecast_rows_benchmark.db");
+        DaoSession seriesSession = newSession("forecast_series_benchmark.db");
+
+        // warm up.
+        writeRows(rowSession, weather);
+        readRows(rowSession);
+        writeSeries(seriesSession, weather);
+        readSeries(seriesSession, true);
+
+        long rowWrite = 0;
+        long rowRead = 0;
+        long seriesWrite = 0;
+        long seriesRead = 0;
+        long seriesLazyRead = 0;
+        for (int i = 0; i < ROUNDS; i ++) {
+            long start = System.nanoTime();
+            writeRows(rowSession, weather);
+            rowWrite += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            readRows(rowSession);
+            rowRead += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            writeSeries(seriesSession, weather);
+            seriesWrite += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            readSeries(seriesSession, true);
+            seriesRead += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            readSeries(seriesSession, false);
+            seriesLazyRead += System.nanoTime() - start;
+        }
+
+        System.out.println("rows:   write " + rowWrite / ROUNDS / 1000 + " us"
+                + ", read " + rowRead / ROUNDS / 1000 + " us");
+        System.out.println("series: write " + seriesWrite / ROUNDS / 1000 + " us"
+                + ", read " + seriesRead / ROUNDS / 1000 + " us"
+                + ", read first day only " + seriesLazyRead / ROUNDS / 1000 + " us");
+    }
+
+    private static DaoSession newSession(String name) {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(name);
+        return new DaoMaster(new DaoMaster.DevOpenHelper(context, name).getWritableDb()).newSession();
+    }
+
+    private static void writeRows(DaoSession session, Weather weather) {
+        session.callInTxNoException(() -> {
+            HourlyEntityController.deleteHourlyEntityList(session, CITY_ID, SOURCE);
+            MinutelyEntityController.deleteMinutelyEntityList(session, CITY_ID, SOURCE);
+            HourlyEntityController.insertHourlyList(
+                    session,
+                    HourlyEntityGenerator.generateEntityList(CITY_ID, SOURCE, weather.getHourlyForecast())
+            );
+            MinutelyEntityController.insertMinutelyList(
+                    session,
+                    MinutelyEntityGenerator.generate(CITY_ID, SOURCE, weather.getMinutelyForecast())
+            );
+            return true;
+        });
+    }
+
+    private static void readRows(DaoSession session) {
+        // drop the cached entities, so the rows are read from the database every time.
+        session.getHourlyEntityDao().detachAll();
+        session.getMinutelyEntityDao().detachAll();
+        List<Hourly> hourlyList = HourlyEntityGenerator.generateModuleList(
+                HourlyEntityController.selectHourlyEntityList(session, CITY_ID, SOURCE));
+        List<Minutely> minutelyList = MinutelyEntityGenerator.generate(
+                MinutelyEntityController.selectMinutelyEntityList(session, CITY_ID, SOURCE));
+        Assert.assertEquals(WeatherFixtures.HOURLY_COUNT, hourlyList.size());
+        Assert.assertEquals(WeatherFixtures.MINUTELY_COUNT, minutelyList.size());
+    }
+
+    private static void writeSeries(DaoSession session, Weather weather) {
+        session.callInTxNoException(() -> {
+            ForecastSeriesEntityController.deleteForecastSeriesEntity(session, CITY_ID, SOURCE);
+            ForecastSeriesEntityController.insertForecastSeriesEntity(
+                    session,
+                    ForecastSeriesEntityGenerator.generate(CITY_ID, SOURCE, weather)
+            );
+            return true;
+        });
+    }
+
+    // the main page only shows the first day of the hourly forecast, so the rest can stay encoded.
+    private static void readSeries(DaoSession session, boolean all) {
+        // drop the cached entity, so the blob is read from the database every time.
+        session.getForecastSeriesEntityDao().detachAll();
+        ForecastSeriesEntity entity = ForecastSeriesEntityController.selectForecastSeriesEntity(
+                session, CITY_ID, SOURCE);
+        List<Hourly> hourlyList = ForecastSeriesEntityGenerator.generateHourlyList(entity);
+        List<Minutely> minutelyList = ForecastSeriesEntityGenerator.generateMinutelyList(entity);
+        Assert.assertNotNull(hourlyList);
+        Assert.assertNotNull(minutelyList);
+
+        int hourlyCount = all ? hourlyList.size() : Math.min(24, hourlyList.size());
+        for (int i = 0; i < hourlyCount; i ++) {
+            Assert.assertNotNull(hourlyList.get(i));
+        }
+        if (all) {
+            for (Minutely minutely : minutelyList) {
+                Assert.assertNotNull(minutely);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package basic.db;
+
+import android.app.Application;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.db.DatabaseHelper;
+
+/**
+ * Measures {@link DatabaseHelper#readWeather(Location)} and
+ * {@link DatabaseHelper#deleteWeather(Location)} with different numbers of stored locations.
+ * */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class WeatherDatabaseBenchmarkTest {
+
+    private static final int[] LOCATION_COUNTS = new int[] {1, 10, 50};
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void readAndDeleteWeather() {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        long now = System.currentTimeMillis();
+
+        for (int count : LOCATION_COUNTS) {
+            List<Location> locationList = new ArrayList<>(count);
+            for (int i = 0; i < count; i ++) {
+                locationList.add(WeatherFixtures.location(i, WeatherSource.ACCU));
+            }
+
+            long readCost = 0;
+            long deleteCost = 0;
+            for (int round = 0; round < ROUNDS; round ++) {
+                for (Location location : locationList) {
+                    helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), now));
+                }
+
+                // always measure the last written location, so it has to be found among the others.
+                Location target = locationList.get(locationList.size() - 1);
+
+                long start = System.nanoTime();
+                Assert.assertNotNull(helper.readWeather(target));
+                readCost += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                helper.deleteWeather(target);
+                deleteCost += System.nanoTime() - start;
+                Assert.assertNull(helper.readWeather(target));
+
+                for (Location location : locationList) {
+                    helper.deleteWeather(location);
+                }
+            }
+
+            System.out.println(
+                    count + " locations: readWeather " + readCost / ROUNDS / 1000 + " us"
+                            + ", deleteWeather " + deleteCost / ROUNDS / 1000 + " us"
+            );
+        }
+    }
+
+    @Test
+    public void cachedReadWeather() {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        Location location = WeatherFixtures.location(0, WeatherSource.ACCU);
+        helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), System.currentTimeMillis()));
+
+        int hitCount = helper.getWeatherCacheHitCount();
+        int missCount = helper.getWeatherCacheMissCount();
+
+        long start = System.nanoTime();
+        Weather weather = helper.readWeather(location);
+        long missCost = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Weather cached = helper.readWeather(location);
+        long hitCost = System.nanoTime() - start;
+
+        Assert.assertNotNull(weather);
+        Assert.assertSame(weather, cached);
+        Assert.assertEquals(missCount + 1, helper.getWeatherCacheMissCount());
+        Assert.assertEquals(hitCount + 1, helper.getWeatherCacheHitCount());
+        System.out.println("readWeather: miss " + missCost / 1000 + " us, hit " + hitCost / 1000 + " us");
+
+        // writing and deleting must drop the cached weather.
+        helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), System.currentTimeMillis()));
+        Assert.assertNotSame(weather, helper.readWeather(location));
+        helper.deleteWeather(location);
+        Assert.assertNull(helper.readWeather(location));
+    }
+
+    @Test
+    public void readWeatherList() {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        long now = System.currentTimeMillis();
+
+        List<Location> locationList = new ArrayList<>();
+        for (int i = 0; i < 12; i ++) {
+            locationList.add(WeatherFixtures.location(i, i % 2 == 0 ? WeatherSource.ACCU : WeatherSource.OWM));
+        }
+        // a location without weather.
+        locationList.add(WeatherFixtures.location(100, WeatherSource.MF));
+
+        long singleCost = 0;
+        long batchCost = 0;
+        for (int round = 0; round < ROUNDS; round ++) {
+            // writing drops the cached weather, so both reads have to query the database.
+            for (Location location : locationList.subList(0, locationList.size() - 1)) {
+                helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), now));
+            }
+            long start = System.nanoTime();
+            List<Weather> expected = new ArrayList<>();
+            for (Location location : locationList) {
+                expected.add(helper.readWeather(location));
+            }
+            singleCost += System.nanoTime() - start;
+
+            for (Location location : locationList.subList(0, locationList.size() - 1)) {
+                helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), now));
+            }
+            start = System.nanoTime();
+            List<Weather> actual = helper.readWeatherList(locationList);
+            batchCost += System.nanoTime() - start;
+
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertNull(actual.get(actual.size() - 1));
+            for (int i = 0; i < expected.size() - 1; i ++) {
+                Assert.assertEquals(expected.get(i).getBase().getCityId(), actual.get(i).getBase().getCityId());
+                Assert.assertEquals(expected.get(i).getDailyForecast().size(), actual.get(i).getDailyForecast().size());
+                Assert.assertEquals(expected.get(i).getHourlyForecast().size(), actual.get(i).getHourlyForecast().size());
+                Assert.assertEquals(expected.get(i).getAlertList().size(), actual.get(i).getAlertList().size());
+                Assert.assertEquals(expected.get(i).getYesterday() == null, actual.get(i).getYesterday() == null);
+            }
+        }
+
+        for (Location location : locationList) {
+            helper.deleteWeather(location);
+        }
+        System.out.println(
+                locationList.size() + " locations: readWeather loop " + singleCost / ROUNDS / 1000 + " us"
+                        + ", readWeatherList " + batchCost / ROUNDS / 1000 + " us"
+        );
+    }
+
+    @Test
+    public void readWeatherWhileWriting() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        long now = System.currentTimeMillis();
+
+        Location target = WeatherFixtures.location(0, WeatherSource.ACCU);
+        List<Location> writingList = new ArrayList<>();
+        for (int i = 1; i <= 10; i ++) {
+            writingList.add(WeatherFixtures.location(i, WeatherSource.ACCU));
+        }
+        helper.writeWeather(target, WeatherFixtures.weather(target.getCityId(), now));
+
+        long[] idleCosts = new long[ROUNDS * 10];
+        for (int i = 0; i < idleCosts.length; i ++) {
+            helper.writeWeather(target, WeatherFixtures.weather(target.getCityId(), now));
+            long start = System.nanoTime();
+            Assert.assertNotNull(helper.readWeather(target));
+            idleCosts[i] = System.nanoTime() - start;
+        }
+
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < ROUNDS; round ++) {
+                for (Location location : writingList) {
+                    helper.writeWeather(location, WeatherFixtures.weather(location.getCityId(), now));
+                }
+            }
+        });
+        writer.start();
+
+        List<Long> busyCosts = new ArrayList<>();
+        Weather weather = helper.readWeather(target);
+        while (writer.isAlive()) {
+            // writing the same weather again drops the cache, so the next read hits the database.
+            helper.writeWeather(target, weather);
+            long start = System.nanoTime();
+            Assert.assertNotNull(helper.readWeather(target));
+            busyCosts.add(System.nanoTime() - start);
+        }
+        writer.join();
+
+        for (Location location : writingList) {
+            helper.deleteWeather(location);
+        }
+        helper.deleteWeather(target);
+
+        long[] costs = new long[busyCosts.size()];
+        for (int i = 0; i < costs.length; i ++) {
+            costs[i] = busyCosts.get(i);
+        }
+        System.out.println("readWeather without writes: " + percentiles(idleCosts));
+        System.out.println("readWeather while writing:  " + percentiles(costs));
+    }
+
+    @Test
+    public void readConsistentWeatherWhileRewriting() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        Location location = WeatherFixtures.location(0, WeatherSource.ACCU);
+        long now = System.currentTimeMillis();
+        long day = 24 * 60 * 60 * 1000L;
+
+        Weather[] weathers = new Weather[] {
+                WeatherFixtures.weather(location.getCityId(), now),
+                WeatherFixtures.weather(location.getCityId(), now + day)
+        };
+        helper.writeWeather(location, weathers[0]);
+
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < ROUNDS * 10; round ++) {
+                helper.writeWeather(location, weathers[round % 2]);
+            }
+        });
+        writer.start();
+
+        // every read returns the rows of one weather, never a mix of two writes.
+        int reads = 0;
+        while (writer.isAlive() || reads == 0) {
+            Weather stored = helper.readWeather(location);
+            Assert.assertNotNull(stored);
+            long timeStamp = stored.getBase().getTimeStamp();
+            Assert.assertEquals(
+                    timeStamp - timeStamp % day,
+                    stored.getDailyForecast().get(0).getTime()
+            );
+            Assert.assertEquals(timeStamp, stored.getHourlyForecast().get(0).getTime());
+            reads ++;
+        }
+        writer.join();
+        helper.deleteWeather(location);
+    }
+
+    @Test
+    public void rewriteWeather() {
+        Context context = ApplicationProvider.getApplicationContext();
+        DatabaseHelper helper = DatabaseHelper.getInstance(context);
+        Location location = WeatherFixtures.location(0, WeatherSource.ACCU);
+        long now = System.currentTimeMillis();
+        long day = 24 * 60 * 60 * 1000L;
+
+        Weather weather = WeatherFixtures.weather(location.getCityId(), now);
+        helper.writeWeather(location, weather);
+
+        long sameCost = 0;
+        long shiftedCost = 0;
+        for (int round = 0; round < ROUNDS; round ++) {
+            long start = System.nanoTime();
+            helper.writeWeather(location, weather);
+            sameCost += System.nanoTime() - start;
+
+            // one day passed, so the first day drops out of the window and a new day comes in.
+            Weather shifted = WeatherFixtures.weather(location.getCityId(), now + (round + 1) * day);
+            start = System.nanoTime();
+            helper.writeWeather(location, shifted);
+            shiftedCost += System.nanoTime() - start;
+
+            Weather stored = helper.readWeather(location);
+            Assert.assertNotNull(stored);
+            Assert.assertEquals(WeatherFixtures.DAILY_COUNT, stored.getDailyForecast().size());
+            Assert.assertEquals(
+                    shifted.getDailyForecast().get(0).getTime(),
+                    stored.getDailyForecast().get(0).getTime()
+            );
+            Assert.assertEquals(WeatherFixtures.ALERT_COUNT, stored.getAlertList().size());
+        }
+        helper.deleteWeather(location);
+
+        System.out.println("writeWeather: unchanged " + sameCost / ROUNDS / 1000 + " us"
+                + ", shifted by one day " + shiftedCost / ROUNDS / 1000 + " us");
+    }
+
+    private static String percentiles(long[] costs) {
+        if (costs.length == 0) {
+            return "no samples";
+        }
+        Arrays.sort(costs);
+        return "p50 " + costs[costs.length / 2] / 1000 + " us"
+                + ", p90 " + costs[costs.length * 9 / 10] / 1000 + " us"
+                + ", max " + costs[costs.length - 1] / 1000 + " us"
+                + " (" + costs.length + " reads)";
+    }
+}
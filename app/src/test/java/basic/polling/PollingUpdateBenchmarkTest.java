@@ -0,0 +1,209 @@
+package basic.polling;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import basic.Benchmarks;
+import basic.WeatherFixtures;
+import io.reactivex.disposables.CompositeDisposable;
+import nowsci.com.temperateweather.background.polling.PollingUpdateHelper;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.db.DatabaseHelper;
+import nowsci.com.temperateweather.location.LocationHelper;
+import nowsci.com.temperateweather.weather.WeatherHelper;
+import nowsci.com.temperateweather.weather.WeatherRequestCoalescer;
+import nowsci.com.temperateweather.weather.WeatherServiceSet;
+import nowsci.com.temperateweather.weather.services.WeatherService;
+
+/**
+ * Refreshes locations of every weather source through {@link PollingUpdateHelper} with a weather
+ * service that answers after a fixed latency, once one location after another and once in
+ * parallel.
+ * */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class PollingUpdateBenchmarkTest {
+
+    private static final int LOCATION_COUNT = 12;
+    private static final long LATENCY_MILLIS = 200;
+    private static final long TIMEOUT_MILLIS = 30 * 1000;
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        List<Location> locationList = new ArrayList<>(LOCATION_COUNT);
+        for (int i = 0; i < LOCATION_COUNT; i ++) {
+            locationList.add(WeatherFixtures.location(
+                    i, WeatherSource.values()[i % WeatherSource.values().length]));
+        }
+        DatabaseHelper.getInstance(context).writeLocationList(locationList);
+
+        long sequentialCost = poll(context, locationList, 1);
+        long parallelCost = poll(context, locationList, PollingUpdateHelper.DEFAULT_MAX_PARALLELISM);
+
+        Benchmarks.report(
+                LOCATION_COUNT + " locations, " + LATENCY_MILLIS + " ms per request",
+                "one after another: " + sequentialCost + " ms",
+                PollingUpdateHelper.DEFAULT_MAX_PARALLELISM + " at once:        " + parallelCost + " ms"
+        );
+    }
+
+    private static long poll(Context context,
+                             List<Location> locationList,
+                             int maxParallelism) throws InterruptedException {
+        for (Location location : locationList) {
+            DatabaseHelper.getInstance(context).deleteWeather(location);
+        }
+
+        FakeWeatherService service = new FakeWeatherService();
+        WeatherServiceSet serviceSet = Mockito.mock(WeatherServiceSet.class);
+        Mockito.when(serviceSet.get(ArgumentMatchers.any())).thenReturn(service);
+        Mockito.when(serviceSet.getAll()).thenReturn(new WeatherService[] {service});
+
+        PollingUpdateHelper helper = new PollingUpdateHelper(
+                context,
+                Mockito.mock(LocationHelper.class),
+                new WeatherHelper(
+                        serviceSet,
+                        new CompositeDisposable(),
+                        new WeatherRequestCoalescer()
+                ),
+                maxParallelism,
+                PollingUpdateHelper.DEFAULT_MAX_REQUESTS_PER_SOURCE
+        );
+        RecordingListener listener = new RecordingListener();
+        helper.setOnPollingUpdateListener(listener);
+
+        long start = System.currentTimeMillis();
+        helper.pollingUpdate();
+        while (listener.completedList == null) {
+            Assert.assertTrue(System.currentTimeMillis() - start < TIMEOUT_MILLIS);
+            Shadows.shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(5);
+        }
+        long cost = System.currentTimeMillis() - start;
+
+        // results are reported in the order of the location list, no matter when they arrived.
+        Assert.assertEquals(LOCATION_COUNT, listener.reportedIndices.size());
+        for (int i = 0; i < LOCATION_COUNT; i ++) {
+            Assert.assertEquals(i, (int) listener.reportedIndices.get(i));
+            Assert.assertEquals(
+                    locationList.get(i).getFormattedId(),
+                    listener.completedList.get(i).getFormattedId()
+            );
+            Assert.assertNotNull(listener.completedList.get(i).getWeather());
+        }
+        Assert.assertTrue(listener.allSucceed);
+        Assert.assertTrue(service.maxRunningCount <= maxParallelism);
+        for (int count : service.maxRunningCounts.values()) {
+            Assert.assertTrue(count <= PollingUpdateHelper.DEFAULT_MAX_REQUESTS_PER_SOURCE);
+        }
+        return cost;
+    }
+
+    private static class RecordingListener implements PollingUpdateHelper.OnPollingUpdateListener {
+
+        final List<Integer> reportedIndices = new ArrayList<>();
+        boolean allSucceed = true;
+        List<Location> completedList;
+
+        @Override
+        public void onUpdateCompleted(@NonNull Location location, Weather old,
+                                      boolean succeed, int index, int total) {
+            Assert.assertNull(completedList);
+            Assert.assertEquals(LOCATION_COUNT, total);
+            reportedIndices.add(index);
+            allSucceed &= succeed;
+        }
+
+        @Override
+        public void onPollingCompleted(List<Location> locationList) {
+            completedList = locationList;
+        }
+    }
+
+    // answers from a worker thread after the latency, like the rx chains of the real services.
+    private static class FakeWeatherService extends WeatherService {
+
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        private final Map<WeatherSource, Integer> mRunningCounts = new EnumMap<>(WeatherSource.class);
+        private int mRunningCount = 0;
+
+        final Map<WeatherSource, Integer> maxRunningCounts = new EnumMap<>(WeatherSource.class);
+        int maxRunningCount = 0;
+
+        @Override
+        public void requestWeather(Context context, Location location,
+                                   @NonNull RequestWeatherCallback callback) {
+            WeatherSource source = location.getWeatherSource();
+            mRunningCount ++;
+            mRunningCounts.put(source, getCount(mRunningCounts, source) + 1);
+            maxRunningCount = Math.max(maxRunningCount, mRunningCount);
+            maxRunningCounts.put(
+                    source,
+                    Math.max(getCount(maxRunningCounts, source), mRunningCounts.get(source))
+            );
+
+            new Thread(() -> {
+                try {
+                    Thread.sleep(LATENCY_MILLIS);
+                } catch (InterruptedException ignored) {
+                    // do nothing.
+                }
+                mHandler.post(() -> {
+                    mRunningCount --;
+                    mRunningCounts.put(source, mRunningCounts.get(source) - 1);
+                    callback.requestWeatherSuccess(Location.copy(
+                            location,
+                            WeatherFixtures.weather(location.getCityId(), System.currentTimeMillis())
+                    ), null);
+                });
+            }).start();
+        }
+
+        @NonNull
+        @Override
+        public List<Location> requestLocation(Context context, String query) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void requestLocation(Context context, Location location,
+                                    @NonNull RequestLocationCallback callback) {
+            callback.requestLocationFailed(location.getFormattedId());
+        }
+
+        @Override
+        public void cancel() {
+            // do nothing.
+        }
+
+        private static int getCount(Map<WeatherSource, Integer> counts, WeatherSource source) {
+            Integer count = counts.get(source);
+            return count == null ? 0 : count;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package basic.polling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.background.polling.RefreshSchedule;
+import nowsci.com.temperateweather.common.basic.models.weather.Base;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+
+public class RefreshScheduleTest {
+
+    private static final long MINUTE = 60 * 1000;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long START = 1_700_000_000_000L - 1_700_000_000_000L % HOUR;
+
+    @Test
+    public void refreshJustAfterExpectedPublication() {
+        RefreshSchedule schedule = new RefreshSchedule();
+        for (int i = 0; i < 4; i ++) {
+            schedule.onRefreshed(weather(START + i * HOUR, START + i * HOUR + 20 * MINUTE, false));
+        }
+        Assert.assertEquals(HOUR, schedule.getPublishPeriod());
+
+        long updateTime = START + 3 * HOUR + 20 * MINUTE;
+        Weather weather = weather(START + 3 * HOUR, updateTime, false);
+        Assert.assertEquals(
+                START + 4 * HOUR + RefreshSchedule.PUBLISH_MARGIN_MILLIS,
+                schedule.getNextRefreshTime(weather, 3 * HOUR, updateTime)
+        );
+        Assert.assertFalse(schedule.isDue(weather, 3 * HOUR, updateTime + 20 * MINUTE));
+        Assert.assertTrue(schedule.isDue(weather, 3 * HOUR, START + 4 * HOUR + 5 * MINUTE));
+    }
+
+    @Test
+    public void backOffWhenNothingChanged() {
+        RefreshSchedule schedule = new RefreshSchedule();
+        // the source gives no publish time, the cadence is unknown.
+        schedule.onRefreshed(weather(START, START, false));
+        Assert.assertEquals(-1, schedule.getPublishPeriod());
+        Assert.assertEquals(
+                START + HOUR,
+                schedule.getNextRefreshTime(weather(START, START, false), HOUR, START)
+        );
+
+        schedule.onRefreshed(weather(START - HOUR, START, false));
+        schedule.onRefreshed(weather(START - HOUR, START + HOUR, false));
+        schedule.onRefreshed(weather(START - HOUR, START + 2 * HOUR, false));
+        Assert.assertEquals(2, schedule.getUnchangedCount());
+
+        long updateTime = START + 3 * HOUR;
+        schedule.onRefreshed(weather(START - HOUR, updateTime, false));
+        Assert.assertEquals(
+                updateTime + (HOUR << RefreshSchedule.MAX_BACKOFF_SHIFT),
+                schedule.getNextRefreshTime(weather(START - HOUR, updateTime, false), HOUR, updateTime)
+        );
+    }
+
+    @Test
+    public void backOffWithoutPublishTime() {
+        RefreshSchedule schedule = new RefreshSchedule();
+        // the source gives the device time as publish time.
+        schedule.onRefreshed(weather(START, START, START, false));
+        Assert.assertEquals(0, schedule.getUnchangedCount());
+
+        // the weather which was not modified keeps its publish time and its content.
+        schedule.onRefreshed(weather(START, START, START + HOUR, false));
+        schedule.onRefreshed(weather(START, START, START + 2 * HOUR, false));
+        Assert.assertEquals(2, schedule.getUnchangedCount());
+        Assert.assertEquals(-1, schedule.getPublishPeriod());
+
+        // a new device time with the same content is not new either.
+        schedule.onRefreshed(weather(START + 3 * HOUR, START, START + 3 * HOUR, false));
+        Assert.assertEquals(3, schedule.getUnchangedCount());
+
+        long updateTime = START + 4 * HOUR;
+        schedule.onRefreshed(weather(updateTime, updateTime, updateTime, false));
+        Assert.assertEquals(0, schedule.getUnchangedCount());
+        Assert.assertEquals(-1, schedule.getPublishPeriod());
+    }
+
+    @Test
+    public void tightenWhenActive() {
+        RefreshSchedule schedule = new RefreshSchedule();
+        Weather weather = weather(START - HOUR, START, true);
+        Assert.assertTrue(RefreshSchedule.isActive(weather, START));
+        Assert.assertEquals(
+                START + RefreshSchedule.ACTIVE_INTERVAL_MILLIS,
+                schedule.getNextRefreshTime(weather, 3 * HOUR, START)
+        );
+    }
+
+    @Test
+    public void encodeAndDecode() {
+        RefreshSchedule schedule = new RefreshSchedule();
+        for (int i = 0; i < 12; i ++) {
+            schedule.onRefreshed(weather(START + i * 3 * HOUR, START + i * 3 * HOUR + MINUTE * 10, false));
+        }
+        schedule.onRefreshed(weather(START + 33 * HOUR, START + 34 * HOUR, false));
+
+        RefreshSchedule decoded = RefreshSchedule.decode(schedule.encode());
+        Assert.assertEquals(schedule.encode(), decoded.encode());
+        Assert.assertEquals(3 * HOUR, decoded.getPublishPeriod());
+        Assert.assertEquals(1, decoded.getUnchangedCount());
+
+        Assert.assertEquals(-1, RefreshSchedule.decode("broken").getPublishPeriod());
+
+        // a value stored without content key.
+        decoded = RefreshSchedule.decode("2," + START + "," + (START + HOUR) + "," + (START + 2 * HOUR));
+        Assert.assertEquals(HOUR, decoded.getPublishPeriod());
+        Assert.assertEquals(2, decoded.getUnchangedCount());
+    }
+
+    private static Weather weather(long publishTime, long updateTime, boolean active) {
+        return weather(publishTime, updateTime, updateTime, active);
+    }
+
+    private static Weather weather(long publishTime, long contentTime, long updateTime, boolean active) {
+        Weather weather = WeatherFixtures.weather("city", contentTime);
+        return new Weather(
+                new Base(
+                        "city", updateTime,
+                        new Date(publishTime), publishTime,
+                        new Date(updateTime), updateTime
+                ),
+                weather.getCurrent(),
+                weather.getYesterday(),
+                weather.getDailyForecast(),
+                weather.getHourlyForecast(),
+                active ? weather.getMinutelyForecast() : new ArrayList<>(),
+                active ? weather.getAlertList() : new ArrayList<>()
+        );
+    }
+}
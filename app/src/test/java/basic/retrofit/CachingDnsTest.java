@@ -0,0 +1,43 @@
+package basic.retrofit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+
+import nowsci.com.temperateweather.common.retrofit.CachingDns;
+
+public class CachingDnsTest {
+
+    @Test
+    public void lookupOnceAndFallBackToLastAddresses() throws UnknownHostException {
+        InetAddress address = InetAddress.getByAddress("api.example.com", new byte[] {10, 0, 0, 1});
+        int[] lookupCount = new int[] {0};
+        boolean[] offline = new boolean[] {false};
+
+        CachingDns dns = new CachingDns(hostname -> {
+            lookupCount[0] ++;
+            if (offline[0]) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(address);
+        });
+
+        List<InetAddress> first = dns.lookup("api.example.com");
+        List<InetAddress> second = dns.lookup("api.example.com");
+        Assert.assertEquals(1, lookupCount[0]);
+        Assert.assertSame(first, second);
+
+        offline[0] = true;
+        try {
+            dns.lookup("other.example.com");
+            Assert.fail();
+        } catch (UnknownHostException ignored) {
+            // nothing to fall back to.
+        }
+        Assert.assertEquals(2, lookupCount[0]);
+    }
+}
@@ -0,0 +1,192 @@
+package basic.retrofit;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import basic.ProviderPayloads;
+import nowsci.com.temperateweather.common.retrofit.interceptors.GzipInterceptor;
+import nowsci.com.temperateweather.weather.json.accu.AccuDailyResult;
+import nowsci.com.temperateweather.weather.json.accu.AccuHourlyResult;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Parses gzip encoded provider payloads through {@link GzipInterceptor} and the gson converter,
+ * and compares it with an interceptor that buffers the body and decodes it into a string first.
+ * */
+public class GzipInterceptorBenchmarkTest {
+
+    private static final int ROUNDS = 50;
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final Request REQUEST = new Request.Builder().url("http://localhost/").build();
+    private static final Retrofit RETROFIT = new Retrofit.Builder().baseUrl("http://localhost/").build();
+    private static final GsonConverterFactory FACTORY = GsonConverterFactory.create(
+            new GsonBuilder().setDateFormat("yyyy-MM-dd'T'HH:mm:ss").create()
+    );
+
+    private static final Type HOURLY_TYPE = new TypeToken<List<AccuHourlyResult>>() {}.getType();
+
+    @Test
+    public void parsesGzipBody() throws IOException {
+        OkHttpClient client = client(new GzipInterceptor(), gzip(ProviderPayloads.accuHourly()));
+        List<AccuHourlyResult> hourlyList = parse(client, HOURLY_TYPE);
+        Assert.assertEquals(ProviderPayloads.ACCU_HOURLY_COUNT, hourlyList.size());
+        Assert.assertEquals(1482361200L, hourlyList.get(0).EpochDateTime);
+        Assert.assertEquals("多云转阴", hourlyList.get(0).IconPhrase);
+
+        client = client(new GzipInterceptor(), gzip(ProviderPayloads.accuDaily()));
+        AccuDailyResult daily = parse(client, AccuDailyResult.class);
+        Assert.assertEquals(ProviderPayloads.ACCU_DAILY_COUNT, daily.DailyForecasts.size());
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        benchmark("accu hourly", gzip(ProviderPayloads.accuHourly()), HOURLY_TYPE);
+        benchmark("accu daily", gzip(ProviderPayloads.accuDaily()), AccuDailyResult.class);
+    }
+
+    private static void benchmark(String name, byte[] payload, Type type) throws IOException {
+        OkHttpClient buffering = client(new BufferingInterceptor(), payload);
+        OkHttpClient streaming = client(new GzipInterceptor(), payload);
+
+        // warm up.
+        for (int i = 0; i < ROUNDS; i ++) {
+            parse(buffering, type);
+            parse(streaming, type);
+        }
+
+        long[] bufferingCost = measure(buffering, type);
+        long[] streamingCost = measure(streaming, type);
+        System.out.println(name + " (" + payload.length / 1024 + " KiB gzipped):");
+        System.out.println("    buffering: " + bufferingCost[0] / 1000 + " us, "
+                + bufferingCost[1] / 1024 + " KiB allocated per parse");
+        System.out.println("    streaming: " + streamingCost[0] / 1000 + " us, "
+                + streamingCost[1] / 1024 + " KiB allocated per parse");
+        if (bufferingCost[1] >= 0) {
+            Assert.assertTrue(streamingCost[1] < bufferingCost[1]);
+        }
+    }
+
+    // average time and allocated bytes per parse, allocation is -1 if the vm cannot measure it.
+    private static long[] measure(OkHttpClient client, Type type) throws IOException {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i ++) {
+            parse(client, type);
+        }
+        long cost = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        return new long[] {
+                cost / ROUNDS,
+                allocated < 0 ? -1 : (allocatedAfter - allocated) / ROUNDS
+        };
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T parse(OkHttpClient client, Type type) throws IOException {
+        Converter<ResponseBody, ?> converter = FACTORY.responseBodyConverter(
+                type, new Annotation[0], RETROFIT);
+        try (Response response = client.newCall(REQUEST).execute()) {
+            return (T) converter.convert(response.body());
+        }
+    }
+
+    // serves the payload without touching the network.
+    private static OkHttpClient client(Interceptor interceptor, byte[] gzippedPayload) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .header("Content-Encoding", "gzip")
+                        .body(ResponseBody.create(JSON, gzippedPayload))
+                        .build())
+                .build();
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(json);
+        }
+        return buffer.readByteArray();
+    }
+
+    // what GzipInterceptor did before it streamed the body.
+    private static class BufferingInterceptor implements Interceptor {
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+            ResponseBody body = response.body();
+            if (body == null) {
+                return response;
+            }
+
+            BufferedSource source = body.source();
+            source.request(Long.MAX_VALUE);
+            Buffer buffer = source.buffer();
+
+            if ("gzip".equalsIgnoreCase(response.headers().get("Content-Encoding"))) {
+                try (GzipSource gzippedResponseBody = new GzipSource(buffer.clone())) {
+                    buffer = new Buffer();
+                    buffer.writeAll(gzippedResponseBody);
+                }
+            }
+
+            Charset charset = StandardCharsets.UTF_8;
+            MediaType contentType = body.contentType();
+            if (contentType != null) {
+                charset = contentType.charset(StandardCharsets.UTF_8);
+            }
+            String bodyString = buffer.clone().readString(charset);
+
+            return new Response.Builder()
+                    .addHeader("Content-Type", "application/json")
+                    .code(response.code())
+                    .body(ResponseBody.create(body.contentType(), bodyString))
+                    .message(response.message())
+                    .request(request)
+                    .protocol(Protocol.HTTP_2)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package basic.retrofit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import nowsci.com.temperateweather.common.retrofit.HttpCacheRules;
+import okhttp3.HttpUrl;
+
+public class HttpCacheRulesTest {
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("Europe/Paris");
+
+    @Test
+    public void ephemerisIsFreshUntilMidnight() {
+        Calendar calendar = Calendar.getInstance(TIME_ZONE);
+        calendar.set(2022, Calendar.JUNE, 1, 22, 30, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+
+        HttpUrl url = HttpUrl.parse("https://webservice.meteofrance.com/ephemeris?lat=45.7&lon=4.8&lang=en");
+        Assert.assertEquals(
+                TimeUnit.MINUTES.toSeconds(90),
+                HttpCacheRules.getMaxAgeSeconds(url, calendar.getTimeInMillis(), TIME_ZONE)
+        );
+    }
+
+    @Test
+    public void weatherIsNotCached() {
+        long now = System.currentTimeMillis();
+        HttpUrl forecast = HttpUrl.parse("https://webservice.meteofrance.com/forecast?lat=45.7&lon=4.8");
+        HttpUrl daily = HttpUrl.parse("https://api.accuweather.com/forecasts/v1/daily/15day/106573.json");
+
+        Assert.assertFalse(HttpCacheRules.isCacheable(forecast));
+        Assert.assertFalse(HttpCacheRules.isCacheable(daily));
+        Assert.assertEquals(-1, HttpCacheRules.getMaxAgeSeconds(forecast, now, TIME_ZONE));
+        Assert.assertSame(daily, HttpCacheRules.roundCoordinates(daily));
+    }
+
+    @Test
+    public void nearbyPositionsShareCacheEntry() {
+        HttpUrl a = HttpUrl.parse("https://api.accuweather.com/locations/v1/cities/geoposition/search.json"
+                + "?alias=Always&q=36.06712,120.38264&language=en");
+        HttpUrl b = HttpUrl.parse("https://api.accuweather.com/locations/v1/cities/geoposition/search.json"
+                + "?alias=Always&q=36.0681,120.3811&language=en");
+        Assert.assertTrue(HttpCacheRules.isCacheable(a));
+        Assert.assertEquals(HttpCacheRules.roundCoordinates(a), HttpCacheRules.roundCoordinates(b));
+        Assert.assertEquals("36.07,120.38", HttpCacheRules.roundCoordinates(a).queryParameter("q"));
+
+        HttpUrl reverse = HttpUrl.parse("https://api.openweathermap.org/geo/1.0/reverse?lat=48.85661&lon=2.35222");
+        HttpUrl rounded = HttpCacheRules.roundCoordinates(reverse);
+        Assert.assertEquals("48.86", rounded.queryParameter("lat"));
+        Assert.assertEquals("2.35", rounded.queryParameter("lon"));
+
+        // searches by name are cached as they are.
+        HttpUrl search = HttpUrl.parse("https://api.openweathermap.org/geo/1.0/direct?q=Paris");
+        Assert.assertTrue(HttpCacheRules.isCacheable(search));
+        Assert.assertEquals(search, HttpCacheRules.roundCoordinates(search));
+    }
+}
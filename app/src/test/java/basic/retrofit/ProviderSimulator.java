@@ -0,0 +1,184 @@
+package basic.retrofit;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import basic.Benchmarks;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Answers the requests of the weather apis with the payloads recorded under resources/payloads,
+ * instead of sending them to the providers. Add it as the first interceptor of the http client.
+ *
+ * Every answer takes the latency, give or take the jitter, on the thread of the call, and fails
+ * at the failure rate, either as a broken connection or as a server error.
+ * */
+public class ProviderSimulator implements Interceptor {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    // the end of the path of every endpoint a weather refresh calls, and its recorded payload.
+    private static final Object[][] ROUTES = new Object[][] {
+            // accu weather.
+            {Pattern.compile("/currentconditions/v1/[^/]+\\.json$"), "accu/current.json"},
+            {Pattern.compile("/forecasts/v1/daily/15day/[^/]+\\.json$"), "accu/daily.json"},
+            {Pattern.compile("/forecasts/v1/hourly/24hour/[^/]+\\.json$"), "accu/hourly.json"},
+            {Pattern.compile("/forecasts/v1/minute/1minute\\.json$"), "accu/minutely.json"},
+            {Pattern.compile("/airquality/v1/observations/[^/]+\\.json$"), "accu/air_quality.json"},
+            {Pattern.compile("/alerts/v1/[^/]+\\.json$"), "accu/alerts.json"},
+
+            // open weather map.
+            {Pattern.compile("/data/2\\.5/onecall$"), "owm/one_call.json"},
+            {Pattern.compile("/data/2\\.5/air_pollution$"), "owm/air_pollution.json"},
+            {Pattern.compile("/data/2\\.5/air_pollution/forecast$"), "owm/air_pollution_forecast.json"},
+
+            // météo france and atmo aura.
+            {Pattern.compile("^/observation/gridded$"), "mf/current.json"},
+            {Pattern.compile("^/forecast$"), "mf/forecast.json"},
+            {Pattern.compile("^/ephemeris$"), "mf/ephemeris.json"},
+            {Pattern.compile("^/rain$"), "mf/rain.json"},
+            {Pattern.compile("^/warning/full$"), "mf/warnings.json"},
+            {Pattern.compile("/air2go/full_request$"), "atmo_aura/air_quality.json"},
+
+            // caiyun.
+            {Pattern.compile("/wtr-v3/weather/all$"), "caiyun/mainly.json"},
+            {Pattern.compile("/wtr-v3/weather/xm/forecast/minutely$"), "caiyun/forecast.json"},
+    };
+
+    private final Map<String, byte[]> mPayloads;
+    private final Random mRandom;
+    private final AtomicInteger mRequestCount;
+    private final AtomicInteger mFailureCount;
+
+    private volatile long mLatencyMillis;
+    private volatile long mJitterMillis;
+    private volatile float mFailureRate;
+
+    /**
+     * @param seed seed of the latencies and failures, so a run can be repeated.
+     * */
+    public ProviderSimulator(long seed) {
+        mPayloads = new HashMap<>();
+        mRandom = new Random(seed);
+        mRequestCount = new AtomicInteger();
+        mFailureCount = new AtomicInteger();
+        mLatencyMillis = 0;
+        mJitterMillis = 0;
+        mFailureRate = 0;
+    }
+
+    public void setLatency(long latencyMillis, long jitterMillis) {
+        mLatencyMillis = latencyMillis;
+        mJitterMillis = Math.min(jitterMillis, latencyMillis);
+    }
+
+    /**
+     * @param failureRate between 0 for no failure and 1 for every request failing.
+     * */
+    public void setFailureRate(float failureRate) {
+        mFailureRate = failureRate;
+    }
+
+    public int getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    public int getFailureCount() {
+        return mFailureCount.get();
+    }
+
+    public void resetCounts() {
+        mRequestCount.set(0);
+        mFailureCount.set(0);
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        mRequestCount.incrementAndGet();
+
+        long latency;
+        boolean fail;
+        boolean disconnect;
+        synchronized (mRandom) {
+            latency = mLatencyMillis + (mJitterMillis == 0
+                    ? 0
+                    : (long) ((mRandom.nextDouble() * 2 - 1) * mJitterMillis));
+            fail = mRandom.nextFloat() < mFailureRate;
+            disconnect = mRandom.nextBoolean();
+        }
+        sleep(latency);
+
+        if (fail) {
+            mFailureCount.incrementAndGet();
+            if (disconnect) {
+                throw new IOException("simulated connection reset: " + request.url().encodedPath());
+            }
+            return response(request, HttpURLConnection.HTTP_UNAVAILABLE, "Service Unavailable", new byte[0]);
+        }
+
+        String payload = getPayload(request.url().encodedPath());
+        if (payload == null) {
+            return response(request, HttpURLConnection.HTTP_NOT_FOUND, "Not Found", new byte[0]);
+        }
+        return response(request, HttpURLConnection.HTTP_OK, "OK", read(payload));
+    }
+
+    private static String getPayload(String path) {
+        for (Object[] route : ROUTES) {
+            if (((Pattern) route[0]).matcher(path).find()) {
+                return (String) route[1];
+            }
+        }
+        return null;
+    }
+
+    private byte[] read(String payload) throws IOException {
+        synchronized (mPayloads) {
+            byte[] bytes = mPayloads.get(payload);
+            if (bytes != null) {
+                return bytes;
+            }
+
+            bytes = Benchmarks.readPayload(payload);
+            mPayloads.put(payload, bytes);
+            return bytes;
+        }
+    }
+
+    private static Response response(Request request, int code, String message, byte[] body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(message)
+                .body(ResponseBody.create(JSON, body))
+                .build();
+    }
+
+    private static void sleep(long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // the call has been canceled.
+            throw new InterruptedIOException("canceled");
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package basic.weather;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import basic.Benchmarks;
+import basic.ProviderPayloads;
+import nowsci.com.temperateweather.weather.json.accu.AccuCurrentResult;
+import nowsci.com.temperateweather.weather.json.accu.AccuDailyResult;
+import nowsci.com.temperateweather.weather.json.accu.AccuHourlyResult;
+import nowsci.com.temperateweather.weather.json.accu.AccuMinuteResult;
+import nowsci.com.temperateweather.weather.json.accu.AccuTypeAdapterFactory;
+
+/**
+ * Parses provider payloads with the reflective adapters of gson and with the streaming adapters
+ * of {@link AccuTypeAdapterFactory}, and checks both give the converter the same values.
+ * */
+public class AccuTypeAdapterBenchmarkTest {
+
+    private static final int ROUNDS = 50;
+
+    private static final Gson REFLECTIVE = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+            .create();
+    private static final Gson STREAMING = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+            .registerTypeAdapterFactory(new AccuTypeAdapterFactory())
+            .create();
+
+    private static final Type CURRENT_TYPE = new TypeToken<List<AccuCurrentResult>>() {}.getType();
+    private static final Type HOURLY_TYPE = new TypeToken<List<AccuHourlyResult>>() {}.getType();
+
+    @Test
+    public void currentReadsSameValues() throws IOException {
+        String payload = Benchmarks.payload("accu/current.json");
+        AccuCurrentResult e = REFLECTIVE.<List<AccuCurrentResult>>fromJson(payload, CURRENT_TYPE).get(0);
+        AccuCurrentResult a = STREAMING.<List<AccuCurrentResult>>fromJson(payload, CURRENT_TYPE).get(0);
+
+        Assert.assertEquals(e.EpochTime, a.EpochTime);
+        Assert.assertEquals(e.WeatherText, a.WeatherText);
+        Assert.assertEquals(e.WeatherIcon, a.WeatherIcon);
+        Assert.assertEquals(e.Temperature.Metric.Value, a.Temperature.Metric.Value, 0);
+        Assert.assertEquals(e.RealFeelTemperature.Metric.Value, a.RealFeelTemperature.Metric.Value, 0);
+        Assert.assertEquals(
+                e.RealFeelTemperatureShade.Metric.Value, a.RealFeelTemperatureShade.Metric.Value, 0);
+        Assert.assertEquals(e.ApparentTemperature.Metric.Value, a.ApparentTemperature.Metric.Value, 0);
+        Assert.assertEquals(e.WindChillTemperature.Metric.Value, a.WindChillTemperature.Metric.Value, 0);
+        Assert.assertEquals(e.WetBulbTemperature.Metric.Value, a.WetBulbTemperature.Metric.Value, 0);
+        Assert.assertEquals(e.DewPoint.Metric.Value, a.DewPoint.Metric.Value, 0);
+        Assert.assertEquals(e.Precip1hr.Metric.Value, a.Precip1hr.Metric.Value, 0);
+        Assert.assertEquals(e.Wind.Direction.Localized, a.Wind.Direction.Localized);
+        Assert.assertEquals(e.Wind.Direction.Degrees, a.Wind.Direction.Degrees);
+        Assert.assertEquals(e.WindGust.Speed.Metric.Value, a.WindGust.Speed.Metric.Value, 0);
+        Assert.assertEquals(e.UVIndex, a.UVIndex);
+        Assert.assertEquals(e.UVIndexText, a.UVIndexText);
+        Assert.assertEquals(e.RelativeHumidity, a.RelativeHumidity);
+        Assert.assertEquals(e.Pressure.Metric.Value, a.Pressure.Metric.Value, 0);
+        Assert.assertEquals(e.Visibility.Metric.Value, a.Visibility.Metric.Value, 0);
+        Assert.assertEquals(e.CloudCover, a.CloudCover);
+        Assert.assertEquals(e.Ceiling.Metric.Value, a.Ceiling.Metric.Value, 0);
+        Assert.assertEquals(
+                e.TemperatureSummary.Past24HourRange.Maximum.Metric.Value,
+                a.TemperatureSummary.Past24HourRange.Maximum.Metric.Value,
+                0
+        );
+        Assert.assertEquals(
+                e.TemperatureSummary.Past24HourRange.Minimum.Metric.Value,
+                a.TemperatureSummary.Past24HourRange.Minimum.Metric.Value,
+                0
+        );
+
+        // never read by the converter.
+        Assert.assertNull(a.LocalSource);
+        Assert.assertNull(a.Temperature.Imperial);
+        Assert.assertNull(a.Wind.Speed);
+        Assert.assertNull(a.PrecipitationSummary);
+    }
+
+    @Test
+    public void minutelyReadsSameValues() throws IOException {
+        String payload = Benchmarks.payload("accu/minutely.json");
+        AccuMinuteResult expected = REFLECTIVE.fromJson(payload, AccuMinuteResult.class);
+        AccuMinuteResult actual = STREAMING.fromJson(payload, AccuMinuteResult.class);
+
+        Assert.assertEquals(expected.Summary.LongPhrase, actual.Summary.LongPhrase);
+        Assert.assertEquals(expected.Intervals.size(), actual.Intervals.size());
+        for (int i = 0; i < expected.Intervals.size(); i ++) {
+            AccuMinuteResult.IntervalsBean e = expected.Intervals.get(i);
+            AccuMinuteResult.IntervalsBean a = actual.Intervals.get(i);
+            Assert.assertEquals(e.StartDateTime, a.StartDateTime);
+            Assert.assertEquals(e.StartEpochDateTime, a.StartEpochDateTime);
+            Assert.assertEquals(e.Minute, a.Minute);
+            Assert.assertEquals(e.Dbz, a.Dbz, 0);
+            Assert.assertEquals(e.ShortPhrase, a.ShortPhrase);
+            Assert.assertEquals(e.IconCode, a.IconCode);
+            Assert.assertEquals(e.CloudCover, a.CloudCover);
+        }
+
+        // never read by the converter.
+        Assert.assertNull(actual.Summaries);
+        Assert.assertNull(actual.Summary.ShortPhrase);
+    }
+
+    @Test
+    public void hourlyReadsSameValues() {
+        List<AccuHourlyResult> expected = REFLECTIVE.fromJson(ProviderPayloads.accuHourly(), HOURLY_TYPE);
+        List<AccuHourlyResult> actual = STREAMING.fromJson(ProviderPayloads.accuHourly(), HOURLY_TYPE);
+
+        Assert.assertEquals(ProviderPayloads.ACCU_HOURLY_COUNT, actual.size());
+        for (int i = 0; i < expected.size(); i ++) {
+            AccuHourlyResult e = expected.get(i);
+            AccuHourlyResult a = actual.get(i);
+            Assert.assertEquals(e.DateTime, a.DateTime);
+            Assert.assertEquals(e.EpochDateTime, a.EpochDateTime);
+            Assert.assertEquals(e.IsDaylight, a.IsDaylight);
+            Assert.assertEquals(e.IconPhrase, a.IconPhrase);
+            Assert.assertEquals(e.WeatherIcon, a.WeatherIcon);
+            Assert.assertEquals(e.Temperature.Value, a.Temperature.Value, 0);
+            Assert.assertEquals(e.RealFeelTemperature.Value, a.RealFeelTemperature.Value, 0);
+            Assert.assertEquals(e.RealFeelTemperatureShade.Value, a.RealFeelTemperatureShade.Value, 0);
+            Assert.assertEquals(e.WetBulbTemperature.Value, a.WetBulbTemperature.Value, 0);
+            Assert.assertEquals(e.TotalLiquid.Value, a.TotalLiquid.Value, 0);
+            Assert.assertEquals(e.Rain.Value, a.Rain.Value, 0);
+            Assert.assertEquals(e.Snow.Value, a.Snow.Value, 0);
+            Assert.assertEquals(e.Ice.Value, a.Ice.Value, 0);
+            Assert.assertEquals(e.PrecipitationProbability, a.PrecipitationProbability);
+            Assert.assertEquals(e.RainProbability, a.RainProbability);
+            Assert.assertEquals(e.Wind.Direction.Localized, a.Wind.Direction.Localized);
+            Assert.assertEquals(e.Wind.Direction.Degrees, a.Wind.Direction.Degrees);
+            Assert.assertEquals(e.WindGust.Speed.Value, a.WindGust.Speed.Value, 0);
+            Assert.assertEquals(e.UVIndex, a.UVIndex);
+            Assert.assertEquals(e.UVIndexText, a.UVIndexText);
+
+            // never read by the converter.
+            Assert.assertNull(a.Link);
+            Assert.assertNull(a.Wind.Speed);
+        }
+    }
+
+    @Test
+    public void dailyReadsSameValues() {
+        AccuDailyResult expected = REFLECTIVE.fromJson(ProviderPayloads.accuDaily(), AccuDailyResult.class);
+        AccuDailyResult actual = STREAMING.fromJson(ProviderPayloads.accuDaily(), AccuDailyResult.class);
+
+        Assert.assertEquals(expected.Headline.Text, actual.Headline.Text);
+        Assert.assertEquals(ProviderPayloads.ACCU_DAILY_COUNT, actual.DailyForecasts.size());
+        for (int i = 0; i < expected.DailyForecasts.size(); i ++) {
+            AccuDailyResult.DailyForecasts e = expected.DailyForecasts.get(i);
+            AccuDailyResult.DailyForecasts a = actual.DailyForecasts.get(i);
+            Assert.assertEquals(e.Date, a.Date);
+            Assert.assertEquals(e.EpochDate, a.EpochDate);
+            Assert.assertEquals(e.Sun.EpochRise, a.Sun.EpochRise);
+            Assert.assertEquals(e.Sun.EpochSet, a.Sun.EpochSet);
+            Assert.assertEquals(e.Moon.EpochRise, a.Moon.EpochRise);
+            Assert.assertEquals(e.Moon.Phase, a.Moon.Phase);
+            Assert.assertEquals(e.Temperature.Maximum.Value, a.Temperature.Maximum.Value, 0);
+            Assert.assertEquals(e.Temperature.Minimum.Value, a.Temperature.Minimum.Value, 0);
+            Assert.assertEquals(
+                    e.RealFeelTemperatureShade.Minimum.Value,
+                    a.RealFeelTemperatureShade.Minimum.Value,
+                    0
+            );
+            Assert.assertEquals(e.DegreeDaySummary.Heating.Value, a.DegreeDaySummary.Heating.Value, 0);
+            Assert.assertEquals(e.HoursOfSun, a.HoursOfSun, 0);
+            Assert.assertEquals(e.Day.LongPhrase, a.Day.LongPhrase);
+            Assert.assertEquals(e.Day.Icon, a.Day.Icon);
+            Assert.assertEquals(e.Day.CloudCover, a.Day.CloudCover);
+            Assert.assertEquals(e.Day.WindGust.Speed.Value, a.Day.WindGust.Speed.Value, 0);
+            Assert.assertEquals(e.Night.Wind.Direction.Degrees, a.Night.Wind.Direction.Degrees);
+            Assert.assertEquals(e.Night.PrecipitationProbability, a.Night.PrecipitationProbability);
+            Assert.assertEquals(e.AirAndPollen.size(), a.AirAndPollen.size());
+            for (int j = 0; j < e.AirAndPollen.size(); j ++) {
+                Assert.assertEquals(e.AirAndPollen.get(j).Name, a.AirAndPollen.get(j).Name);
+                Assert.assertEquals(e.AirAndPollen.get(j).Value, a.AirAndPollen.get(j).Value);
+                Assert.assertEquals(e.AirAndPollen.get(j).Category, a.AirAndPollen.get(j).Category);
+            }
+
+            // never read by the converter.
+            Assert.assertNull(a.Sources);
+            Assert.assertNull(a.Day.LocalSource);
+        }
+    }
+
+    @Test
+    public void nullNumbersKeepDefaults() {
+        // accu sends null for a sun or moon which does not rise or set, and sometimes for values
+        // it has no data for.
+        String hourly = "[{\"EpochDateTime\":null,\"WeatherIcon\":null,\"IsDaylight\":null,"
+                + "\"PrecipitationProbability\":null,\"UVIndex\":null,"
+                + "\"Temperature\":{\"Value\":null,\"Unit\":\"C\",\"UnitType\":null},"
+                + "\"Wind\":{\"Direction\":{\"Degrees\":null,\"Localized\":null}}}]";
+        List<AccuHourlyResult> hourlyExpected = REFLECTIVE.fromJson(hourly, HOURLY_TYPE);
+        List<AccuHourlyResult> hourlyActual = STREAMING.fromJson(hourly, HOURLY_TYPE);
+        AccuHourlyResult he = hourlyExpected.get(0);
+        AccuHourlyResult ha = hourlyActual.get(0);
+        Assert.assertEquals(he.EpochDateTime, ha.EpochDateTime);
+        Assert.assertEquals(he.WeatherIcon, ha.WeatherIcon);
+        Assert.assertEquals(he.IsDaylight, ha.IsDaylight);
+        Assert.assertEquals(he.PrecipitationProbability, ha.PrecipitationProbability);
+        Assert.assertEquals(he.UVIndex, ha.UVIndex);
+        Assert.assertEquals(he.Temperature.Value, ha.Temperature.Value, 0);
+        Assert.assertEquals(he.Wind.Direction.Degrees, ha.Wind.Direction.Degrees);
+        Assert.assertNull(ha.Wind.Direction.Localized);
+
+        String daily = "{\"DailyForecasts\":[{\"EpochDate\":1482361200,"
+                + "\"Sun\":{\"Rise\":null,\"EpochRise\":null,\"Set\":null,\"EpochSet\":null},"
+                + "\"Moon\":{\"Rise\":null,\"EpochRise\":null,\"Set\":null,\"EpochSet\":null,\"Age\":null},"
+                + "\"Temperature\":{\"Minimum\":{\"Value\":null},\"Maximum\":{\"Value\":5.0}},"
+                + "\"HoursOfSun\":null,"
+                + "\"Day\":{\"Icon\":null,\"PrecipitationProbability\":null,\"HoursOfRain\":null,"
+                + "\"CloudCover\":null,\"Wind\":{\"Direction\":{\"Degrees\":null}}},"
+                + "\"AirAndPollen\":[{\"Name\":\"UVIndex\",\"Value\":null}]}]}";
+        AccuDailyResult dailyExpected = REFLECTIVE.fromJson(daily, AccuDailyResult.class);
+        AccuDailyResult dailyActual = STREAMING.fromJson(daily, AccuDailyResult.class);
+        AccuDailyResult.DailyForecasts de = dailyExpected.DailyForecasts.get(0);
+        AccuDailyResult.DailyForecasts da = dailyActual.DailyForecasts.get(0);
+        Assert.assertEquals(de.EpochDate, da.EpochDate);
+        Assert.assertEquals(de.Sun.EpochRise, da.Sun.EpochRise);
+        Assert.assertEquals(de.Sun.EpochSet, da.Sun.EpochSet);
+        Assert.assertEquals(de.Moon.EpochRise, da.Moon.EpochRise);
+        Assert.assertEquals(de.Moon.EpochSet, da.Moon.EpochSet);
+        Assert.assertNull(da.Sun.Rise);
+        Assert.assertNull(da.Moon.Set);
+        Assert.assertEquals(de.Temperature.Minimum.Value, da.Temperature.Minimum.Value, 0);
+        Assert.assertEquals(de.Temperature.Maximum.Value, da.Temperature.Maximum.Value, 0);
+        Assert.assertEquals(de.HoursOfSun, da.HoursOfSun, 0);
+        Assert.assertEquals(de.Day.Icon, da.Day.Icon);
+        Assert.assertEquals(de.Day.PrecipitationProbability, da.Day.PrecipitationProbability);
+        Assert.assertEquals(de.Day.HoursOfRain, da.Day.HoursOfRain, 0);
+        Assert.assertEquals(de.Day.CloudCover, da.Day.CloudCover);
+        Assert.assertEquals(de.Day.Wind.Direction.Degrees, da.Day.Wind.Direction.Degrees);
+        Assert.assertEquals(de.AirAndPollen.get(0).Value, da.AirAndPollen.get(0).Value);
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        benchmark("accu current", Benchmarks.payload("accu/current.json"), CURRENT_TYPE);
+        benchmark("accu minutely", Benchmarks.payload("accu/minutely.json"), AccuMinuteResult.class);
+        benchmark("accu hourly", ProviderPayloads.accuHourly(), HOURLY_TYPE);
+        benchmark("accu daily", ProviderPayloads.accuDaily(), AccuDailyResult.class);
+    }
+
+    private static void benchmark(String name, String payload, Type type) {
+        // cold: the first parse of a fresh gson instance, which builds its adapters.
+        long reflectiveCold = parseOnce(new GsonBuilder()
+                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+                .create(), payload, type);
+        long streamingCold = parseOnce(new GsonBuilder()
+                .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+                .registerTypeAdapterFactory(new AccuTypeAdapterFactory())
+                .create(), payload, type);
+
+        // warm up.
+        for (int i = 0; i < ROUNDS; i ++) {
+            REFLECTIVE.fromJson(payload, type);
+            STREAMING.fromJson(payload, type);
+        }
+
+        long[] reflectiveCost = measure(REFLECTIVE, payload, type);
+        long[] streamingCost = measure(STREAMING, payload, type);
+        System.out.println(name + " (" + payload.length() / 1024 + " K chars):");
+        System.out.println("    reflective: " + reflectiveCost[0] / 1000 + " us, "
+                + reflectiveCost[1] / 1024 + " KiB allocated per parse, "
+                + reflectiveCold / 1000 + " us cold");
+        System.out.println("    streaming:  " + streamingCost[0] / 1000 + " us, "
+                + streamingCost[1] / 1024 + " KiB allocated per parse, "
+                + streamingCold / 1000 + " us cold");
+        if (reflectiveCost[1] >= 0) {
+            Assert.assertTrue(streamingCost[1] < reflectiveCost[1]);
+        }
+    }
+
+    private static long parseOnce(Gson gson, String payload, Type type) {
+        long start = System.nanoTime();
+        gson.fromJson(payload, type);
+        return System.nanoTime() - start;
+    }
+
+    // average time and allocated bytes per parse, allocation is -1 if the vm cannot measure it.
+    private static long[] measure(Gson gson, String payload, Type type) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i ++) {
+            gson.fromJson(payload, type);
+        }
+        long cost = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        return new long[] {
+                cost / ROUNDS,
+                allocated < 0 ? -1 : (allocatedAfter - allocated) / ROUNDS
+        };
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
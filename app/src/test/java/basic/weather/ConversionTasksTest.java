@@ -0,0 +1,78 @@
+package basic.weather;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.TestScheduler;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
+import nowsci.com.temperateweather.weather.converters.ConversionTasks;
+
+public class ConversionTasksTest {
+
+    // the forked sections only start when the test triggers them.
+    private final TestScheduler mScheduler = new TestScheduler();
+
+    @Before
+    public void setUp() {
+        RxJavaPlugins.setComputationSchedulerHandler(scheduler -> mScheduler);
+    }
+
+    @After
+    public void tearDown() {
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    public void joinConvertsSectionNotStarted() throws Exception {
+        ConversionMetrics metrics = new ConversionMetrics();
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.ACCU);
+        AtomicInteger count = new AtomicInteger();
+        ConversionTasks.Task<Integer> daily = tasks.fork("daily", count::incrementAndGet);
+
+        Assert.assertEquals(1, (int) daily.join());
+        // the pool does not convert it a second time.
+        mScheduler.triggerActions();
+        Assert.assertEquals(1, count.get());
+        Assert.assertEquals(1, metrics.getSnapshot().get("accu/daily").getCount());
+    }
+
+    @Test
+    public void cancelDropsSectionsNotStarted() {
+        ConversionMetrics metrics = new ConversionMetrics();
+        ConversionTasks tasks = new ConversionTasks(metrics, WeatherSource.ACCU);
+        AtomicInteger count = new AtomicInteger();
+        ConversionTasks.Task<Integer> daily = tasks.fork("daily", count::incrementAndGet);
+        ConversionTasks.Task<Integer> hourly = tasks.fork("hourly", count::incrementAndGet);
+
+        try {
+            tasks.run("current", () -> {
+                throw new IllegalStateException();
+            });
+            Assert.fail();
+        } catch (Exception e) {
+            tasks.cancel();
+        }
+
+        mScheduler.triggerActions();
+        Assert.assertEquals(0, count.get());
+        Assert.assertNull(metrics.getSnapshot().get("accu/daily"));
+        for (ConversionTasks.Task<Integer> task : Arrays.asList(daily, hourly)) {
+            try {
+                task.join();
+                Assert.fail();
+            } catch (CancellationException ignored) {
+                // expected.
+            } catch (Exception e) {
+                Assert.fail();
+            }
+        }
+    }
+}
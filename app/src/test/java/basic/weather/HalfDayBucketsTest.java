@@ -0,0 +1,69 @@
+package basic.weather;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import nowsci.com.temperateweather.weather.converters.HalfDayBuckets;
+
+/**
+ * Buckets hourly points into the daytime and the night of every day.
+ * */
+public class HalfDayBucketsTest {
+
+    private static final long DAY = 1655244000; // 2022-06-15 00:00 +02:00.
+    private static final long HOUR = 3600;
+
+    @Test
+    public void bucketsByHalfDay() {
+        HalfDayBuckets buckets = new HalfDayBuckets(new long[] {DAY, DAY + 24 * HOUR});
+        for (long hour = 0; hour < 48; hour ++) {
+            long time = DAY + hour * HOUR;
+            buckets.addTemperature(time, (int) hour, null);
+            buckets.addPrecipitation(time, 1f, 1f, 0f);
+            buckets.addWind(time, hour % 24, (int) hour);
+        }
+
+        // 6:00 to 18:00 of the first day.
+        Assert.assertEquals(17, (int) buckets.getMaxTemperature(0, true));
+        Assert.assertEquals(6, (int) buckets.getMinTemperature(0, true));
+        Assert.assertEquals(12f, buckets.getPrecipitationTotal(0, true), 0);
+        Assert.assertEquals(17, buckets.getWindSource(0, true));
+
+        // 18:00 of the first day to 6:00 of the second one.
+        Assert.assertEquals(29, (int) buckets.getMaxTemperature(0, false));
+        Assert.assertEquals(18, (int) buckets.getMinTemperature(0, false));
+        Assert.assertEquals(12f, buckets.getPrecipitationRain(0, false), 0);
+        Assert.assertEquals(23, buckets.getWindSource(0, false));
+
+        // the hours after 0:00 of the third day are missing.
+        Assert.assertEquals(47, (int) buckets.getMaxTemperature(1, false));
+        Assert.assertEquals(6f, buckets.getPrecipitationTotal(1, false), 0);
+
+        Assert.assertNull(buckets.getMaxWindChill(0, true));
+        Assert.assertNull(buckets.getCloudCover(0, true));
+    }
+
+    @Test
+    public void ignoresPointsOutsideTheDays() {
+        HalfDayBuckets buckets = new HalfDayBuckets(new long[] {DAY});
+        buckets.addCloudCover(DAY, 100);
+        buckets.addCloudCover(DAY + 30 * HOUR, 100);
+        buckets.addWind(DAY - HOUR, 50, 0);
+
+        Assert.assertNull(buckets.getCloudCover(0, true));
+        Assert.assertNull(buckets.getCloudCover(0, false));
+        Assert.assertNull(buckets.getWindSpeed(0, true));
+        Assert.assertEquals(-1, buckets.getWindSource(0, false));
+    }
+
+    @Test
+    public void countsOverlappingHalfDaysTwice() {
+        // the second day starts 23 hours after the first one, when the clocks are set forward.
+        HalfDayBuckets buckets = new HalfDayBuckets(new long[] {DAY, DAY + 23 * HOUR});
+        buckets.addPrecipitationProbability(DAY + 29 * HOUR, 80f, 80f, null, null);
+
+        Assert.assertEquals(80f, buckets.getProbabilityTotal(0, false), 0);
+        Assert.assertEquals(80f, buckets.getProbabilityRain(1, true), 0);
+        Assert.assertEquals(0f, buckets.getProbabilitySnow(1, true), 0);
+    }
+}
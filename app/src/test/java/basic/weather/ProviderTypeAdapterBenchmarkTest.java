@@ -0,0 +1,331 @@
+package basic.weather;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import basic.Benchmarks;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunMainlyResult;
+import nowsci.com.temperateweather.weather.json.caiyun.CaiYunTypeAdapterFactory;
+import nowsci.com.temperateweather.weather.json.mf.MfForecastResult;
+import nowsci.com.temperateweather.weather.json.mf.MfTypeAdapterFactory;
+import nowsci.com.temperateweather.weather.json.owm.OwmOneCallResult;
+import nowsci.com.temperateweather.weather.json.owm.OwmTypeAdapterFactory;
+
+/**
+ * Parses the recorded CaiYun, Mf and Owm payloads with the reflective adapters of gson and with
+ * the streaming adapters, and checks both give the converters the same values.
+ * */
+public class ProviderTypeAdapterBenchmarkTest {
+
+    private static final int ROUNDS = 50;
+
+    private static final Gson REFLECTIVE = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+            .create();
+    private static final Gson STREAMING = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
+            .registerTypeAdapterFactory(new CaiYunTypeAdapterFactory())
+            .registerTypeAdapterFactory(new MfTypeAdapterFactory())
+            .registerTypeAdapterFactory(new OwmTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void caiYunMainlyReadsSameValues() throws IOException {
+        String payload = Benchmarks.payload("caiyun/mainly.json");
+        CaiYunMainlyResult e = REFLECTIVE.fromJson(payload, CaiYunMainlyResult.class);
+        CaiYunMainlyResult a = STREAMING.fromJson(payload, CaiYunMainlyResult.class);
+
+        Assert.assertEquals(e.updateTime, a.updateTime);
+        Assert.assertEquals(e.current.pubTime, a.current.pubTime);
+        Assert.assertEquals(e.current.weather, a.current.weather);
+        Assert.assertEquals(e.current.temperature.value, a.current.temperature.value);
+        Assert.assertEquals(e.current.feelsLike.value, a.current.feelsLike.value);
+        Assert.assertEquals(e.current.humidity.value, a.current.humidity.value);
+        Assert.assertEquals(e.current.pressure.value, a.current.pressure.value);
+        Assert.assertEquals(e.current.visibility.value, a.current.visibility.value);
+        Assert.assertEquals(e.current.uvIndex, a.current.uvIndex);
+        Assert.assertEquals(e.current.wind.direction.value, a.current.wind.direction.value);
+        Assert.assertEquals(e.current.wind.speed.value, a.current.wind.speed.value);
+
+        Assert.assertEquals(e.forecastDaily.aqi.value, a.forecastDaily.aqi.value);
+        Assert.assertEquals(
+                e.forecastDaily.precipitationProbability.value,
+                a.forecastDaily.precipitationProbability.value
+        );
+        Assert.assertEquals(e.forecastDaily.weather.value.size(), a.forecastDaily.weather.value.size());
+        for (int i = 0; i < e.forecastDaily.weather.value.size(); i ++) {
+            Assert.assertEquals(
+                    e.forecastDaily.weather.value.get(i).from, a.forecastDaily.weather.value.get(i).from);
+            Assert.assertEquals(
+                    e.forecastDaily.weather.value.get(i).to, a.forecastDaily.weather.value.get(i).to);
+            Assert.assertEquals(
+                    e.forecastDaily.temperature.value.get(i).from,
+                    a.forecastDaily.temperature.value.get(i).from
+            );
+            Assert.assertEquals(
+                    e.forecastDaily.temperature.value.get(i).to,
+                    a.forecastDaily.temperature.value.get(i).to
+            );
+            Assert.assertEquals(
+                    e.forecastDaily.wind.direction.value.get(i).from,
+                    a.forecastDaily.wind.direction.value.get(i).from
+            );
+            Assert.assertEquals(
+                    e.forecastDaily.wind.speed.value.get(i).to,
+                    a.forecastDaily.wind.speed.value.get(i).to
+            );
+            Assert.assertEquals(
+                    e.forecastDaily.sunRiseSet.value.get(i).from,
+                    a.forecastDaily.sunRiseSet.value.get(i).from
+            );
+            Assert.assertEquals(
+                    e.forecastDaily.sunRiseSet.value.get(i).to,
+                    a.forecastDaily.sunRiseSet.value.get(i).to
+            );
+        }
+
+        Assert.assertEquals(e.forecastHourly.weather.value, a.forecastHourly.weather.value);
+        Assert.assertEquals(e.forecastHourly.temperature.value, a.forecastHourly.temperature.value);
+        Assert.assertEquals(e.forecastHourly.wind.value.size(), a.forecastHourly.wind.value.size());
+        for (int i = 0; i < e.forecastHourly.wind.value.size(); i ++) {
+            Assert.assertEquals(
+                    e.forecastHourly.wind.value.get(i).direction,
+                    a.forecastHourly.wind.value.get(i).direction
+            );
+            Assert.assertEquals(
+                    e.forecastHourly.wind.value.get(i).speed,
+                    a.forecastHourly.wind.value.get(i).speed
+            );
+        }
+
+        Assert.assertEquals(e.yesterday.tempMax, a.yesterday.tempMax);
+        Assert.assertEquals(e.yesterday.tempMin, a.yesterday.tempMin);
+        Assert.assertEquals(e.aqi.aqi, a.aqi.aqi);
+        Assert.assertEquals(e.aqi.pm25, a.aqi.pm25);
+        Assert.assertEquals(e.aqi.co, a.aqi.co);
+        Assert.assertEquals(e.alerts.size(), a.alerts.size());
+        for (int i = 0; i < e.alerts.size(); i ++) {
+            Assert.assertEquals(e.alerts.get(i).pubTime, a.alerts.get(i).pubTime);
+            Assert.assertEquals(e.alerts.get(i).title, a.alerts.get(i).title);
+            Assert.assertEquals(e.alerts.get(i).detail, a.alerts.get(i).detail);
+            Assert.assertEquals(e.alerts.get(i).type, a.alerts.get(i).type);
+            Assert.assertEquals(e.alerts.get(i).level, a.alerts.get(i).level);
+        }
+
+        // never read by the converter.
+        Assert.assertNull(a.indices);
+        Assert.assertNull(a.brandInfo);
+        Assert.assertNull(a.forecastHourly.aqi);
+    }
+
+    @Test
+    public void mfForecastReadsSameValues() throws IOException {
+        String payload = Benchmarks.payload("mf/forecast.json");
+        MfForecastResult e = REFLECTIVE.fromJson(payload, MfForecastResult.class);
+        MfForecastResult a = STREAMING.fromJson(payload, MfForecastResult.class);
+
+        Assert.assertEquals(e.updatedOn, a.updatedOn);
+        Assert.assertEquals(e.dailyForecasts.size(), a.dailyForecasts.size());
+        for (int i = 0; i < e.dailyForecasts.size(); i ++) {
+            MfForecastResult.DailyForecast ed = e.dailyForecasts.get(i);
+            MfForecastResult.DailyForecast ad = a.dailyForecasts.get(i);
+            Assert.assertEquals(ed.dt, ad.dt);
+            Assert.assertEquals(ed.sun.rise, ad.sun.rise);
+            Assert.assertEquals(ed.sun.set, ad.sun.set);
+            Assert.assertEquals(ed.temperature.max, ad.temperature.max);
+            Assert.assertEquals(ed.temperature.min, ad.temperature.min);
+            Assert.assertEquals(ed.uv, ad.uv);
+            Assert.assertEquals(ed.weather12H == null, ad.weather12H == null);
+            if (ed.weather12H != null) {
+                Assert.assertEquals(ed.weather12H.desc, ad.weather12H.desc);
+                Assert.assertEquals(ed.weather12H.icon, ad.weather12H.icon);
+            }
+        }
+
+        Assert.assertEquals(e.forecasts.size(), a.forecasts.size());
+        for (int i = 0; i < e.forecasts.size(); i ++) {
+            MfForecastResult.Forecast ef = e.forecasts.get(i);
+            MfForecastResult.Forecast af = a.forecasts.get(i);
+            Assert.assertEquals(ef.dt, af.dt);
+            Assert.assertEquals(ef.clouds, af.clouds);
+            Assert.assertEquals(ef.temperature.value, af.temperature.value);
+            Assert.assertEquals(ef.temperature.windChill, af.temperature.windChill);
+            Assert.assertEquals(ef.rain.cumul1H, af.rain.cumul1H);
+            Assert.assertEquals(ef.rain.cumul3H, af.rain.cumul3H);
+            Assert.assertEquals(ef.rain.cumul6H, af.rain.cumul6H);
+            Assert.assertEquals(ef.snow.cumul1H, af.snow.cumul1H);
+            Assert.assertEquals(ef.weather.desc, af.weather.desc);
+            Assert.assertEquals(ef.weather.icon, af.weather.icon);
+            Assert.assertEquals(ef.wind.direction, af.wind.direction);
+            Assert.assertEquals(ef.wind.icon, af.wind.icon);
+            Assert.assertEquals(ef.wind.speed, af.wind.speed);
+        }
+
+        Assert.assertEquals(e.probabilityForecast.size(), a.probabilityForecast.size());
+        for (int i = 0; i < e.probabilityForecast.size(); i ++) {
+            MfForecastResult.ProbabilityForecast ep = e.probabilityForecast.get(i);
+            MfForecastResult.ProbabilityForecast ap = a.probabilityForecast.get(i);
+            Assert.assertEquals(ep.dt, ap.dt);
+            Assert.assertEquals(ep.freezing, ap.freezing);
+            Assert.assertEquals(ep.rain.proba3H, ap.rain.proba3H);
+            Assert.assertEquals(ep.rain.proba6H, ap.rain.proba6H);
+            Assert.assertEquals(ep.snow.proba3H, ap.snow.proba3H);
+            Assert.assertEquals(ep.snow.proba6H, ap.snow.proba6H);
+        }
+
+        // never read by the converter.
+        Assert.assertNull(a.position);
+        Assert.assertNull(a.forecasts.get(0).humidity);
+    }
+
+    @Test
+    public void owmOneCallReadsSameValues() throws IOException {
+        String payload = Benchmarks.payload("owm/one_call.json");
+        OwmOneCallResult e = REFLECTIVE.fromJson(payload, OwmOneCallResult.class);
+        OwmOneCallResult a = STREAMING.fromJson(payload, OwmOneCallResult.class);
+
+        Assert.assertEquals(e.timezone, a.timezone);
+        Assert.assertEquals(e.current.sunrise, a.current.sunrise);
+        Assert.assertEquals(e.current.sunset, a.current.sunset);
+        Assert.assertEquals(e.current.temp, a.current.temp, 0);
+        Assert.assertEquals(e.current.feelsLike, a.current.feelsLike, 0);
+        Assert.assertEquals(e.current.pressure, a.current.pressure);
+        Assert.assertEquals(e.current.humidity, a.current.humidity);
+        Assert.assertEquals(e.current.dewPoint, a.current.dewPoint, 0);
+        Assert.assertEquals(e.current.uvi, a.current.uvi, 0);
+        Assert.assertEquals(e.current.clouds, a.current.clouds);
+        Assert.assertEquals(e.current.visibility, a.current.visibility);
+        Assert.assertEquals(e.current.windSpeed, a.current.windSpeed);
+        Assert.assertEquals(e.current.windDeg, a.current.windDeg);
+        Assert.assertEquals(e.current.weather.get(0).id, a.current.weather.get(0).id);
+        Assert.assertEquals(e.current.weather.get(0).description, a.current.weather.get(0).description);
+        Assert.assertEquals(e.current.rain == null, a.current.rain == null);
+
+        Assert.assertEquals(e.minutely.size(), a.minutely.size());
+        Assert.assertEquals(e.hourly.size(), a.hourly.size());
+        for (int i = 0; i < e.hourly.size(); i ++) {
+            OwmOneCallResult.Hourly eh = e.hourly.get(i);
+            OwmOneCallResult.Hourly ah = a.hourly.get(i);
+            Assert.assertEquals(eh.dt, ah.dt);
+            Assert.assertEquals(eh.temp, ah.temp, 0);
+            Assert.assertEquals(eh.feelsLike, ah.feelsLike, 0);
+            Assert.assertEquals(eh.uvi, ah.uvi, 0);
+            Assert.assertEquals(eh.windSpeed, ah.windSpeed);
+            Assert.assertEquals(eh.windDeg, ah.windDeg);
+            Assert.assertEquals(eh.pop, ah.pop);
+            Assert.assertEquals(eh.weather.get(0).id, ah.weather.get(0).id);
+            Assert.assertEquals(eh.weather.get(0).main, ah.weather.get(0).main);
+            Assert.assertEquals(eh.rain == null ? null : eh.rain.cumul1h, ah.rain == null ? null : ah.rain.cumul1h);
+            Assert.assertEquals(eh.snow == null ? null : eh.snow.cumul1h, ah.snow == null ? null : ah.snow.cumul1h);
+        }
+
+        Assert.assertEquals(e.daily.size(), a.daily.size());
+        for (int i = 0; i < e.daily.size(); i ++) {
+            OwmOneCallResult.Daily ed = e.daily.get(i);
+            OwmOneCallResult.Daily ad = a.daily.get(i);
+            Assert.assertEquals(ed.dt, ad.dt);
+            Assert.assertEquals(ed.sunrise, ad.sunrise);
+            Assert.assertEquals(ed.sunset, ad.sunset);
+            Assert.assertEquals(ed.temp.day, ad.temp.day, 0);
+            Assert.assertEquals(ed.temp.night, ad.temp.night, 0);
+            Assert.assertEquals(ed.feelsLike.day, ad.feelsLike.day, 0);
+            Assert.assertEquals(ed.feelsLike.night, ad.feelsLike.night, 0);
+            Assert.assertEquals(ed.windSpeed, ad.windSpeed);
+            Assert.assertEquals(ed.windDeg, ad.windDeg);
+            Assert.assertEquals(ed.clouds, ad.clouds);
+            Assert.assertEquals(ed.pop, ad.pop);
+            Assert.assertEquals(ed.rain, ad.rain);
+            Assert.assertEquals(ed.snow, ad.snow);
+            Assert.assertEquals(ed.uvi, ad.uvi, 0);
+            Assert.assertEquals(ed.weather.get(0).description, ad.weather.get(0).description);
+        }
+
+        Assert.assertEquals(e.alerts.size(), a.alerts.size());
+        for (int i = 0; i < e.alerts.size(); i ++) {
+            Assert.assertEquals(e.alerts.get(i).start, a.alerts.get(i).start);
+            Assert.assertEquals(e.alerts.get(i).event, a.alerts.get(i).event);
+            Assert.assertEquals(e.alerts.get(i).description, a.alerts.get(i).description);
+        }
+
+        // never read by the converter.
+        Assert.assertNull(a.alerts.get(0).senderName);
+        Assert.assertNull(a.current.weather.get(0).icon);
+    }
+
+    @Test
+    public void nullValuesKeepDefaults() {
+        String owm = "{\"current\":{\"temp\":null,\"wind_deg\":null,\"wind_speed\":null,\"weather\":[null]},"
+                + "\"hourly\":[{\"dt\":null,\"pop\":null,\"rain\":null,\"weather\":null}],"
+                + "\"daily\":[{\"temp\":null,\"clouds\":null,\"rain\":null}],\"alerts\":null}";
+        OwmOneCallResult owmExpected = REFLECTIVE.fromJson(owm, OwmOneCallResult.class);
+        OwmOneCallResult owmActual = STREAMING.fromJson(owm, OwmOneCallResult.class);
+        Assert.assertEquals(owmExpected.current.temp, owmActual.current.temp, 0);
+        Assert.assertEquals(owmExpected.current.windDeg, owmActual.current.windDeg);
+        Assert.assertNull(owmActual.current.windSpeed);
+        Assert.assertEquals(1, owmActual.current.weather.size());
+        Assert.assertNull(owmActual.current.weather.get(0));
+        Assert.assertEquals(owmExpected.hourly.get(0).dt, owmActual.hourly.get(0).dt);
+        Assert.assertNull(owmActual.hourly.get(0).pop);
+        Assert.assertNull(owmActual.hourly.get(0).weather);
+        Assert.assertNull(owmActual.daily.get(0).temp);
+        Assert.assertEquals(owmExpected.daily.get(0).clouds, owmActual.daily.get(0).clouds);
+        Assert.assertNull(owmActual.alerts);
+
+        String mf = "{\"updated_on\":null,\"daily_forecast\":[{\"dt\":1655236800,\"uv\":null,"
+                + "\"sun\":{\"rise\":null,\"set\":null},\"T\":{\"min\":null,\"max\":25.0}}],"
+                + "\"forecast\":[{\"clouds\":null,\"wind\":{\"speed\":null,\"direction\":\"Variable\"}}],"
+                + "\"probability_forecast\":[{\"freezing\":null,\"rain\":{\"3h\":null,\"6h\":10}}]}";
+        MfForecastResult mfExpected = REFLECTIVE.fromJson(mf, MfForecastResult.class);
+        MfForecastResult mfActual = STREAMING.fromJson(mf, MfForecastResult.class);
+        Assert.assertEquals(mfExpected.updatedOn, mfActual.updatedOn);
+        Assert.assertEquals(mfExpected.dailyForecasts.get(0).uv, mfActual.dailyForecasts.get(0).uv);
+        Assert.assertNull(mfActual.dailyForecasts.get(0).sun.rise);
+        Assert.assertNull(mfActual.dailyForecasts.get(0).temperature.min);
+        Assert.assertEquals(mfExpected.dailyForecasts.get(0).temperature.max, mfActual.dailyForecasts.get(0).temperature.max);
+        Assert.assertNull(mfActual.forecasts.get(0).clouds);
+        Assert.assertNull(mfActual.forecasts.get(0).wind.speed);
+        Assert.assertNull(mfActual.probabilityForecast.get(0).freezing);
+        Assert.assertNull(mfActual.probabilityForecast.get(0).rain.proba3H);
+        Assert.assertEquals(Integer.valueOf(10), mfActual.probabilityForecast.get(0).rain.proba6H);
+
+        String caiYun = "{\"updateTime\":null,\"current\":{\"pubTime\":null,\"temperature\":null,"
+                + "\"wind\":{\"direction\":{\"value\":null}}},\"forecastDaily\":{\"aqi\":{\"value\":[1,null]},"
+                + "\"temperature\":{\"value\":null},\"weather\":{\"value\":[null,{\"from\":\"0\"}]}},"
+                + "\"forecastHourly\":{\"temperature\":{\"value\":null,\"unit\":\"C\"}},\"alerts\":[]}";
+        CaiYunMainlyResult caiYunExpected = REFLECTIVE.fromJson(caiYun, CaiYunMainlyResult.class);
+        CaiYunMainlyResult caiYunActual = STREAMING.fromJson(caiYun, CaiYunMainlyResult.class);
+        Assert.assertEquals(caiYunExpected.updateTime, caiYunActual.updateTime);
+        Assert.assertNull(caiYunActual.current.pubTime);
+        Assert.assertNull(caiYunActual.current.temperature);
+        Assert.assertNull(caiYunActual.current.wind.direction.value);
+        Assert.assertEquals(caiYunExpected.forecastDaily.aqi.value, caiYunActual.forecastDaily.aqi.value);
+        Assert.assertNotNull(caiYunActual.forecastDaily.temperature);
+        Assert.assertNull(caiYunActual.forecastDaily.temperature.value);
+        Assert.assertNull(caiYunActual.forecastDaily.weather.value.get(0));
+        Assert.assertEquals("0", caiYunActual.forecastDaily.weather.value.get(1).from);
+        Assert.assertNull(caiYunActual.forecastHourly.temperature.value);
+        Assert.assertTrue(caiYunActual.alerts.isEmpty());
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        benchmark("caiyun mainly", Benchmarks.payload("caiyun/mainly.json"), CaiYunMainlyResult.class);
+        benchmark("mf forecast", Benchmarks.payload("mf/forecast.json"), MfForecastResult.class);
+        benchmark("owm one call", Benchmarks.payload("owm/one_call.json"), OwmOneCallResult.class);
+    }
+
+    private static void benchmark(String name, String payload, Class<?> type) {
+        long reflectiveCost = Benchmarks.measure(ROUNDS, () -> REFLECTIVE.fromJson(payload, type));
+        long streamingCost = Benchmarks.measure(ROUNDS, () -> STREAMING.fromJson(payload, type));
+        Benchmarks.report(
+                name + " (" + payload.length() / 1024 + " K chars)",
+                "reflective: " + reflectiveCost / 1000 + " us",
+                "streaming:  " + streamingCost / 1000 + " us"
+        );
+    }
+}
@@ -0,0 +1,202 @@
+package basic.weather;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import nowsci.com.temperateweather.common.utils.TimeUtils;
+
+/**
+ * Compares {@link TimeUtils} with the calendars and the date formats the converters used before,
+ * and measures both on the time computations of one conversion.
+ * */
+public class TimeUtilsBenchmarkTest {
+
+    private static final int ROUNDS = 200;
+
+    // one conversion: the daylight of 120 minutes and 48 hours, and the air quality of 15 days
+    // looked up in a forecast of 96 hours.
+    private static final int MINUTES = 120;
+    private static final int HOURS = 48;
+    private static final int DAYS = 15;
+    private static final int AIR_QUALITY_HOURS = 96;
+
+    private static final long START = 1655258400; // 2022-06-15T02:00:00Z.
+    private static final long SUNRISE = 1655264880;
+    private static final long SUNSET = 1655321520;
+
+    private static final String[] TIME_ZONES = new String[] {
+            "UTC", "Europe/Paris", "America/New_York", "Asia/Shanghai", "Asia/Kolkata", "Australia/Adelaide"
+    };
+
+    @Test
+    public void matchesCalendar() {
+        for (String id : TIME_ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(id);
+            Calendar calendar = Calendar.getInstance(timeZone);
+            SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+            format.setTimeZone(timeZone);
+
+            // a year by steps of 7 hours and 13 minutes, to cross the transitions of the zones.
+            for (long time = START; time < START + 366 * TimeUtils.SECONDS_PER_DAY; time += 26000) {
+                calendar.setTimeInMillis(time * 1000);
+                Assert.assertEquals(
+                        id,
+                        calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE),
+                        TimeUtils.getMinuteOfDay(time, timeZone)
+                );
+
+                long dayKey = TimeUtils.getDayKey(time, timeZone);
+                for (long other : new long[] {time - 6 * 3600, time + 6 * 3600, time + 20 * 3600}) {
+                    Assert.assertEquals(
+                            id,
+                            format.format(new Date(time * 1000)).equals(format.format(new Date(other * 1000))),
+                            dayKey == TimeUtils.getDayKey(other, timeZone)
+                    );
+                }
+
+                long startOfHour = TimeUtils.getStartOfHour(time, timeZone);
+                Assert.assertTrue(startOfHour <= time && time < startOfHour + 3600);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                // in the hour repeated when the clocks are set back, a calendar takes the second
+                // one, even if it is after the time.
+                if (calendar.getTimeInMillis() / 1000 <= time) {
+                    Assert.assertEquals(id, calendar.getTimeInMillis() / 1000, startOfHour);
+                }
+
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                Assert.assertEquals(id, calendar.getTimeInMillis() / 1000, TimeUtils.getStartOfDay(time, timeZone));
+            }
+        }
+    }
+
+    @Test
+    public void isDaylight() {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Paris");
+        Assert.assertFalse(TimeUtils.isDaylight(SUNRISE, SUNSET, SUNRISE, timeZone));
+        Assert.assertTrue(TimeUtils.isDaylight(SUNRISE, SUNSET, SUNRISE + 60, timeZone));
+        Assert.assertFalse(TimeUtils.isDaylight(SUNRISE, SUNSET, SUNSET, timeZone));
+
+        // the time of day matters, not the day.
+        Assert.assertTrue(TimeUtils.isDaylight(SUNRISE, SUNSET, SUNRISE + 60 + TimeUtils.SECONDS_PER_DAY, timeZone));
+        Assert.assertFalse(TimeUtils.isDaylight(SUNRISE, SUNSET, SUNSET + 3600 - TimeUtils.SECONDS_PER_DAY, timeZone));
+    }
+
+    @Test
+    public void benchmark() {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Paris");
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(timeZone);
+
+        long[] calendarCost;
+        long[] timeUtilsCost;
+        try {
+            // warm up.
+            int expected = 0;
+            int actual = 0;
+            for (int i = 0; i < ROUNDS; i ++) {
+                expected = convertWithCalendar();
+                actual = convertWithTimeUtils(timeZone);
+            }
+            Assert.assertEquals(expected, actual);
+
+            calendarCost = measure(null);
+            timeUtilsCost = measure(timeZone);
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+        System.out.println("time computations of one conversion:");
+        System.out.println("    calendar:   " + calendarCost[0] / 1000 + " us, "
+                + calendarCost[1] / 1024 + " KiB allocated");
+        System.out.println("    time utils: " + timeUtilsCost[0] / 1000 + " us, "
+                + timeUtilsCost[1] / 1024 + " KiB allocated");
+        if (calendarCost[1] >= 0) {
+            Assert.assertTrue(timeUtilsCost[1] < calendarCost[1]);
+        }
+    }
+
+    // the computations as the converters did them, in the zone of the device.
+    private static int convertWithCalendar() {
+        int count = 0;
+        for (int i = 0; i < MINUTES + HOURS; i ++) {
+            long time = START + (i < MINUTES ? i * 60 : (i - MINUTES) * 3600);
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(new Date(SUNRISE * 1000));
+            int sunrise = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+            calendar.setTime(new Date(SUNSET * 1000));
+            int sunset = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+            calendar.setTime(new Date(time * 1000));
+            int current = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+            if (sunrise < current && current < sunset) {
+                count ++;
+            }
+        }
+        for (int day = 0; day < DAYS; day ++) {
+            SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+            Date requestedDate = new Date((START + day * TimeUtils.SECONDS_PER_DAY) * 1000);
+            for (int hour = 0; hour < AIR_QUALITY_HOURS; hour ++) {
+                if (format.format(requestedDate).equals(format.format((START + hour * 3600) * 1000))) {
+                    count ++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int convertWithTimeUtils(TimeZone timeZone) {
+        int count = 0;
+        for (int i = 0; i < MINUTES + HOURS; i ++) {
+            long time = START + (i < MINUTES ? i * 60 : (i - MINUTES) * 3600);
+            if (TimeUtils.isDaylight(SUNRISE, SUNSET, time, timeZone)) {
+                count ++;
+            }
+        }
+        for (int day = 0; day < DAYS; day ++) {
+            long requestedDay = TimeUtils.getDayKey(START + day * TimeUtils.SECONDS_PER_DAY, timeZone);
+            for (int hour = 0; hour < AIR_QUALITY_HOURS; hour ++) {
+                if (requestedDay == TimeUtils.getDayKey(START + hour * 3600, timeZone)) {
+                    count ++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    // average time and allocated bytes per conversion, allocation is -1 if the vm cannot measure it.
+    // a null zone measures the calendars, in the zone of the device.
+    private static long[] measure(TimeZone timeZone) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i ++) {
+            if (timeZone == null) {
+                convertWithCalendar();
+            } else {
+                convertWithTimeUtils(timeZone);
+            }
+        }
+        long cost = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        return new long[] {
+                cost / ROUNDS,
+                allocated < 0 ? -1 : (allocatedAfter - allocated) / ROUNDS
+        };
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
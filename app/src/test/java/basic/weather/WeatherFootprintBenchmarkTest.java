@@ -0,0 +1,213 @@
+package basic.weather;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.common.basic.models.weather.Precipitation;
+import nowsci.com.temperateweather.common.basic.models.weather.PrecipitationProbability;
+import nowsci.com.temperateweather.common.basic.models.weather.Temperature;
+import nowsci.com.temperateweather.common.basic.models.weather.UV;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.Wind;
+import nowsci.com.temperateweather.common.basic.models.weather.WindDegree;
+
+/**
+ * Measures the objects retained by a weather of {@link WeatherFixtures}, with the primitive
+ * fields of the value types and with the boxed fields they replaced.
+ *
+ * Sizes are estimated for a 64 bit vm with compressed references: 12 bytes of header, 4 bytes
+ * per reference and 8 bytes of alignment. Enums and the cached boxes of the vm are shared by all
+ * the weathers and not counted.
+ * */
+public class WeatherFootprintBenchmarkTest {
+
+    // the fields of the value types which were boxed numbers, null if missing.
+    private static final Map<Class<?>, Set<String>> BOXED_FIELDS = new HashMap<>();
+    static {
+        BOXED_FIELDS.put(Temperature.class, new HashSet<>(Arrays.asList(
+                "realFeelTemperature", "realFeelShaderTemperature", "apparentTemperature",
+                "windChillTemperature", "wetBulbTemperature", "degreeDayTemperature"
+        )));
+        Set<String> totals = new HashSet<>(Arrays.asList(
+                "total", "thunderstorm", "rain", "snow", "ice"
+        ));
+        BOXED_FIELDS.put(Precipitation.class, totals);
+        BOXED_FIELDS.put(PrecipitationProbability.class, totals);
+        BOXED_FIELDS.put(Wind.class, Collections.singleton("speed"));
+        BOXED_FIELDS.put(UV.class, Collections.singleton("index"));
+    }
+
+    @Test
+    public void keepsMissingValues() {
+        Temperature temperature = new Temperature(20, null, 18, null, null, null, null);
+        Assert.assertNull(temperature.getRealFeelTemperature());
+        Assert.assertEquals(Integer.valueOf(18), temperature.getRealFeelShaderTemperature());
+        Assert.assertTrue(temperature.isValid());
+        Assert.assertFalse(new Temperature(20, null, null, null, null, null, null).isValid());
+
+        Precipitation precipitation = new Precipitation(null, 0f, 2.5f, null, null);
+        Assert.assertNull(precipitation.getTotal());
+        Assert.assertEquals(Float.valueOf(0f), precipitation.getThunderstorm());
+        Assert.assertEquals(Float.valueOf(2.5f), precipitation.getRain());
+        Assert.assertFalse(precipitation.isValid());
+        Assert.assertTrue(new Precipitation(1f, Float.NaN, Float.NaN, Float.NaN, Float.NaN).isValid());
+
+        PrecipitationProbability probability = new PrecipitationProbability(
+                Float.NaN, 30f, Float.NaN, Float.NaN, Float.NaN);
+        Assert.assertNull(probability.getTotal());
+        Assert.assertEquals(Float.valueOf(30f), probability.getThunderstorm());
+
+        Wind wind = new Wind("N", new WindDegree(0, false), null, "1");
+        Assert.assertNull(wind.getSpeed());
+        Assert.assertFalse(wind.isValidSpeed());
+        Assert.assertEquals(Float.valueOf(12f), new Wind("N", new WindDegree(0, false), 12f, "3").getSpeed());
+
+        UV uv = new UV(null, "low", null);
+        Assert.assertNull(uv.getIndex());
+        Assert.assertFalse(uv.isValidIndex());
+        Assert.assertTrue(uv.isValid());
+        Assert.assertEquals(Integer.valueOf(0), new UV(0, null, null).getIndex());
+    }
+
+    @Test
+    public void benchmark() throws IllegalAccessException {
+        Weather weather = WeatherFixtures.weather("city", System.currentTimeMillis());
+
+        long[] boxed = measure(weather, true);
+        long[] primitive = measure(weather, false);
+        System.out.println("footprint of one weather ("
+                + WeatherFixtures.DAILY_COUNT + " days, "
+                + WeatherFixtures.HOURLY_COUNT + " hours, "
+                + WeatherFixtures.MINUTELY_COUNT + " minutes):");
+        System.out.println("    boxed fields:     " + boxed[0] + " objects, "
+                + boxed[1] / 1024 + " KiB retained");
+        System.out.println("    primitive fields: " + primitive[0] + " objects, "
+                + primitive[1] / 1024 + " KiB retained");
+
+        Assert.assertTrue(primitive[0] < boxed[0]);
+        Assert.assertTrue(primitive[1] < boxed[1]);
+    }
+
+    // object count and retained bytes of the graph of the root.
+    private static long[] measure(Object root, boolean boxed) throws IllegalAccessException {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<Object> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        long count = 0;
+        long size = 0;
+        while (!queue.isEmpty()) {
+            Object object = queue.poll();
+            if (!visited.add(object) || isShared(object)) {
+                continue;
+            }
+            count ++;
+
+            Class<?> type = object.getClass();
+            if (type.isArray()) {
+                int length = Array.getLength(object);
+                Class<?> componentType = type.getComponentType();
+                size += align(16 + (long) length * getSize(componentType));
+                if (!componentType.isPrimitive()) {
+                    for (int i = 0; i < length; i ++) {
+                        Object element = Array.get(object, i);
+                        if (element != null) {
+                            queue.add(element);
+                        }
+                    }
+                }
+            } else if (type.getName().startsWith("java.")) {
+                // the internals of the platform cannot be read, estimate the common ones.
+                if (object instanceof String) {
+                    size += 24 + align(16 + ((String) object).length());
+                } else if (object instanceof Number) {
+                    size += 16;
+                } else if (object instanceof Collection) {
+                    Collection<?> collection = (Collection<?>) object;
+                    size += 24 + align(16 + 4L * collection.size());
+                    queue.addAll(collection);
+                } else {
+                    size += 24;
+                }
+            } else {
+                Set<String> boxedFields = boxed ? BOXED_FIELDS.get(type) : null;
+                long shallow = 12;
+                for (Class<?> k = type; k != null; k = k.getSuperclass()) {
+                    for (Field field : k.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers())) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        Class<?> fieldType = field.getType();
+                        if (fieldType.isPrimitive()) {
+                            shallow += getSize(fieldType);
+                            if (boxedFields != null && boxedFields.contains(field.getName())) {
+                                Object box = field.get(object);
+                                if (!isMissing(box) && !isShared(box)) {
+                                    count ++;
+                                    size += 16;
+                                }
+                            }
+                        } else {
+                            shallow += 4;
+                            Object value = field.get(object);
+                            if (value != null) {
+                                queue.add(value);
+                            }
+                        }
+                    }
+                }
+                size += align(shallow);
+            }
+        }
+        return new long[] {count, size};
+    }
+
+    private static boolean isShared(Object object) {
+        if (object instanceof Enum || object instanceof Class || object instanceof TimeZone) {
+            return true;
+        }
+        if (object instanceof Integer) {
+            int value = (Integer) object;
+            return -128 <= value && value <= 127;
+        }
+        return object instanceof Boolean;
+    }
+
+    private static boolean isMissing(Object value) {
+        return value instanceof Integer
+                ? (Integer) value == Integer.MIN_VALUE
+                : Float.isNaN((Float) value);
+    }
+
+    private static long getSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class || !type.isPrimitive()) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    private static long align(long size) {
+        return (size + 7) / 8 * 8;
+    }
+}
@@ -0,0 +1,80 @@
+package basic.weather;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.basic.models.weather.WeatherIndex;
+
+/**
+ * Looks up the hours and the days of a weather through its index.
+ * */
+public class WeatherIndexTest {
+
+    private static final long MINUTE = 60 * 1000;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long START = 1_700_000_000_000L - 1_700_000_000_000L % HOUR;
+
+    @Test
+    public void findsHours() {
+        Weather weather = WeatherFixtures.weather("city", START + 30 * MINUTE);
+        WeatherIndex index = weather.getIndex();
+
+        // the forecasts start in the middle of the epoch hours.
+        Assert.assertEquals(-1, index.getHourlyIndex(START + 29 * MINUTE));
+        Assert.assertEquals(0, index.getHourlyIndex(START + 30 * MINUTE));
+        Assert.assertEquals(0, index.getHourlyIndex(START + 89 * MINUTE));
+        Assert.assertEquals(1, index.getHourlyIndex(START + 90 * MINUTE));
+
+        int last = WeatherFixtures.HOURLY_COUNT - 1;
+        Assert.assertEquals(last, index.getHourlyIndex(START + 30 * MINUTE + last * HOUR));
+        Assert.assertEquals(-1, index.getHourlyIndex(START + 30 * MINUTE + (last + 1) * HOUR));
+    }
+
+    @Test
+    public void findsDays() {
+        Weather weather = WeatherFixtures.weather("city", START);
+        WeatherIndex index = weather.getIndex();
+        long dayStart = START - START % DAY;
+
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        Assert.assertEquals(-1, index.getDailyIndex(dayStart - 1, utc));
+        Assert.assertEquals(0, index.getDailyIndex(dayStart, utc));
+        Assert.assertEquals(3, index.getDailyIndex(dayStart + 3 * DAY + 23 * HOUR, utc));
+        Assert.assertEquals(-1, index.getDailyIndex(dayStart + WeatherFixtures.DAILY_COUNT * DAY, utc));
+
+        // the days of a zone ahead of utc start earlier.
+        TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+        Assert.assertEquals(0, index.getDailyIndex(dayStart - 8 * HOUR, shanghai));
+        Assert.assertEquals(1, index.getDailyIndex(dayStart + 16 * HOUR, shanghai));
+        Assert.assertEquals(1, index.getDailyIndex(dayStart + DAY, utc));
+    }
+
+    @Test
+    public void readsSeries() {
+        Weather weather = WeatherFixtures.weather("city", START);
+        WeatherIndex index = weather.getIndex();
+        Assert.assertSame(index, weather.getIndex());
+
+        int[] temperatures = index.getHourlyTemperatures();
+        Assert.assertEquals(WeatherFixtures.HOURLY_COUNT, temperatures.length);
+        for (int i = 0; i < temperatures.length; i ++) {
+            Assert.assertEquals(
+                    weather.getHourlyForecast().get(i).getTemperature().getTemperature(),
+                    temperatures[i]
+            );
+        }
+        Assert.assertEquals(
+                weather.getDailyForecast().get(2).night().getTemperature().getTemperature(),
+                index.getNighttimeTemperatures()[2]
+        );
+
+        Assert.assertEquals(1.5f, WeatherIndex.getMax(index.getDaytimePrecipitations(), 0), 0);
+        Assert.assertEquals(3f, WeatherIndex.getMax(new float[] {1f, Float.NaN, 3f}, 0), 0);
+        Assert.assertEquals(0f, WeatherIndex.getMax(new float[] {Float.NaN}, 0), 0);
+    }
+}
@@ -0,0 +1,285 @@
+package basic.weather;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import basic.retrofit.ProviderSimulator;
+import io.reactivex.disposables.CompositeDisposable;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.common.basic.models.weather.Weather;
+import nowsci.com.temperateweather.common.di.RetrofitModule;
+import nowsci.com.temperateweather.db.DatabaseHelper;
+import nowsci.com.temperateweather.weather.WeatherHelper;
+import nowsci.com.temperateweather.weather.WeatherRequestCoalescer;
+import nowsci.com.temperateweather.weather.WeatherServiceSet;
+import nowsci.com.temperateweather.weather.converters.ConversionMetrics;
+import nowsci.com.temperateweather.weather.di.ApiModule;
+import nowsci.com.temperateweather.weather.services.AccuWeatherService;
+import nowsci.com.temperateweather.weather.services.CaiYunWeatherService;
+import nowsci.com.temperateweather.weather.services.MfWeatherService;
+import nowsci.com.temperateweather.weather.services.OwmWeatherService;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Refreshes a location of every weather source through {@link WeatherHelper}, the services, the
+ * converters and {@link DatabaseHelper#writeWeather(Location, Weather)}, with the providers
+ * answered by a {@link ProviderSimulator}. Measures the whole refresh, the allocations of all
+ * threads during it, and the database write on its own.
+ * */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class WeatherRefreshBenchmarkTest {
+
+    private static final int ROUNDS = 10;
+    private static final long LATENCY_MILLIS = 60;
+    private static final long JITTER_MILLIS = 30;
+    private static final long SEED = 20220615;
+    private static final long TIMEOUT_MILLIS = 30 * 1000;
+
+    private static final Location[] LOCATIONS = new Location[] {
+            location("623", 48.8534f, 2.3488f, "Europe/Paris", "Ile-de-France", "Paris", WeatherSource.ACCU),
+            location("2988507", 48.8534f, 2.3488f, "Europe/Paris", "Ile-de-France", "Paris", WeatherSource.OWM),
+            // the air quality of atmo aura is requested for the departments of auvergne-rhône-alpes.
+            location("69123", 45.758f, 4.835f, "Europe/Paris", "69", "Lyon", WeatherSource.MF),
+            location("101120201", 36.066f, 120.383f, "Asia/Shanghai", "山东", "青岛", WeatherSource.CAIYUN),
+    };
+
+    // requests of one refresh, for the locations above.
+    private static final int[] REQUEST_COUNTS = new int[] {6, 3, 6, 2};
+
+    @Test
+    public void refreshesEveryWeatherSource() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        ProviderSimulator simulator = new ProviderSimulator(SEED);
+        ConversionMetrics metrics = new ConversionMetrics();
+        WeatherHelper helper = helper(simulator, metrics);
+
+        for (int i = 0; i < LOCATIONS.length; i ++) {
+            Location location = LOCATIONS[i];
+            DatabaseHelper.getInstance(context).deleteWeather(location);
+            simulator.resetCounts();
+
+            Result result = refresh(context, helper, location);
+            Assert.assertTrue(location.getWeatherSource().name(), result.succeed);
+            Assert.assertEquals(REQUEST_COUNTS[i], simulator.getRequestCount());
+
+            Weather weather = result.location.getWeather();
+            Assert.assertNotNull(weather);
+            Assert.assertFalse(weather.getDailyForecast().isEmpty());
+            Assert.assertFalse(weather.getHourlyForecast().isEmpty());
+            Assert.assertFalse(weather.getAlertList().isEmpty());
+
+            Weather stored = DatabaseHelper.getInstance(context).readWeather(location);
+            Assert.assertNotNull(stored);
+            Assert.assertEquals(
+                    weather.getBase().getPublishTime(),
+                    stored.getBase().getPublishTime()
+            );
+            Assert.assertEquals(
+                    weather.getDailyForecast().size(),
+                    stored.getDailyForecast().size()
+            );
+
+            // every section of the conversion has been measured.
+            String source = location.getWeatherSource().getId();
+            for (String section : new String[] {"current", "daily", "hourly", "minutely", "alerts"}) {
+                ConversionMetrics.SectionMetrics sectionMetrics = metrics.getSnapshot().get(source + "/" + section);
+                Assert.assertNotNull(source + "/" + section, sectionMetrics);
+                Assert.assertEquals(1, sectionMetrics.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void reportsFailedRefreshes() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        ProviderSimulator simulator = new ProviderSimulator(SEED);
+        simulator.setFailureRate(1);
+        WeatherHelper helper = helper(simulator, new ConversionMetrics());
+
+        for (Location location : LOCATIONS) {
+            DatabaseHelper.getInstance(context).deleteWeather(location);
+
+            Result result = refresh(context, helper, location);
+            Assert.assertFalse(location.getWeatherSource().name(), result.succeed);
+            Assert.assertNull(result.location.getWeather());
+            Assert.assertNull(DatabaseHelper.getInstance(context).readWeather(location));
+        }
+        Assert.assertEquals(simulator.getRequestCount(), simulator.getFailureCount());
+    }
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        Context context = ApplicationProvider.getApplicationContext();
+        ProviderSimulator simulator = new ProviderSimulator(SEED);
+        simulator.setLatency(LATENCY_MILLIS, JITTER_MILLIS);
+        ConversionMetrics metrics = new ConversionMetrics();
+        WeatherHelper helper = helper(simulator, metrics);
+
+        System.out.println(ROUNDS + " refreshes, " + LATENCY_MILLIS + " ± " + JITTER_MILLIS
+                + " ms per request:");
+        for (Location location : LOCATIONS) {
+            // warm up.
+            Result result = refresh(context, helper, location);
+            Assert.assertTrue(result.succeed);
+
+            long refreshCost = 0;
+            long allocated = 0;
+            for (int i = 0; i < ROUNDS; i ++) {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                result = refresh(context, helper, location);
+                refreshCost += System.nanoTime() - start;
+                allocated += allocatedBytes() - allocatedBefore;
+                Assert.assertTrue(result.succeed);
+            }
+
+            Weather weather = result.location.getWeather();
+            long writeCost = 0;
+            for (int i = 0; i < ROUNDS; i ++) {
+                long start = System.nanoTime();
+                DatabaseHelper.getInstance(context).writeWeather(location, weather);
+                writeCost += System.nanoTime() - start;
+            }
+
+            System.out.println("    " + location.getWeatherSource().name() + ": "
+                    + TimeUnit.NANOSECONDS.toMillis(refreshCost / ROUNDS) + " ms per refresh, "
+                    + (allocated < 0 ? "-" : String.valueOf(allocated / ROUNDS / 1024))
+                    + " KiB allocated per refresh, "
+                    + TimeUnit.NANOSECONDS.toMicros(writeCost / ROUNDS) + " us per database write");
+        }
+
+        System.out.println("conversion cpu time, by section:");
+        Map<String, ConversionMetrics.SectionMetrics> snapshot = new TreeMap<>(metrics.getSnapshot());
+        for (Map.Entry<String, ConversionMetrics.SectionMetrics> entry : snapshot.entrySet()) {
+            System.out.println("    " + entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    private static WeatherHelper helper(ProviderSimulator simulator, ConversionMetrics metrics) {
+        RetrofitModule retrofitModule = new RetrofitModule();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool())
+                .dispatcher(retrofitModule.provideDispatcher())
+                .addInterceptor(simulator)
+                .build();
+        GsonConverterFactory converterFactory = retrofitModule.provideGsonConverterFactory();
+        RxJava2CallAdapterFactory callAdapterFactory = retrofitModule.provideRxJava2CallAdapterFactory();
+
+        ApiModule apiModule = new ApiModule();
+        CompositeDisposable disposable = new CompositeDisposable();
+        return new WeatherHelper(
+                new WeatherServiceSet(
+                        new AccuWeatherService(
+                                apiModule.provideAccuWeatherApi(client, converterFactory, callAdapterFactory),
+                                disposable,
+                                metrics
+                        ),
+                        new CaiYunWeatherService(
+                                apiModule.provideCaiYunApi(client, converterFactory, callAdapterFactory),
+                                disposable,
+                                metrics
+                        ),
+                        new MfWeatherService(
+                                apiModule.provideMfWeatherApi(client, converterFactory, callAdapterFactory),
+                                apiModule.provideAtmoAuraIqaApi(client, converterFactory, callAdapterFactory),
+                                disposable,
+                                metrics
+                        ),
+                        new OwmWeatherService(
+                                apiModule.provideOpenWeatherMapApi(client, converterFactory, callAdapterFactory),
+                                disposable,
+                                metrics
+                        )
+                ),
+                disposable,
+                new WeatherRequestCoalescer()
+        );
+    }
+
+    private static Result refresh(Context context,
+                                  WeatherHelper helper,
+                                  Location location) throws InterruptedException {
+        Result result = new Result();
+        helper.requestWeather(context, location, new WeatherHelper.OnRequestWeatherListener() {
+            @Override
+            public void requestWeatherSuccess(@NonNull Location requestLocation) {
+                result.location = requestLocation;
+                result.succeed = true;
+            }
+
+            @Override
+            public void requestWeatherFailed(@NonNull Location requestLocation) {
+                result.location = requestLocation;
+                result.succeed = false;
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        while (result.location == null) {
+            Assert.assertTrue(System.currentTimeMillis() - start < TIMEOUT_MILLIS);
+            Shadows.shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(1);
+        }
+        return result;
+    }
+
+    private static class Result {
+        Location location;
+        boolean succeed;
+    }
+
+    private static Location location(String cityId, float latitude, float longitude, String timeZone,
+                                     String province, String city, WeatherSource source) {
+        return new Location(
+                cityId,
+                latitude,
+                longitude,
+                TimeZone.getTimeZone(timeZone),
+                "country", province, city, "",
+                null,
+                source,
+                false,
+                false,
+                source == WeatherSource.CAIYUN
+        );
+    }
+
+    // allocated bytes of all live threads, -1 if the vm cannot measure it. the io threads of rx
+    // and the threads of the dispatcher are kept alive between two refreshes, so they are counted.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            long allocated = 0;
+            for (long bytes : ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(
+                    bean.getAllThreadIds())) {
+                if (bytes > 0) {
+                    allocated += bytes;
+                }
+            }
+            return allocated;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,110 @@
+package basic.weather;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import basic.WeatherFixtures;
+import nowsci.com.temperateweather.common.basic.models.Location;
+import nowsci.com.temperateweather.common.basic.models.options.provider.WeatherSource;
+import nowsci.com.temperateweather.weather.WeatherHelper;
+import nowsci.com.temperateweather.weather.WeatherRequestCoalescer;
+
+public class WeatherRequestCoalescerTest {
+
+    private final Context mContext = Mockito.mock(Context.class);
+
+    @Test
+    public void joinsRequestInFlight() {
+        WeatherRequestCoalescer coalescer = new WeatherRequestCoalescer();
+        Object app = new Object();
+        Object widget = new Object();
+        Location location = WeatherFixtures.location(0, WeatherSource.ACCU);
+        String key = WeatherRequestCoalescer.getKey(location);
+
+        WeatherRequestCoalescer.Flight flight = coalescer.join(key, app, mContext, location, new Listener());
+        Assert.assertNotNull(flight);
+        Assert.assertNull(coalescer.join(key, widget, mContext, location, new Listener()));
+        Assert.assertEquals(2, coalescer.complete(key, flight).size());
+
+        // the next request after a completed one is sent again.
+        flight = coalescer.join(key, widget, mContext, location, new Listener());
+        Assert.assertNotNull(flight);
+        Assert.assertEquals(1, coalescer.complete(key, flight).size());
+        Assert.assertTrue(coalescer.complete(key, flight).isEmpty());
+    }
+
+    @Test
+    public void replacesLostFlight() throws InterruptedException {
+        WeatherRequestCoalescer coalescer = new WeatherRequestCoalescer(0);
+        Object app = new Object();
+        Object widget = new Object();
+        Location location = WeatherFixtures.location(0, WeatherSource.ACCU);
+        String key = WeatherRequestCoalescer.getKey(location);
+
+        WeatherRequestCoalescer.Flight lostFlight = coalescer.join(key, app, mContext, location, new Listener());
+        Thread.sleep(5);
+        WeatherRequestCoalescer.Flight flight = coalescer.join(key, widget, mContext, location, new Listener());
+        Assert.assertNotNull(lostFlight);
+        Assert.assertNotNull(flight);
+
+        // the lost flight returning late must not take the waiters of its replacement.
+        Assert.assertTrue(coalescer.complete(key, lostFlight).isEmpty());
+        Assert.assertEquals(2, coalescer.complete(key, flight).size());
+    }
+
+    @Test
+    public void keepsSourcesApart() {
+        Location accu = WeatherFixtures.location(0, WeatherSource.ACCU);
+        Location owm = WeatherFixtures.location(0, WeatherSource.OWM);
+        Assert.assertEquals(
+                WeatherRequestCoalescer.getKey(accu),
+                WeatherRequestCoalescer.getKey(WeatherFixtures.location(0, WeatherSource.ACCU))
+        );
+        Assert.assertNotEquals(
+                WeatherRequestCoalescer.getKey(accu),
+                WeatherRequestCoalescer.getKey(owm)
+        );
+    }
+
+    @Test
+    public void releasesWaitersOfCanceledOwner() {
+        WeatherRequestCoalescer coalescer = new WeatherRequestCoalescer();
+        Object app = new Object();
+        Object widget = new Object();
+        Location first = WeatherFixtures.location(0, WeatherSource.ACCU);
+        Location second = WeatherFixtures.location(1, WeatherSource.ACCU);
+        String firstKey = WeatherRequestCoalescer.getKey(first);
+        String secondKey = WeatherRequestCoalescer.getKey(second);
+
+        // the app sends the first request and the widget joins it, the widget sends the second.
+        WeatherRequestCoalescer.Flight firstFlight = coalescer.join(firstKey, app, mContext, first, new Listener());
+        coalescer.join(firstKey, widget, mContext, first, new Listener());
+        WeatherRequestCoalescer.Flight secondFlight = coalescer.join(secondKey, widget, mContext, second, new Listener());
+        coalescer.join(secondKey, app, mContext, second, new Listener());
+
+        List<WeatherRequestCoalescer.Waiter> orphanList = coalescer.cancel(app);
+        Assert.assertEquals(1, orphanList.size());
+        Assert.assertTrue(coalescer.complete(firstKey, firstFlight).isEmpty());
+        Assert.assertEquals(1, coalescer.complete(secondKey, secondFlight).size());
+    }
+
+    private static class Listener implements WeatherHelper.OnRequestWeatherListener {
+
+        @Override
+        public void requestWeatherSuccess(@NonNull Location requestLocation) {
+            // do nothing.
+        }
+
+        @Override
+        public void requestWeatherFailed(@NonNull Location requestLocation) {
+            // do nothing.
+        }
+    }
+}